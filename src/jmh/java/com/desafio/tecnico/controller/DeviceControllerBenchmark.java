@@ -0,0 +1,174 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.config.HttpCacheProperties;
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.CacheStatsDTO;
+import com.desafio.tecnico.dto.CursorPage;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.exception.DeviceNotFoundException;
+import com.desafio.tecnico.exception.GlobalExceptionHandler;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.DeviceCreateBatcher;
+import com.desafio.tecnico.service.DeviceNameIndex;
+import com.desafio.tecnico.service.DeviceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Mede a ida e volta completa pelo Spring MVC (roteamento, conversão de parâmetros,
+ * validação, serialização e tratamento de erros) de cada endpoint do DeviceController.
+ * O DeviceService é substituído por um mock com respostas fixas, isolando a camada web do banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceControllerBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final long STATE_STAMP = 7;
+
+    private MockMvc mockMvc;
+    private String createBody;
+    private String batchBody;
+    private String invalidBody;
+    private String patchBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        DeviceService deviceService = mock(DeviceService.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        DeviceResponseDTO device = new DeviceResponseDTO(1L, "Galaxy S23", "Samsung", DeviceState.AVAILABLE, now, 0L);
+        List<DeviceResponseDTO> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new DeviceResponseDTO((long) i + 1, "Device " + i, "Samsung", DeviceState.AVAILABLE, now, 0L));
+        }
+        CursorPage<DeviceResponseDTO> cursorPage = new CursorPage<>(page, (long) PAGE_SIZE);
+
+        when(deviceService.createDevice(any())).thenReturn(device);
+        when(deviceService.createDevices(anyList())).thenAnswer(invocation -> new BatchCreateResponseDTO(
+                List.of(device, device), List.of()));
+        when(deviceService.getDeviceById(1L)).thenReturn(device);
+        when(deviceService.getDeviceById(404L)).thenThrow(new DeviceNotFoundException("Dispositivo não encontrado com ID: 404"));
+        when(deviceService.getAllDevices(any(), anyInt())).thenReturn(cursorPage);
+        when(deviceService.getDevicesByBrand(anyString(), any(), anyInt())).thenReturn(cursorPage);
+        when(deviceService.getDevicesByState(any(), any(), anyInt())).thenReturn(cursorPage);
+        when(deviceService.updateDevice(anyLong(), any())).thenReturn(device);
+        when(deviceService.partialUpdateDevice(anyLong(), any())).thenReturn(device);
+        when(deviceService.getDeviceVersion(1L)).thenReturn(0L);
+        when(deviceService.getChangeStamp(any(DeviceState.class))).thenReturn(STATE_STAMP);
+        when(deviceService.getCacheStats()).thenReturn(new CacheStatsDTO(10, 90, 10, 0, 0.9));
+
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new DeviceController(deviceService, objectMapper, new HttpCacheProperties(),
+                new DeviceNameIndex(), new DeviceCreateBatcher(deviceService, false, Duration.ZERO, 1, 0, 1)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .setValidator(validator)
+                .build();
+
+        createBody = objectMapper.writeValueAsString(new DeviceRequestDTO("Galaxy S23", "Samsung", DeviceState.AVAILABLE));
+        batchBody = objectMapper.writeValueAsString(List.of(
+                new DeviceRequestDTO("Galaxy S23", "Samsung", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("iPad Pro", "Apple", DeviceState.INACTIVE)));
+        invalidBody = objectMapper.writeValueAsString(new DeviceRequestDTO("", "", null));
+        patchBody = "{\"state\":\"INACTIVE\"}";
+    }
+
+    @Benchmark
+    public MvcResult createDevice() throws Exception {
+        return mockMvc.perform(post("/api/v1/devices").contentType(MediaType.APPLICATION_JSON).content(createBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createDevicesInBatch() throws Exception {
+        return mockMvc.perform(post("/api/v1/devices/batch").contentType(MediaType.APPLICATION_JSON).content(batchBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createDeviceInvalid() throws Exception {
+        return mockMvc.perform(post("/api/v1/devices").contentType(MediaType.APPLICATION_JSON).content(invalidBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDeviceById() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/{id}", 1)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDeviceByIdNotModified() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/{id}", 1)
+                .header(HttpHeaders.IF_NONE_MATCH, DeviceController.deviceETag(1L, 0L))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDeviceByIdNotFound() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/{id}", 404)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getAllDevices() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices").param("size", String.valueOf(PAGE_SIZE))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDevicesByBrand() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/brand/{brand}", "Samsung")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDevicesByState() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/state/{state}", "AVAILABLE")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getDevicesByStateNotModified() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/state/{state}", "AVAILABLE")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"c" + STATE_STAMP + "\"")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateDevice() throws Exception {
+        return mockMvc.perform(put("/api/v1/devices/{id}", 1).contentType(MediaType.APPLICATION_JSON).content(createBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult partialUpdateDevice() throws Exception {
+        return mockMvc.perform(patch("/api/v1/devices/{id}", 1).contentType(MediaType.APPLICATION_JSON).content(patchBody)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult deleteDevice() throws Exception {
+        return mockMvc.perform(delete("/api/v1/devices/{id}", 1)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getCacheStats() throws Exception {
+        return mockMvc.perform(get("/api/v1/devices/cache/stats")).andReturn();
+    }
+}
@@ -0,0 +1,50 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização JSON de listas de DeviceResponseDTO de diferentes tamanhos,
+ * com um ObjectMapper configurado como o do Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceSerializationBenchmark {
+
+    @Param({"1", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<DeviceResponseDTO> devices;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, DeviceResponseDTO.class));
+        LocalDateTime now = LocalDateTime.now();
+        DeviceState[] states = DeviceState.values();
+        devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            devices.add(new DeviceResponseDTO((long) i, "Device " + i, "Brand " + (i % 20),
+                    states[i % states.length], now.minusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(devices);
+    }
+}
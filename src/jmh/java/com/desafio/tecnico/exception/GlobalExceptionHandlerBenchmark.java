@@ -0,0 +1,61 @@
+package com.desafio.tecnico.exception;
+
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede os caminhos de erro do GlobalExceptionHandler, incluindo a criação das exceções
+ * (que captura a pilha de chamadas e costuma dominar o custo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodParameter parameter;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler();
+        parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", DeviceRequestDTO.class), 0);
+    }
+
+    @Benchmark
+    public GlobalExceptionHandler.ErrorResponse deviceNotFound() {
+        return handler.handleDeviceNotFoundException(new DeviceNotFoundException("Dispositivo não encontrado com ID: 1"));
+    }
+
+    @Benchmark
+    public GlobalExceptionHandler.ErrorResponse invalidOperation() {
+        return handler.handleInvalidOperationException(
+                new InvalidOperationException("Não é permitido excluir um dispositivo em uso"));
+    }
+
+    @Benchmark
+    public Map<String, String> validationErrors() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new DeviceRequestDTO(), "requestDTO");
+        bindingResult.rejectValue("name", "NotBlank", "Nome do dispositivo não pode ser vazio");
+        bindingResult.rejectValue("state", "NotNull", "Estado do dispositivo é obrigatório");
+        return handler.handleValidationExceptions(new MethodArgumentNotValidException(parameter, bindingResult));
+    }
+
+    @Benchmark
+    public GlobalExceptionHandler.ErrorResponse unexpectedError() {
+        return handler.handleGlobalException(new IllegalStateException("falha inesperada"));
+    }
+
+    @SuppressWarnings("unused")
+    private void target(DeviceRequestDTO requestDTO) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo da conversão de uma entidade Device para DeviceResponseDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceMappingBenchmark {
+
+    private DeviceService deviceService;
+    private Device device;
+
+    @Setup
+    public void setUp() {
+        // A conversão só usa o dicionário de marcas, aquecido aqui para não ir ao banco
+        BrandService brandService = new BrandService(null, null);
+        brandService.register(1, "Samsung", BrandService.normalize("Samsung"));
+        deviceService = new DeviceService(null, null, null, null, brandService, null, null, null, null);
+        device = new Device(42L, "Galaxy S23", 1, DeviceState.AVAILABLE, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public DeviceResponseDTO mapToResponseDTO() {
+        return deviceService.mapToResponseDTO(device);
+    }
+}
@@ -0,0 +1,62 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSuggestionDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a latência do autocompletar sobre um índice com um milhão de dispositivos e compara a
+ * estimativa de memória do índice com o crescimento do heap medido após a construção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DeviceNameIndexBenchmark {
+
+    private static final int DEVICES = 1_000_000;
+    private static final String[] BRANDS = {"Samsung", "Apple", "Lenovo", "Dell", "Logitech", "Cisco", "Xiaomi", "Sony"};
+    private static final String[] MODELS = {"Galaxy", "iPhone", "ThinkPad", "Latitude", "MX Master", "Catalyst", "Redmi", "Bravia"};
+
+    @Param({"s", "gal", "thinkpad x1", "zzz"})
+    private String query;
+
+    private DeviceNameIndex nameIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        nameIndex = new DeviceNameIndex();
+        Random random = new Random(42);
+        nameIndex.rebuild(consumer -> {
+            for (int i = 0; i < DEVICES; i++) {
+                int kind = random.nextInt(BRANDS.length);
+                String name = BRANDS[kind] + " " + MODELS[kind] + " " + (char) ('A' + random.nextInt(26))
+                    + random.nextInt(100_000);
+                consumer.accept(new DeviceResponseDTO((long) i, name, BRANDS[kind], DeviceState.AVAILABLE,
+                    LocalDateTime.now(), 0L));
+            }
+        });
+        System.gc();
+        long measured = memory.getHeapMemoryUsage().getUsed() - before;
+        System.out.printf("%nÍndice: %,d termos, %,d nós, estimativa %,d KB, heap medido %,d KB%n",
+            nameIndex.termCount(), nameIndex.nodeCount(), nameIndex.estimatedBytes() / 1024, measured / 1024);
+    }
+
+    @Benchmark
+    public List<DeviceSuggestionDTO> suggest() {
+        return nameIndex.suggest(query, DeviceNameIndex.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,344 @@
+package com.desafio.tecnico.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga HTTP para a API de dispositivos, executado contra uma instância já iniciada
+ * da aplicação (ver {@link LoadOptions} para os parâmetros):
+ *
+ * ./mvnw -Ploadtest verify -Dloadtest.args="--url=http://localhost:8080 --rate=500 --duration=60"
+ *
+ * A carga é de chegada aberta: a requisição i tem o início previsto em i / rate segundos,
+ * independentemente de quantas ainda estão em andamento, e cada uma roda na sua virtual thread.
+ * A latência é medida a partir do início previsto, e não do envio efetivo, para corrigir a
+ * omissão coordenada: se o servidor (ou o próprio gerador) atrasa, as requisições que deveriam
+ * ter saído durante o atraso registram também o tempo de espera, como aconteceria com clientes
+ * reais independentes. O tempo de serviço, medido do envio efetivo, é exibido ao final para
+ * comparação.
+ *
+ * As latências de cada operação vão para um HdrHistogram com três dígitos significativos, e o
+ * relatório traz os percentis por operação. Antes da carga são criados dispositivos próprios
+ * para get, patch e delete; delete só remove dispositivos criados pelo gerador. Respostas fora
+ * da faixa 2xx, tempo limite e falhas de conexão contam como erro.
+ */
+public final class LoadGenerator {
+
+    private static final String DEVICES_PATH = "api/v1/devices";
+    private static final int SEED_CHUNK_SIZE = 100;
+    private static final long PROGRESS_INTERVAL_SECONDS = 5;
+    private static final String[] STATES = {"AVAILABLE", "IN_USE", "INACTIVE"};
+    private static final String[] PATCH_STATES = {"AVAILABLE", "INACTIVE"};
+
+    private final LoadOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DevicePool pool = new DevicePool();
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final Histogram serviceTimes = new ConcurrentHistogram(3);
+    private final AtomicLong created = new AtomicLong();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final Semaphore inFlight;
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(options.timeout)
+            .build();
+        this.inFlight = new Semaphore(options.maxInFlight);
+        for (LoadOperation operation : options.mix.keySet()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        seedDevices();
+        System.out.printf("Carga em %s: %d req/s por %ds (+%ds de aquecimento), mistura %s%n", options.baseUri,
+            options.rate, options.duration.toSeconds(), options.warmup.toSeconds(), options.mix);
+
+        long total = (options.warmup.toSeconds() + options.duration.toSeconds()) * options.rate;
+        double nanosPerRequest = 1_000_000_000.0 / options.rate;
+        LoadOperation[] operations = weightedOperations();
+        SplittableRandom random = new SplittableRandom(options.seed);
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        progress.scheduleAtFixedRate(() -> System.out.printf("[%4ds] enviadas %d, concluídas %d, em andamento %d%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), sent.sum(), completed.sum(),
+                sent.sum() - completed.sum()),
+            PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        try (ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intendedStart = start + (long) (i * nanosPerRequest);
+                waitUntil(intendedStart);
+                LoadOperation operation = operations[random.nextInt(operations.length)];
+                boolean measured = intendedStart >= measureFrom;
+                sent.increment();
+                dispatcher.execute(() -> execute(operation, intendedStart, measured));
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        report();
+    }
+
+    /**
+     * Cria os dispositivos usados por get, patch e delete, em lotes pelo endpoint /batch.
+     */
+    private void seedDevices() throws IOException, InterruptedException {
+        for (int offset = 0; offset < options.devices; offset += SEED_CHUNK_SIZE) {
+            ArrayNode batch = objectMapper.createArrayNode();
+            for (int i = offset; i < Math.min(offset + SEED_CHUNK_SIZE, options.devices); i++) {
+                batch.add(deviceBody());
+            }
+            HttpResponse<String> response = client.send(jsonRequest(DEVICES_PATH + "/batch")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Falha ao criar os dispositivos iniciais (HTTP "
+                    + response.statusCode() + "): " + response.body());
+            }
+            for (JsonNode device : objectMapper.readTree(response.body()).path("created")) {
+                pool.add(device.get("id").asLong());
+            }
+        }
+        System.out.printf("%d dispositivos criados para a carga%n", pool.size());
+    }
+
+    /**
+     * Executa uma requisição e registra a latência desde o início previsto. A espera por uma
+     * vaga em max-in-flight faz parte da latência, mas não do tempo de serviço.
+     */
+    private void execute(LoadOperation operation, long intendedStart, boolean measured) {
+        boolean success = false;
+        long started;
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        started = System.nanoTime();
+        try {
+            success = send(operation, ThreadLocalRandom.current());
+        } catch (IOException e) {
+            // Tempo limite ou falha de conexão: conta como erro
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.release();
+        }
+        long finished = System.nanoTime();
+        completed.increment();
+        if (measured) {
+            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(finished - intendedStart));
+            serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - started));
+            if (!success) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    /**
+     * @return true se a resposta foi 2xx
+     */
+    private boolean send(LoadOperation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        switch (operation) {
+            case GET -> {
+                Long id = pool.pick(random);
+                return id != null && discard(request(DEVICES_PATH + "/" + id).GET().build());
+            }
+            case LIST_BRAND -> {
+                String brand = options.brands.get(random.nextInt(options.brands.size()));
+                return discard(request(DEVICES_PATH + "/brand/" + URLEncoder.encode(brand, StandardCharsets.UTF_8)
+                    .replace("+", "%20") + "?size=" + options.pageSize).GET().build());
+            }
+            case LIST_STATE -> {
+                String state = STATES[random.nextInt(STATES.length)];
+                return discard(request(DEVICES_PATH + "/state/" + state + "?size=" + options.pageSize).GET().build());
+            }
+            case CREATE -> {
+                HttpResponse<String> response = client.send(jsonRequest(DEVICES_PATH)
+                    .POST(HttpRequest.BodyPublishers.ofString(deviceBody().toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() / 100 != 2) {
+                    return false;
+                }
+                pool.add(objectMapper.readTree(response.body()).get("id").asLong());
+                return true;
+            }
+            case PATCH -> {
+                Long id = pool.pick(random);
+                ObjectNode body = objectMapper.createObjectNode().put("state", PATCH_STATES[random.nextInt(PATCH_STATES.length)]);
+                return id != null && discard(jsonRequest(DEVICES_PATH + "/" + id)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build());
+            }
+            case DELETE -> {
+                Long id = pool.remove(random);
+                return id != null && discard(request(DEVICES_PATH + "/" + id).DELETE().build());
+            }
+            default -> throw new IllegalStateException("Operação não suportada: " + operation);
+        }
+    }
+
+    private boolean discard(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(options.baseUri.resolve(URI.create(path))).timeout(options.timeout);
+    }
+
+    private HttpRequest.Builder jsonRequest(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private ObjectNode deviceBody() {
+        long number = created.incrementAndGet();
+        return objectMapper.createObjectNode()
+            .put("name", "Load device " + number)
+            .put("brand", options.brands.get((int) (number % options.brands.size())))
+            .put("state", "AVAILABLE");
+    }
+
+    /**
+     * @return Operações repetidas conforme o peso, para sorteio uniforme
+     */
+    private LoadOperation[] weightedOperations() {
+        List<LoadOperation> operations = new ArrayList<>();
+        options.mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(LoadOperation[]::new);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void report() throws IOException {
+        double seconds = options.duration.toSeconds();
+        System.out.println();
+        System.out.printf("%-12s %11s %7s %9s %9s %9s %9s %9s %9s%n",
+            "operação", "requisições", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<LoadOperation, Histogram> entry : latencies.entrySet()) {
+            long operationErrors = errors.get(entry.getKey()).sum();
+            printRow(entry.getKey().key(), entry.getValue(), operationErrors, seconds);
+            total.add(entry.getValue());
+            totalErrors += operationErrors;
+            if (options.histograms != null) {
+                Files.createDirectories(options.histograms);
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(options.histograms.resolve(entry.getKey().key() + ".hgrm")))) {
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+        printRow("total", total, totalErrors, seconds);
+        System.out.printf("%nTempo de serviço, sem a correção de omissão coordenada: p50 %.2f ms, p99 %.2f ms, "
+                + "p99.9 %.2f ms, máx %.2f ms%n", millis(serviceTimes, 50), millis(serviceTimes, 99),
+            millis(serviceTimes, 99.9), serviceTimes.getMaxValue() / 1000.0);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-12s %11d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+            errors, histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90),
+            millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * IDs dos dispositivos criados pelo gerador e ainda não removidos.
+     */
+    private static final class DevicePool {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized Long pick(ThreadLocalRandom random) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+
+        /**
+         * Retira um ID do conjunto, para que nenhuma outra operação o sorteie depois da remoção.
+         */
+        synchronized Long remove(ThreadLocalRandom random) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.desafio.tecnico.loadtest;
+
+/**
+ * Operações da API de dispositivos que o {@link LoadGenerator} pode exercitar, com o nome usado
+ * na mistura de carga (--mix=get=40,create=10,...).
+ */
+enum LoadOperation {
+
+    /** GET /api/v1/devices/{id} de um dispositivo criado pelo gerador */
+    GET("get"),
+    /** GET /api/v1/devices/brand/{brand} */
+    LIST_BRAND("list-brand"),
+    /** GET /api/v1/devices/state/{state} */
+    LIST_STATE("list-state"),
+    /** POST /api/v1/devices */
+    CREATE("create"),
+    /** PATCH /api/v1/devices/{id} alternando o estado entre AVAILABLE e INACTIVE */
+    PATCH("patch"),
+    /** DELETE /api/v1/devices/{id} de um dispositivo criado pelo gerador */
+    DELETE("delete");
+
+    private final String key;
+
+    LoadOperation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return Nome da operação na mistura de carga e no relatório
+     */
+    String key() {
+        return key;
+    }
+
+    static LoadOperation fromKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida na mistura: " + key);
+    }
+}
@@ -0,0 +1,110 @@
+package com.desafio.tecnico.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do {@link LoadGenerator}, lidos da linha de comando no formato --chave=valor.
+ *
+ * --url           Endereço da aplicação (padrão http://localhost:8080)
+ * --rate          Requisições por segundo, em chegada aberta (padrão 200)
+ * --duration      Duração da medição, em segundos (padrão 60)
+ * --warmup        Aquecimento antes da medição, em segundos, fora do relatório (padrão 10)
+ * --mix           Peso de cada operação (padrão get=40,list-brand=20,list-state=20,create=10,patch=5,delete=5)
+ * --devices       Dispositivos criados antes da carga para get, patch e delete (padrão 1000)
+ * --brands        Marcas usadas nas criações e listagens (padrão Samsung,Apple,Dell,Lenovo,HP)
+ * --page-size     Tamanho das páginas das listagens (padrão 20)
+ * --max-in-flight Limite de requisições simultâneas; a espera conta na latência (padrão 2000)
+ * --timeout       Tempo limite de cada requisição, em segundos (padrão 10)
+ * --seed          Semente da escolha das operações (padrão 42)
+ * --histograms    Diretório onde gravar a distribuição completa de cada operação (.hgrm), opcional
+ */
+final class LoadOptions {
+
+    private static final String DEFAULT_MIX = "get=40,list-brand=20,list-state=20,create=10,patch=5,delete=5";
+    private static final String DEFAULT_BRANDS = "Samsung,Apple,Dell,Lenovo,HP";
+
+    final URI baseUri;
+    final int rate;
+    final Duration duration;
+    final Duration warmup;
+    final Map<LoadOperation, Integer> mix;
+    final int devices;
+    final List<String> brands;
+    final int pageSize;
+    final int maxInFlight;
+    final Duration timeout;
+    final long seed;
+    final Path histograms;
+
+    private LoadOptions(Map<String, String> values) {
+        String url = values.getOrDefault("url", "http://localhost:8080");
+        this.baseUri = URI.create(url.endsWith("/") ? url : url + "/");
+        this.rate = positive(values, "rate", "200");
+        this.duration = Duration.ofSeconds(positive(values, "duration", "60"));
+        this.warmup = Duration.ofSeconds(Integer.parseInt(values.getOrDefault("warmup", "10")));
+        this.mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        this.devices = positive(values, "devices", "1000");
+        this.brands = List.of(values.getOrDefault("brands", DEFAULT_BRANDS).split(","));
+        this.pageSize = positive(values, "page-size", "20");
+        this.maxInFlight = positive(values, "max-in-flight", "2000");
+        this.timeout = Duration.ofSeconds(positive(values, "timeout", "10"));
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.histograms = values.containsKey("histograms") ? Path.of(values.get("histograms")) : null;
+    }
+
+    /**
+     * @param args Argumentos da linha de comando
+     * @return Parâmetros, com os padrões para as chaves ausentes
+     * @throws IllegalArgumentException se algum argumento for desconhecido ou inválido
+     */
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Argumento inválido, use --chave=valor: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        List<String> known = List.of("url", "rate", "duration", "warmup", "mix", "devices", "brands", "page-size",
+            "max-in-flight", "timeout", "seed", "histograms");
+        for (String key : values.keySet()) {
+            if (!known.contains(key)) {
+                throw new IllegalArgumentException("Argumento desconhecido: --" + key);
+            }
+        }
+        return new LoadOptions(values);
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mistura inválida, use operação=peso: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("A mistura precisa de ao menos uma operação com peso positivo");
+        }
+        return weights;
+    }
+
+    private static int positive(Map<String, String> values, String key, String defaultValue) {
+        int value = Integer.parseInt(values.getOrDefault(key, defaultValue));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + key + " deve ser positivo");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,164 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita a quantidade de requisições da API em processamento simultâneo quando a
+ * aplicação roda com virtual threads.
+ *
+ * Com threads de plataforma o próprio pool do Tomcat limita a concorrência. Com
+ * virtual threads esse limite desaparece e milhares de requisições podem ficar
+ * paradas na fila de conexões do Hikari, segurando memória até estourar o
+ * connection-timeout. Este filtro mantém o número de requisições em andamento
+ * proporcional ao pool de conexões e rejeita rapidamente (503 + Retry-After) o
+ * excedente que não conseguir uma vaga dentro do tempo configurado.
+ *
+ * Em requisições assíncronas (exportação em streaming) o corpo continua sendo escrito, com o
+ * cursor aberto, depois que a cadeia de filtros retorna; nesse caso a vaga só é devolvida quando
+ * o processamento assíncrono termina (onComplete, onError ou onTimeout).
+ *
+ * O feed SSE ({@link #EVENTS_PATH}) fica fora do limite: uma assinatura dura até
+ * app.events.timeout sem usar conexão do banco, e assinantes ociosos não podem ocupar as vagas
+ * das demais requisições.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final String EVENTS_PATH = "/api/v1/devices/events";
+
+    private final Semaphore permits;
+    private final Counter.Builder rejections = Counter.builder("http.server.requests.rejected")
+            .description("Requisições rejeitadas por falta de vaga no limite de concorrência");
+    private MeterRegistry meterRegistry;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(@Value("${app.virtual-threads.max-concurrent-requests:80}") int maxConcurrentRequests,
+                                  @Value("${app.virtual-threads.acquire-timeout:PT1S}") Duration acquireTimeout,
+                                  ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.equals(EVENTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitRelease());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * @return Quantidade de vagas livres no momento
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        Gauge.builder("http.server.requests.permits.available", permits, Semaphore::availablePermits)
+                .description("Vagas livres no limite de requisições concorrentes")
+                .register(registry);
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        if (meterRegistry != null) {
+            rejections.register(meterRegistry).increment();
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servidor sobrecarregado, tente novamente em instantes",
+                LocalDateTime.now()));
+    }
+
+    /**
+     * Devolve a vaga de uma requisição assíncrona ao fim do processamento. O contêiner pode
+     * notificar onError seguido de onComplete, então a devolução acontece uma única vez.
+     */
+    private class PermitRelease implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo startAsync descarta os listeners registrados
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.desafio.tecnico.config;
 
+import com.desafio.tecnico.dto.DeviceRequestDTO;
 import com.desafio.tecnico.model.Device;
 import com.desafio.tecnico.repository.DeviceRepository;
+import com.desafio.tecnico.service.DeviceService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,18 +29,23 @@ public class DataInitializer {
     /**
      * Bean que inicializa o banco de dados com alguns dispositivos de exemplo.
      * Utiliza a classe Factory interna para criar instâncias de dispositivos.
-     * A anotação @Profile("!test") garante que os dados não serão criados em ambiente de teste.
+     * A anotação @Profile garante que os dados não serão criados em ambiente de teste nem
+     * na geração da massa sintética (ver SyntheticDataGenerator).
+     *
+     * Os dispositivos são criados pelo DeviceService para que as marcas sejam
+     * cadastradas no dicionário de marcas.
      *
      * @param deviceRepository Repositório para acesso aos dispositivos
+     * @param deviceService Serviço usado para criar os dispositivos
      * @return CommandLineRunner que executa a inicialização
      */
     @Bean
-    @Profile("!test") // Não executa no perfil de teste
-    public CommandLineRunner initData(DeviceRepository deviceRepository) {
+    @Profile("!test & !generate-data") // Não executa no perfil de teste nem na geração de dados
+    public CommandLineRunner initData(DeviceRepository deviceRepository, DeviceService deviceService) {
         return args -> {
             // Cria alguns dispositivos apenas se o banco estiver vazio
             if (deviceRepository.count() == 0) {
-                List<Device> devices = Arrays.asList(
+                List<DeviceRequestDTO> devices = Arrays.asList(
                     DeviceFactory.createSamsungSmartphone(),
                     DeviceFactory.createDellLaptop(),
                     DeviceFactory.createAppleTablet(),
@@ -49,7 +56,7 @@ public class DataInitializer {
                     DeviceFactory.createLogitechMouse()
                 );
 
-                deviceRepository.saveAll(devices);
+                deviceService.createDevices(devices);
                 System.out.println("Banco de dados populado com " + devices.size() + " dispositivos!");
             } else {
                 System.out.println("O banco de dados já contém dispositivos. Não foi necessário criar dados iniciais.");
@@ -75,48 +82,44 @@ public class DataInitializer {
          * @param name Nome do dispositivo
          * @param brand Marca do dispositivo
          * @param state Estado inicial do dispositivo
-         * @return Objeto Device configurado, mas não persistido
+         * @return DTO com os dados do dispositivo, ainda não persistido
          */
-        public static Device createDevice(String name, String brand, Device.DeviceState state) {
-            Device device = new Device();
-            device.setName(name);
-            device.setBrand(brand);
-            device.setState(state);
+        public static DeviceRequestDTO createDevice(String name, String brand, Device.DeviceState state) {
             // O creationTime será definido automaticamente pelo método prePersist
-            return device;
+            return new DeviceRequestDTO(name, brand, state);
         }
 
         // Métodos específicos para criar dispositivos pré-definidos
 
-        public static Device createSamsungSmartphone() {
+        public static DeviceRequestDTO createSamsungSmartphone() {
             return createDevice("Galaxy S23", "Samsung", Device.DeviceState.AVAILABLE);
         }
 
-        public static Device createDellLaptop() {
+        public static DeviceRequestDTO createDellLaptop() {
             return createDevice("XPS 13", "Dell", Device.DeviceState.IN_USE);
         }
 
-        public static Device createAppleTablet() {
+        public static DeviceRequestDTO createAppleTablet() {
             return createDevice("iPad Pro", "Apple", Device.DeviceState.INACTIVE);
         }
 
-        public static Device createXiaomiSmartphone() {
+        public static DeviceRequestDTO createXiaomiSmartphone() {
             return createDevice("Mi 12", "Xiaomi", Device.DeviceState.AVAILABLE);
         }
 
-        public static Device createLenovoLaptop() {
+        public static DeviceRequestDTO createLenovoLaptop() {
             return createDevice("ThinkPad X1", "Lenovo", Device.DeviceState.IN_USE);
         }
 
-        public static Device createHPPrinter() {
+        public static DeviceRequestDTO createHPPrinter() {
             return createDevice("LaserJet Pro", "HP", Device.DeviceState.AVAILABLE);
         }
 
-        public static Device createSonyCamera() {
+        public static DeviceRequestDTO createSonyCamera() {
             return createDevice("Alpha A7 III", "Sony", Device.DeviceState.INACTIVE);
         }
 
-        public static Device createLogitechMouse() {
+        public static DeviceRequestDTO createLogitechMouse() {
             return createDevice("MX Master 3", "Logitech", Device.DeviceState.AVAILABLE);
         }
     }
@@ -0,0 +1,37 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.service.DeviceNameIndex;
+import com.desafio.tecnico.service.DeviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Constrói o índice do autocompletar ({@link DeviceNameIndex}) na inicialização, lendo todos
+ * os dispositivos do banco em streaming. Até o fim da construção as sugestões vêm vazias;
+ * a partir daí o índice é mantido pelos eventos de escrita do {@link DeviceService}.
+ */
+@Component
+public class DeviceNameIndexInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceNameIndexInitializer.class);
+
+    private final DeviceNameIndex nameIndex;
+    private final DeviceService deviceService;
+
+    public DeviceNameIndexInitializer(DeviceNameIndex nameIndex, DeviceService deviceService) {
+        this.nameIndex = nameIndex;
+        this.deviceService = deviceService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        nameIndex.rebuild(deviceService::streamAllDevices);
+        log.info("Índice do autocompletar construído em {} ms: {} termos, {} nós, ~{} KB",
+            (System.nanoTime() - start) / 1_000_000, nameIndex.termCount(), nameIndex.nodeCount(),
+            nameIndex.estimatedBytes() / 1024);
+    }
+}
@@ -0,0 +1,130 @@
+package com.desafio.tecnico.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém as partições mensais da tabela devices (ver a migração
+ * V2__partition_devices_by_creation_time.sql e a função create_devices_partition).
+ *
+ * Na inicialização e depois a cada app.partitions.check-interval, garante as partições do mês
+ * corrente até app.partitions.months-ahead meses à frente, para que as novas inserções nunca
+ * caiam na partição padrão. O mês corrente é o do relógio e do fuso da JVM, os mesmos usados no
+ * creation_time dos dispositivos ({@code Device.prePersist}): com o banco em outro fuso, a virada
+ * do mês não cria a partição tarde demais. Os meses que tenham linhas na partição padrão (por exemplo,
+ * importações com datas anteriores às partições existentes) também ganham a sua partição, para
+ * onde essas linhas são movidas.
+ *
+ * Roda como ApplicationRunner, então não acessa o banco nas execuções que encerram o contexto
+ * logo após a criação dos beans, como o treino do arquivo CDS.
+ *
+ * Possíveis melhorias:
+ * - Remover (DETACH/DROP) as partições mais antigas que um período de retenção
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DevicePartitionMaintenance implements ApplicationRunner, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DevicePartitionMaintenance.class);
+
+    /**
+     * Meses com partição garantida: do corrente até monthsAhead à frente, mais os que tenham
+     * linhas na partição padrão. O mês corrente vem da aplicação, não do relógio do banco.
+     */
+    private static final String ENSURE_PARTITIONS =
+        "SELECT create_devices_partition(m) FROM (" +
+        "SELECT generate_series(?::date, ?::date, interval '1 month')::date AS m " +
+        "UNION SELECT DISTINCT date_trunc('month', creation_time)::date FROM devices_default) months ORDER BY m";
+
+    private static final String CREATE_PARTITIONS =
+        "SELECT create_devices_partition(m::date) FROM generate_series(?::date, ?::date, interval '1 month') m";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final Duration checkInterval;
+    private ScheduledExecutorService scheduler;
+
+    public DevicePartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                      @Value("${app.partitions.months-ahead:3}") int monthsAhead,
+                                      @Value("${app.partitions.check-interval:PT12H}") Duration checkInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensurePartitions();
+        if (checkInterval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "device-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                ensurePartitions();
+            } catch (RuntimeException e) {
+                log.warn("Falha na manutenção das partições de devices; nova tentativa em {}", checkInterval, e);
+            }
+        }, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Garante as partições dos próximos meses e esvazia a partição padrão.
+     *
+     * @return Nomes das partições garantidas, em ordem cronológica
+     */
+    public List<String> ensurePartitions() {
+        return ensurePartitions(LocalDate.now());
+    }
+
+    /**
+     * Garante as partições do mês de "today" até monthsAhead meses à frente e esvazia a partição padrão.
+     *
+     * @param today Dia corrente, no relógio usado no creation_time dos dispositivos
+     * @return Nomes das partições garantidas, em ordem cronológica
+     */
+    public List<String> ensurePartitions(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        List<String> partitions = jdbcTemplate.queryForList(ENSURE_PARTITIONS, String.class,
+            month, month.plusMonths(monthsAhead));
+        log.info("Partições de devices garantidas de {} a {}", partitions.get(0), partitions.get(partitions.size() - 1));
+        return partitions;
+    }
+
+    /**
+     * Cria as partições dos meses de um intervalo, antes de uma carga com datas passadas, para
+     * que as linhas não passem pela partição padrão.
+     *
+     * @param from Dia do primeiro mês
+     * @param to Dia do último mês (inclusive)
+     */
+    public void createPartitions(LocalDate from, LocalDate to) {
+        jdbcTemplate.queryForList(CREATE_PARTITIONS, String.class, from.withDayOfMonth(1), to.withDayOfMonth(1));
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.service.DeviceStatsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Preenche os contadores de dispositivos por marca e estado na inicialização.
+ *
+ * Em uma base que já tinha dispositivos antes dos contadores existirem, a tabela
+ * device_stats começa vazia e é reconstruída a partir da tabela devices. Com
+ * app.device-stats.rebuild-on-startup=true a reconstrução acontece sempre, o que serve
+ * para ambientes em que a tabela devices é alterada fora da aplicação (como os testes).
+ *
+ * As migrações do Flyway (que criam a coluna brand_id) rodam antes, na criação do contexto.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeviceStatsInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceStatsInitializer.class);
+
+    private final DeviceStatsCounters statsCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+
+    public DeviceStatsInitializer(DeviceStatsCounters statsCounters, PlatformTransactionManager transactionManager,
+                                  @Value("${app.device-stats.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.statsCounters = statsCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!rebuildOnStartup && !statsCounters.isMissing()) {
+            return;
+        }
+        log.info("Reconstruindo os contadores de dispositivos por marca e estado");
+        transactionTemplate.executeWithoutResult(status -> statsCounters.rebuild());
+    }
+}
@@ -0,0 +1,33 @@
+package com.desafio.tecnico.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Execução das migrações do Flyway (src/main/resources/db/migration) na inicialização.
+ *
+ * Com o Spring AOT, as condições da configuração automática são avaliadas no build, então
+ * spring.flyway.enabled=false em tempo de execução não remove mais o bean do Flyway. A
+ * propriedade é conferida aqui, para que o treino do arquivo CDS (perfil training) continue
+ * subindo sem banco.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.flyway.enabled:true}") boolean enabled) {
+        return flyway -> {
+            if (enabled) {
+                flyway.migrate();
+            } else {
+                log.info("Migrações do Flyway desabilitadas (spring.flyway.enabled=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.desafio.tecnico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Políticas de cache HTTP por endpoint, configuradas em app.http-cache.cache-control.&lt;endpoint&gt;.
+ *
+ * O valor é enviado como está no cabeçalho Cache-Control das respostas 200 e 304 do endpoint.
+ * Endpoints sem política configurada usam {@value #DEFAULT_CACHE_CONTROL}, que permite ao cliente
+ * guardar a resposta mas o obriga a revalidá-la (com If-None-Match) a cada uso.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.http-cache")
+public class HttpCacheProperties {
+
+    public static final String DEFAULT_CACHE_CONTROL = "no-cache";
+
+    private Map<String, String> cacheControl = new HashMap<>();
+
+    /**
+     * @param endpoint Nome do endpoint (ex: device, devices-by-state)
+     * @return Valor do cabeçalho Cache-Control para o endpoint
+     */
+    public String cacheControlFor(String endpoint) {
+        return cacheControl.getOrDefault(endpoint, DEFAULT_CACHE_CONTROL);
+    }
+
+    public Map<String, String> getCacheControl() {
+        return cacheControl;
+    }
+
+    public void setCacheControl(Map<String, String> cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+}
@@ -0,0 +1,62 @@
+package com.desafio.tecnico.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração das métricas da aplicação, expostas em /actuator/prometheus.
+ *
+ * Além das métricas automáticas do Spring Boot (latência por endpoint em
+ * http.server.requests, pool do Hikari em hikaricp.connections.* e estatísticas do
+ * Hibernate em hibernate.*), registra:
+ * - device.service: latência de cada método do DeviceService (anotado com @Timed)
+ * - http.server.requests.queries: comandos SQL por requisição, por endpoint, contados no JDBC
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Habilita a anotação @Timed em beans do Spring.
+     */
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Envolve o DataSource da aplicação (o bean "dataSource", usado pelo Hibernate, pelo
+     * JdbcTemplate e pelo Flyway) no {@link QueryCountDataSource}, que conta os comandos SQL de
+     * cada requisição. Com réplicas de leitura, o bean envolvido é o roteador, então as
+     * consultas nas réplicas também entram na contagem, uma única vez.
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new QueryCountDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+}
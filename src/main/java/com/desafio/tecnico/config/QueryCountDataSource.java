@@ -0,0 +1,115 @@
+package com.desafio.tecnico.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que conta os comandos SQL executados na thread atual, no nível do JDBC: entram as
+ * consultas do Hibernate, do JdbcTemplate e de qualquer outro código que use as conexões do pool.
+ * Cada chamada execute* de um Statement conta uma vez; um executeBatch conta como um comando,
+ * já que vai ao banco de uma vez. O COPY, feito pela API própria do driver, não entra na contagem.
+ *
+ * A contagem só acontece entre {@link #start()} e {@link #stop()}, chamados pelo
+ * {@link QueryCountInterceptor} no início e no fim de cada requisição; fora disso as conexões
+ * e os comandos são apenas repassados.
+ */
+public class QueryCountDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    public QueryCountDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    /**
+     * Inicia a contagem na thread atual.
+     */
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    /**
+     * Encerra a contagem na thread atual.
+     *
+     * @return Quantidade de comandos contados, ou -1 se a contagem não foi iniciada
+     */
+    public static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? -1 : counter[0];
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountDataSource.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "getTargetConnection":
+                        return connection;
+                    default:
+                        break;
+                }
+                Object result = invoke(connection, method, args);
+                if (result instanceof CallableStatement statement) {
+                    return countingStatement(statement, CallableStatement.class);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return countingStatement(statement, PreparedStatement.class);
+                }
+                if (result instanceof Statement statement) {
+                    return countingStatement(statement, Statement.class);
+                }
+                return result;
+            });
+    }
+
+    private static Statement countingStatement(Statement statement, Class<? extends Statement> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                int[] counter = COUNTER.get();
+                if (counter != null) {
+                    counter[0]++;
+                }
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(QueryCountDataSource.class.getClassLoader(),
+            new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * Repassa a chamada ao objeto real, propagando a exceção original (SQLException) em vez da
+     * InvocationTargetException da reflexão.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
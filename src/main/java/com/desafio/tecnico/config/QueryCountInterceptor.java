@@ -0,0 +1,46 @@
+package com.desafio.tecnico.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Registra a quantidade de comandos SQL executados por requisição, por endpoint,
+ * na métrica {@value #METRIC_NAME}. Respostas em streaming executam as consultas
+ * fora da thread da requisição e por isso não entram na contagem.
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    public static final String METRIC_NAME = "http.server.requests.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountDataSource.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = QueryCountDataSource.stop();
+        if (queries < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Comandos SQL executados por requisição")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(queries);
+    }
+}
@@ -0,0 +1,100 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.service.DeviceCache;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteamento das transações somente leitura para as réplicas, ativo quando
+ * app.datasource.replicas[0].url está configurada.
+ *
+ * O DataSource da aplicação passa a ser um LazyConnectionDataSourceProxy sobre o banco
+ * principal: a conexão real só é obtida no primeiro comando, quando a transação já marcou a
+ * conexão como somente leitura, e nesse caso vem do {@link ReplicaDataSource}. Assim,
+ * {@code @Transactional(readOnly = true)} vai para as réplicas e o restante para o principal,
+ * sem mudanças no código dos serviços. Uma transação somente leitura aberta dentro de uma
+ * transação de escrita participa dela e continua no principal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    /**
+     * Pool do banco principal, com as mesmas propriedades spring.datasource.* da configuração
+     * automática (que deixa de criar o DataSource quando este bean existe).
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(details != null ? details.getJdbcUrl() : properties.determineUrl());
+        dataSource.setUsername(details != null ? details.getUsername() : properties.determineUsername());
+        dataSource.setPassword(details != null ? details.getPassword() : properties.determinePassword());
+        dataSource.setDriverClassName(details != null ? details.getDriverClassName() : properties.determineDriverClassName());
+        if (properties.getName() != null) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Pools das réplicas, somente leitura. A aplicação sobe mesmo com uma réplica fora do ar:
+     * ela apenas fica fora do rodízio até responder.
+     *
+     * Leituras de uma réplica atrasada podem recolocar no cache por ID a versão anterior de um
+     * dispositivo recém-alterado, então o cache repete a invalidação depois do atraso máximo.
+     */
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, ReadReplicaProperties properties,
+                                               DeviceCache deviceCache) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReadReplicaProperties.Replica replica = configured.get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryDataSource.getUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryDataSource.getPassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        deviceCache.setReevictionDelay(properties.getMaxReplicationLag());
+        return new ReplicaDataSource(primaryDataSource, replicas, properties.getMaxReplicationLag(),
+            properties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow(), properties.getClientIdHeader());
+    }
+}
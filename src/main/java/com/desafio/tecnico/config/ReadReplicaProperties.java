@@ -0,0 +1,131 @@
+package com.desafio.tecnico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura do PostgreSQL, configuradas em app.datasource.replicas[n].
+ *
+ * Com ao menos uma réplica, as transações somente leitura são enviadas às réplicas saudáveis
+ * (em rodízio) e as demais ao banco principal (spring.datasource). Uma réplica fica fora do
+ * rodízio quando não responde ou quando o atraso de replicação passa de {@link #maxReplicationLag};
+ * sem réplicas disponíveis, as leituras voltam para o principal.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReadReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private String clientIdHeader = "X-Client-Id";
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * @return Atraso de replicação máximo para uma réplica continuar recebendo leituras
+     */
+    public Duration getMaxReplicationLag() {
+        return maxReplicationLag;
+    }
+
+    public void setMaxReplicationLag(Duration maxReplicationLag) {
+        this.maxReplicationLag = maxReplicationLag;
+    }
+
+    /**
+     * @return Intervalo entre as verificações de disponibilidade e atraso das réplicas
+     */
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * @return Tempo, após uma escrita, em que as leituras do mesmo cliente vão ao principal (zero desliga)
+     */
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    /**
+     * @return Cabeçalho que identifica o cliente; sem ele, o cliente é o endereço de origem
+     */
+    public String getClientIdHeader() {
+        return clientIdHeader;
+    }
+
+    public void setClientIdHeader(String clientIdHeader) {
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    /**
+     * Conexão com uma réplica. Usuário e senha, se omitidos, são os do banco principal.
+     */
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        /**
+         * @return Espera máxima por uma conexão da réplica antes de tentar a próxima (ou o principal)
+         */
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.desafio.tecnico.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Garante que um cliente leia as próprias escritas quando as leituras vão para réplicas.
+ *
+ * Cada requisição de escrita (métodos que não são GET, HEAD ou OPTIONS) marca o cliente, e
+ * durante a janela configurada as requisições do mesmo cliente leem do banco principal em
+ * vez das réplicas, que podem ainda não ter recebido a alteração. A marca é renovada ao fim
+ * da escrita, então a janela conta a partir da resposta. O cliente é identificado pelo
+ * cabeçalho configurado ou, na falta dele, pelo endereço de origem.
+ *
+ * Cada requisição também lê de uma única réplica ({@link ReplicaDataSource#pinReplica}), para
+ * que o carimbo de alteração do ETag e a página que ele identifica venham do mesmo servidor.
+ *
+ * Vale para a thread da requisição: o corpo das respostas em streaming, escrito em outra
+ * thread, lê das réplicas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final long MAX_TRACKED_CLIENTS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+    private final String clientIdHeader;
+    private final boolean enabled;
+
+    public ReadYourWritesFilter(Duration window, String clientIdHeader) {
+        this.enabled = !window.isZero() && !window.isNegative();
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_CLIENTS)
+            .expireAfterWrite(enabled ? window : Duration.ofMillis(1))
+            .build();
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientId(request);
+        boolean write = enabled && !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+        ReplicaDataSource.usePrimary(write || enabled && recentWriters.getIfPresent(client) != null);
+        ReplicaDataSource.pinReplica(true);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaDataSource.pinReplica(false);
+            ReplicaDataSource.usePrimary(false);
+            if (write) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = request.getHeader(clientIdHeader);
+        return header != null && !header.isBlank() ? "id:" + header : "addr:" + request.getRemoteAddr();
+    }
+}
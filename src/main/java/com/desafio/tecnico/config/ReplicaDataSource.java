@@ -0,0 +1,270 @@
+package com.desafio.tecnico.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fonte das conexões das transações somente leitura: distribui as conexões entre as réplicas
+ * saudáveis em rodízio e recorre ao banco principal quando nenhuma está disponível.
+ *
+ * Uma réplica sai do rodízio quando falha ao entregar uma conexão ou quando a verificação
+ * periódica encontra atraso de replicação acima do limite (ou não consegue consultá-lo), e
+ * volta na primeira verificação bem-sucedida. A thread que estiver marcada com
+ * {@link #usePrimary} (janela de leitura das próprias escritas) lê sempre do principal.
+ *
+ * Dentro de um escopo aberto com {@link #pinReplica} (uma requisição HTTP), todas as leituras
+ * vão para a mesma réplica: o carimbo de alteração usado no ETag e a página que ele identifica
+ * vêm do mesmo servidor, e uma réplica atrasada não devolve dados antigos com o ETag de um
+ * carimbo mais novo lido em outra. Se a réplica escolhida sair do rodízio, o restante do escopo
+ * lê do principal, que nunca está atrás dela.
+ *
+ * Publica as métricas datasource.replica.healthy e datasource.replica.lag por réplica e
+ * datasource.replica.fallbacks, com as leituras servidas pelo principal por falta de réplica.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    /**
+     * Atraso de replicação em segundos. Uma réplica que já aplicou todo o WAL recebido está em
+     * dia mesmo que a última transação aplicada seja antiga (principal sem escritas), e um
+     * servidor fora de recuperação não tem atraso.
+     */
+    static final String REPLICATION_LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Pin> PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxReplicationLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    private final Counter.Builder fallbacks = Counter.builder("datasource.replica.fallbacks")
+            .description("Conexões de leitura servidas pelo banco principal por falta de réplica disponível");
+    private MeterRegistry meterRegistry;
+
+    /**
+     * @param primary Banco principal, usado quando nenhuma réplica está disponível
+     * @param replicas Réplicas por nome, na ordem do rodízio
+     * @param maxReplicationLag Atraso máximo para uma réplica continuar no rodízio
+     * @param healthCheckInterval Intervalo entre as verificações (zero desliga a verificação periódica)
+     */
+    public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxReplicationLag,
+                             Duration healthCheckInterval) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxReplicationLag = maxReplicationLag;
+        if (healthCheckInterval.isZero()) {
+            this.healthChecker = null;
+            return;
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Faz as leituras da thread corrente irem ao banco principal (ou deixarem de ir).
+     *
+     * @param primaryOnly true para ler do principal até a próxima chamada com false
+     */
+    static void usePrimary(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(Boolean.TRUE);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    /**
+     * Abre (ou encerra) o escopo em que as leituras da thread corrente ficam presas à primeira
+     * fonte usada, réplica ou principal.
+     *
+     * @param pinned true para abrir o escopo, false para encerrá-lo
+     */
+    static void pinReplica(boolean pinned) {
+        if (pinned) {
+            PINNED.set(new Pin());
+        } else {
+            PINNED.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARY_ONLY.get() != null) {
+            return primary.getConnection();
+        }
+        Pin pin = PINNED.get();
+        if (pin == null) {
+            return nextConnection(null);
+        }
+        if (pin.replica == null) {
+            return pin.primary ? primary.getConnection() : nextConnection(pin);
+        }
+        if (pin.replica.healthy) {
+            try {
+                return pin.replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(pin.replica, "falha ao obter conexão: " + e.getMessage());
+            }
+        }
+        pin.replica = null;
+        pin.primary = true;
+        countFallback();
+        return primary.getConnection();
+    }
+
+    /**
+     * Obtém a conexão da próxima réplica saudável do rodízio, ou do principal se não houver,
+     * e registra a escolha no escopo, quando há um.
+     */
+    private Connection nextConnection(Pin pin) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                if (pin != null) {
+                    pin.replica = replica;
+                }
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, "falha ao obter conexão: " + e.getMessage());
+            }
+        }
+        countFallback();
+        if (pin != null) {
+            pin.primary = true;
+        }
+        return primary.getConnection();
+    }
+
+    private void countFallback() {
+        if (meterRegistry != null) {
+            fallbacks.register(meterRegistry).increment();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("As credenciais das réplicas são definidas na configuração");
+    }
+
+    /**
+     * Verifica cada réplica: tira do rodízio as que não respondem ou estão atrasadas demais e
+     * devolve as que voltaram ao normal. Executada periodicamente; visível no pacote para os testes.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                if (replica.lagSeconds * 1000 > maxReplicationLag.toMillis()) {
+                    markDown(replica, String.format("atraso de replicação de %.1f s", replica.lagSeconds));
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Réplica {} de volta ao rodízio de leituras", replica.name);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, "falha na verificação: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param name Nome da réplica
+     * @return true se a réplica está no rodízio de leituras
+     */
+    boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 se a réplica está no rodízio de leituras, 0 se está fora")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Atraso de replicação medido na última verificação")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Interrompe as verificações e fecha os pools das réplicas.
+     */
+    @Override
+    public void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Réplica {} fora do rodízio de leituras: {}", replica.name, reason);
+        }
+    }
+
+    /**
+     * Fonte escolhida no escopo de {@link #pinReplica}: ainda nenhuma, uma réplica ou o principal.
+     */
+    private static class Pin {
+        private Replica replica;
+        private boolean primary;
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.service.BrandService;
+import com.desafio.tecnico.service.DeviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera uma massa de dados sintética em escala de produção para testes de carga, de capacidade
+ * e de planos de consulta. Ativo apenas no perfil "generate-data", que roda a aplicação como
+ * um comando, sem servidor web:
+ *
+ * java -jar tecnico.jar --spring.profiles.active=generate-data --app.generator.devices=5000000
+ *
+ * Os dispositivos são sorteados por {@link SyntheticDeviceSampler} com as distribuições de
+ * {@link SyntheticDataProperties} e inseridos em blocos pelo mesmo caminho da importação em
+ * massa (COPY, ver {@link DeviceService#insertImported}), por várias threads em paralelo. As
+ * partições mensais do período são criadas antes da carga, para que as datas passadas não caiam
+ * na partição padrão (ver {@link DevicePartitionMaintenance}). Ao final, as estatísticas da tabela são atualizadas (ANALYZE) para que os planos de consulta
+ * reflitam a massa gerada, e a aplicação é encerrada. Os dispositivos são acrescentados aos
+ * já existentes.
+ */
+@Component
+@Profile("generate-data")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * Intervalo, em dispositivos inseridos, entre os registros de progresso.
+     */
+    private static final long PROGRESS_INTERVAL = 500_000;
+
+    private final SyntheticDataProperties properties;
+    private final DeviceService deviceService;
+    private final BrandService brandService;
+    private final DevicePartitionMaintenance partitionMaintenance;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+
+    public SyntheticDataGenerator(SyntheticDataProperties properties, DeviceService deviceService,
+                                  BrandService brandService, DevicePartitionMaintenance partitionMaintenance,
+                                  JdbcTemplate jdbcTemplate, ApplicationContext context) {
+        this.properties = properties;
+        this.deviceService = deviceService;
+        this.brandService = brandService;
+        this.partitionMaintenance = partitionMaintenance;
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<Integer> brandIds = new ArrayList<>();
+        for (String brand : SyntheticDeviceSampler.brandNames(properties.getBrands())) {
+            brandIds.add(brandService.resolveId(brand));
+        }
+        LocalDateTime end = LocalDateTime.now();
+        SyntheticDeviceSampler sampler = new SyntheticDeviceSampler(properties, brandIds, end);
+        partitionMaintenance.createPartitions(end.minus(properties.getPeriod()).toLocalDate(), end.toLocalDate());
+
+        log.info("Gerando {} dispositivos ({} marcas, {} threads, blocos de {})", properties.getDevices(),
+            properties.getBrands(), properties.getThreads(), properties.getChunkSize());
+        long start = System.nanoTime();
+        AtomicLong inserted = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            // Cada thread recebe o seu gerador, derivado da semente, e uma parte fixa do total
+            SplittableRandom seed = new SplittableRandom(properties.getSeed());
+            List<Future<?>> results = new ArrayList<>();
+            for (int worker = 0; worker < properties.getThreads(); worker++) {
+                long count = properties.getDevices() / properties.getThreads()
+                    + (worker < properties.getDevices() % properties.getThreads() ? 1 : 0);
+                SplittableRandom random = seed.split();
+                results.add(workers.submit(() -> generate(sampler, random, count, inserted, start)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("{} dispositivos gerados em {} s ({} por segundo)", inserted.get(), String.format("%.1f", seconds),
+            String.format("%.0f", inserted.get() / seconds));
+
+        jdbcTemplate.execute("ANALYZE devices");
+        log.info("Estatísticas da tabela devices atualizadas");
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void generate(SyntheticDeviceSampler sampler, SplittableRandom random, long count, AtomicLong inserted,
+                          long start) {
+        List<Device> chunk = new ArrayList<>(properties.getChunkSize());
+        for (long i = 0; i < count; i++) {
+            chunk.add(sampler.next(random));
+            if (chunk.size() == properties.getChunkSize() || i == count - 1) {
+                int rows = deviceService.insertImported(chunk);
+                long after = inserted.addAndGet(rows);
+                long before = after - rows;
+                chunk.clear();
+                if (after / PROGRESS_INTERVAL != before / PROGRESS_INTERVAL) {
+                    log.info("{} de {} dispositivos inseridos ({} por segundo)", after, properties.getDevices(),
+                        String.format("%.0f", after / ((System.nanoTime() - start) / 1_000_000_000.0)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Volume e distribuições da massa de dados sintética, configurados em app.generator.*
+ * (ver {@link SyntheticDataGenerator}).
+ *
+ * As marcas e os modelos de cada marca seguem uma distribuição de Zipf: a marca de posição k
+ * aparece com peso 1 / k^skew, então skew 0 é uniforme e valores maiores concentram os
+ * dispositivos nas primeiras marcas. A idade de cada dispositivo é period * u^recencySkew,
+ * com u uniforme em [0, 1): 1 distribui as datas de criação igualmente no período e valores
+ * maiores concentram os dispositivos nos dias mais recentes.
+ */
+@ConfigurationProperties(prefix = "app.generator")
+public class SyntheticDataProperties {
+
+    private long devices = 1_000_000;
+    private int brands = 50;
+    private double brandSkew = 1.0;
+    private int modelsPerBrand = 200;
+    private double modelSkew = 1.0;
+    private Map<DeviceState, Double> stateWeights = new EnumMap<>(Map.of(
+        DeviceState.AVAILABLE, 0.6, DeviceState.IN_USE, 0.3, DeviceState.INACTIVE, 0.1));
+    private Duration period = Duration.ofDays(730);
+    private double recencySkew = 1.5;
+    private long seed = 42;
+    private int chunkSize = 10_000;
+    private int threads = 4;
+
+    /**
+     * @return Quantidade de dispositivos a gerar
+     */
+    public long getDevices() {
+        return devices;
+    }
+
+    public void setDevices(long devices) {
+        this.devices = devices;
+    }
+
+    /**
+     * @return Quantidade de marcas distintas
+     */
+    public int getBrands() {
+        return brands;
+    }
+
+    public void setBrands(int brands) {
+        this.brands = brands;
+    }
+
+    /**
+     * @return Expoente de Zipf da distribuição das marcas (0 = uniforme)
+     */
+    public double getBrandSkew() {
+        return brandSkew;
+    }
+
+    public void setBrandSkew(double brandSkew) {
+        this.brandSkew = brandSkew;
+    }
+
+    /**
+     * @return Quantidade de nomes de modelo distintos por marca
+     */
+    public int getModelsPerBrand() {
+        return modelsPerBrand;
+    }
+
+    public void setModelsPerBrand(int modelsPerBrand) {
+        this.modelsPerBrand = modelsPerBrand;
+    }
+
+    /**
+     * @return Expoente de Zipf da distribuição dos modelos dentro de cada marca (0 = uniforme)
+     */
+    public double getModelSkew() {
+        return modelSkew;
+    }
+
+    public void setModelSkew(double modelSkew) {
+        this.modelSkew = modelSkew;
+    }
+
+    /**
+     * @return Peso relativo de cada estado; estados com peso 0 não são gerados
+     */
+    public Map<DeviceState, Double> getStateWeights() {
+        return stateWeights;
+    }
+
+    public void setStateWeights(Map<DeviceState, Double> stateWeights) {
+        this.stateWeights = stateWeights;
+    }
+
+    /**
+     * @return Período, até o momento da geração, em que as datas de criação são distribuídas
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Duration period) {
+        this.period = period;
+    }
+
+    /**
+     * @return Concentração das datas de criação nos dias recentes (1 = uniforme)
+     */
+    public double getRecencySkew() {
+        return recencySkew;
+    }
+
+    public void setRecencySkew(double recencySkew) {
+        this.recencySkew = recencySkew;
+    }
+
+    /**
+     * @return Semente dos números aleatórios; a mesma semente gera a mesma massa de dados
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return Dispositivos inseridos por transação (COPY)
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return Threads gerando e inserindo blocos em paralelo, cada uma com a sua conexão
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,136 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia os dispositivos da massa sintética segundo as distribuições de {@link SyntheticDataProperties}.
+ *
+ * O nome de cada dispositivo é "marca linha número" (ex: "Samsung Ultra 104"), escolhido entre os
+ * modelos da marca, o que dá ao autocompletar e à busca por nome uma quantidade realista de nomes
+ * repetidos. Não guarda estado mutável: cada thread sorteia com o seu próprio SplittableRandom.
+ */
+class SyntheticDeviceSampler {
+
+    /**
+     * Marcas usadas primeiro, da mais para a menos frequente; as demais são "Brand N".
+     */
+    static final List<String> KNOWN_BRANDS = List.of(
+        "Samsung", "Apple", "Dell", "Lenovo", "HP", "Xiaomi", "Sony", "Logitech", "Motorola", "Asus",
+        "Acer", "LG", "Huawei", "Google", "Microsoft", "Nokia", "OnePlus", "Canon", "Epson", "Cisco");
+
+    private static final String[] PRODUCT_LINES = {"Pro", "Max", "Lite", "Air", "Ultra", "Mini", "Plus", "Note", "Edge", "Go"};
+
+    private final int[] brandIds;
+    private final double[] brandCdf;
+    private final String[][] modelNames;
+    private final double[] modelCdf;
+    private final DeviceState[] states;
+    private final double[] stateCdf;
+    private final LocalDateTime end;
+    private final long periodMicros;
+    private final double recencySkew;
+
+    /**
+     * @param properties Distribuições da massa de dados
+     * @param brandIds IDs das marcas de {@link #brandNames(int)}, na mesma ordem
+     * @param end Data de criação mais recente
+     */
+    SyntheticDeviceSampler(SyntheticDataProperties properties, List<Integer> brandIds, LocalDateTime end) {
+        if (brandIds.isEmpty() || properties.getModelsPerBrand() < 1) {
+            throw new IllegalArgumentException("São necessários ao menos uma marca e um modelo por marca");
+        }
+        this.brandIds = brandIds.stream().mapToInt(Integer::intValue).toArray();
+        this.brandCdf = zipfCdf(brandIds.size(), properties.getBrandSkew());
+        List<String> brands = brandNames(brandIds.size());
+        this.modelNames = new String[brandIds.size()][properties.getModelsPerBrand()];
+        for (int brand = 0; brand < modelNames.length; brand++) {
+            for (int model = 0; model < modelNames[brand].length; model++) {
+                modelNames[brand][model] = brands.get(brand) + " " + PRODUCT_LINES[model % PRODUCT_LINES.length] + " "
+                    + (100 + model / PRODUCT_LINES.length);
+            }
+        }
+        this.modelCdf = zipfCdf(properties.getModelsPerBrand(), properties.getModelSkew());
+
+        List<Map.Entry<DeviceState, Double>> weights = properties.getStateWeights().entrySet().stream()
+            .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+            .toList();
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("app.generator.state-weights deve ter ao menos um estado com peso positivo");
+        }
+        this.states = weights.stream().map(Map.Entry::getKey).toArray(DeviceState[]::new);
+        this.stateCdf = cdf(weights.stream().mapToDouble(Map.Entry::getValue).toArray());
+
+        this.end = end.truncatedTo(ChronoUnit.MICROS);
+        this.periodMicros = properties.getPeriod().toNanos() / 1000;
+        this.recencySkew = properties.getRecencySkew();
+    }
+
+    /**
+     * @param count Quantidade de marcas
+     * @return Nomes das marcas, da mais para a menos frequente
+     */
+    static List<String> brandNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(i < KNOWN_BRANDS.size() ? KNOWN_BRANDS.get(i) : "Brand " + (i + 1));
+        }
+        return names;
+    }
+
+    /**
+     * Sorteia um dispositivo, ainda sem ID.
+     *
+     * @param random Gerador da thread corrente
+     * @return Dispositivo com nome, marca, estado e data de criação
+     */
+    Device next(SplittableRandom random) {
+        int brand = sample(brandCdf, random.nextDouble());
+        Device device = new Device();
+        device.setName(modelNames[brand][sample(modelCdf, random.nextDouble())]);
+        device.setBrandId(brandIds[brand]);
+        device.setState(states[sample(stateCdf, random.nextDouble())]);
+        long ageMicros = (long) (periodMicros * Math.pow(random.nextDouble(), recencySkew));
+        device.setCreationTime(end.minus(ageMicros, ChronoUnit.MICROS));
+        return device;
+    }
+
+    /**
+     * Distribuição acumulada de Zipf: a posição k (a partir de 1) tem peso 1 / k^skew.
+     */
+    static double[] zipfCdf(int size, double skew) {
+        double[] weights = new double[size];
+        for (int k = 0; k < size; k++) {
+            weights[k] = 1 / Math.pow(k + 1, skew);
+        }
+        return cdf(weights);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cdf = new double[weights.length];
+        double accumulated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            accumulated += weights[i];
+            cdf[i] = accumulated / total;
+        }
+        cdf[cdf.length - 1] = 1.0;
+        return cdf;
+    }
+
+    /**
+     * @return Primeira posição cuja probabilidade acumulada passa de u
+     */
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        return index >= 0 ? Math.min(index + 1, cdf.length - 1) : -index - 1;
+    }
+}
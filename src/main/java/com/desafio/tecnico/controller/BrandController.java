@@ -0,0 +1,45 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.dto.BrandCountDTO;
+import com.desafio.tecnico.service.BrandService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador REST responsável por expor o dicionário de marcas.
+ *
+ * Testes existentes (em BrandControllerIntegrationTest.java):
+ * - testGetBrandsWithDeviceCount: Verifica a listagem de marcas com a contagem de dispositivos
+ *   e o agrupamento de variações de caixa na mesma marca
+ * - testRejectedUpdateDoesNotRegisterBrand: Verifica que a marca de uma atualização recusada não é cadastrada
+ */
+@RestController
+@RequestMapping("/api/v1/brands")
+@Tag(name = "Brand Management")
+public class BrandController {
+
+    private final BrandService brandService;
+
+    @Autowired
+    public BrandController(BrandService brandService) {
+        this.brandService = brandService;
+    }
+
+    /**
+     * Lista as marcas cadastradas com a quantidade de dispositivos de cada uma.
+     *
+     * @return Lista de marcas ordenada pelo nome
+     */
+    @GetMapping
+    @Operation(summary = "Listar marcas com a quantidade de dispositivos")
+    public ResponseEntity<List<BrandCountDTO>> getBrands() {
+        return ResponseEntity.ok(brandService.getBrands());
+    }
+}
@@ -1,18 +1,43 @@
 package com.desafio.tecnico.controller;
 
+import com.desafio.tecnico.config.HttpCacheProperties;
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.BulkDeleteRequestDTO;
+import com.desafio.tecnico.dto.BulkDeleteResponseDTO;
+import com.desafio.tecnico.dto.BulkStateChangeRequestDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResponseDTO;
+import com.desafio.tecnico.dto.CacheStatsDTO;
+import com.desafio.tecnico.dto.CursorPage;
 import com.desafio.tecnico.dto.DeviceRequestDTO;
 import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSearchCriteria;
+import com.desafio.tecnico.dto.DeviceSearchPage;
+import com.desafio.tecnico.dto.DeviceStatsDTO;
+import com.desafio.tecnico.dto.DeviceSuggestionDTO;
 import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.DeviceCreateBatcher;
+import com.desafio.tecnico.service.DeviceNameIndex;
 import com.desafio.tecnico.service.DeviceService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Controlador REST responsável por expor os endpoints da API de Dispositivos.
@@ -20,14 +45,30 @@ import java.util.List;
  *
  * Testes existentes (em DeviceControllerIntegrationTest.java):
  * - testCreateDevice: Verifica a criação de dispositivo via API
+ * - testCreateDevicesInBatch: Verifica a criação em lote com erros de validação por item
+ * - testChangeStatesInBatchByIds: Verifica a alteração de estado em lote por IDs e o resultado por ID
+ * - testChangeStatesInBatchByFilter: Verifica a alteração de estado em lote por marca e estado atual
+ * - testDeleteDevicesInBatchByIds: Verifica a remoção em lote por IDs, preservando os dispositivos em uso
+ * - testDeleteDevicesInBatchByBrand: Verifica a remoção em lote de todos os dispositivos de uma marca
  * - testGetAllDevices: Testa a listagem de todos os dispositivos
+ * - testGetAllDevicesPaginatedByCursor: Verifica a paginação por cursor e o cabeçalho X-Next-Cursor
+ * - testStreamAllDevicesAsNdjson: Verifica a listagem em streaming no formato NDJSON
  * - testGetDeviceById: Testa a recuperação de um dispositivo específico
  * - testUpdateDevice: Verifica a atualização completa de um dispositivo
+ * - testUpdateDeviceWithStaleVersion: Verifica o incremento de versão e o conflito (409) com versão desatualizada
+ * - testGetDeviceByIdNotModified: Verifica o ETag do dispositivo e a resposta 304 com If-None-Match
+ * - testGetDevicesByStateNotModifiedUntilChange: Verifica que o ETag da listagem só muda com escritas na coleção
  * - testPartialUpdateDevice: Testa a atualização parcial de um dispositivo
  * - testDeleteDevice: Verifica a exclusão de um dispositivo
  * - testCannotDeleteDeviceInUse: Testa a regra de negócio que impede exclusão de dispositivos em uso
  * - testGetDevicesByBrand: Verifica a filtragem de dispositivos por marca
  * - testGetDevicesByState: Testa a filtragem de dispositivos por estado
+ * - testSearchDevicesCombiningFilters: Verifica a busca combinando marca, estado, prefixo do nome e intervalo de criação
+ * - testSearchDevicesSortedByNamePaginatedByCursor: Verifica a ordenação por nome e a paginação pelo cursor opaco
+ * - testSearchDevicesWithInvalidCursor: Verifica a rejeição (400) de cursor malformado ou de outra ordenação
+ * - testSearchDevicesByFuzzyName: Verifica a busca aproximada por nome com erros de digitação e trechos parciais
+ * - testSuggestFollowsWrites: Verifica que as sugestões do autocompletar acompanham criação, renomeação e exclusão
+ * - testGetDeviceStats: Verifica que as contagens por estado e marca acompanham criação, atualização e exclusão
  *
  * Possíveis melhorias nos testes:
  * - Adicionar testes unitários para o controller usando MockMvc (além dos testes de integração)
@@ -38,10 +79,6 @@ import java.util.List;
  * - Testar handling de exceções via GlobalExceptionHandler
  *
  * Possíveis melhorias:
- * - Implementar paginação para endpoints que retornam listas
- * - Adicionar filtros adicionais (por data de criação, nome, etc.)
- * - Implementar ordenação dos resultados
- * - Adicionar cache para operações de leitura frequentes
  * - Implementar HATEOAS para melhor navegabilidade da API
  */
 @RestController
@@ -49,15 +86,30 @@ import java.util.List;
 @Tag(name = "Device Management")
 public class DeviceController {
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final DeviceService deviceService;
+    private final ObjectMapper objectMapper;
+    private final HttpCacheProperties httpCacheProperties;
+    private final DeviceNameIndex nameIndex;
+    private final DeviceCreateBatcher createBatcher;
 
     @Autowired
-    public DeviceController(DeviceService deviceService) {
+    public DeviceController(DeviceService deviceService, ObjectMapper objectMapper,
+                            HttpCacheProperties httpCacheProperties, DeviceNameIndex nameIndex,
+                            DeviceCreateBatcher createBatcher) {
         this.deviceService = deviceService;
+        this.objectMapper = objectMapper;
+        this.httpCacheProperties = httpCacheProperties;
+        this.nameIndex = nameIndex;
+        this.createBatcher = createBatcher;
     }
 
     /**
-     * Cria um novo dispositivo no sistema.
+     * Cria um novo dispositivo no sistema. Com app.group-commit.enabled, a criação é gravada
+     * junto com as demais criações concorrentes em um único commit (ver {@link DeviceCreateBatcher}).
      *
      * @param requestDTO DTO contendo os dados do dispositivo a ser criado
      * @return DTO com os dados do dispositivo criado, incluindo ID e data de criação
@@ -65,62 +117,263 @@ public class DeviceController {
     @PostMapping
     @Operation(summary = "Criar um novo dispositivo")
     public ResponseEntity<DeviceResponseDTO> createDevice(@Valid @RequestBody DeviceRequestDTO requestDTO) {
-        DeviceResponseDTO responseDTO = deviceService.createDevice(requestDTO);
+        DeviceResponseDTO responseDTO = createBatcher.create(requestDTO);
         return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
     }
 
+    /**
+     * Cria vários dispositivos em uma única requisição, com inserções agrupadas em lote.
+     * Itens inválidos são reportados individualmente e não impedem a criação dos demais.
+     *
+     * @param requestDTOs Lista de DTOs com os dados dos dispositivos a serem criados
+     * @return 201 se todos foram criados, 207 se parte foi rejeitada ou 400 se nenhum foi criado
+     * @throws InvalidOperationException se o lote estiver vazio ou exceder o tamanho máximo
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Criar dispositivos em lote")
+    public ResponseEntity<BatchCreateResponseDTO> createDevices(@RequestBody List<DeviceRequestDTO> requestDTOs) {
+        BatchCreateResponseDTO responseDTO = deviceService.createDevices(requestDTOs);
+        HttpStatus status = responseDTO.getErrors().isEmpty() ? HttpStatus.CREATED
+            : responseDTO.getCreated().isEmpty() ? HttpStatus.BAD_REQUEST
+            : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(responseDTO, status);
+    }
+
+    /**
+     * Altera o estado de vários dispositivos em um único UPDATE, escolhidos por IDs ou por
+     * marca e estado atual. Dispositivos em uso não são alterados.
+     *
+     * @param requestDTO IDs ou filtros e o estado de destino
+     * @return Resultado por dispositivo (UPDATED, UNCHANGED, REJECTED ou NOT_FOUND) e o cursor do próximo bloco
+     * @throws InvalidOperationException se a combinação de IDs e filtros for inválida
+     */
+    @PostMapping("/batch/state")
+    @Operation(summary = "Alterar o estado de dispositivos em lote")
+    public ResponseEntity<BulkStateChangeResponseDTO> changeStates(@Valid @RequestBody BulkStateChangeRequestDTO requestDTO) {
+        return ResponseEntity.ok(deviceService.changeStates(requestDTO));
+    }
+
+    /**
+     * Remove vários dispositivos, escolhidos por IDs ou pela marca, em blocos com um único
+     * DELETE cada. Dispositivos em uso não são removidos.
+     *
+     * @param requestDTO IDs ou marca
+     * @return Resultado por dispositivo (DELETED, REJECTED, LOCKED ou NOT_FOUND) e o cursor do próximo bloco
+     * @throws InvalidOperationException se a combinação de IDs e marca for inválida
+     */
+    @PostMapping("/batch/delete")
+    @Operation(summary = "Excluir dispositivos em lote")
+    public ResponseEntity<BulkDeleteResponseDTO> deleteDevices(@RequestBody BulkDeleteRequestDTO requestDTO) {
+        return ResponseEntity.ok(deviceService.deleteDevices(requestDTO));
+    }
+
+    /**
+     * Retorna as estatísticas do cache da busca por ID.
+     *
+     * @return DTO com acertos, falhas, remoções e taxa de acerto
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Estatísticas do cache de dispositivos")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(deviceService.getCacheStats());
+    }
+
+    /**
+     * Retorna a quantidade de dispositivos no total, por estado e por marca e estado.
+     * As contagens são mantidas a cada escrita, então a resposta não depende do tamanho da tabela.
+     *
+     * @return DTO com as contagens
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Quantidade de dispositivos por estado e por marca")
+    public ResponseEntity<DeviceStatsDTO> getStats() {
+        return ResponseEntity.ok(deviceService.getStats());
+    }
+
     /**
      * Busca um dispositivo específico pelo seu ID.
      *
+     * A resposta leva um ETag forte derivado da versão do dispositivo. Se o cliente enviar
+     * If-None-Match com o ETag atual, apenas a versão é consultada (do cache ou do banco)
+     * e a resposta é 304, sem corpo.
+     *
      * @param id ID do dispositivo a ser buscado
-     * @return DTO com os dados do dispositivo encontrado
+     * @param ifNoneMatch ETags que o cliente já possui (opcional)
+     * @return DTO com os dados do dispositivo encontrado, ou 304 se não mudou
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      */
     @GetMapping("/{id}")
     @Operation(summary = "Buscar um dispositivo por ID")
-    public ResponseEntity<DeviceResponseDTO> getDeviceById(@PathVariable Long id) {
+    public ResponseEntity<DeviceResponseDTO> getDeviceById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String cacheControl = httpCacheProperties.cacheControlFor("device");
+        if (ifNoneMatch != null) {
+            String currentETag = deviceETag(id, deviceService.getDeviceVersion(id));
+            if (etagMatches(ifNoneMatch, currentETag)) {
+                return notModified(currentETag, cacheControl);
+            }
+        }
         DeviceResponseDTO responseDTO = deviceService.getDeviceById(id);
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok()
+            .eTag(deviceETag(id, responseDTO.getVersion()))
+            .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+            .body(responseDTO);
     }
 
     /**
-     * Lista todos os dispositivos cadastrados no sistema.
-     *
-     * Possível melhoria: Implementar paginação para evitar sobrecarga com grandes volumes de dados
+     * Lista os dispositivos cadastrados no sistema, paginados por cursor.
+     * O cursor da próxima página é retornado nos cabeçalhos {@code X-Next-Cursor} e {@code Link}.
+     * O ETag vem do carimbo de alteração da coleção e permite respostas 304 (If-None-Match).
      *
-     * @return Lista de DTOs com os dados de todos os dispositivos
+     * @param after ID do último dispositivo da página anterior (opcional)
+     * @param size Quantidade máxima de dispositivos na página
+     * @param ifNoneMatch ETags que o cliente já possui (opcional)
+     * @return Lista de DTOs com os dados dos dispositivos da página, ou 304 se não mudou
      */
     @GetMapping
     @Operation(summary = "Listar todos os dispositivos")
-    public ResponseEntity<List<DeviceResponseDTO>> getAllDevices() {
-        List<DeviceResponseDTO> devices = deviceService.getAllDevices();
-        return ResponseEntity.ok(devices);
+    public ResponseEntity<List<DeviceResponseDTO>> getAllDevices(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DeviceService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPageResponse("devices", ifNoneMatch, deviceService.getChangeStamp(),
+            () -> deviceService.getAllDevices(after, size));
+    }
+
+    /**
+     * Transmite todos os dispositivos como NDJSON (um objeto JSON por linha),
+     * à medida que são lidos do banco. Selecionado com {@code Accept: application/x-ndjson}.
+     *
+     * @return Corpo transmitido em streaming
+     */
+    @GetMapping(produces = NDJSON_VALUE)
+    @Operation(summary = "Transmitir todos os dispositivos em NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllDevices() {
+        return ndjsonResponse(deviceService::streamAllDevices);
     }
 
     /**
-     * Busca dispositivos por marca.
+     * Busca dispositivos por marca, paginados por cursor.
      *
      * @param brand Nome da marca para filtrar os dispositivos
-     * @return Lista de DTOs com os dispositivos da marca especificada
+     * @param after ID do último dispositivo da página anterior (opcional)
+     * @param size Quantidade máxima de dispositivos na página
+     * @param ifNoneMatch ETags que o cliente já possui (opcional)
+     * @return Lista de DTOs com os dispositivos da marca especificada, ou 304 se não mudou
      */
     @GetMapping("/brand/{brand}")
     @Operation(summary = "Buscar dispositivos por marca")
-    public ResponseEntity<List<DeviceResponseDTO>> getDevicesByBrand(@PathVariable String brand) {
-        List<DeviceResponseDTO> devices = deviceService.getDevicesByBrand(brand);
-        return ResponseEntity.ok(devices);
+    public ResponseEntity<List<DeviceResponseDTO>> getDevicesByBrand(
+            @PathVariable String brand,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DeviceService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPageResponse("devices-by-brand", ifNoneMatch, deviceService.getChangeStampByBrand(brand),
+            () -> deviceService.getDevicesByBrand(brand, after, size));
     }
 
     /**
-     * Busca dispositivos por estado (disponível, em uso, inativo).
+     * Transmite os dispositivos de uma marca como NDJSON.
+     *
+     * @param brand Nome da marca para filtrar os dispositivos
+     * @return Corpo transmitido em streaming
+     */
+    @GetMapping(value = "/brand/{brand}", produces = NDJSON_VALUE)
+    @Operation(summary = "Transmitir dispositivos de uma marca em NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamDevicesByBrand(@PathVariable String brand) {
+        return ndjsonResponse(consumer -> deviceService.streamDevicesByBrand(brand, consumer));
+    }
+
+    /**
+     * Busca dispositivos por estado (disponível, em uso, inativo), paginados por cursor.
      *
      * @param state Estado para filtrar os dispositivos
-     * @return Lista de DTOs com os dispositivos no estado especificado
+     * @param after ID do último dispositivo da página anterior (opcional)
+     * @param size Quantidade máxima de dispositivos na página
+     * @param ifNoneMatch ETags que o cliente já possui (opcional)
+     * @return Lista de DTOs com os dispositivos no estado especificado, ou 304 se não mudou
      */
     @GetMapping("/state/{state}")
     @Operation(summary = "Buscar dispositivos por estado")
-    public ResponseEntity<List<DeviceResponseDTO>> getDevicesByState(@PathVariable DeviceState state) {
-        List<DeviceResponseDTO> devices = deviceService.getDevicesByState(state);
-        return ResponseEntity.ok(devices);
+    public ResponseEntity<List<DeviceResponseDTO>> getDevicesByState(
+            @PathVariable DeviceState state,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DeviceService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPageResponse("devices-by-state", ifNoneMatch, deviceService.getChangeStamp(state),
+            () -> deviceService.getDevicesByState(state, after, size));
+    }
+
+    /**
+     * Transmite os dispositivos em um estado como NDJSON.
+     *
+     * @param state Estado para filtrar os dispositivos
+     * @return Corpo transmitido em streaming
+     */
+    @GetMapping(value = "/state/{state}", produces = NDJSON_VALUE)
+    @Operation(summary = "Transmitir dispositivos por estado em NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamDevicesByState(@PathVariable DeviceState state) {
+        return ndjsonResponse(consumer -> deviceService.streamDevicesByState(state, consumer));
+    }
+
+    /**
+     * Busca dispositivos combinando marca, estado, prefixo do nome e intervalo de criação,
+     * com ordenação por ID, data de criação ou nome e paginação por cursor. O cursor opaco da
+     * próxima página é retornado nos cabeçalhos {@code X-Next-Cursor} e {@code Link}.
+     * O ETag vem do carimbo de alteração de todos os dispositivos.
+     *
+     * @param criteria Filtros, ordenação, cursor e tamanho da página
+     * @param ifNoneMatch ETags que o cliente já possui (opcional)
+     * @return Lista de DTOs com os dispositivos encontrados, ou 304 se nada mudou
+     * @throws InvalidOperationException se algum critério ou o cursor for inválido
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Buscar dispositivos por múltiplos critérios")
+    public ResponseEntity<List<DeviceResponseDTO>> searchDevices(
+            @ParameterObject DeviceSearchCriteria criteria,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"c" + deviceService.getChangeStamp() + "\"";
+        String cacheControl = httpCacheProperties.cacheControlFor("devices-search");
+        if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag)) {
+            return notModified(etag, cacheControl);
+        }
+        DeviceSearchPage page = deviceService.searchDevices(criteria);
+        return pageResponse(page.getContent(), page.getNextCursor(), "cursor", etag, cacheControl);
+    }
+
+    /**
+     * Busca dispositivos por nome de forma aproximada, tolerando trechos parciais e erros de
+     * digitação. Os resultados vêm do nome mais parecido com o texto para o menos parecido.
+     *
+     * @param q Texto buscado
+     * @param limit Quantidade máxima de dispositivos retornados
+     * @return Lista de DTOs ordenada pela semelhança do nome
+     * @throws InvalidOperationException se o texto ou o limite forem inválidos
+     */
+    @GetMapping("/search/name")
+    @Operation(summary = "Buscar dispositivos por nome aproximado")
+    public ResponseEntity<List<DeviceResponseDTO>> searchDevicesByName(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DeviceService.DEFAULT_NAME_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(deviceService.searchDevicesByName(q, limit));
+    }
+
+    /**
+     * Sugere nomes de dispositivos e marcas para o autocompletar, a partir do texto digitado.
+     * As sugestões vêm do índice de prefixos em memória, sem consulta ao banco.
+     *
+     * @param q Texto digitado; qualquer palavra do nome ou da marca pode começar com ele
+     * @param limit Quantidade máxima de sugestões
+     * @return Sugestões ordenadas pela quantidade de dispositivos
+     * @throws InvalidOperationException se o limite for inválido
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir nomes de dispositivos e marcas (autocompletar)")
+    public ResponseEntity<List<DeviceSuggestionDTO>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + DeviceNameIndex.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(nameIndex.suggest(q, limit));
     }
 
     /**
@@ -132,6 +385,7 @@ public class DeviceController {
      * @return DTO com os dados do dispositivo atualizado
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      * @throws InvalidOperationException se o dispositivo estiver em uso e houver tentativa de atualizar nome ou marca
+     * @throws VersionConflictException se a versão informada no DTO não for a atual
      */
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar um dispositivo completamente")
@@ -151,6 +405,7 @@ public class DeviceController {
      * @return DTO com os dados do dispositivo atualizado
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      * @throws InvalidOperationException se o dispositivo estiver em uso e houver tentativa de atualizar nome ou marca
+     * @throws VersionConflictException se a versão informada no DTO não for a atual
      */
     @PatchMapping("/{id}")
     @Operation(summary = "Atualizar um dispositivo parcialmente")
@@ -165,13 +420,120 @@ public class DeviceController {
      * Remove um dispositivo do sistema.
      *
      * @param id ID do dispositivo a ser removido
+     * @param version Versão esperada do dispositivo (opcional)
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      * @throws InvalidOperationException se o dispositivo estiver em uso
+     * @throws VersionConflictException se a versão informada não for a atual
      */
     @DeleteMapping("/{id}")
     @Operation(summary = "Excluir um dispositivo")
-    public ResponseEntity<Void> deleteDevice(@PathVariable Long id) {
-        deviceService.deleteDevice(id);
+    public ResponseEntity<Void> deleteDevice(@PathVariable Long id,
+                                             @RequestParam(required = false) Long version) {
+        deviceService.deleteDevice(id, version);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Responde a uma listagem condicional. O ETag vem do carimbo de alteração da coleção,
+     * lido antes da página; se o cliente já possui essa versão, a página não é consultada,
+     * convertida nem serializada e a resposta é 304.
+     *
+     * @param endpoint Nome do endpoint, usado para escolher a política de Cache-Control
+     * @param ifNoneMatch Valor do cabeçalho If-None-Match, ou null
+     * @param stamp Carimbo de alteração da coleção
+     * @param page Consulta da página, executada apenas se o conteúdo mudou
+     */
+    private ResponseEntity<List<DeviceResponseDTO>> conditionalPageResponse(
+            String endpoint, String ifNoneMatch, long stamp, Supplier<CursorPage<DeviceResponseDTO>> page) {
+        String etag = "\"c" + stamp + "\"";
+        String cacheControl = httpCacheProperties.cacheControlFor(endpoint);
+        if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag)) {
+            return notModified(etag, cacheControl);
+        }
+        CursorPage<DeviceResponseDTO> result = page.get();
+        return pageResponse(result.getContent(), result.hasNext() ? String.valueOf(result.getNextCursor()) : null,
+            "after", etag, cacheControl);
+    }
+
+    /**
+     * Monta a resposta de uma página, expondo o cursor da próxima página nos cabeçalhos.
+     *
+     * @param content Itens da página
+     * @param nextCursor Cursor da próxima página, ou null se for a última
+     * @param cursorParam Parâmetro da requisição que recebe o cursor no link da próxima página
+     */
+    private ResponseEntity<List<DeviceResponseDTO>> pageResponse(List<DeviceResponseDTO> content, String nextCursor,
+                                                                  String cursorParam, String etag, String cacheControl) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam(cursorParam, nextCursor)
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, nextCursor)
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(content);
+    }
+
+    /**
+     * Monta uma resposta NDJSON cujo corpo é escrito fora da thread da requisição.
+     * A consulta é executada dentro do corpo, de modo que a transação e o cursor
+     * JDBC permanecem abertos apenas enquanto as linhas são transmitidas.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjsonResponse(Consumer<Consumer<DeviceResponseDTO>> source) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                source.accept(device -> writeLine(generator, device));
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag, String cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+            .build();
+    }
+
+    /**
+     * ETag forte de um dispositivo: muda a cada atualização, junto com a versão.
+     */
+    static String deviceETag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Verifica se algum dos ETags do If-None-Match corresponde ao atual (comparação fraca,
+     * como define a RFC 9110 para If-None-Match), ou se o cabeçalho é "*".
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeLine(JsonGenerator generator, DeviceResponseDTO device) {
+        try {
+            generator.writeObject(device);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.DeviceEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST responsável pelo feed de alterações de dispositivos (Server-Sent Events).
+ *
+ * Substitui a consulta periódica das listagens: o cliente mantém uma conexão aberta e recebe
+ * um evento (created, updated ou deleted) a cada alteração confirmada no banco, ou um evento
+ * imported por bloco de dispositivos inseridos em massa.
+ *
+ * Testes existentes (em DeviceEventControllerIntegrationTest.java):
+ * - testStreamEventsFilteredByState: Verifica que só chegam eventos de dispositivos que entram ou saem do estado filtrado
+ * - testReplayEventsAfterLastEventId: Verifica o reenvio dos eventos perdidos na reconexão com Last-Event-ID
+ * - DeviceEventBroadcasterTest: Verifica o evento "reset" na reconexão com um ID de antes de um reinício
+ */
+@RestController
+@RequestMapping("/api/v1/devices/events")
+@Tag(name = "Device Management")
+public class DeviceEventController {
+
+    private final DeviceEventBroadcaster eventBroadcaster;
+
+    @Autowired
+    public DeviceEventController(DeviceEventBroadcaster eventBroadcaster) {
+        this.eventBroadcaster = eventBroadcaster;
+    }
+
+    /**
+     * Assina o feed de alterações de dispositivos.
+     *
+     * Em atualizações, os filtros consideram também o estado e a marca anteriores, então o
+     * assinante de um estado é avisado quando um dispositivo sai dele.
+     *
+     * @param state Filtra pelo estado do dispositivo (opcional)
+     * @param brand Filtra pela marca do dispositivo, ignorando maiúsculas/minúsculas (opcional)
+     * @param lastEventId ID do último evento recebido, enviado automaticamente pelo navegador na reconexão (opcional)
+     * @return Fluxo SSE com os eventos
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Assinar o feed de alterações de dispositivos (SSE)")
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) DeviceState state,
+            @RequestParam(required = false) String brand,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventBroadcaster.subscribe(state, brand, lastEventId);
+    }
+}
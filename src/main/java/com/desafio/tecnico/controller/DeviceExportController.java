@@ -0,0 +1,193 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.dto.DeviceExportCriteria;
+import com.desafio.tecnico.dto.DeviceExportCriteria.Format;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.service.DeviceService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controlador REST responsável pela exportação do catálogo de dispositivos.
+ *
+ * As linhas são lidas do banco por um cursor JDBC com fetch size fixo e escritas direto na
+ * resposta à medida que chegam, então o uso de memória não depende do tamanho do catálogo.
+ * O formato (CSV ou NDJSON) é escolhido pelo parâmetro format e, se o cliente aceitar
+ * (Accept-Encoding: gzip), o corpo é comprimido com gzip.
+ *
+ * Testes existentes (em DeviceExportControllerIntegrationTest.java):
+ * - testExportCsvWithFilters: Verifica a exportação em CSV com filtros e o escape dos campos
+ * - testExportNdjsonWithGzip: Verifica a exportação em NDJSON comprimida com gzip
+ * - testExportWithInvalidCreationRange: Verifica a rejeição (400) de intervalo de criação invertido
+ */
+@RestController
+@RequestMapping("/api/v1/devices/export")
+@Tag(name = "Device Management")
+public class DeviceExportController {
+
+    static final String CSV_HEADER = "id,name,brand,state,creationTime,version";
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DeviceService deviceService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DeviceExportController(DeviceService deviceService, ObjectMapper objectMapper) {
+        this.deviceService = deviceService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Exporta os dispositivos em CSV (com cabeçalho e uma linha por dispositivo) ou NDJSON (um
+     * objeto JSON por linha), sem ordem definida. O CSV pode ser importado de volta em
+     * POST /api/v1/devices/imports (as colunas extras são ignoradas).
+     *
+     * Os filtros são validados antes de a resposta começar, para que um erro vire 400 e não um
+     * corpo interrompido; a consulta é executada dentro do corpo, de modo que a transação e o
+     * cursor JDBC ficam abertos apenas durante a transmissão.
+     *
+     * @param criteria Formato e filtros por marca, estado e intervalo de criação (opcionais)
+     * @param acceptEncoding Codificações aceitas pelo cliente (opcional)
+     * @return Corpo transmitido em streaming
+     * @throws com.desafio.tecnico.exception.InvalidOperationException se o intervalo de criação for inválido
+     */
+    @GetMapping
+    @Operation(summary = "Exportar dispositivos em CSV ou NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportDevices(
+            @ParameterObject DeviceExportCriteria criteria,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        deviceService.validateExport(criteria);
+        boolean ndjson = criteria.getFormat() == Format.NDJSON;
+        StreamingResponseBody writer = ndjson ? out -> writeNdjson(criteria, out) : out -> writeCsv(criteria, out);
+        String filename = ndjson ? "devices.ndjson" : "devices.csv";
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = !gzip ? writer : out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, BUFFER_SIZE);
+            writer.writeTo(compressed);
+            // finish() grava o rodapé do gzip sem fechar o fluxo da resposta, que pertence ao contêiner
+            compressed.finish();
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(ndjson ? DeviceController.NDJSON : CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(gzip ? filename + ".gz" : filename).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void writeCsv(DeviceExportCriteria criteria, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        deviceService.exportDevices(criteria, device -> writeCsvLine(writer, device));
+        writer.flush();
+    }
+
+    private void writeNdjson(DeviceExportCriteria criteria, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            deviceService.exportDevices(criteria, device -> writeJsonLine(generator, device));
+        }
+    }
+
+    /**
+     * Verifica se o cliente aceita gzip, ignorando as codificações marcadas com q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Escreve um dispositivo como uma linha CSV (RFC 4180): nome e marca vão entre aspas
+     * quando contêm vírgula, aspas ou quebra de linha, com as aspas internas duplicadas.
+     */
+    static void writeCsvLine(Writer writer, DeviceResponseDTO device) {
+        try {
+            writer.write(Long.toString(device.getId()));
+            writer.write(',');
+            writeCsvField(writer, device.getName());
+            writer.write(',');
+            writeCsvField(writer, device.getBrand());
+            writer.write(',');
+            writer.write(device.getState().name());
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(device.getCreationTime()));
+            writer.write(',');
+            writer.write(Long.toString(device.getVersion()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJsonLine(JsonGenerator generator, DeviceResponseDTO device) {
+        try {
+            generator.writeObject(device);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.dto.DeviceImportDTO;
+import com.desafio.tecnico.dto.DeviceImportDTO.Format;
+import com.desafio.tecnico.service.DeviceImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Controlador REST responsável pela importação de dispositivos em massa.
+ *
+ * O corpo (CSV ou NDJSON, conforme o Content-Type) é lido em streaming e inserido no banco em
+ * blocos com o protocolo COPY; as linhas inválidas ficam em um arquivo de rejeitados. Enquanto
+ * a importação acontece, o andamento pode ser acompanhado em GET /api/v1/devices/imports.
+ *
+ * Testes existentes (em DeviceImportControllerIntegrationTest.java):
+ * - testImportCsvWithRejects: Verifica a importação de CSV, a contagem e o arquivo de rejeitados
+ * - testImportNdjsonInSeveralChunks: Verifica a importação de NDJSON em vários blocos e a manutenção das estatísticas
+ * - testImportCsvWithoutRequiredColumns: Verifica a rejeição (400) de CSV sem as colunas obrigatórias
+ * - testExportedCsvImportsBack: Verifica que o CSV exportado é importado de volta e que nomes com quebra de linha são rejeitados
+ */
+@RestController
+@RequestMapping("/api/v1/devices/imports")
+@Tag(name = "Device Management")
+public class DeviceImportController {
+
+    private final DeviceImportService importService;
+
+    @Autowired
+    public DeviceImportController(DeviceImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Importa dispositivos de um CSV com cabeçalho (colunas name, brand e state).
+     *
+     * @param body Corpo da requisição
+     * @return 201 com o resultado da importação
+     */
+    @PostMapping(consumes = "text/csv")
+    @Operation(summary = "Importar dispositivos de CSV")
+    public ResponseEntity<DeviceImportDTO> importCsv(InputStream body) {
+        return created(importService.importDevices(body, Format.CSV));
+    }
+
+    /**
+     * Importa dispositivos de NDJSON, um objeto por linha com os campos de DeviceRequestDTO.
+     *
+     * @param body Corpo da requisição
+     * @return 201 com o resultado da importação
+     */
+    @PostMapping(consumes = DeviceController.NDJSON_VALUE)
+    @Operation(summary = "Importar dispositivos de NDJSON")
+    public ResponseEntity<DeviceImportDTO> importNdjson(InputStream body) {
+        return created(importService.importDevices(body, Format.NDJSON));
+    }
+
+    /**
+     * Lista as importações recentes, inclusive as que estão em andamento.
+     *
+     * @return Importações, da mais recente para a mais antiga
+     */
+    @GetMapping
+    @Operation(summary = "Listar importações de dispositivos")
+    public ResponseEntity<List<DeviceImportDTO>> listImports() {
+        return ResponseEntity.ok(importService.listImports());
+    }
+
+    /**
+     * Retorna o andamento de uma importação.
+     *
+     * @param id ID da importação
+     * @return Andamento da importação, ou 404 se não existir
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Andamento de uma importação de dispositivos")
+    public ResponseEntity<DeviceImportDTO> getImport(@PathVariable String id) {
+        return ResponseEntity.of(importService.getImport(id));
+    }
+
+    /**
+     * Retorna o arquivo de rejeitados de uma importação concluída: uma linha NDJSON por linha
+     * rejeitada, com o número da linha, o conteúdo e os erros.
+     *
+     * @param id ID da importação
+     * @return Arquivo de rejeitados, ou 404 se a importação não existir, não tiver terminado ou não tiver rejeitados
+     */
+    @GetMapping(value = "/{id}/rejects", produces = DeviceController.NDJSON_VALUE)
+    @Operation(summary = "Linhas rejeitadas de uma importação de dispositivos")
+    public ResponseEntity<Resource> getRejects(@PathVariable String id) {
+        return importService.getRejects(id)
+            .<ResponseEntity<Resource>>map(file -> ResponseEntity.ok(new FileSystemResource(file)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<DeviceImportDTO> created(DeviceImportDTO result) {
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+}
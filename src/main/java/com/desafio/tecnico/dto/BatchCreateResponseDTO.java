@@ -0,0 +1,63 @@
+package com.desafio.tecnico.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO de resposta da criação de dispositivos em lote.
+ * Contém os dispositivos criados (na mesma ordem dos itens válidos da requisição)
+ * e os erros de validação dos itens rejeitados, identificados pela posição na requisição.
+ */
+public class BatchCreateResponseDTO {
+    private List<DeviceResponseDTO> created;
+    private List<BatchItemErrorDTO> errors;
+
+    // Construtores
+    public BatchCreateResponseDTO() {
+    }
+
+    public BatchCreateResponseDTO(List<DeviceResponseDTO> created, List<BatchItemErrorDTO> errors) {
+        this.created = created;
+        this.errors = errors;
+    }
+
+    // Getters e Setters
+    public List<DeviceResponseDTO> getCreated() {
+        return created;
+    }
+
+    public void setCreated(List<DeviceResponseDTO> created) {
+        this.created = created;
+    }
+
+    public List<BatchItemErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BatchItemErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchCreateResponseDTO that = (BatchCreateResponseDTO) o;
+        return Objects.equals(created, that.created) &&
+               Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(created, errors);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchCreateResponseDTO{" +
+                "created=" + created +
+                ", errors=" + errors +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * DTO que descreve os erros de validação de um item de uma criação em lote.
+ * O formato dos erros segue o mesmo mapa campo -> mensagem retornado pelo
+ * GlobalExceptionHandler para requisições individuais.
+ */
+public class BatchItemErrorDTO {
+    private int index;
+    private Map<String, String> errors;
+
+    // Construtores
+    public BatchItemErrorDTO() {
+    }
+
+    public BatchItemErrorDTO(int index, Map<String, String> errors) {
+        this.index = index;
+        this.errors = errors;
+    }
+
+    // Getters e Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchItemErrorDTO that = (BatchItemErrorDTO) o;
+        return index == that.index &&
+               Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, errors);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemErrorDTO{" +
+                "index=" + index +
+                ", errors=" + errors +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Objects;
+
+/**
+ * DTO com uma marca do dicionário e a quantidade de dispositivos associados a ela.
+ */
+public class BrandCountDTO {
+    private Integer id;
+    private String name;
+    private long deviceCount;
+
+    // Construtores
+    public BrandCountDTO() {
+    }
+
+    public BrandCountDTO(Integer id, String name, long deviceCount) {
+        this.id = id;
+        this.name = name;
+        this.deviceCount = deviceCount;
+    }
+
+    // Getters e Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getDeviceCount() {
+        return deviceCount;
+    }
+
+    public void setDeviceCount(long deviceCount) {
+        this.deviceCount = deviceCount;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BrandCountDTO that = (BrandCountDTO) o;
+        return deviceCount == that.deviceCount &&
+               Objects.equals(id, that.id) &&
+               Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, deviceCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BrandCountDTO{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", deviceCount=" + deviceCount +
+                '}';
+    }
+}
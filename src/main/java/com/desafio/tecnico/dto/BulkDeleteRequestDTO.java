@@ -0,0 +1,79 @@
+package com.desafio.tecnico.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO da remoção em lote (POST /api/v1/devices/batch/delete).
+ *
+ * Os dispositivos são escolhidos pela lista de IDs ou pela marca, nunca pelos dois. Pela marca,
+ * cada requisição processa um bloco de dispositivos em ordem de ID; o campo {@code cursor}
+ * recebe o {@code nextCursor} da resposta anterior para continuar.
+ */
+public class BulkDeleteRequestDTO {
+    private List<Long> ids;
+    private String brand;
+    private Long cursor;
+
+    // Construtores
+    public BulkDeleteRequestDTO() {
+    }
+
+    public BulkDeleteRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public BulkDeleteRequestDTO(String brand) {
+        this.brand = brand;
+    }
+
+    // Getters e Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(Long cursor) {
+        this.cursor = cursor;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkDeleteRequestDTO that = (BulkDeleteRequestDTO) o;
+        return Objects.equals(ids, that.ids) &&
+               Objects.equals(brand, that.brand) &&
+               Objects.equals(cursor, that.cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, brand, cursor);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteRequestDTO{" +
+                "ids=" + ids +
+                ", brand='" + brand + '\'' +
+                ", cursor=" + cursor +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Objects;
+
+/**
+ * DTO com o resultado da remoção em lote para um dispositivo.
+ */
+public class BulkDeleteResultDTO {
+
+    /**
+     * Resultado da remoção.
+     */
+    public enum Outcome {
+        /** O dispositivo foi removido. */
+        DELETED,
+        /** O dispositivo está em uso e não pode ser removido. */
+        REJECTED,
+        /** O dispositivo estava travado por outra operação; a remoção pode ser repetida. */
+        LOCKED,
+        /** Não existe dispositivo com o ID informado. */
+        NOT_FOUND
+    }
+
+    private Long id;
+    private Outcome outcome;
+
+    // Construtores
+    public BulkDeleteResultDTO() {
+    }
+
+    public BulkDeleteResultDTO(Long id, Outcome outcome) {
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkDeleteResultDTO that = (BulkDeleteResultDTO) o;
+        return Objects.equals(id, that.id) &&
+               outcome == that.outcome;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, outcome);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteResultDTO{" +
+                "id=" + id +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
@@ -0,0 +1,109 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO da alteração de estado em lote (POST /api/v1/devices/batch/state).
+ *
+ * Os dispositivos são escolhidos pela lista de IDs ou pelos filtros de marca e estado atual,
+ * nunca pelos dois. Com filtros, cada requisição processa um bloco de dispositivos em ordem de
+ * ID; o campo {@code cursor} recebe o {@code nextCursor} da resposta anterior para continuar.
+ */
+public class BulkStateChangeRequestDTO {
+    private List<Long> ids;
+    private String brand;
+    private DeviceState currentState;
+    private Long cursor;
+
+    @NotNull(message = "Estado de destino é obrigatório")
+    private DeviceState targetState;
+
+    // Construtores
+    public BulkStateChangeRequestDTO() {
+    }
+
+    public BulkStateChangeRequestDTO(List<Long> ids, DeviceState targetState) {
+        this.ids = ids;
+        this.targetState = targetState;
+    }
+
+    public BulkStateChangeRequestDTO(String brand, DeviceState currentState, DeviceState targetState) {
+        this.brand = brand;
+        this.currentState = currentState;
+        this.targetState = targetState;
+    }
+
+    // Getters e Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public DeviceState getCurrentState() {
+        return currentState;
+    }
+
+    public void setCurrentState(DeviceState currentState) {
+        this.currentState = currentState;
+    }
+
+    public Long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(Long cursor) {
+        this.cursor = cursor;
+    }
+
+    public DeviceState getTargetState() {
+        return targetState;
+    }
+
+    public void setTargetState(DeviceState targetState) {
+        this.targetState = targetState;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkStateChangeRequestDTO that = (BulkStateChangeRequestDTO) o;
+        return Objects.equals(ids, that.ids) &&
+               Objects.equals(brand, that.brand) &&
+               currentState == that.currentState &&
+               Objects.equals(cursor, that.cursor) &&
+               targetState == that.targetState;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, brand, currentState, cursor, targetState);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkStateChangeRequestDTO{" +
+                "ids=" + ids +
+                ", brand='" + brand + '\'' +
+                ", currentState=" + currentState +
+                ", cursor=" + cursor +
+                ", targetState=" + targetState +
+                '}';
+    }
+}
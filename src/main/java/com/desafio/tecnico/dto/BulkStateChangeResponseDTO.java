@@ -0,0 +1,63 @@
+package com.desafio.tecnico.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO de resposta da alteração de estado em lote.
+ * Contém o resultado de cada dispositivo processado, em ordem de ID, e, quando os dispositivos
+ * foram escolhidos por filtros e podem existir outros, o cursor para o próximo bloco.
+ */
+public class BulkStateChangeResponseDTO {
+    private List<BulkStateChangeResultDTO> results;
+    private Long nextCursor;
+
+    // Construtores
+    public BulkStateChangeResponseDTO() {
+    }
+
+    public BulkStateChangeResponseDTO(List<BulkStateChangeResultDTO> results, Long nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters e Setters
+    public List<BulkStateChangeResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkStateChangeResultDTO> results) {
+        this.results = results;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkStateChangeResponseDTO that = (BulkStateChangeResponseDTO) o;
+        return Objects.equals(results, that.results) &&
+               Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(results, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkStateChangeResponseDTO{" +
+                "results=" + results +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
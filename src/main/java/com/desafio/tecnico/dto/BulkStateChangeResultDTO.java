@@ -0,0 +1,90 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Objects;
+
+/**
+ * DTO com o resultado da alteração de estado em lote para um dispositivo.
+ */
+public class BulkStateChangeResultDTO {
+
+    /**
+     * Resultado da alteração.
+     */
+    public enum Outcome {
+        /** O estado foi alterado. */
+        UPDATED,
+        /** O dispositivo já estava no estado de destino. */
+        UNCHANGED,
+        /** O dispositivo está em uso e não é alterado por operações em lote. */
+        REJECTED,
+        /** Não existe dispositivo com o ID informado. */
+        NOT_FOUND
+    }
+
+    private Long id;
+    private Outcome outcome;
+    private Long version;
+
+    // Construtores
+    public BulkStateChangeResultDTO() {
+    }
+
+    public BulkStateChangeResultDTO(Long id, Outcome outcome, Long version) {
+        this.id = id;
+        this.outcome = outcome;
+        this.version = version;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * @return Nova versão do dispositivo, se foi alterado; caso contrário null
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkStateChangeResultDTO that = (BulkStateChangeResultDTO) o;
+        return Objects.equals(id, that.id) &&
+               outcome == that.outcome &&
+               Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, outcome, version);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkStateChangeResultDTO{" +
+                "id=" + id +
+                ", outcome=" + outcome +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Objects;
+
+/**
+ * DTO com as estatísticas do cache de dispositivos.
+ */
+public class CacheStatsDTO {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+
+    // Construtores
+    public CacheStatsDTO() {
+    }
+
+    public CacheStatsDTO(long size, long hitCount, long missCount, long evictionCount, double hitRate) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.hitRate = hitRate;
+    }
+
+    // Getters e Setters
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheStatsDTO that = (CacheStatsDTO) o;
+        return size == that.size &&
+               hitCount == that.hitCount &&
+               missCount == that.missCount &&
+               evictionCount == that.evictionCount &&
+               Double.compare(hitRate, that.hitRate) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, hitCount, missCount, evictionCount, hitRate);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatsDTO{" +
+                "size=" + size +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", hitRate=" + hitRate +
+                '}';
+    }
+}
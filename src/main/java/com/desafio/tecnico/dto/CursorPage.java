@@ -0,0 +1,75 @@
+package com.desafio.tecnico.dto;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Página de resultados obtida por paginação baseada em cursor (keyset).
+ * O cursor é o ID do último item entregue; a próxima página é buscada com
+ * {@code id > cursor}, o que permite ao banco usar o índice da chave primária
+ * sem precisar contar ou pular linhas (ao contrário de OFFSET).
+ *
+ * @param <T> Tipo dos itens da página
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> content, Long nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Monta uma página a partir de uma consulta que buscou {@code size + 1} itens.
+     * O item excedente apenas sinaliza que existe uma próxima página e é descartado.
+     *
+     * @param items Itens retornados pela consulta (no máximo {@code size + 1})
+     * @param size Tamanho solicitado para a página
+     * @param cursorOf Função que extrai o cursor (ID) de um item
+     * @return Página com o cursor para a próxima busca, ou sem cursor se for a última
+     */
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, Long> cursorOf) {
+        if (items.size() <= size) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> content = items.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPage<?> that = (CursorPage<?>) o;
+        return Objects.equals(content, that.content) &&
+               Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPage{" +
+                "content=" + content +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
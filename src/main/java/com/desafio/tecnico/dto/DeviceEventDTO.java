@@ -0,0 +1,169 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * DTO com uma alteração de dispositivo publicada no feed de eventos (SSE).
+ *
+ * Em atualizações, previousName, previousState e previousBrand trazem o nome, o estado e a
+ * marca anteriores, para que o assinante de uma coleção perceba também os dispositivos que
+ * saíram dela; nos demais tipos ficam nulos.
+ * Em exclusões, device traz os dados do dispositivo no momento em que foi removido.
+ * Em importações, um único evento representa um bloco de dispositivos inseridos em massa:
+ * device fica nulo e count traz a quantidade de dispositivos do bloco.
+ * O id tem o formato "<execução>-<sequência>" (ver DeviceEventBroadcaster).
+ */
+public class DeviceEventDTO {
+
+    /**
+     * Tipos de alteração publicados.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMPORTED
+    }
+
+    private String id;
+    private Type type;
+    private DeviceResponseDTO device;
+    private String previousName;
+    private DeviceState previousState;
+    private String previousBrand;
+    private Integer count;
+    private LocalDateTime timestamp;
+
+    // Construtores
+    public DeviceEventDTO() {
+    }
+
+    public DeviceEventDTO(Type type, DeviceResponseDTO device) {
+        this(type, device, null, null, null);
+    }
+
+    public DeviceEventDTO(Type type, DeviceResponseDTO device, String previousName, DeviceState previousState,
+                          String previousBrand) {
+        this.type = type;
+        this.device = device;
+        this.previousName = previousName;
+        this.previousState = previousState;
+        this.previousBrand = previousBrand;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    /**
+     * Cria o evento de um bloco de dispositivos inseridos em massa.
+     *
+     * @param count Quantidade de dispositivos do bloco
+     * @return Evento do tipo IMPORTED, sem dispositivo
+     */
+    public static DeviceEventDTO imported(int count) {
+        DeviceEventDTO event = new DeviceEventDTO(Type.IMPORTED, null);
+        event.setCount(count);
+        return event;
+    }
+
+    // Getters e Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public DeviceResponseDTO getDevice() {
+        return device;
+    }
+
+    public void setDevice(DeviceResponseDTO device) {
+        this.device = device;
+    }
+
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    public void setPreviousName(String previousName) {
+        this.previousName = previousName;
+    }
+
+    public DeviceState getPreviousState() {
+        return previousState;
+    }
+
+    public void setPreviousState(DeviceState previousState) {
+        this.previousState = previousState;
+    }
+
+    public String getPreviousBrand() {
+        return previousBrand;
+    }
+
+    public void setPreviousBrand(String previousBrand) {
+        this.previousBrand = previousBrand;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceEventDTO that = (DeviceEventDTO) o;
+        return Objects.equals(id, that.id) &&
+               type == that.type &&
+               Objects.equals(device, that.device) &&
+               Objects.equals(previousName, that.previousName) &&
+               previousState == that.previousState &&
+               Objects.equals(previousBrand, that.previousBrand) &&
+               Objects.equals(count, that.count) &&
+               Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, type, device, previousName, previousState, previousBrand, count, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceEventDTO{" +
+                "id='" + id + '\'' +
+                ", type=" + type +
+                ", device=" + device +
+                ", previousName='" + previousName + '\'' +
+                ", previousState=" + previousState +
+                ", previousBrand='" + previousBrand + '\'' +
+                ", count=" + count +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
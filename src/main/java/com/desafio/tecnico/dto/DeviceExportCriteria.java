@@ -0,0 +1,126 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * DTO com os filtros da exportação de dispositivos (GET /api/v1/devices/export).
+ *
+ * Todos os filtros são opcionais e combinados com AND; sem filtros, o catálogo inteiro é exportado.
+ * O formato padrão é CSV.
+ */
+public class DeviceExportCriteria {
+
+    /**
+     * Formatos da exportação.
+     */
+    public enum Format {
+        /** CSV com cabeçalho (id, name, brand, state, creationTime, version). */
+        CSV,
+        /** Um objeto JSON por linha, com os campos de DeviceResponseDTO. */
+        NDJSON
+    }
+
+    private Format format = Format.CSV;
+    private String brand;
+    private DeviceState state;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // Construtores
+    public DeviceExportCriteria() {
+    }
+
+    public DeviceExportCriteria(String brand, DeviceState state, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        this.brand = brand;
+        this.state = state;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    // Getters e Setters
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * @return Marca dos dispositivos, ignorando maiúsculas/minúsculas
+     */
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public DeviceState getState() {
+        return state;
+    }
+
+    public void setState(DeviceState state) {
+        this.state = state;
+    }
+
+    /**
+     * @return Início do intervalo de criação (inclusivo)
+     */
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    /**
+     * @return Fim do intervalo de criação (exclusivo)
+     */
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceExportCriteria that = (DeviceExportCriteria) o;
+        return format == that.format &&
+               Objects.equals(brand, that.brand) &&
+               state == that.state &&
+               Objects.equals(createdFrom, that.createdFrom) &&
+               Objects.equals(createdTo, that.createdTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(format, brand, state, createdFrom, createdTo);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceExportCriteria{" +
+                "format=" + format +
+                ", brand='" + brand + '\'' +
+                ", state=" + state +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                '}';
+    }
+}
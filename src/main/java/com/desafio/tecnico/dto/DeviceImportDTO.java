@@ -0,0 +1,168 @@
+package com.desafio.tecnico.dto;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * DTO com o andamento de uma importação de dispositivos (POST /api/v1/devices/imports).
+ *
+ * Os contadores são atualizados enquanto a importação está em andamento: {@code imported}
+ * conta apenas os dispositivos de blocos já confirmados no banco, e {@code rejected} as linhas
+ * gravadas no arquivo de rejeitados (GET /api/v1/devices/imports/{id}/rejects).
+ */
+public class DeviceImportDTO {
+
+    /**
+     * Formato do corpo da importação.
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Situação da importação.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String id;
+    private Format format;
+    private Status status;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    // Construtores
+    public DeviceImportDTO() {
+    }
+
+    public DeviceImportDTO(String id, Format format, Status status, long rowsRead, long imported, long rejected,
+                           LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.id = id;
+        this.format = format;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    // Getters e Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceImportDTO that = (DeviceImportDTO) o;
+        return rowsRead == that.rowsRead &&
+               imported == that.imported &&
+               rejected == that.rejected &&
+               Objects.equals(id, that.id) &&
+               format == that.format &&
+               status == that.status &&
+               Objects.equals(startedAt, that.startedAt) &&
+               Objects.equals(finishedAt, that.finishedAt) &&
+               Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, format, status, rowsRead, imported, rejected, startedAt, finishedAt, error);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceImportDTO{" +
+                "id='" + id + '\'' +
+                ", format=" + format +
+                ", status=" + status +
+                ", rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                ", startedAt=" + startedAt +
+                ", finishedAt=" + finishedAt +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -3,6 +3,8 @@ package com.desafio.tecnico.dto;
 import com.desafio.tecnico.model.Device.DeviceState;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.util.Objects;
 
@@ -29,15 +31,31 @@ import java.util.Objects;
  */
 public class DeviceRequestDTO {
 
+    /**
+     * Caracteres de controle (quebras de linha, tabulação etc.) não são aceitos em nome e marca:
+     * cada dispositivo ocupa exatamente uma linha na exportação em CSV, que a importação lê de volta.
+     */
+    private static final String NO_CONTROL_CHARACTERS = "[^\\p{Cntrl}]*";
+
     @NotBlank(message = "Nome do dispositivo não pode ser vazio")
+    @Size(max = 255, message = "Nome do dispositivo deve ter no máximo 255 caracteres")
+    @Pattern(regexp = NO_CONTROL_CHARACTERS, message = "Nome do dispositivo não pode conter quebras de linha nem outros caracteres de controle")
     private String name;
 
     @NotBlank(message = "Marca do dispositivo não pode ser vazia")
+    @Size(max = 255, message = "Marca do dispositivo deve ter no máximo 255 caracteres")
+    @Pattern(regexp = NO_CONTROL_CHARACTERS, message = "Marca do dispositivo não pode conter quebras de linha nem outros caracteres de controle")
     private String brand;
 
     @NotNull(message = "Estado do dispositivo é obrigatório")
     private DeviceState state;
 
+    /**
+     * Versão esperada do dispositivo (opcional). Quando informada, a atualização só é
+     * aplicada se o dispositivo ainda estiver nessa versão.
+     */
+    private Long version;
+
     // Construtores
     public DeviceRequestDTO() {
     }
@@ -73,6 +91,14 @@ public class DeviceRequestDTO {
         this.state = state;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // equals, hashCode e toString
     @Override
     public boolean equals(Object o) {
@@ -81,12 +107,13 @@ public class DeviceRequestDTO {
         DeviceRequestDTO that = (DeviceRequestDTO) o;
         return Objects.equals(name, that.name) &&
                Objects.equals(brand, that.brand) &&
-               state == that.state;
+               state == that.state &&
+               Objects.equals(version, that.version);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, brand, state);
+        return Objects.hash(name, brand, state, version);
     }
 
     @Override
@@ -95,6 +122,7 @@ public class DeviceRequestDTO {
                 "name='" + name + '\'' +
                 ", brand='" + brand + '\'' +
                 ", state=" + state +
+                ", version=" + version +
                 '}';
     }
 }
@@ -20,6 +20,7 @@ public class DeviceResponseDTO {
     private String brand;
     private DeviceState state;
     private LocalDateTime creationTime;
+    private Long version;
 
     // Construtores
     public DeviceResponseDTO() {
@@ -33,6 +34,12 @@ public class DeviceResponseDTO {
         this.creationTime = creationTime;
     }
 
+    public DeviceResponseDTO(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime,
+                             Long version) {
+        this(id, name, brand, state, creationTime);
+        this.version = version;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -74,6 +81,14 @@ public class DeviceResponseDTO {
         this.creationTime = creationTime;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // equals, hashCode e toString
     @Override
     public boolean equals(Object o) {
@@ -84,12 +99,13 @@ public class DeviceResponseDTO {
                Objects.equals(name, that.name) &&
                Objects.equals(brand, that.brand) &&
                state == that.state &&
-               Objects.equals(creationTime, that.creationTime);
+               Objects.equals(creationTime, that.creationTime) &&
+               Objects.equals(version, that.version);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, brand, state, creationTime);
+        return Objects.hash(id, name, brand, state, creationTime, version);
     }
 
     @Override
@@ -100,6 +116,7 @@ public class DeviceResponseDTO {
                 ", brand='" + brand + '\'' +
                 ", state=" + state +
                 ", creationTime=" + creationTime +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,158 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * DTO com os critérios da busca de dispositivos (GET /api/v1/devices/search).
+ *
+ * Todos os filtros são opcionais e combinados com AND. A ordenação aceita "id",
+ * "creationTime" ou "name" (nome sem diferenciar maiúsculas/minúsculas), sempre com o ID
+ * como desempate, e a direção "asc" ou "desc". O cursor é o valor opaco devolvido no
+ * cabeçalho X-Next-Cursor da página anterior e só vale para a mesma ordenação.
+ */
+public class DeviceSearchCriteria {
+    private String brand;
+    private DeviceState state;
+    private String name;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private String sort = "id";
+    private String direction = "asc";
+    private String cursor;
+    private int size = 100;
+
+    // Construtores
+    public DeviceSearchCriteria() {
+    }
+
+    // Getters e Setters
+    /**
+     * @return Marca dos dispositivos, ignorando maiúsculas/minúsculas
+     */
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public DeviceState getState() {
+        return state;
+    }
+
+    public void setState(DeviceState state) {
+        this.state = state;
+    }
+
+    /**
+     * @return Prefixo do nome, ignorando maiúsculas/minúsculas
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Início do intervalo de criação (inclusivo)
+     */
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    /**
+     * @return Fim do intervalo de criação (exclusivo)
+     */
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceSearchCriteria that = (DeviceSearchCriteria) o;
+        return size == that.size &&
+               Objects.equals(brand, that.brand) &&
+               state == that.state &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(createdFrom, that.createdFrom) &&
+               Objects.equals(createdTo, that.createdTo) &&
+               Objects.equals(sort, that.sort) &&
+               Objects.equals(direction, that.direction) &&
+               Objects.equals(cursor, that.cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(brand, state, name, createdFrom, createdTo, sort, direction, cursor, size);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceSearchCriteria{" +
+                "brand='" + brand + '\'' +
+                ", state=" + state +
+                ", name='" + name + '\'' +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                ", sort='" + sort + '\'' +
+                ", direction='" + direction + '\'' +
+                ", cursor='" + cursor + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
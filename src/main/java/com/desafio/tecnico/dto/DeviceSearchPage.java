@@ -0,0 +1,56 @@
+package com.desafio.tecnico.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Página de resultados da busca de dispositivos.
+ *
+ * Diferente de {@link CursorPage}, o cursor não é apenas um ID: a busca pode ser ordenada por
+ * data de criação ou nome, então o cursor carrega também o valor da chave de ordenação do
+ * último item, codificado em uma string opaca para o cliente.
+ */
+public class DeviceSearchPage {
+
+    private final List<DeviceResponseDTO> content;
+    private final String nextCursor;
+
+    public DeviceSearchPage(List<DeviceResponseDTO> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<DeviceResponseDTO> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceSearchPage that = (DeviceSearchPage) o;
+        return Objects.equals(content, that.content) &&
+               Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceSearchPage{" +
+                "content=" + content +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.desafio.tecnico.dto;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * DTO com a quantidade de dispositivos no total, por estado e por marca e estado.
+ *
+ * Os mapas por estado trazem todos os estados, inclusive os zerados; marcas sem
+ * dispositivos não aparecem em byBrand.
+ */
+public class DeviceStatsDTO {
+    private long total;
+    private Map<DeviceState, Long> byState;
+    private Map<String, Map<DeviceState, Long>> byBrand;
+
+    // Construtores
+    public DeviceStatsDTO() {
+    }
+
+    public DeviceStatsDTO(long total, Map<DeviceState, Long> byState, Map<String, Map<DeviceState, Long>> byBrand) {
+        this.total = total;
+        this.byState = byState;
+        this.byBrand = byBrand;
+    }
+
+    // Getters e Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<DeviceState, Long> getByState() {
+        return byState;
+    }
+
+    public void setByState(Map<DeviceState, Long> byState) {
+        this.byState = byState;
+    }
+
+    public Map<String, Map<DeviceState, Long>> getByBrand() {
+        return byBrand;
+    }
+
+    public void setByBrand(Map<String, Map<DeviceState, Long>> byBrand) {
+        this.byBrand = byBrand;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceStatsDTO that = (DeviceStatsDTO) o;
+        return total == that.total &&
+               Objects.equals(byState, that.byState) &&
+               Objects.equals(byBrand, that.byBrand);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, byState, byBrand);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceStatsDTO{" +
+                "total=" + total +
+                ", byState=" + byState +
+                ", byBrand=" + byBrand +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.desafio.tecnico.dto;
+
+import java.util.Objects;
+
+/**
+ * DTO com uma sugestão do autocompletar de dispositivos (GET /api/v1/devices/suggest).
+ *
+ * A sugestão é um nome de dispositivo ou uma marca, com a quantidade de dispositivos que
+ * têm esse nome (sem diferenciar maiúsculas/minúsculas) ou dessa marca.
+ */
+public class DeviceSuggestionDTO {
+
+    /**
+     * Origem da sugestão.
+     */
+    public enum Type {
+        NAME,
+        BRAND
+    }
+
+    private String value;
+    private Type type;
+    private long count;
+
+    // Construtores
+    public DeviceSuggestionDTO() {
+    }
+
+    public DeviceSuggestionDTO(String value, Type type, long count) {
+        this.value = value;
+        this.type = type;
+        this.count = count;
+    }
+
+    // Getters e Setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceSuggestionDTO that = (DeviceSuggestionDTO) o;
+        return count == that.count &&
+               Objects.equals(value, that.value) &&
+               type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, type, count);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceSuggestionDTO{" +
+                "value='" + value + '\'' +
+                ", type=" + type +
+                ", count=" + count +
+                '}';
+    }
+}
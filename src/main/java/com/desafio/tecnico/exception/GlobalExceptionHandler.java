@@ -21,6 +21,7 @@ import java.util.Map;
  * - O comportamento é testado parcial e indiretamente via DeviceControllerIntegrationTest
  * - O tratamento de DeviceNotFoundException é testado quando se busca um ID inexistente
  * - O tratamento de InvalidOperationException é testado ao tentar deletar dispositivos em uso
+ * - O tratamento de VersionConflictException é testado ao atualizar um dispositivo com versão desatualizada
  *
  * Possíveis melhorias nos testes:
  * - Implementar testes unitários específicos para cada método handler usando MockMvc
@@ -58,6 +59,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleVersionConflictException(VersionConflictException ex) {
+        return new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -0,0 +1,7 @@
+package com.desafio.tecnico.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,98 @@
+package com.desafio.tecnico.model;
+
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+/**
+ * Entidade Brand representa uma marca no dicionário de marcas.
+ * Esta classe mapeia para a tabela "brands" no banco de dados.
+ *
+ * Cada marca é armazenada uma única vez e referenciada pelos dispositivos através de
+ * um identificador inteiro. A coluna normalized_name guarda o nome sem espaços nas
+ * extremidades e em minúsculas; o índice único sobre ela garante que variações de
+ * caixa ("Samsung", "SAMSUNG") resolvam para a mesma marca e atende a busca por
+ * igualdade sem precisar de lower() no devices.
+ *
+ * Possíveis melhorias:
+ * - Permitir renomear marcas mantendo o vínculo com os dispositivos
+ * - Remover marcas sem dispositivos associados
+ */
+@Entity
+@Table(name = "brands")
+public class Brand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Nome de exibição, com a grafia da primeira vez em que a marca foi cadastrada.
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Chave de busca: nome sem espaços nas extremidades e em minúsculas.
+     */
+    @Column(name = "normalized_name", nullable = false, unique = true)
+    private String normalizedName;
+
+    // Construtores
+    public Brand() {
+    }
+
+    public Brand(Integer id, String name, String normalizedName) {
+        this.id = id;
+        this.name = name;
+        this.normalizedName = normalizedName;
+    }
+
+    // Getters e Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+
+    // equals, hashCode e toString
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Brand brand = (Brand) o;
+        return Objects.equals(id, brand.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Brand{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", normalizedName='" + normalizedName + '\'' +
+                '}';
+    }
+}
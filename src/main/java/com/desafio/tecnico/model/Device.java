@@ -1,6 +1,7 @@
 package com.desafio.tecnico.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -9,6 +10,11 @@ import java.util.Objects;
  * Entidade Device representa um dispositivo no sistema.
  * Esta classe mapeia para a tabela "devices" no banco de dados.
  *
+ * A tabela, seus índices e a chave estrangeira são criados pelas migrações do Flyway
+ * (src/main/resources/db/migration). No banco, devices é particionada por mês de creation_time
+ * e a chave primária é (id, creation_time). A unicidade do id entre as partições é garantida pela
+ * tabela device_keys ({@link DeviceKey}), que também localiza a partição nas consultas por id.
+ *
  * Testes existentes:
  * - Não há testes específicos para esta classe de modelo
  * - A funcionalidade de prePersist que define o creationTime não é testada diretamente
@@ -30,15 +36,38 @@ import java.util.Objects;
 @Table(name = "devices")
 public class Device {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Identificador gerado por sequência com alocação em blocos (pooled).
+     * Diferente de IDENTITY, permite ao Hibernate conhecer os IDs antes do INSERT
+     * e agrupar as inserções em lotes JDBC; cada ida ao banco reserva
+     * {@value #ID_ALLOCATION_SIZE} IDs.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "devices_seq")
+    @SequenceGenerator(name = "devices_seq", sequenceName = "devices_seq", allocationSize = Device.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false)
-    private String brand;
+    /**
+     * Identificador da marca no dicionário de marcas (tabela "brands").
+     * A busca por marca vira uma igualdade sobre um inteiro, atendida pelo índice
+     * (brand_id, id), que também fornece a ordem da paginação por cursor.
+     */
+    @Column(name = "brand_id", nullable = false)
+    private Integer brandId;
+
+    /**
+     * Associação somente leitura com a marca, usada em consultas JPQL e para gerar a
+     * chave estrangeira. A escrita é feita exclusivamente por {@link #brandId}.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "brand_id", insertable = false, updatable = false,
+        foreignKey = @ForeignKey(name = "fk_devices_brand"))
+    private Brand brand;
 
     /**
      * Estado atual do dispositivo (AVAILABLE, IN_USE, INACTIVE)
@@ -57,6 +86,17 @@ public class Device {
     @Column(name = "creation_time", nullable = false, updatable = false)
     private LocalDateTime creationTime;
 
+    /**
+     * Versão do dispositivo para controle de concorrência otimista.
+     * Incrementada a cada atualização; o cliente pode enviá-la de volta para que a
+     * alteração só seja aplicada se ninguém tiver modificado o dispositivo nesse meio tempo.
+     * O valor padrão permite adicionar a coluna em bases que já possuem dispositivos.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Método invocado automaticamente antes da persistência inicial da entidade.
      * Define a data/hora de criação do dispositivo como o momento atual.
@@ -70,10 +110,10 @@ public class Device {
     public Device() {
     }
 
-    public Device(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime) {
+    public Device(Long id, String name, Integer brandId, DeviceState state, LocalDateTime creationTime) {
         this.id = id;
         this.name = name;
-        this.brand = brand;
+        this.brandId = brandId;
         this.state = state;
         this.creationTime = creationTime;
     }
@@ -95,12 +135,16 @@ public class Device {
         this.name = name;
     }
 
-    public String getBrand() {
-        return brand;
+    public Integer getBrandId() {
+        return brandId;
     }
 
-    public void setBrand(String brand) {
-        this.brand = brand;
+    public void setBrandId(Integer brandId) {
+        this.brandId = brandId;
+    }
+
+    public Brand getBrand() {
+        return brand;
     }
 
     public DeviceState getState() {
@@ -119,6 +163,14 @@ public class Device {
         this.creationTime = creationTime;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // equals, hashCode e toString
     @Override
     public boolean equals(Object o) {
@@ -138,9 +190,10 @@ public class Device {
         return "Device{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
-                ", brand='" + brand + '\'' +
+                ", brandId=" + brandId +
                 ", state=" + state +
                 ", creationTime=" + creationTime +
+                ", version=" + version +
                 '}';
     }
 
@@ -0,0 +1,39 @@
+package com.desafio.tecnico.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade somente leitura que mapeia a tabela "device_keys": o creation_time de cada ID de
+ * dispositivo, em uma tabela sem partições (ver a migração V3__device_keys.sql).
+ *
+ * A tabela é mantida por gatilhos sobre devices e nunca é gravada pela aplicação. As consultas
+ * por ID leem o creation_time daqui e filtram devices por (id, creation_time), o que restringe a
+ * leitura à partição do mês do dispositivo em vez de consultar o índice de todas as partições.
+ */
+@Entity
+@Immutable
+@Table(name = "device_keys")
+public class DeviceKey {
+
+    @Id
+    private Long id;
+
+    @Column(name = "creation_time", nullable = false)
+    private LocalDateTime creationTime;
+
+    // Construtores
+    protected DeviceKey() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getCreationTime() {
+        return creationTime;
+    }
+}
@@ -0,0 +1,39 @@
+package com.desafio.tecnico.repository;
+
+import com.desafio.tecnico.model.Brand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório para acessar o dicionário de marcas.
+ */
+@Repository
+public interface BrandRepository extends JpaRepository<Brand, Integer> {
+
+    /**
+     * Busca uma marca pela chave normalizada, atendida pelo índice único de normalized_name.
+     *
+     * @param normalizedName Nome da marca normalizado (sem espaços nas extremidades e em minúsculas)
+     * @return Marca encontrada, se existir
+     */
+    Optional<Brand> findByNormalizedName(String normalizedName);
+
+    /**
+     * Insere a marca caso ainda não exista uma com a mesma chave normalizada.
+     *
+     * Executa na transação de quem chama: se a operação for desfeita, a marca também é.
+     * Uma inserção concorrente da mesma marca ainda não confirmada faz este comando aguardar
+     * o desfecho da outra transação; se ela confirmar, o ON CONFLICT descarta a inserção, sem erro.
+     *
+     * @param name Nome de exibição da marca
+     * @param normalizedName Nome da marca normalizado
+     * @return ID da marca inserida, ou vazio se a marca já existia
+     */
+    @Query(value = "INSERT INTO brands (name, normalized_name) VALUES (:name, :normalizedName) " +
+                   "ON CONFLICT (normalized_name) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Integer> insertIfAbsent(@Param("name") String name, @Param("normalizedName") String normalizedName);
+}
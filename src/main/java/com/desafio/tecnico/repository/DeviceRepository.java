@@ -1,11 +1,21 @@
 package com.desafio.tecnico.repository;
 
+import com.desafio.tecnico.dto.DeviceResponseDTO;
 import com.desafio.tecnico.model.Device;
 import com.desafio.tecnico.model.Device.DeviceState;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repositório para acessar e manipular dados de dispositivos no banco de dados.
@@ -13,7 +23,7 @@ import java.util.List;
  *
  * Testes existentes:
  * - Não há testes diretos para o repositório, apenas testes indiretos via camada de serviço
- * - Os métodos findByBrand e findByState são testados através de DeviceServiceTest
+ * - As consultas por marca, estado e cursor são testadas através de DeviceServiceTest
  *
  * Possíveis melhorias nos testes:
  * - Implementar testes diretos com @DataJpaTest para validar consultas personalizadas
@@ -25,19 +35,35 @@ import java.util.List;
  * - Adicionar consultas personalizadas com @Query para buscas mais complexas
  * - Implementar consultas com critérios dinâmicos usando Specification
  * - Adicionar métodos para busca por múltiplos parâmetros
- * - Implementar métodos com suporte a paginação e ordenação
  */
 @Repository
-public interface DeviceRepository extends JpaRepository<Device, Long> {
+public interface DeviceRepository extends JpaRepository<Device, Long>, DeviceRepositoryCustom {
+
+    /**
+     * Quantidade de linhas buscadas por ida ao banco nas consultas em streaming.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Projeção comum das consultas de leitura, direto no DTO de resposta.
+     */
+    String RESPONSE_SELECT = "SELECT new com.desafio.tecnico.dto.DeviceResponseDTO(" +
+        "d.id, d.name, b.name, d.state, d.creationTime, d.version) FROM Device d JOIN d.brand b ";
+
+    /**
+     * Filtro por ID que também fixa o creation_time, lido de device_keys ({@link com.desafio.tecnico.model.DeviceKey}):
+     * só a partição do mês do dispositivo é lida, em vez do índice de todas as partições.
+     */
+    String BY_ID = "WHERE d.id = :id AND d.creationTime = (SELECT k.creationTime FROM DeviceKey k WHERE k.id = :id)";
 
     /**
-     * Busca dispositivos por marca.
+     * Busca dispositivos pelo ID da marca.
      * Spring Data JPA gera a implementação automaticamente com base no nome do método.
      *
-     * @param brand Marca para filtrar dispositivos
+     * @param brandId ID da marca no dicionário de marcas
      * @return Lista de dispositivos da marca especificada
      */
-    List<Device> findByBrand(String brand);
+    List<Device> findByBrandId(Integer brandId);
 
     /**
      * Busca dispositivos por estado.
@@ -49,10 +75,99 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
     List<Device> findByState(DeviceState state);
 
     /**
-     * Busca dispositivos pela marca, ignorando maiúsculas/minúsculas.
+     * Lê apenas a versão de um dispositivo, sem carregar a entidade, somente na partição do dispositivo.
      *
-     * @param brand Marca dos dispositivos a serem buscados
-     * @return Lista de dispositivos da marca especificada
+     * @param id ID do dispositivo
+     * @return Versão atual, se o dispositivo existir
+     */
+    @Query("SELECT d.version FROM Device d " + BY_ID)
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Busca um dispositivo já no formato de resposta da API.
+     *
+     * As consultas de leitura abaixo usam uma expressão construtora (SELECT new ...): o Hibernate
+     * cria o DTO diretamente a partir da linha, sem instanciar a entidade, sem guardá-la no
+     * contexto de persistência e sem a cópia (snapshot) usada na verificação de alterações.
+     * O nome da marca vem da junção com a tabela brands, pela chave primária. Só a partição do
+     * dispositivo é lida (ver {@link #BY_ID}).
+     *
+     * @param id ID do dispositivo
+     * @return DTO do dispositivo, se existir
+     */
+    @Query(RESPONSE_SELECT + BY_ID)
+    Optional<DeviceResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Busca uma página de dispositivos a partir de um cursor (keyset).
+     * A condição {@code id > afterId} com ordenação por ID é atendida diretamente
+     * pelo índice da chave primária, com custo independente da posição da página.
+     *
+     * @param afterId ID do último dispositivo da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de dispositivos a retornar
+     * @return DTOs dos dispositivos com ID maior que o cursor, em ordem crescente de ID
+     * @see #findResponseById(Long)
+     */
+    @Query(RESPONSE_SELECT + "WHERE d.id > :afterId ORDER BY d.id")
+    List<DeviceResponseDTO> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Busca uma página de dispositivos de uma marca a partir de um cursor (keyset).
+     * A igualdade sobre brand_id com ordenação por ID é atendida pelo índice (brand_id, id).
+     *
+     * @param brandId ID da marca no dicionário de marcas
+     * @param afterId ID do último dispositivo da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de dispositivos a retornar
+     * @return DTOs dos dispositivos da marca com ID maior que o cursor, em ordem crescente de ID
+     */
+    @Query(RESPONSE_SELECT + "WHERE d.brandId = :brandId AND d.id > :afterId ORDER BY d.id")
+    List<DeviceResponseDTO> findResponsesByBrandIdAfter(@Param("brandId") Integer brandId,
+                                                        @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Busca uma página de dispositivos em um estado a partir de um cursor (keyset).
+     *
+     * @param state Estado para filtrar dispositivos
+     * @param afterId ID do último dispositivo da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de dispositivos a retornar
+     * @return DTOs dos dispositivos no estado com ID maior que o cursor, em ordem crescente de ID
+     */
+    @Query(RESPONSE_SELECT + "WHERE d.state = :state AND d.id > :afterId ORDER BY d.id")
+    List<DeviceResponseDTO> findResponsesByStateAfter(@Param("state") DeviceState state,
+                                                      @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Percorre todos os dispositivos através de um cursor JDBC do lado do servidor.
+     * O fetch size faz o driver buscar as linhas em blocos em vez de materializar
+     * todo o resultado; deve ser consumido dentro de uma transação (o driver do
+     * PostgreSQL só usa cursor com autocommit desligado) e fechado ao final.
+     * Como os itens são DTOs, o contexto de persistência não cresce com as linhas lidas.
+     *
+     * @return Stream de DTOs em ordem crescente de ID
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(RESPONSE_SELECT + "ORDER BY d.id")
+    Stream<DeviceResponseDTO> streamResponses();
+
+    /**
+     * Percorre os dispositivos de uma marca através de um cursor JDBC do lado do servidor.
+     *
+     * @param brandId ID da marca no dicionário de marcas
+     * @return Stream de DTOs da marca em ordem crescente de ID
+     * @see #streamResponses()
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(RESPONSE_SELECT + "WHERE d.brandId = :brandId ORDER BY d.id")
+    Stream<DeviceResponseDTO> streamResponsesByBrandId(@Param("brandId") Integer brandId);
+
+    /**
+     * Percorre os dispositivos em um estado através de um cursor JDBC do lado do servidor.
+     *
+     * @param state Estado para filtrar dispositivos
+     * @return Stream de DTOs no estado em ordem crescente de ID
+     * @see #streamResponses()
      */
-    List<Device> findByBrandIgnoreCase(String brand);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(RESPONSE_SELECT + "WHERE d.state = :state ORDER BY d.id")
+    Stream<DeviceResponseDTO> streamResponsesByState(@Param("state") DeviceState state);
 }
@@ -0,0 +1,241 @@
+package com.desafio.tecnico.repository;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Operações sobre dispositivos escritas em SQL nativo.
+ *
+ * As escritas condicionais são executadas em um único comando: a regra de negócio de
+ * dispositivos em uso (IN_USE) e a verificação de versão fazem parte da cláusula WHERE, então
+ * a leitura, a validação e a escrita acontecem atomicamente no banco, sem a ida extra do
+ * findById e sem a janela de concorrência entre a verificação e a escrita.
+ *
+ * A busca por múltiplos critérios monta a consulta de acordo com os filtros informados, de modo
+ * que cada combinação chegue ao banco apenas com os predicados que usa e possa ser atendida
+ * pelo índice composto correspondente.
+ */
+public interface DeviceRepositoryCustom {
+
+    /**
+     * Atualiza um dispositivo se as regras permitirem.
+     * Campos nulos mantêm o valor atual. A atualização é recusada se o dispositivo estiver
+     * em uso e o nome ou a marca forem alterados, ou se a versão esperada não for a atual.
+     *
+     * @param id ID do dispositivo
+     * @param name Novo nome, ou null para manter o atual
+     * @param brandId Novo ID de marca, ou null para manter o atual
+     * @param state Novo estado, ou null para manter o atual
+     * @param expectedVersion Versão esperada, ou null para não verificar
+     * @return Dispositivo atualizado com o estado e a marca anteriores, ou vazio se nenhuma linha foi alterada
+     */
+    Optional<UpdatedDevice> updateIfAllowed(Long id, String name, Integer brandId, DeviceState state, Long expectedVersion);
+
+    /**
+     * Remove um dispositivo se ele não estiver em uso e, quando informada, estiver na versão esperada.
+     *
+     * @param id ID do dispositivo
+     * @param expectedVersion Versão esperada, ou null para não verificar
+     * @return Dispositivo removido, ou vazio se nenhuma linha foi removida
+     */
+    Optional<Device> deleteIfAllowed(Long id, Long expectedVersion);
+
+    /**
+     * Altera o estado de vários dispositivos em um único comando, sem carregar entidades.
+     * Dispositivos em uso (IN_USE) e os que já estão no estado de destino não são alterados.
+     *
+     * Os dispositivos são escolhidos pelos IDs informados ou, se a lista for nula, pelos filtros
+     * de marca e estado atual, em ordem de ID a partir de {@code afterId} e limitados a
+     * {@code limit}. As linhas são travadas em ordem de ID antes da alteração.
+     *
+     * @param ids IDs dos dispositivos, ou null para usar os filtros
+     * @param brandId Filtro por ID de marca, ou null
+     * @param currentState Filtro por estado atual, ou null
+     * @param afterId Maior ID já processado em uma execução anterior com os mesmos filtros, ou null
+     * @param limit Quantidade máxima de dispositivos escolhidos pelos filtros
+     * @param targetState Novo estado
+     * @return Uma linha por dispositivo pedido (ou escolhido pelos filtros), em ordem de ID
+     */
+    List<StateChange> changeStates(List<Long> ids, Integer brandId, DeviceState currentState, Long afterId,
+                                   int limit, DeviceState targetState);
+
+    /**
+     * Remove vários dispositivos em um único comando, sem carregar entidades.
+     * Dispositivos em uso (IN_USE) não são removidos, e dispositivos travados por outra
+     * transação são pulados (SKIP LOCKED) em vez de esperados.
+     *
+     * Os dispositivos são escolhidos pelos IDs informados ou, se a lista for nula, pela marca,
+     * em ordem de ID a partir de {@code afterId} e limitados a {@code limit}. O tempo de espera
+     * por travas do comando é limitado por app.bulk.lock-timeout; ao excedê-lo o comando falha
+     * com {@link org.springframework.dao.PessimisticLockingFailureException}. Deve ser executado
+     * dentro de uma transação.
+     *
+     * @param ids IDs dos dispositivos, ou null para usar a marca
+     * @param brandId ID da marca, usado quando {@code ids} é null
+     * @param afterId Maior ID já processado em uma execução anterior com a mesma marca, ou null
+     * @param limit Quantidade máxima de dispositivos escolhidos pela marca
+     * @return Uma linha por dispositivo pedido (ou escolhido pela marca), em ordem de ID
+     */
+    List<Deletion> deleteAllowed(List<Long> ids, Integer brandId, Long afterId, int limit);
+
+    /**
+     * Insere dispositivos novos com o protocolo COPY: as linhas são copiadas para uma tabela
+     * temporária da sessão e inseridas em devices com um único INSERT ... SELECT, sem passar
+     * pelo contexto de persistência.
+     *
+     * Os IDs são reservados da sequência devices_seq em blocos de {@link Device#ID_ALLOCATION_SIZE},
+     * da mesma forma que o otimizador do Hibernate, então não colidem com os gerados pelo JPA.
+     * Deve ser executado dentro de uma transação.
+     *
+     * @param devices Dispositivos sem ID, com nome, marca, estado e data de criação preenchidos
+     * @return Dispositivos inseridos, com ID e versão
+     */
+    List<Device> copyInsert(List<Device> devices);
+
+    /**
+     * Busca dispositivos combinando os filtros informados, na ordem pedida e a partir da
+     * posição do cursor (keyset).
+     *
+     * @param query Filtros, ordenação, posição e limite da busca
+     * @return Até {@code query.getLimit()} dispositivos
+     */
+    List<DeviceResponseDTO> search(DeviceSearchQuery query);
+
+    /**
+     * Percorre os dispositivos que atendem aos filtros da busca (ordenação, cursor e limite são
+     * ignorados) através de um cursor JDBC do lado do servidor, entregando cada um ao consumidor
+     * à medida que as linhas são lidas, sem ordem definida. Deve ser executado dentro de uma
+     * transação.
+     *
+     * @param query Filtros da exportação
+     * @param consumer Consumidor que recebe cada dispositivo
+     * @return Quantidade de dispositivos entregues
+     */
+    long export(DeviceSearchQuery query, Consumer<DeviceResponseDTO> consumer);
+
+    /**
+     * Busca dispositivos cujo nome se parece com o texto informado, tolerando erros de
+     * digitação e trechos parciais, do mais ao menos parecido.
+     *
+     * @param text Texto buscado
+     * @param limit Quantidade máxima de dispositivos
+     * @return Dispositivos ordenados pela semelhança do nome com o texto
+     */
+    List<DeviceResponseDTO> searchByName(String text, int limit);
+
+    /**
+     * Resultado da alteração de estado em lote para um dispositivo: o estado e a marca que ele
+     * tinha (nulos se não existe) e, se foi alterado, o dispositivo como ficou.
+     */
+    class StateChange {
+        private final Long id;
+        private final DeviceState previousState;
+        private final Integer previousBrandId;
+        private final Device device;
+
+        public StateChange(Long id, DeviceState previousState, Integer previousBrandId, Device device) {
+            this.id = id;
+            this.previousState = previousState;
+            this.previousBrandId = previousBrandId;
+            this.device = device;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public DeviceState getPreviousState() {
+            return previousState;
+        }
+
+        public Integer getPreviousBrandId() {
+            return previousBrandId;
+        }
+
+        /**
+         * @return Dispositivo alterado, ou null se não existe ou não foi alterado
+         */
+        public Device getDevice() {
+            return device;
+        }
+    }
+
+    /**
+     * Resultado da remoção em lote para um dispositivo: se ele existia, o estado em que foi
+     * travado (nulo se outra transação o travava) e, se foi removido, os dados que tinha.
+     */
+    class Deletion {
+        private final Long id;
+        private final boolean found;
+        private final DeviceState lockedState;
+        private final Device device;
+
+        public Deletion(Long id, boolean found, DeviceState lockedState, Device device) {
+            this.id = id;
+            this.found = found;
+            this.lockedState = lockedState;
+            this.device = device;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        /**
+         * @return Estado do dispositivo travado para a remoção, ou null se não existe ou foi pulado
+         */
+        public DeviceState getLockedState() {
+            return lockedState;
+        }
+
+        /**
+         * @return Dispositivo removido, ou null se não foi removido
+         */
+        public Device getDevice() {
+            return device;
+        }
+    }
+
+    /**
+     * Resultado de uma atualização: o dispositivo como ficou e os valores anteriores
+     * de nome, estado e marca, necessários para saber quais coleções e índices foram afetados.
+     */
+    class UpdatedDevice {
+        private final Device device;
+        private final String previousName;
+        private final DeviceState previousState;
+        private final Integer previousBrandId;
+
+        public UpdatedDevice(Device device, String previousName, DeviceState previousState, Integer previousBrandId) {
+            this.device = device;
+            this.previousName = previousName;
+            this.previousState = previousState;
+            this.previousBrandId = previousBrandId;
+        }
+
+        public Device getDevice() {
+            return device;
+        }
+
+        public String getPreviousName() {
+            return previousName;
+        }
+
+        public DeviceState getPreviousState() {
+            return previousState;
+        }
+
+        public Integer getPreviousBrandId() {
+            return previousBrandId;
+        }
+    }
+}
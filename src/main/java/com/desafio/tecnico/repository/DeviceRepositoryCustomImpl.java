@@ -0,0 +1,532 @@
+package com.desafio.tecnico.repository;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.repository.DeviceSearchQuery.SortField;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementação de {@link DeviceRepositoryCustom} com SQL nativo.
+ *
+ * Usa o NamedParameterJdbcTemplate, que participa da mesma transação do JPA. O RETURNING
+ * devolve a linha alterada na mesma ida ao banco. Os parâmetros opcionais recebem CAST
+ * explícito para que o PostgreSQL consiga inferir o tipo quando o valor é nulo.
+ */
+class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    private static final String RETURNING = " RETURNING id, name, brand_id, state, creation_time, version";
+
+    /**
+     * creation_time do dispositivo :id, lido de device_keys. Comparado com a coluna de
+     * particionamento, faz o PostgreSQL podar em tempo de execução as demais partições.
+     */
+    private static final String CREATION_TIME_OF_ID = "(SELECT creation_time FROM device_keys WHERE id = :id)";
+
+    /**
+     * A subconsulta trava a linha e preserva os valores anteriores à atualização,
+     * devolvidos junto com os novos pelo RETURNING.
+     */
+    private static final String UPDATE_IF_ALLOWED =
+        "UPDATE devices d SET " +
+        "name = COALESCE(CAST(:name AS varchar), d.name), " +
+        "brand_id = COALESCE(CAST(:brandId AS integer), d.brand_id), " +
+        "state = COALESCE(CAST(:state AS varchar), d.state), " +
+        "version = d.version + 1 " +
+        "FROM (SELECT id, name, state, brand_id FROM devices " +
+        "WHERE id = :id AND creation_time = " + CREATION_TIME_OF_ID + " FOR UPDATE) previous " +
+        "WHERE d.id = previous.id AND d.creation_time = " + CREATION_TIME_OF_ID + " " +
+        "AND (d.state <> 'IN_USE' " +
+        "OR ((CAST(:name AS varchar) IS NULL OR d.name = CAST(:name AS varchar)) " +
+        "AND (CAST(:brandId AS integer) IS NULL OR d.brand_id = CAST(:brandId AS integer)))) " +
+        "AND (CAST(:version AS bigint) IS NULL OR d.version = CAST(:version AS bigint)) " +
+        "RETURNING d.id, d.name, d.brand_id, d.state, d.creation_time, d.version, " +
+        "previous.name AS previous_name, previous.state AS previous_state, previous.brand_id AS previous_brand_id";
+
+    private static final String DELETE_IF_ALLOWED =
+        "DELETE FROM devices " +
+        "WHERE id = :id AND creation_time = " + CREATION_TIME_OF_ID + " AND state <> 'IN_USE' " +
+        "AND (CAST(:version AS bigint) IS NULL OR version = CAST(:version AS bigint))" +
+        RETURNING;
+
+    private static final RowMapper<Device> DEVICE_ROW_MAPPER = (rs, rowNum) -> {
+        Device device = new Device(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getInt("brand_id"),
+            DeviceState.valueOf(rs.getString("state")),
+            rs.getObject("creation_time", LocalDateTime.class));
+        device.setVersion(rs.getLong("version"));
+        return device;
+    };
+
+    /**
+     * Chaves (id, creation_time) dos IDs pedidos que existem, lidas de device_keys. Com elas, cada
+     * dispositivo é lido só na partição do seu mês.
+     */
+    private static final String KEYS_OF_REQUESTED =
+        "keys AS (SELECT id, creation_time FROM device_keys WHERE id IN (SELECT id FROM requested)), ";
+
+    /**
+     * Dispositivos escolhidos pelos IDs: um por ID distinto pedido, existindo ou não.
+     */
+    private static final String CHANGE_STATES_BY_IDS =
+        "WITH requested AS (SELECT DISTINCT unnest(CAST(:ids AS bigint[])) AS id), " + KEYS_OF_REQUESTED +
+        "target AS (SELECT id, state, brand_id, creation_time FROM devices " +
+        "WHERE (id, creation_time) IN (SELECT id, creation_time FROM keys) ORDER BY id FOR UPDATE), ";
+
+    /**
+     * Parte comum da alteração de estado em lote. O UPDATE só altera as linhas travadas pelo
+     * CTE target que não estão em uso nem no estado de destino; a consulta final devolve uma
+     * linha por dispositivo pedido, com o estado anterior (nulo se não existe) e, se foi
+     * alterado, os valores novos.
+     */
+    private static final String CHANGE_STATES_UPDATE =
+        "updated AS (UPDATE devices d SET state = CAST(:targetState AS varchar), version = d.version + 1 " +
+        "FROM target t WHERE d.id = t.id AND d.creation_time = t.creation_time " +
+        "AND t.state <> 'IN_USE' AND t.state <> CAST(:targetState AS varchar) " +
+        "RETURNING d.id, d.name, d.brand_id, d.state, d.creation_time, d.version) " +
+        "SELECT r.id AS requested_id, t.state AS previous_state, t.brand_id AS previous_brand_id, " +
+        "u.id, u.name, u.brand_id, u.state, u.creation_time, u.version " +
+        "FROM requested r LEFT JOIN target t ON t.id = r.id LEFT JOIN updated u ON u.id = r.id " +
+        "ORDER BY r.id";
+
+    /**
+     * Parte comum da remoção em lote. O CTE target trava, em ordem de ID, as linhas pedidas que
+     * não estão travadas por outra transação; as chaves em device_keys (sem trava) separam as que
+     * foram puladas das que não existem. Só as linhas travadas que não estão em uso são removidas.
+     */
+    private static final String DELETE_ALLOWED = KEYS_OF_REQUESTED +
+        "target AS (SELECT id, state, creation_time FROM devices " +
+        "WHERE (id, creation_time) IN (SELECT id, creation_time FROM keys) ORDER BY id FOR UPDATE SKIP LOCKED), " +
+        "deleted AS (DELETE FROM devices d USING target t " +
+        "WHERE d.id = t.id AND d.creation_time = t.creation_time AND t.state <> 'IN_USE' " +
+        "RETURNING d.id, d.name, d.brand_id, d.state, d.creation_time, d.version) " +
+        "SELECT r.id AS requested_id, e.id IS NOT NULL AS found, t.state AS locked_state, " +
+        "x.id, x.name, x.brand_id, x.state, x.creation_time, x.version " +
+        "FROM requested r LEFT JOIN keys e ON e.id = r.id LEFT JOIN target t ON t.id = r.id " +
+        "LEFT JOIN deleted x ON x.id = r.id " +
+        "ORDER BY r.id";
+
+    /**
+     * Tabela de preparação da importação. Temporária e da sessão, então é criada uma vez por
+     * conexão do pool; as linhas são descartadas a cada commit.
+     */
+    private static final String CREATE_IMPORT_STAGING =
+        "CREATE TEMP TABLE IF NOT EXISTS device_import (" +
+        "row_no integer NOT NULL, name text NOT NULL, brand_id integer NOT NULL, " +
+        "state text NOT NULL, creation_time timestamp(6) NOT NULL) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_IMPORT =
+        "COPY device_import (row_no, name, brand_id, state, creation_time) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Cada valor de devices_seq reservado (hi) cobre os IDs de hi - ID_ALLOCATION_SIZE + 1 até hi,
+     * como no otimizador pooled do Hibernate. É reservado um valor a mais porque o primeiro
+     * valor de uma sequência nova (1) não cobre um bloco inteiro e é descartado.
+     */
+    private static final String INSERT_IMPORTED =
+        "WITH reserved AS (SELECT nextval('devices_seq') AS hi FROM generate_series(1, :blocks + 1)), " +
+        "blocks AS (SELECT hi, row_number() OVER (ORDER BY hi) - 1 AS block FROM reserved WHERE hi >= :allocation) " +
+        "INSERT INTO devices (id, name, brand_id, state, creation_time, version) " +
+        "SELECT b.hi - :allocation + 1 + s.row_no % :allocation, s.name, s.brand_id, s.state, s.creation_time, 0 " +
+        "FROM device_import s JOIN blocks b ON b.block = s.row_no / :allocation" +
+        RETURNING;
+
+    /**
+     * Quantidade de caracteres acumulados antes de cada envio ao COPY.
+     */
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String SEARCH_SELECT =
+        "SELECT d.id, d.name, b.name AS brand, d.state, d.creation_time, d.version " +
+        "FROM devices d JOIN brands b ON b.id = d.brand_id";
+
+    /**
+     * Nome sem diferenciar maiúsculas/minúsculas, comparado byte a byte (collation "C").
+     * A expressão é a mesma do índice idx_devices_lower_name_id, o que permite atender o
+     * filtro por prefixo com uma faixa do índice e a ordenação por nome sem ordenar as linhas.
+     */
+    private static final String NAME_KEY = "lower(d.name) COLLATE \"C\"";
+
+    /**
+     * Busca aproximada por nome com o pg_trgm. O operador {@code <%} seleciona os nomes com
+     * alguma palavra (ou trecho) parecida com o texto, acima de pg_trgm.word_similarity_threshold,
+     * e é atendido pelo índice GIN de trigramas idx_devices_name_trgm; {@code <<->} é a distância
+     * correspondente (1 - word_similarity), usada para ordenar os candidatos.
+     * Visível no pacote para que os testes capturem o plano de execução.
+     */
+    static final String NAME_SIMILARITY_SEARCH =
+        SEARCH_SELECT + " " +
+        "WHERE CAST(:text AS text) <% d.name " +
+        "ORDER BY CAST(:text AS text) <<-> d.name, d.id " +
+        "LIMIT :limit";
+
+    private static final RowMapper<DeviceResponseDTO> RESPONSE_ROW_MAPPER = (rs, rowNum) -> new DeviceResponseDTO(
+        rs.getLong("id"),
+        rs.getString("name"),
+        rs.getString("brand"),
+        DeviceState.valueOf(rs.getString("state")),
+        rs.getObject("creation_time", LocalDateTime.class),
+        rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate cursorJdbcTemplate;
+    private final double nameSimilarityThreshold;
+    private final Duration bulkLockTimeout;
+
+    DeviceRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${app.search.name-similarity-threshold:0.5}") double nameSimilarityThreshold,
+                               @Value("${app.bulk.lock-timeout:PT2S}") Duration bulkLockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate cursorTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursorTemplate.setFetchSize(DeviceRepository.STREAM_FETCH_SIZE);
+        this.cursorJdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.nameSimilarityThreshold = nameSimilarityThreshold;
+        this.bulkLockTimeout = bulkLockTimeout;
+    }
+
+    @Override
+    public Optional<UpdatedDevice> updateIfAllowed(Long id, String name, Integer brandId, DeviceState state,
+                                            Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("name", name)
+            .addValue("brandId", brandId)
+            .addValue("state", state != null ? state.name() : null)
+            .addValue("version", expectedVersion);
+        return jdbcTemplate.query(UPDATE_IF_ALLOWED, params, (rs, rowNum) -> new UpdatedDevice(
+                DEVICE_ROW_MAPPER.mapRow(rs, rowNum),
+                rs.getString("previous_name"),
+                DeviceState.valueOf(rs.getString("previous_state")),
+                rs.getInt("previous_brand_id")))
+            .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Device> deleteIfAllowed(Long id, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("version", expectedVersion);
+        return jdbcTemplate.query(DELETE_IF_ALLOWED, params, DEVICE_ROW_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public List<DeviceResponseDTO> search(DeviceSearchQuery query) {
+        SearchSql search = buildSearch(query);
+        return jdbcTemplate.query(search.getSql(), search.getParams(), RESPONSE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<StateChange> changeStates(List<Long> ids, Integer brandId, DeviceState currentState, Long afterId,
+                                          int limit, DeviceState targetState) {
+        MapSqlParameterSource params = new MapSqlParameterSource("targetState", targetState.name());
+        String sql;
+        if (ids != null) {
+            params.addValue("ids", ids.toArray(new Long[0]));
+            sql = CHANGE_STATES_BY_IDS + CHANGE_STATES_UPDATE;
+        } else {
+            // Dispositivos escolhidos pelos filtros, a partir do cursor; os que já estão no
+            // estado de destino ficam de fora para não ocupar o limite
+            List<String> conditions = new ArrayList<>();
+            conditions.add("state <> CAST(:targetState AS varchar)");
+            if (brandId != null) {
+                conditions.add("brand_id = :brandId");
+                params.addValue("brandId", brandId);
+            }
+            if (currentState != null) {
+                conditions.add("state = :currentState");
+                params.addValue("currentState", currentState.name());
+            }
+            if (afterId != null) {
+                conditions.add("id > :afterId");
+                params.addValue("afterId", afterId);
+            }
+            params.addValue("limit", limit);
+            sql = "WITH target AS (SELECT id, state, brand_id, creation_time FROM devices WHERE " +
+                String.join(" AND ", conditions) + " ORDER BY id LIMIT :limit FOR UPDATE), " +
+                "requested AS (SELECT id FROM target), " + CHANGE_STATES_UPDATE;
+        }
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            String previousState = rs.getString("previous_state");
+            return new StateChange(
+                rs.getLong("requested_id"),
+                previousState != null ? DeviceState.valueOf(previousState) : null,
+                rs.getObject("previous_brand_id", Integer.class),
+                rs.getObject("id") != null ? DEVICE_ROW_MAPPER.mapRow(rs, rowNum) : null);
+        });
+    }
+
+    @Override
+    public List<Deletion> deleteAllowed(List<Long> ids, Integer brandId, Long afterId, int limit) {
+        // Limite local à transação: vale para as travas de tabela e de índice que o DELETE ainda
+        // pode esperar, já que as linhas travadas por outras transações são puladas
+        jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', :timeout, true)",
+            new MapSqlParameterSource("timeout", bulkLockTimeout.toMillis() + "ms"), String.class);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String requested;
+        if (ids != null) {
+            params.addValue("ids", ids.toArray(new Long[0]));
+            requested = "SELECT DISTINCT unnest(CAST(:ids AS bigint[])) AS id";
+        } else {
+            params.addValue("brandId", brandId)
+                .addValue("afterId", afterId != null ? afterId : 0L)
+                .addValue("limit", limit);
+            requested = "SELECT id FROM devices WHERE brand_id = :brandId AND id > :afterId ORDER BY id LIMIT :limit";
+        }
+        return jdbcTemplate.query("WITH requested AS (" + requested + "), " + DELETE_ALLOWED, params, (rs, rowNum) -> {
+            String lockedState = rs.getString("locked_state");
+            return new Deletion(
+                rs.getLong("requested_id"),
+                rs.getBoolean("found"),
+                lockedState != null ? DeviceState.valueOf(lockedState) : null,
+                rs.getObject("id") != null ? DEVICE_ROW_MAPPER.mapRow(rs, rowNum) : null);
+        });
+    }
+
+    @Override
+    public List<Device> copyInsert(List<Device> devices) {
+        if (devices.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.update(CREATE_IMPORT_STAGING, Map.of());
+        jdbcTemplate.update("TRUNCATE device_import", Map.of());
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IMPORT);
+            try {
+                StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+                for (int i = 0; i < devices.size(); i++) {
+                    Device device = devices.get(i);
+                    buffer.append(i).append(',');
+                    appendCsv(buffer, device.getName()).append(',');
+                    buffer.append(device.getBrandId()).append(',')
+                        .append(device.getState().name()).append(',')
+                        .append(device.getCreationTime()).append('\n');
+                    if (buffer.length() >= COPY_BUFFER_CHARS) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+                writeToCopy(copyIn, buffer);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("blocks", (devices.size() + Device.ID_ALLOCATION_SIZE - 1) / Device.ID_ALLOCATION_SIZE)
+            .addValue("allocation", Device.ID_ALLOCATION_SIZE);
+        return jdbcTemplate.query(INSERT_IMPORTED, params, DEVICE_ROW_MAPPER);
+    }
+
+    /**
+     * Acrescenta um valor entre aspas no formato CSV do COPY, duplicando as aspas internas.
+     */
+    private static StringBuilder appendCsv(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Usa um JdbcTemplate próprio, com fetch size fixo, para que o driver leia as linhas em
+     * blocos por um cursor do lado do servidor (o que exige a transação aberta) em vez de
+     * materializar todo o resultado.
+     */
+    @Override
+    public long export(DeviceSearchQuery query, Consumer<DeviceResponseDTO> consumer) {
+        SearchSql export = buildExport(query);
+        long[] count = {0};
+        cursorJdbcTemplate.query(export.getSql(), export.getParams(), (RowCallbackHandler) rs -> {
+            consumer.accept(RESPONSE_ROW_MAPPER.mapRow(rs, (int) count[0]));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * O limiar de similaridade é definido apenas para a transação corrente (set_config local),
+     * então a busca deve ser executada dentro de uma transação.
+     */
+    @Override
+    public List<DeviceResponseDTO> searchByName(String text, int limit) {
+        jdbcTemplate.queryForObject(
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)",
+            new MapSqlParameterSource("threshold", String.valueOf(nameSimilarityThreshold)), String.class);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("text", text)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(NAME_SIMILARITY_SEARCH, params, RESPONSE_ROW_MAPPER);
+    }
+
+    /**
+     * Monta a consulta da busca apenas com os predicados dos filtros informados.
+     * Visível no pacote para que os testes capturem o plano de execução da mesma consulta.
+     *
+     * A posição do cursor vira uma comparação de linha (chave, id) > (chave anterior, id
+     * anterior), que é uma condição de índice, sem depender de OR.
+     */
+    static SearchSql buildSearch(DeviceSearchQuery query) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addFilters(query, conditions, params);
+
+        String direction = query.isDescending() ? " DESC" : " ASC";
+        String after = query.isDescending() ? " < " : " > ";
+        String sortKey = switch (query.getSort()) {
+            case ID -> null;
+            case CREATION_TIME -> "d.creation_time";
+            case NAME -> NAME_KEY;
+        };
+        if (query.getAfterId() != null) {
+            params.addValue("afterId", query.getAfterId());
+            if (query.getSort() == SortField.ID) {
+                conditions.add("d.id" + after + ":afterId");
+            } else {
+                String afterKey = query.getSort() == SortField.NAME
+                    ? "lower(CAST(:afterKey AS text)) COLLATE \"C\""
+                    : "CAST(:afterKey AS timestamp)";
+                conditions.add("(" + sortKey + ", d.id)" + after + "(" + afterKey + ", :afterId)");
+                params.addValue("afterKey", query.getAfterKey());
+            }
+        }
+
+        StringBuilder sql = where(new StringBuilder(SEARCH_SELECT), conditions);
+        sql.append(" ORDER BY ");
+        if (sortKey != null) {
+            sql.append(sortKey).append(direction).append(", ");
+        }
+        sql.append("d.id").append(direction).append(" LIMIT :limit");
+        params.addValue("limit", query.getLimit());
+        return new SearchSql(sql.toString(), params);
+    }
+
+    /**
+     * Monta a consulta da exportação: os mesmos filtros da busca, sem ordenação, cursor nem
+     * limite. Sem ORDER BY o banco entrega as linhas à medida que as lê, em vez de ordenar o
+     * resultado inteiro antes da primeira.
+     */
+    static SearchSql buildExport(DeviceSearchQuery query) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addFilters(query, conditions, params);
+        return new SearchSql(where(new StringBuilder(SEARCH_SELECT), conditions).toString(), params);
+    }
+
+    /**
+     * Adiciona os predicados dos filtros informados.
+     *
+     * O prefixo do nome vira uma faixa [prefixo, sucessor do prefixo) sobre a chave do nome,
+     * que é uma condição de índice, sem depender de LIKE.
+     */
+    private static void addFilters(DeviceSearchQuery query, List<String> conditions, MapSqlParameterSource params) {
+        if (query.getBrandId() != null) {
+            conditions.add("d.brand_id = :brandId");
+            params.addValue("brandId", query.getBrandId());
+        }
+        if (query.getState() != null) {
+            conditions.add("d.state = :state");
+            params.addValue("state", query.getState().name());
+        }
+        if (query.getNamePrefix() != null && !query.getNamePrefix().isEmpty()) {
+            String from = query.getNamePrefix().toLowerCase(Locale.ROOT);
+            conditions.add(NAME_KEY + " >= :nameFrom");
+            params.addValue("nameFrom", from);
+            String to = successor(from);
+            if (to != null) {
+                conditions.add(NAME_KEY + " < :nameTo");
+                params.addValue("nameTo", to);
+            }
+        }
+        if (query.getCreatedFrom() != null) {
+            conditions.add("d.creation_time >= :createdFrom");
+            params.addValue("createdFrom", query.getCreatedFrom());
+        }
+        if (query.getCreatedTo() != null) {
+            conditions.add("d.creation_time < :createdTo");
+            params.addValue("createdTo", query.getCreatedTo());
+        }
+    }
+
+    private static StringBuilder where(StringBuilder sql, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql;
+    }
+
+    /**
+     * Menor string maior que todas as que começam com o prefixo, na ordem binária:
+     * o prefixo com o último caractere incrementado. Retorna null se não houver limite superior.
+     */
+    static String successor(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            int next = last + 1;
+            if (next >= Character.MIN_SURROGATE && next <= Character.MAX_SURROGATE) {
+                next = Character.MAX_SURROGATE + 1;
+            }
+            if (next <= Character.MAX_CODE_POINT) {
+                return prefix.substring(0, start) + new String(Character.toChars(next));
+            }
+            end = start;
+        }
+        return null;
+    }
+
+    /**
+     * Consulta da busca pronta para execução: o SQL e os valores dos seus parâmetros.
+     */
+    static class SearchSql {
+        private final String sql;
+        private final MapSqlParameterSource params;
+
+        SearchSql(String sql, MapSqlParameterSource params) {
+            this.sql = sql;
+            this.params = params;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        MapSqlParameterSource getParams() {
+            return params;
+        }
+    }
+}
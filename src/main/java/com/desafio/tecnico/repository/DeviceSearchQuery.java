@@ -0,0 +1,127 @@
+package com.desafio.tecnico.repository;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parâmetros já resolvidos de uma busca de dispositivos ({@link DeviceRepositoryCustom#search}).
+ *
+ * Todos os filtros são opcionais (nulos são ignorados) e combinados com AND. A paginação é
+ * por keyset sobre o par (chave de ordenação, id): afterKey e afterId vêm do último item da
+ * página anterior.
+ */
+public class DeviceSearchQuery {
+
+    /**
+     * Campos pelos quais a busca pode ser ordenada. O ID é sempre o critério de desempate.
+     */
+    public enum SortField {
+        ID,
+        CREATION_TIME,
+        /** Nome sem diferenciar maiúsculas/minúsculas, em ordem binária (collation "C"). */
+        NAME
+    }
+
+    private Integer brandId;
+    private DeviceState state;
+    private String namePrefix;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private SortField sort = SortField.ID;
+    private boolean descending;
+    private Object afterKey;
+    private Long afterId;
+    private int limit;
+
+    // Getters e Setters
+    public Integer getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Integer brandId) {
+        this.brandId = brandId;
+    }
+
+    public DeviceState getState() {
+        return state;
+    }
+
+    public void setState(DeviceState state) {
+        this.state = state;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * @return Início do intervalo de criação (inclusivo)
+     */
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    /**
+     * @return Fim do intervalo de criação (exclusivo)
+     */
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public SortField getSort() {
+        return sort;
+    }
+
+    public void setSort(SortField sort) {
+        this.sort = sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    /**
+     * @return Valor da chave de ordenação do último item da página anterior
+     *         (LocalDateTime para CREATION_TIME, String para NAME; ignorado para ID)
+     */
+    public Object getAfterKey() {
+        return afterKey;
+    }
+
+    public void setAfterKey(Object afterKey) {
+        this.afterKey = afterKey;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
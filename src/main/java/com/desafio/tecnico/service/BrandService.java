@@ -0,0 +1,232 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.BrandCountDTO;
+import com.desafio.tecnico.model.Brand;
+import com.desafio.tecnico.repository.BrandRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço responsável pelo dicionário de marcas.
+ *
+ * Converte nomes de marca em IDs (e vice-versa) mantendo em memória as marcas já
+ * resolvidas. Como a quantidade de marcas é pequena e uma marca nunca é removida nem
+ * renomeada, as entradas do cache nunca ficam inválidas: após o aquecimento, nem a
+ * gravação nem a leitura de dispositivos precisam consultar a tabela brands.
+ *
+ * Uma marca nova é cadastrada na transação da operação que a usa, sem ocupar uma segunda
+ * conexão do pool, e só entra no cache depois do commit: até lá fica visível apenas para a
+ * própria transação, e se a operação for desfeita (por exemplo, uma atualização recusada)
+ * a marca também é, sem deixar no cache um ID inexistente.
+ *
+ * Testes existentes:
+ * - normalize_ShouldTrimAndLowerCase: Verifica a normalização da chave de busca
+ * - resolveId_ShouldReturnExistingBrandWithoutInserting: Verifica a resolução de uma marca já cadastrada
+ * - resolveId_ShouldInsertUnknownBrandAndCacheIt: Verifica o cadastro de uma nova marca e o uso do cache
+ * - resolveId_ShouldCacheInsertedBrandOnlyAfterCommit: Verifica que a marca cadastrada só entra no cache após o commit
+ * - resolveId_ShouldNotCacheBrandOfRolledBackTransaction: Verifica que a marca de uma transação desfeita não fica no cache
+ * - resolveId_ShouldReadBrandInsertedConcurrently: Verifica a marca cadastrada por outra transação entre a busca e a inserção
+ * - findId_ShouldNotInsertUnknownBrand: Verifica que a busca não cadastra marcas
+ * - nameOf_ShouldLoadOnceAndServeFromCache: Verifica a conversão de ID em nome
+ * - getBrands_ShouldReadCountsFromStatsCounters: Verifica as quantidades lidas dos contadores, com zero para marcas sem dispositivos
+ *
+ * Possíveis melhorias:
+ * - Carregar todo o dicionário na inicialização da aplicação
+ */
+@Service
+public class BrandService {
+
+    private final BrandRepository brandRepository;
+    private final DeviceStatsCounters statsCounters;
+    private final Map<String, Integer> idsByNormalizedName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BrandService(BrandRepository brandRepository, DeviceStatsCounters statsCounters) {
+        this.brandRepository = brandRepository;
+        this.statsCounters = statsCounters;
+    }
+
+    /**
+     * Normaliza o nome de uma marca para a chave de busca do dicionário.
+     *
+     * @param name Nome da marca
+     * @return Nome sem espaços nas extremidades e em minúsculas
+     */
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Obtém o ID de uma marca, cadastrando-a no dicionário se ainda não existir.
+     *
+     * @param name Nome da marca, em qualquer combinação de maiúsculas/minúsculas
+     * @return ID da marca
+     */
+    @Transactional
+    public Integer resolveId(String name) {
+        String normalizedName = normalize(name);
+        Integer id = cachedId(normalizedName);
+        if (id != null) {
+            return id;
+        }
+        Optional<Brand> existing = brandRepository.findByNormalizedName(normalizedName);
+        if (existing.isEmpty()) {
+            Optional<Integer> inserted = brandRepository.insertIfAbsent(name.trim(), normalizedName);
+            if (inserted.isPresent()) {
+                registerAfterCommit(inserted.get(), name.trim(), normalizedName);
+                return inserted.get();
+            }
+            // Cadastrada por outra transação, confirmada entre a busca e a inserção
+            existing = brandRepository.findByNormalizedName(normalizedName);
+        }
+        Brand brand = existing.orElseThrow(
+            () -> new IllegalStateException("Marca não encontrada após o cadastro: " + name));
+        register(brand.getId(), brand.getName(), brand.getNormalizedName());
+        return brand.getId();
+    }
+
+    /**
+     * Busca o ID de uma marca sem cadastrá-la.
+     *
+     * @param name Nome da marca, em qualquer combinação de maiúsculas/minúsculas
+     * @return ID da marca, ou vazio se a marca não existir
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findId(String name) {
+        String normalizedName = normalize(name);
+        Integer id = cachedId(normalizedName);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        return brandRepository.findByNormalizedName(normalizedName)
+            .map(brand -> {
+                register(brand.getId(), brand.getName(), brand.getNormalizedName());
+                return brand.getId();
+            });
+    }
+
+    /**
+     * Obtém o nome de exibição de uma marca.
+     *
+     * @param id ID da marca
+     * @return Nome da marca
+     * @throws IllegalStateException se o ID não existir no dicionário
+     */
+    public String nameOf(Integer id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            PendingBrands pending = pendingBrands();
+            name = pending != null ? pending.namesById.get(id) : null;
+        }
+        if (name != null) {
+            return name;
+        }
+        Brand brand = brandRepository.findById(id)
+            .orElseThrow(() -> new IllegalStateException("Marca não encontrada com ID: " + id));
+        register(brand.getId(), brand.getName(), brand.getNormalizedName());
+        return brand.getName();
+    }
+
+    /**
+     * Lista as marcas cadastradas com a quantidade de dispositivos de cada uma.
+     * As quantidades vêm dos contadores de {@link DeviceStatsCounters}, sem contar os
+     * dispositivos, então o custo depende da quantidade de marcas, não do tamanho da tabela devices.
+     *
+     * @return Marcas ordenadas pelo nome
+     */
+    @Transactional(readOnly = true)
+    public List<BrandCountDTO> getBrands() {
+        Map<Integer, Long> counts = statsCounters.countsByBrand();
+        List<BrandCountDTO> brands = new ArrayList<>();
+        for (Brand brand : brandRepository.findAll(Sort.by("name"))) {
+            brands.add(new BrandCountDTO(brand.getId(), brand.getName(), counts.getOrDefault(brand.getId(), 0L)));
+        }
+        return brands;
+    }
+
+    /**
+     * Registra uma marca no cache em memória.
+     * Visível no pacote para os benchmarks JMH, que não usam banco de dados.
+     */
+    void register(Integer id, String name, String normalizedName) {
+        namesById.putIfAbsent(id, name);
+        idsByNormalizedName.putIfAbsent(normalizedName, id);
+    }
+
+    /**
+     * Busca o ID no cache e, em seguida, entre as marcas cadastradas pela transação corrente.
+     * Uma marca lida do banco que não esteja em nenhum dos dois já foi confirmada.
+     */
+    private Integer cachedId(String normalizedName) {
+        Integer id = idsByNormalizedName.get(normalizedName);
+        if (id == null) {
+            PendingBrands pending = pendingBrands();
+            id = pending != null ? pending.idsByNormalizedName.get(normalizedName) : null;
+        }
+        return id;
+    }
+
+    /**
+     * Guarda uma marca cadastrada pela transação corrente para registrá-la no cache após o
+     * commit. Fora de uma transação gerenciada, registra imediatamente.
+     */
+    private void registerAfterCommit(Integer id, String name, String normalizedName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(id, name, normalizedName);
+            return;
+        }
+        PendingBrands pending = pendingBrands();
+        if (pending == null) {
+            pending = new PendingBrands();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.idsByNormalizedName.put(normalizedName, id);
+        pending.namesById.put(id, name);
+    }
+
+    /**
+     * Marcas cadastradas pela transação corrente. Fica entre as sincronizações da própria
+     * transação, então é suspensa junto com ela em uma transação aninhada (REQUIRES_NEW).
+     */
+    private PendingBrands pendingBrands() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBrands pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marcas ainda não confirmadas de uma transação, registradas no cache no afterCommit.
+     */
+    private final class PendingBrands implements TransactionSynchronization {
+        private final Map<String, Integer> idsByNormalizedName = new HashMap<>();
+        private final Map<Integer, String> namesById = new HashMap<>();
+
+        BrandService owner() {
+            return BrandService.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            idsByNormalizedName.forEach((normalizedName, id) -> register(id, namesById.get(id), normalizedName));
+        }
+    }
+}
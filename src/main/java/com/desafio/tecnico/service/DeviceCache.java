@@ -0,0 +1,164 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache em memória (read-through) para a busca de dispositivos por ID.
+ * Limitado por quantidade de entradas e por tempo de vida, com contadores de
+ * acertos, falhas e remoções.
+ *
+ * As invalidações são feitas no momento da escrita e repetidas após o commit da
+ * transação. Para que uma leitura concorrente que buscou a versão antiga no banco
+ * não a recoloque no cache depois da invalidação, cada entrada pertence a uma faixa
+ * com um contador de geração: a leitura só grava no cache se nenhuma invalidação
+ * ocorreu na sua faixa durante a busca. A verificação e a gravação são feitas juntas, sob a trava
+ * da entrada, então uma invalidação que avance a geração depois da verificação remove o valor gravado.
+ *
+ * Com réplicas de leitura, uma busca iniciada depois do commit ainda pode encontrar a versão
+ * antiga em uma réplica atrasada; por isso a invalidação é repetida uma última vez depois do
+ * atraso de replicação máximo ({@link #setReevictionDelay}).
+ *
+ * Os contadores também são publicados como métricas cache.* com a tag cache=devices.
+ *
+ * Os DTOs armazenados são compartilhados entre requisições e não devem ser alterados.
+ */
+@Component
+public class DeviceCache implements MeterBinder {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, DeviceResponseDTO> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private volatile Executor delayedEviction;
+
+    public DeviceCache(@Value("${app.device-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${app.device-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Retorna o dispositivo do cache ou o carrega com a função informada.
+     * A carga é feita fora de qualquer trava do cache, de modo que a consulta ao
+     * banco não bloqueia outras leituras nem a thread portadora de virtual threads.
+     *
+     * @param id ID do dispositivo
+     * @param loader Função que busca o dispositivo no banco; exceções são propagadas e nada é armazenado
+     * @return DTO do dispositivo
+     */
+    public DeviceResponseDTO get(Long id, Function<Long, DeviceResponseDTO> loader) {
+        DeviceResponseDTO cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        DeviceResponseDTO loaded = loader.apply(id);
+        // A verificação da geração e a gravação são atômicas em relação à invalidação da mesma chave
+        cache.asMap().compute(id, (key, current) -> generations.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Retorna o dispositivo somente se ele já estiver no cache, sem carregá-lo.
+     *
+     * @param id ID do dispositivo
+     * @return DTO em cache, ou null
+     */
+    public DeviceResponseDTO getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Invalida a entrada imediatamente e, se houver uma transação ativa, novamente
+     * após o commit, garantindo que nenhuma leitura posterior ao commit veja o valor antigo.
+     * Com réplicas de leitura, a invalidação se repete depois do atraso de replicação máximo.
+     *
+     * @param id ID do dispositivo alterado ou removido
+     */
+    public void evictAfterCommit(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                    scheduleReeviction(id);
+                }
+            });
+        } else {
+            scheduleReeviction(id);
+        }
+    }
+
+    /**
+     * Define o tempo após o commit em que a invalidação é repetida. Zero desliga a repetição.
+     *
+     * @param delay Atraso de replicação máximo das réplicas de leitura
+     */
+    public void setReevictionDelay(Duration delay) {
+        this.delayedEviction = delay.isZero() || delay.isNegative()
+            ? null
+            : CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove a entrada do cache e avança a geração da sua faixa.
+     *
+     * @param id ID do dispositivo
+     */
+    public void evict(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    /**
+     * @return Contadores acumulados de acertos, falhas e remoções
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return Quantidade aproximada de entradas no cache
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "devices");
+    }
+
+    private void scheduleReeviction(Long id) {
+        Executor executor = delayedEviction;
+        if (executor != null) {
+            executor.execute(() -> evict(id));
+        }
+    }
+
+    private static int stripe(Long id) {
+        return (Long.hashCode(id) & 0x7fffffff) % STRIPES;
+    }
+}
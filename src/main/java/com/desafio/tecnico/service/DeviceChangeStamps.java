@@ -0,0 +1,120 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Carimbos de alteração das coleções de dispositivos, usados como ETag das listagens.
+ *
+ * Cada coleção (todos os dispositivos, os de um estado, os de uma marca) tem um escopo na
+ * tabela collection_stamps. Toda escrita que afeta a coleção incrementa o carimbo na mesma
+ * transação da escrita, então um carimbo lido antes da consulta nunca representa dados mais
+ * novos do que os entregues.
+ *
+ * Para que escritas concorrentes não disputem uma única linha, cada escopo é dividido em
+ * {@value #STRIPES} faixas e cada transação incrementa uma faixa sorteada; o carimbo do escopo
+ * é a soma das faixas. Os escopos tocados durante a transação são acumulados e incrementados
+ * uma única vez, em um só comando, imediatamente antes do commit, o que reduz o tempo em que
+ * as linhas ficam travadas ao próprio commit.
+ */
+@Component
+public class DeviceChangeStamps {
+
+    static final int STRIPES = 16;
+
+    /**
+     * Escopo que engloba todos os dispositivos.
+     */
+    public static final String ALL = "all";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeviceChangeStamps(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return Escopo dos dispositivos em um estado
+     */
+    public static String state(DeviceState state) {
+        return "state:" + state.name();
+    }
+
+    /**
+     * @return Escopo dos dispositivos de uma marca
+     */
+    public static String brand(Integer brandId) {
+        return "brand:" + brandId;
+    }
+
+    /**
+     * Registra que os escopos informados foram alterados pela transação atual.
+     * Sem transação ativa, os carimbos são incrementados imediatamente.
+     *
+     * @param scopes Escopos alterados
+     */
+    @SuppressWarnings("unchecked")
+    public void touch(String... scopes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(new TreeSet<>(List.of(scopes)));
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> scopesOfTransaction = new TreeSet<>();
+            pending = scopesOfTransaction;
+            TransactionSynchronizationManager.bindResource(this, scopesOfTransaction);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increment(scopesOfTransaction);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DeviceChangeStamps.this);
+                }
+            });
+        }
+        pending.addAll(List.of(scopes));
+    }
+
+    /**
+     * Lê o carimbo atual de um escopo.
+     *
+     * @param scope Escopo da coleção
+     * @return Soma das faixas do escopo (0 se nunca foi alterado)
+     */
+    public long current(String scope) {
+        Long stamp = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(stamp), 0) FROM collection_stamps WHERE scope = ?", Long.class, scope);
+        return stamp != null ? stamp : 0L;
+    }
+
+    /**
+     * Incrementa uma faixa sorteada de cada escopo. Os escopos vêm ordenados, então
+     * transações concorrentes travam as linhas sempre na mesma ordem.
+     */
+    private void increment(Set<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(STRIPES);
+        List<Object[]> rows = new ArrayList<>(scopes.size());
+        for (String scope : scopes) {
+            rows.add(new Object[] {scope, stripe});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO collection_stamps (scope, stripe, stamp) VALUES (?, ?, 1) " +
+            "ON CONFLICT (scope, stripe) DO UPDATE SET stamp = collection_stamps.stamp + 1", rows);
+    }
+}
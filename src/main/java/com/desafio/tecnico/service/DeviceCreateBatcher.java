@@ -0,0 +1,261 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agrupamento de commits (group commit) para a criação individual de dispositivos.
+ *
+ * Com app.group-commit.enabled=true, cada POST /api/v1/devices entra em uma fila e espera.
+ * As threads gravadoras juntam as requisições que chegam dentro da janela configurada,
+ * contada a partir da primeira do grupo, ou até o tamanho máximo do grupo. Cada grupo vira
+ * um único INSERT multi-linha e um único commit ({@link DeviceService#createGrouped}). Cada
+ * requisição recebe o seu próprio dispositivo, com ID e data de criação. Em rajadas de
+ * criações concorrentes, o custo do fsync do WAL passa a ser dividido pelo grupo, em troca
+ * de até uma janela a mais de latência por requisição.
+ *
+ * Se o grupo falhar, cada requisição é refeita na sua própria transação, então um item com
+ * problema não derruba os demais. Com a fila cheia, a requisição é atendida diretamente, assim
+ * como a que entra na fila durante o encerramento sem ser recolhida por ele ou a que espera mais
+ * que o limite sem que uma gravadora a tenha retirado da fila.
+ * Desligado, {@link #create} apenas repassa para {@link DeviceService#createDevice}.
+ *
+ * Publica as métricas device.create.batch.size, device.create.batch.wait,
+ * device.create.batch.queue e device.create.batch.fallbacks.
+ */
+@Component
+public class DeviceCreateBatcher implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceCreateBatcher.class);
+
+    /**
+     * Intervalo em que uma gravadora ociosa confere se o agrupamento foi encerrado.
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * Espera máxima de uma requisição pelo seu grupo, igual à espera do encerramento pelas gravadoras.
+     */
+    private static final long RESULT_TIMEOUT_SECONDS = 30;
+
+    private final DeviceService deviceService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService writers;
+    private volatile boolean running = true;
+
+    private final Counter.Builder fallbacks = Counter.builder("device.create.batch.fallbacks")
+            .description("Grupos de criação que falharam e foram refeitos item a item");
+    private MeterRegistry meterRegistry;
+    private DistributionSummary batchSizes;
+    private Timer waitTimes;
+
+    public DeviceCreateBatcher(DeviceService deviceService,
+                               @Value("${app.group-commit.enabled:false}") boolean enabled,
+                               @Value("${app.group-commit.window:PT0.005S}") Duration window,
+                               @Value("${app.group-commit.max-batch-size:500}") int maxBatchSize,
+                               @Value("${app.group-commit.writers:2}") int writers,
+                               @Value("${app.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.deviceService = deviceService;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.min(maxBatchSize, DeviceService.BATCH_CHUNK_SIZE);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!enabled) {
+            this.writers = null;
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "device-create-batcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writers; i++) {
+            this.writers.execute(this::writeLoop);
+        }
+    }
+
+    /**
+     * Cria um dispositivo, agrupando-o com as criações concorrentes quando o agrupamento está ligado.
+     * Bloqueia até o commit do grupo; exceções da criação são propagadas ao chamador.
+     *
+     * @param request DTO já validado com os dados do novo dispositivo
+     * @return DTO com os dados do dispositivo criado, incluindo ID e data de criação
+     */
+    public DeviceResponseDTO create(DeviceRequestDTO request) {
+        if (!enabled || !running) {
+            return deviceService.createDevice(request);
+        }
+        Pending pending = new Pending(request);
+        if (!queue.offer(pending)) {
+            return deviceService.createDevice(request);
+        }
+        // O encerramento pode ter esvaziado a fila entre a conferência acima e o offer: se o item
+        // ainda estiver lá, ninguém mais vai gravá-lo
+        if (!running && queue.remove(pending)) {
+            return deviceService.createDevice(request);
+        }
+        try {
+            return pending.result.get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                return deviceService.createDevice(request);
+            }
+            throw new IllegalStateException("Tempo esgotado aguardando a gravação do grupo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a gravação do grupo", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.batchSizes = DistributionSummary.builder("device.create.batch.size")
+                .description("Dispositivos gravados por commit no agrupamento de criações")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.waitTimes = Timer.builder("device.create.batch.wait")
+                .description("Tempo de uma criação na fila até o início da gravação do seu grupo")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder("device.create.batch.queue", queue, BlockingQueue::size)
+                .description("Criações aguardando um grupo")
+                .register(registry);
+        this.meterRegistry = registry;
+    }
+
+    /**
+     * Encerra as gravadoras depois do grupo em andamento e grava o que ainda estiver na fila.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writers == null) {
+            return;
+        }
+        writers.shutdown();
+        writers.awaitTermination(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += maxBatchSize) {
+            write(remaining.subList(from, Math.min(from + maxBatchSize, remaining.size())));
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedAt + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava um grupo em uma transação e entrega a cada requisição o seu dispositivo.
+     */
+    private void write(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<DeviceRequestDTO> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request);
+            if (waitTimes != null) {
+                waitTimes.record(start - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+        try {
+            List<DeviceResponseDTO> created = deviceService.createGrouped(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(created.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Falha ao gravar grupo de {} criações, refazendo item a item: {}", batch.size(), e.getMessage());
+            if (meterRegistry != null) {
+                fallbacks.register(meterRegistry).increment();
+            }
+            for (Pending pending : batch) {
+                try {
+                    pending.result.complete(deviceService.createDevice(pending.request));
+                } catch (RuntimeException itemFailure) {
+                    pending.result.completeExceptionally(itemFailure);
+                }
+            }
+        }
+    }
+
+    private static class Pending {
+        private final DeviceRequestDTO request;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<DeviceResponseDTO> result = new CompletableFuture<>();
+
+        Pending(DeviceRequestDTO request) {
+            this.request = request;
+        }
+    }
+}
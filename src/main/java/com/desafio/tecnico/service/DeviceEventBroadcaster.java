@@ -0,0 +1,382 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Distribui as alterações de dispositivos aos assinantes do feed de eventos (SSE).
+ *
+ * Os eventos publicados pelo DeviceService chegam aqui somente após o commit da transação,
+ * então um assinante nunca vê uma alteração que foi desfeita. Cada evento recebe um ID no
+ * formato "<execução>-<sequência>", é serializado uma única vez e guardado em um buffer
+ * circular com os últimos eventos; um cliente que reconecta com Last-Event-ID recebe o que
+ * perdeu a partir desse buffer. A execução é um identificador aleatório gerado a cada
+ * inicialização, então um ID de antes de um reinício nunca é confundido com a sequência atual.
+ * Se o ID informado é de outra execução, já saiu do buffer ou é inválido, o cliente recebe um
+ * evento "reset" e deve recarregar a coleção. Inserções em massa chegam como um evento
+ * "imported" por bloco, sem os dispositivos, entregue a todos os assinantes: o cliente deve
+ * recarregar as coleções que acompanha.
+ *
+ * A numeração, o buffer e a distribuição rodam em uma única thread, que apenas coloca cada
+ * evento na fila do assinante, sem travas e sem bloquear na rede. O envio é feito por assinante,
+ * em uma thread do pool de envio que esvazia a fila e termina: um cliente com o socket cheio
+ * atrasa só a própria fila. O pool não usa virtual threads porque SseEmitter.send escreve no
+ * socket dentro de um bloco synchronized, o que prenderia a thread portadora. A fila é limitada
+ * (app.events.subscriber-queue-size); o assinante que a enche é desconectado e, ao reconectar
+ * com Last-Event-ID, recebe o que perdeu a partir do buffer (ou um "reset"). Um assinante ocioso não ocupa thread: a conexão fica em modo assíncrono no
+ * servidor e custa apenas o SseEmitter e a fila vazia. O heartbeat periódico mantém a conexão
+ * viva em proxies e detecta clientes desconectados.
+ *
+ * Publica as métricas devices.events.subscribers, devices.events.published e
+ * devices.events.overflows.
+ *
+ * Possíveis melhorias:
+ * - Compartilhar os eventos entre instâncias (LISTEN/NOTIFY ou um broker) em implantações com várias réplicas
+ */
+@Component
+public class DeviceEventBroadcaster implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceEventBroadcaster.class);
+
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final int bufferSize;
+    private final int subscriberQueueSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "device-events-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter.Builder published = Counter.builder("devices.events.published")
+            .description("Eventos de dispositivos publicados no feed SSE");
+    private final Counter.Builder overflows = Counter.builder("devices.events.overflows")
+            .description("Assinantes desconectados por encherem a fila de envio");
+    private MeterRegistry meterRegistry;
+
+    // Acessados somente pela thread do dispatcher
+    private final ArrayDeque<BufferedEvent> buffer = new ArrayDeque<>();
+    private long lastSequence;
+
+    public DeviceEventBroadcaster(ObjectMapper objectMapper,
+                                  @Value("${app.events.buffer-size:1000}") int bufferSize,
+                                  @Value("${app.events.subscriber-queue-size:1000}") int subscriberQueueSize,
+                                  @Value("${app.events.timeout:PT30M}") Duration timeout,
+                                  @Value("${app.events.heartbeat:PT15S}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.timeout = timeout;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "device-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recebe uma alteração de dispositivo após o commit e a encaminha aos assinantes.
+     * Fora de uma transação, o evento é encaminhado imediatamente.
+     *
+     * @param event Alteração publicada pelo DeviceService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceEvent(DeviceEventDTO event) {
+        dispatcher.execute(() -> publish(event));
+    }
+
+    /**
+     * Recebe um bloco de dispositivos inseridos em massa após o commit e o encaminha aos
+     * assinantes como um único evento "imported", com a quantidade de dispositivos do bloco.
+     *
+     * @param event Bloco publicado pelo DeviceService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevicesImported(DevicesImportedEvent event) {
+        DeviceEventDTO imported = DeviceEventDTO.imported(event.getCount());
+        dispatcher.execute(() -> publish(imported));
+    }
+
+    /**
+     * Cria uma assinatura do feed de eventos.
+     *
+     * @param state Publica somente eventos de dispositivos que estão ou estavam neste estado (opcional)
+     * @param brand Publica somente eventos de dispositivos que são ou eram desta marca (opcional)
+     * @param lastEventId ID do último evento recebido, para reenviar os eventos perdidos (opcional)
+     * @return Emissor SSE da assinatura
+     */
+    public SseEmitter subscribe(DeviceState state, String brand, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, state, brand != null ? BrandService.normalize(brand) : null,
+                subscriberQueueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        // A assinatura entra pela mesma thread dos eventos: nada é perdido nem repetido entre o replay e o fluxo ao vivo
+        dispatcher.execute(() -> {
+            if (enqueue(subscriber, SseEmitter.event().comment("subscribed")) && replay(subscriber, lastEventId)) {
+                subscribers.add(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * @return Quantidade de assinantes conectados
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        Gauge.builder("devices.events.subscribers", subscribers, Set::size)
+                .description("Assinantes conectados ao feed SSE de dispositivos")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(DeviceEventDTO event) {
+        long sequence = ++lastSequence;
+        event.setId(eventId(sequence));
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Falha ao serializar o evento {}", event, e);
+            return;
+        }
+        BufferedEvent buffered = new BufferedEvent(sequence, event, json);
+        buffer.addLast(buffered);
+        if (buffer.size() > bufferSize) {
+            buffer.removeFirst();
+        }
+        if (meterRegistry != null) {
+            published.register(meterRegistry).increment();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                enqueue(subscriber, delivery(buffered));
+            }
+        }
+    }
+
+    /**
+     * Reenvia os eventos posteriores a lastEventId, ou um evento "reset" se houver lacuna ou se
+     * os eventos perdidos não couberem na fila do assinante.
+     *
+     * @return false se o assinante foi desconectado
+     */
+    private boolean replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null) {
+            return true;
+        }
+        long lastSeen = sequenceOf(lastEventId);
+        long oldestAvailable = buffer.isEmpty() ? lastSeen + 1 : buffer.getFirst().sequence;
+        if (lastSeen < 0 || lastSeen > lastSequence || lastSeen < oldestAvailable - 1
+                || missed(subscriber, lastSeen) >= subscriberQueueSize) {
+            String currentId = eventId(lastSequence);
+            return enqueue(subscriber, SseEmitter.event()
+                    .id(currentId)
+                    .name("reset")
+                    .data(currentId));
+        }
+        for (BufferedEvent buffered : buffer) {
+            if (buffered.sequence > lastSeen && subscriber.accepts(buffered.event)
+                    && !enqueue(subscriber, delivery(buffered))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long missed(Subscriber subscriber, long lastSeen) {
+        return buffer.stream()
+                .filter(buffered -> buffered.sequence > lastSeen && subscriber.accepts(buffered.event))
+                .count();
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @return Sequência de um ID desta execução, ou -1 se o ID for de outra execução ou inválido
+     */
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator != epoch.length() || !eventId.startsWith(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // Com envios pendentes a conexão já está em uso; o heartbeat só entra na fila vazia
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder delivery(BufferedEvent buffered) {
+        return SseEmitter.event()
+                .id(buffered.event.getId())
+                .name(buffered.event.getType().name().toLowerCase(Locale.ROOT))
+                .data(buffered.json);
+    }
+
+    /**
+     * Coloca o evento na fila do assinante e agenda o envio, se ainda não houver um em andamento.
+     * Chamado somente pela thread do dispatcher. Um assinante com a fila cheia é desconectado.
+     *
+     * @return false se o assinante foi desconectado
+     */
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            // Fila cheia: há um envio em andamento, que encerra a conexão quando o socket liberar
+            subscriber.overflowed = true;
+            subscriber.queue.clear();
+            subscribers.remove(subscriber);
+            if (meterRegistry != null) {
+                overflows.register(meterRegistry).increment();
+            }
+            log.debug("Assinante do feed de eventos desconectado: fila de envio cheia");
+            return false;
+        }
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+        return true;
+    }
+
+    /**
+     * Envia a fila do assinante até esvaziá-la. Há no máximo um envio por assinante em
+     * andamento, o que mantém a ordem dos eventos.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                if (!send(subscriber, event)) {
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+            if (subscriber.overflowed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.sending.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.sending.compareAndSet(false, true));
+    }
+
+    /**
+     * Envia ao assinante, removendo-o se a conexão já tiver sido encerrada.
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (Exception e) {
+            // O servidor de aplicação encerra a requisição e dispara onError/onCompletion
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    /**
+     * Evento já numerado, com o JSON pronto para envio a qualquer assinante.
+     */
+    private static final class BufferedEvent {
+        private final long sequence;
+        private final DeviceEventDTO event;
+        private final String json;
+
+        BufferedEvent(long sequence, DeviceEventDTO event, String json) {
+            this.sequence = sequence;
+            this.event = event;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Conexão de um assinante, seus filtros e sua fila de envio.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final DeviceState state;
+        private final String normalizedBrand;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        Subscriber(SseEmitter emitter, DeviceState state, String normalizedBrand, int queueSize) {
+            this.emitter = emitter;
+            this.state = state;
+            this.normalizedBrand = normalizedBrand;
+            // Encadeada: a fila de um assinante ocioso não reserva espaço para a capacidade inteira
+            this.queue = new LinkedBlockingQueue<>(queueSize);
+        }
+
+        boolean accepts(DeviceEventDTO event) {
+            if (event.getDevice() == null) {
+                // Bloco importado: sem os dispositivos, não há como filtrar por estado ou marca
+                return true;
+            }
+            if (state != null && event.getDevice().getState() != state && event.getPreviousState() != state) {
+                return false;
+            }
+            return normalizedBrand == null
+                    || normalizedBrand.equals(BrandService.normalize(event.getDevice().getBrand()))
+                    || (event.getPreviousBrand() != null
+                        && normalizedBrand.equals(BrandService.normalize(event.getPreviousBrand())));
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceImportDTO;
+import com.desafio.tecnico.dto.DeviceImportDTO.Format;
+import com.desafio.tecnico.dto.DeviceImportDTO.Status;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação de dispositivos em massa a partir de CSV ou NDJSON.
+ *
+ * O corpo da requisição é lido linha a linha, sem ser carregado inteiro: cada linha é validada
+ * com as mesmas regras de {@link DeviceRequestDTO}, as válidas são acumuladas em blocos de
+ * app.import.chunk-size e cada bloco é inserido com o protocolo COPY, em uma transação própria
+ * (ver {@link DeviceService#insertImported}). A memória usada depende do tamanho do bloco e do
+ * tamanho máximo de linha, não do tamanho do arquivo. As linhas inválidas são gravadas, com o
+ * número da linha e os erros, em um arquivo de rejeitados em NDJSON.
+ *
+ * O andamento de cada importação (linhas lidas, importadas e rejeitadas) fica disponível
+ * enquanto ela acontece. São mantidas as últimas {@value #MAX_RETAINED_IMPORTS} importações;
+ * ao descartar uma, o seu arquivo de rejeitados também é removido.
+ *
+ * Se um bloco falhar, os blocos anteriores permanecem importados e a importação termina como
+ * FAILED, com os contadores do que foi confirmado.
+ */
+@Service
+public class DeviceImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceImportService.class);
+
+    /**
+     * Tamanho máximo de uma linha. O excedente é descartado durante a leitura e a linha é rejeitada.
+     */
+    static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    /**
+     * Quantidade de importações mantidas para consulta do andamento.
+     */
+    static final int MAX_RETAINED_IMPORTS = 100;
+
+    private final DeviceService deviceService;
+    private final BrandService brandService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Path rejectDir;
+
+    // Em ordem de início; acesso sincronizado pelo próprio mapa
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public DeviceImportService(DeviceService deviceService, BrandService brandService, Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${app.import.chunk-size:10000}") int chunkSize,
+                               @Value("${app.import.reject-dir:${java.io.tmpdir}/device-imports}") String rejectDir) {
+        this.deviceService = deviceService;
+        this.brandService = brandService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.rejectDir = Path.of(rejectDir);
+    }
+
+    /**
+     * Importa os dispositivos do corpo da requisição, bloco a bloco.
+     *
+     * No CSV, a primeira linha é o cabeçalho e deve conter as colunas name, brand e state, em
+     * qualquer ordem; valores podem vir entre aspas, mas não podem ocupar mais de uma linha.
+     * No NDJSON, cada linha é um objeto com os campos de {@link DeviceRequestDTO}. Linhas em
+     * branco são ignoradas nos dois formatos.
+     *
+     * @param body Corpo da requisição, em UTF-8
+     * @param format Formato do corpo
+     * @return Resultado da importação
+     * @throws InvalidOperationException se o cabeçalho do CSV não tiver as colunas obrigatórias
+     */
+    public DeviceImportDTO importDevices(InputStream body, Format format) {
+        ImportJob job = register(format);
+        log.info("Importação {} iniciada ({})", job.id, format);
+        try (LineReader lines = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), MAX_LINE_LENGTH)) {
+            Map<String, Integer> columns = null;
+            List<Device> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = csvHeader(line, lines.isTruncated());
+                    continue;
+                }
+                job.rowsRead.incrementAndGet();
+
+                Map<String, String> errors = new LinkedHashMap<>();
+                DeviceRequestDTO request = lines.isTruncated()
+                    ? null
+                    : format == Format.CSV ? parseCsvRow(line, columns, errors) : parseJsonRow(line, errors);
+                if (lines.isTruncated()) {
+                    errors.put("line", "Linha excede " + MAX_LINE_LENGTH + " caracteres");
+                } else if (line.indexOf('\u0000') >= 0) {
+                    // O PostgreSQL não aceita o caractere nulo em texto; o bloco inteiro falharia no COPY
+                    errors.put("line", "A linha contém o caractere nulo (U+0000)");
+                } else if (request != null) {
+                    for (ConstraintViolation<DeviceRequestDTO> violation : validator.validate(request)) {
+                        errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+                    }
+                }
+                if (!errors.isEmpty()) {
+                    job.reject(lines.getLineNumber(), line, errors);
+                    continue;
+                }
+
+                Device device = new Device();
+                device.setName(request.getName());
+                device.setBrandId(brandService.resolveId(request.getBrand()));
+                device.setState(request.getState());
+                device.setCreationTime(LocalDateTime.now());
+                chunk.add(device);
+                if (chunk.size() == chunkSize) {
+                    flush(job, chunk);
+                }
+            }
+            flush(job, chunk);
+            job.finish(Status.COMPLETED, null);
+            log.info("Importação {} concluída: {} linhas, {} importadas, {} rejeitadas",
+                job.id, job.rowsRead.get(), job.imported.get(), job.rejected.get());
+        } catch (IOException e) {
+            job.finish(Status.FAILED, e.getMessage());
+            throw new UncheckedIOException("Falha na leitura da importação " + job.id, e);
+        } catch (RuntimeException e) {
+            job.finish(Status.FAILED, e.getMessage());
+            log.warn("Importação {} interrompida após {} dispositivos importados", job.id, job.imported.get(), e);
+            throw e;
+        } finally {
+            job.closeRejects();
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * @return Andamento das importações mantidas, da mais recente para a mais antiga
+     */
+    public List<DeviceImportDTO> listImports() {
+        List<DeviceImportDTO> imports = new ArrayList<>();
+        synchronized (jobs) {
+            for (ImportJob job : jobs.values()) {
+                imports.add(0, job.toDTO());
+            }
+        }
+        return imports;
+    }
+
+    /**
+     * @param id ID da importação
+     * @return Andamento da importação, ou vazio se não existir (ou já tiver sido descartada)
+     */
+    public Optional<DeviceImportDTO> getImport(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id)).map(ImportJob::toDTO);
+        }
+    }
+
+    /**
+     * @param id ID da importação
+     * @return Arquivo de rejeitados de uma importação concluída, ou vazio se não houve rejeitados
+     */
+    public Optional<Path> getRejects(String id) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(id);
+            if (job == null || job.status == Status.RUNNING || job.rejectFile == null) {
+                return Optional.empty();
+            }
+            return Optional.of(job.rejectFile);
+        }
+    }
+
+    /**
+     * Separa os campos de uma linha CSV (RFC 4180, sem campos com quebra de linha).
+     *
+     * @throws IllegalArgumentException se houver aspas sem fechamento
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas sem fechamento");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private Map<String, Integer> csvHeader(String line, boolean truncated) {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        if (!truncated) {
+            List<String> names = parseCsvLine(line);
+            for (int i = 0; i < names.size(); i++) {
+                columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.keySet().containsAll(List.of("name", "brand", "state"))) {
+            throw new InvalidOperationException("O cabeçalho do CSV deve conter as colunas name, brand e state");
+        }
+        return columns;
+    }
+
+    private static DeviceRequestDTO parseCsvRow(String line, Map<String, Integer> columns, Map<String, String> errors) {
+        List<String> fields;
+        try {
+            fields = parseCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            errors.put("line", e.getMessage());
+            return null;
+        }
+        DeviceRequestDTO request = new DeviceRequestDTO();
+        request.setName(field(fields, columns.get("name")));
+        request.setBrand(field(fields, columns.get("brand")));
+        String state = field(fields, columns.get("state"));
+        if (state != null && !state.isBlank()) {
+            try {
+                request.setState(DeviceState.valueOf(state.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                errors.put("state", "Estado inválido: " + state);
+            }
+        }
+        return request;
+    }
+
+    private DeviceRequestDTO parseJsonRow(String line, Map<String, String> errors) {
+        try {
+            DeviceRequestDTO request = objectMapper.readValue(line, DeviceRequestDTO.class);
+            if (request == null) {
+                errors.put("line", "A linha deve conter um objeto JSON");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            errors.put("line", "JSON inválido: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private void flush(ImportJob job, List<Device> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        job.imported.addAndGet(deviceService.insertImported(chunk));
+        chunk.clear();
+        log.info("Importação {}: {} linhas lidas, {} importadas, {} rejeitadas",
+            job.id, job.rowsRead.get(), job.imported.get(), job.rejected.get());
+    }
+
+    private ImportJob register(Format format) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            // Descarta as importações concluídas mais antigas além do limite
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_RETAINED_IMPORTS && oldest.hasNext()) {
+                ImportJob candidate = oldest.next();
+                if (candidate.status != Status.RUNNING) {
+                    oldest.remove();
+                    candidate.deleteRejects();
+                }
+            }
+        }
+        return job;
+    }
+
+    /**
+     * Estado de uma importação: contadores lidos pelas consultas de andamento enquanto a
+     * importação grava, e o arquivo de rejeitados, aberto na primeira linha rejeitada.
+     */
+    private final class ImportJob {
+        private final String id;
+        private final Format format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile Status status = Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile Path rejectFile;
+        private BufferedWriter rejectWriter;
+
+        private ImportJob(String id, Format format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        private void reject(long lineNumber, String line, Map<String, String> errors) throws IOException {
+            if (rejectWriter == null) {
+                Files.createDirectories(rejectDir);
+                Path file = rejectDir.resolve("device-import-" + id + "-rejects.ndjson");
+                rejectWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                rejectFile = file;
+            }
+            Map<String, Object> rejection = new LinkedHashMap<>();
+            rejection.put("line", lineNumber);
+            rejection.put("content", line);
+            rejection.put("errors", errors);
+            rejectWriter.write(objectMapper.writeValueAsString(rejection));
+            rejectWriter.newLine();
+            rejected.incrementAndGet();
+        }
+
+        private void finish(Status status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private void closeRejects() {
+            if (rejectWriter != null) {
+                try {
+                    rejectWriter.close();
+                } catch (IOException e) {
+                    log.warn("Falha ao fechar o arquivo de rejeitados da importação {}", id, e);
+                }
+            }
+        }
+
+        private void deleteRejects() {
+            if (rejectFile != null) {
+                try {
+                    Files.deleteIfExists(rejectFile);
+                } catch (IOException e) {
+                    log.warn("Falha ao remover o arquivo de rejeitados da importação {}", id, e);
+                }
+            }
+        }
+
+        private DeviceImportDTO toDTO() {
+            return new DeviceImportDTO(id, format, status, rowsRead.get(), imported.get(), rejected.get(),
+                startedAt, finishedAt, error);
+        }
+    }
+
+    /**
+     * Leitor de linhas com tamanho máximo: o que exceder o limite é lido e descartado, então
+     * uma linha muito longa não é acumulada em memória.
+     */
+    private static final class LineReader implements Closeable {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private long lineNumber;
+        private boolean truncated;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return Próxima linha, sem o terminador (\n ou \r\n), ou null no fim do corpo
+         */
+        private String readLine() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            line.setLength(0);
+            truncated = false;
+            lineNumber++;
+            if (lineNumber == 1 && c == '\uFEFF') {
+                c = read();
+            }
+            while (c != -1 && c != '\n') {
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    truncated = true;
+                }
+                c = read();
+            }
+            if (!truncated && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return line.toString();
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private long getLineNumber() {
+            return lineNumber;
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
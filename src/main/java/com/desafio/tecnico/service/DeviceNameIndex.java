@@ -0,0 +1,652 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSuggestionDTO;
+import com.desafio.tecnico.exception.InvalidOperationException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice de prefixos em memória para o autocompletar de nomes de dispositivos e marcas.
+ *
+ * Cada nome é indexado a partir do início de cada palavra ("Samsung Galaxy S23" é encontrado
+ * por "sam", "gal" e "s2"), sem diferenciar maiúsculas/minúsculas, em uma árvore de prefixos
+ * compacta (radix tree): arestas com vários caracteres, filhos em arrays ordenados e nenhum
+ * objeto por caractere. Cada nó guarda a maior contagem da sua subárvore, então as sugestões
+ * mais frequentes são encontradas em ordem, sem percorrer todos os nomes com o prefixo.
+ *
+ * O índice é construído na inicialização a partir dos dispositivos do banco
+ * ({@code DeviceNameIndexInitializer}) e mantido pelos eventos publicados pelo
+ * {@link DeviceService}, aplicados depois do commit. As leituras não vão ao banco.
+ *
+ * Expõe as métricas devices.suggest.terms, devices.suggest.nodes e devices.suggest.memory
+ * (estimativa em bytes do espaço ocupado no heap, calculada percorrendo a árvore).
+ */
+@Component
+public class DeviceNameIndex implements MeterBinder {
+
+    /**
+     * Quantidade padrão de sugestões retornadas.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Quantidade máxima de sugestões aceita.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * Textos maiores que isso não têm sugestões.
+     */
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private static final Comparator<DeviceSuggestionDTO> BY_COUNT =
+        Comparator.comparingLong(DeviceSuggestionDTO::getCount).reversed()
+            .thenComparing(DeviceSuggestionDTO::getValue, String.CASE_INSENSITIVE_ORDER);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixTree names = new PrefixTree();
+    private PrefixTree brands = new PrefixTree();
+
+    /**
+     * Eventos recebidos durante uma reconstrução ({@link DeviceEventDTO} ou
+     * {@link DevicesImportedEvent}), reaplicados sobre o novo índice ao final, na ordem em que
+     * chegaram. Nulo quando não há reconstrução em andamento.
+     */
+    private List<Object> pendingEvents;
+
+    /**
+     * Sugere nomes de dispositivos e marcas que começam (em alguma palavra) com o texto,
+     * dos mais frequentes para os menos frequentes.
+     *
+     * @param query Texto digitado, sem diferenciar maiúsculas/minúsculas
+     * @param limit Quantidade máxima de sugestões
+     * @return Sugestões ordenadas pela quantidade de dispositivos; vazia se o texto estiver vazio
+     * @throws InvalidOperationException se o limite for inválido
+     */
+    public List<DeviceSuggestionDTO> suggest(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidOperationException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        String prefix = query == null ? "" : query.stripLeading().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty() || prefix.length() > MAX_QUERY_LENGTH) {
+            return List.of();
+        }
+        List<DeviceSuggestionDTO> suggestions = new ArrayList<>(2 * limit);
+        lock.readLock().lock();
+        try {
+            for (Term term : names.collect(prefix, limit)) {
+                suggestions.add(new DeviceSuggestionDTO(term.display, DeviceSuggestionDTO.Type.NAME, term.count));
+            }
+            for (Term term : brands.collect(prefix, limit)) {
+                suggestions.add(new DeviceSuggestionDTO(term.display, DeviceSuggestionDTO.Type.BRAND, term.count));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        suggestions.sort(BY_COUNT);
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    /**
+     * Aplica ao índice uma alteração de dispositivo confirmada no banco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeviceEvent(DeviceEventDTO event) {
+        lock.writeLock().lock();
+        try {
+            apply(names, brands, event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica ao índice um bloco de dispositivos inseridos em massa, confirmado no banco, com uma
+     * única aquisição da trava e um ajuste por nome e por marca distintos do bloco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevicesImported(DevicesImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(names, brands, event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir dos dispositivos entregues pela fonte.
+     *
+     * O novo índice é montado fora da trava, enquanto o atual continua atendendo as sugestões.
+     * As alterações recebidas nesse meio tempo são aplicadas aos dois e reaplicadas ao novo
+     * antes da troca. Uma alteração confirmada imediatamente antes do início da leitura pode
+     * ser contada duas vezes; a diferença é apenas na contagem usada para ordenar as sugestões.
+     *
+     * @param source Fonte que entrega todos os dispositivos ao consumidor recebido
+     */
+    public void rebuild(Consumer<Consumer<DeviceResponseDTO>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        PrefixTree freshNames = new PrefixTree();
+        PrefixTree freshBrands = new PrefixTree();
+        try {
+            source.accept(device -> {
+                freshNames.add(device.getName(), 1);
+                freshBrands.add(device.getBrand(), 1);
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Object event : pendingEvents) {
+                if (event instanceof DevicesImportedEvent imported) {
+                    apply(freshNames, freshBrands, imported);
+                } else {
+                    apply(freshNames, freshBrands, (DeviceEventDTO) event);
+                }
+            }
+            names = freshNames;
+            brands = freshBrands;
+            pendingEvents = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Quantidade de nomes e marcas distintos no índice
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return names.terms + brands.terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Quantidade de nós da árvore de prefixos
+     */
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return names.nodes + brands.nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estima o espaço ocupado pelo índice no heap, somando o tamanho de cada objeto da árvore
+     * (nós, rótulos, arrays e nomes) com referências comprimidas, o padrão em heaps menores que
+     * 32 GB. Percorre todos os nós, então o custo é proporcional ao tamanho do índice.
+     *
+     * @return Estimativa em bytes
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return names.estimatedBytes() + brands.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("devices.suggest.terms", this, DeviceNameIndex::termCount)
+                .description("Nomes e marcas distintos no índice do autocompletar")
+                .register(registry);
+        Gauge.builder("devices.suggest.nodes", this, DeviceNameIndex::nodeCount)
+                .description("Nós da árvore de prefixos do autocompletar")
+                .register(registry);
+        Gauge.builder("devices.suggest.memory", this, DeviceNameIndex::estimatedBytes)
+                .description("Estimativa do espaço ocupado no heap pelo índice do autocompletar")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static void apply(PrefixTree names, PrefixTree brands, DeviceEventDTO event) {
+        DeviceResponseDTO device = event.getDevice();
+        switch (event.getType()) {
+            case CREATED -> {
+                names.add(device.getName(), 1);
+                brands.add(device.getBrand(), 1);
+            }
+            case DELETED -> {
+                names.add(device.getName(), -1);
+                brands.add(device.getBrand(), -1);
+            }
+            case UPDATED -> {
+                if (event.getPreviousName() != null && !event.getPreviousName().equals(device.getName())) {
+                    names.add(event.getPreviousName(), -1);
+                    names.add(device.getName(), 1);
+                }
+                if (event.getPreviousBrand() != null && !event.getPreviousBrand().equals(device.getBrand())) {
+                    brands.add(event.getPreviousBrand(), -1);
+                    brands.add(device.getBrand(), 1);
+                }
+            }
+        }
+    }
+
+    private static void apply(PrefixTree names, PrefixTree brands, DevicesImportedEvent event) {
+        event.getNames().forEach(names::add);
+        event.getBrands().forEach(brands::add);
+    }
+
+    /**
+     * Nome (ou marca) indexado, com a grafia do primeiro cadastro e a quantidade de dispositivos.
+     * O mesmo termo é referenciado pelos nós de todas as palavras do nome.
+     */
+    private static final class Term {
+        private final String display;
+        private int count;
+
+        Term(String display, int count) {
+            this.display = display;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Nó da árvore: o rótulo da aresta que chega nele, os filhos ordenados pelo primeiro
+     * caractere do rótulo, os termos que terminam nele e a maior contagem da subárvore.
+     * Arrays vazios ficam nulos para economizar memória.
+     */
+    private static final class Node {
+        private char[] label;
+        private Node[] children;
+        private Term[] terms;
+        private int max;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        void refreshMax() {
+            int value = 0;
+            if (terms != null) {
+                for (Term term : terms) {
+                    value = Math.max(value, term.count);
+                }
+            }
+            if (children != null) {
+                for (Node child : children) {
+                    value = Math.max(value, child.max);
+                }
+            }
+            max = value;
+        }
+    }
+
+    /**
+     * Candidato da busca pela melhor sugestão: um nó (pontuado pela maior contagem da subárvore)
+     * ou um termo (pontuado pela própria contagem). Em caso de empate, termos saem antes de nós
+     * e o candidato mais recente antes dos mais antigos, o que aprofunda a busca em um ramo até
+     * encontrar termos em vez de abrir todos os ramos de mesma contagem.
+     */
+    private static final class Candidate {
+        private static final Comparator<Candidate> BEST_FIRST =
+            Comparator.comparingInt((Candidate c) -> c.score).reversed()
+                .thenComparing(c -> c.item instanceof Node)
+                .thenComparing(Comparator.comparingLong((Candidate c) -> c.sequence).reversed());
+
+        private final Object item;
+        private final int score;
+        private final long sequence;
+
+        Candidate(Object item, int score, long sequence) {
+            this.item = item;
+            this.score = score;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Árvore de prefixos de um tipo de sugestão (nomes ou marcas). Não é thread-safe; o acesso
+     * é controlado pela trava do índice.
+     */
+    private static final class PrefixTree {
+        private static final int NODE_BYTES = 32;
+        private static final int TERM_BYTES = 24;
+        private static final int STRING_BYTES = 24;
+        private static final int ARRAY_HEADER_BYTES = 16;
+        private static final int REFERENCE_BYTES = 4;
+
+        private final Node root = new Node(new char[0]);
+        private int terms;
+        private int nodes = 1;
+        private long termBytes;
+
+        /**
+         * Ajusta a quantidade de dispositivos de um nome, incluindo o termo na primeira
+         * ocorrência e removendo-o quando a quantidade chega a zero.
+         */
+        void add(String value, int delta) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = value.toLowerCase(Locale.ROOT);
+            int[] starts = wordStarts(key);
+            Term term = find(key);
+            if (term == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                term = new Term(value, delta);
+                terms++;
+                termBytes += TERM_BYTES + stringBytes(value);
+                for (int start : starts) {
+                    insert(root, key, start, term);
+                }
+                return;
+            }
+            term.count = Math.max(0, term.count + delta);
+            for (int start : starts) {
+                if (term.count == 0) {
+                    remove(root, key, start, term);
+                } else {
+                    refresh(root, key, start);
+                }
+            }
+            if (term.count == 0) {
+                terms--;
+                termBytes -= TERM_BYTES + stringBytes(term.display);
+            }
+        }
+
+        /**
+         * Busca os termos mais frequentes com alguma palavra começando pelo prefixo.
+         */
+        List<Term> collect(String prefix, int limit) {
+            Node node = root;
+            int offset = 0;
+            while (offset < prefix.length()) {
+                int index = childIndex(node, prefix.charAt(offset));
+                if (index < 0) {
+                    return List.of();
+                }
+                Node child = node.children[index];
+                int common = commonLength(child.label, prefix, offset);
+                if (common < child.label.length && offset + common < prefix.length()) {
+                    return List.of();
+                }
+                node = child;
+                offset += common;
+            }
+
+            List<Term> result = new ArrayList<>(limit);
+            Set<Term> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.BEST_FIRST);
+            long sequence = 0;
+            queue.add(new Candidate(node, node.max, sequence++));
+            while (!queue.isEmpty() && result.size() < limit) {
+                Object item = queue.poll().item;
+                if (item instanceof Term term) {
+                    if (seen.add(term)) {
+                        result.add(term);
+                    }
+                    continue;
+                }
+                Node current = (Node) item;
+                if (current.terms != null) {
+                    for (Term term : current.terms) {
+                        queue.add(new Candidate(term, term.count, sequence++));
+                    }
+                }
+                if (current.children != null) {
+                    // Em ordem inversa, para que o empate favoreça o primeiro filho (ordem alfabética)
+                    for (int i = current.children.length - 1; i >= 0; i--) {
+                        Node child = current.children[i];
+                        queue.add(new Candidate(child, child.max, sequence++));
+                    }
+                }
+            }
+            return result;
+        }
+
+        long estimatedBytes() {
+            long bytes = termBytes;
+            ArrayDeque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                bytes += NODE_BYTES + align(ARRAY_HEADER_BYTES + 2L * node.label.length);
+                if (node.terms != null) {
+                    bytes += align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.terms.length);
+                }
+                if (node.children != null) {
+                    bytes += align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.children.length);
+                    for (Node child : node.children) {
+                        pending.push(child);
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        private Term find(String key) {
+            Node node = root;
+            int offset = 0;
+            while (offset < key.length()) {
+                int index = childIndex(node, key.charAt(offset));
+                if (index < 0) {
+                    return null;
+                }
+                Node child = node.children[index];
+                if (commonLength(child.label, key, offset) < child.label.length) {
+                    return null;
+                }
+                node = child;
+                offset += child.label.length;
+            }
+            if (node.terms != null) {
+                for (Term term : node.terms) {
+                    if (term.display.toLowerCase(Locale.ROOT).equals(key)) {
+                        return term;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void insert(Node node, String key, int offset, Term term) {
+            if (offset == key.length()) {
+                node.terms = append(node.terms, term);
+            } else {
+                int index = childIndex(node, key.charAt(offset));
+                if (index < 0) {
+                    Node leaf = new Node(key.substring(offset).toCharArray());
+                    leaf.terms = new Term[] {term};
+                    leaf.max = term.count;
+                    node.children = insertAt(node.children, -index - 1, leaf);
+                    nodes++;
+                } else {
+                    Node child = node.children[index];
+                    int common = commonLength(child.label, key, offset);
+                    if (common < child.label.length) {
+                        // Divide a aresta no ponto em que o rótulo e a chave divergem
+                        Node middle = new Node(Arrays.copyOf(child.label, common));
+                        child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                        middle.children = new Node[] {child};
+                        middle.max = child.max;
+                        node.children[index] = middle;
+                        nodes++;
+                        child = middle;
+                    }
+                    insert(child, key, offset + common, term);
+                }
+            }
+            node.refreshMax();
+        }
+
+        private void refresh(Node node, String key, int offset) {
+            if (offset < key.length()) {
+                Node child = node.children[childIndex(node, key.charAt(offset))];
+                refresh(child, key, offset + child.label.length);
+            }
+            node.refreshMax();
+        }
+
+        private void remove(Node node, String key, int offset, Term term) {
+            if (offset == key.length()) {
+                node.terms = without(node.terms, term);
+            } else {
+                int index = childIndex(node, key.charAt(offset));
+                Node child = node.children[index];
+                remove(child, key, offset + child.label.length, term);
+                if (child.terms == null && child.children == null) {
+                    node.children = removeAt(node.children, index);
+                    nodes--;
+                } else if (child.terms == null && child.children.length == 1) {
+                    // Um nó sem termos e com um único filho é absorvido por ele
+                    Node grandchild = child.children[0];
+                    char[] label = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+                    System.arraycopy(grandchild.label, 0, label, child.label.length, grandchild.label.length);
+                    grandchild.label = label;
+                    node.children[index] = grandchild;
+                    nodes--;
+                }
+            }
+            node.refreshMax();
+        }
+
+        /**
+         * Posições em que começa uma palavra: o início da chave e cada letra ou dígito
+         * precedido de outro caractere (espaço, hífen, barra etc.).
+         */
+        private static int[] wordStarts(String key) {
+            int[] starts = new int[key.length()];
+            int count = 0;
+            for (int i = 0; i < key.length(); i++) {
+                if (i == 0 || (Character.isLetterOrDigit(key.charAt(i)) && !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                    starts[count++] = i;
+                }
+            }
+            return Arrays.copyOf(starts, count);
+        }
+
+        private static int childIndex(Node node, char first) {
+            if (node.children == null) {
+                return -1;
+            }
+            int low = 0;
+            int high = node.children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char candidate = node.children[middle].label[0];
+                if (candidate < first) {
+                    low = middle + 1;
+                } else if (candidate > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static int commonLength(char[] label, String key, int offset) {
+            int length = 0;
+            while (length < label.length && offset + length < key.length()
+                    && label[length] == key.charAt(offset + length)) {
+                length++;
+            }
+            return length;
+        }
+
+        private static Term[] append(Term[] terms, Term term) {
+            if (terms == null) {
+                return new Term[] {term};
+            }
+            Term[] result = Arrays.copyOf(terms, terms.length + 1);
+            result[terms.length] = term;
+            return result;
+        }
+
+        private static Term[] without(Term[] terms, Term term) {
+            if (terms == null) {
+                return null;
+            }
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i] == term) {
+                    if (terms.length == 1) {
+                        return null;
+                    }
+                    Term[] result = new Term[terms.length - 1];
+                    System.arraycopy(terms, 0, result, 0, i);
+                    System.arraycopy(terms, i + 1, result, i, terms.length - i - 1);
+                    return result;
+                }
+            }
+            return terms;
+        }
+
+        private static Node[] insertAt(Node[] children, int index, Node child) {
+            if (children == null) {
+                return new Node[] {child};
+            }
+            Node[] result = new Node[children.length + 1];
+            System.arraycopy(children, 0, result, 0, index);
+            result[index] = child;
+            System.arraycopy(children, index, result, index + 1, children.length - index);
+            return result;
+        }
+
+        private static Node[] removeAt(Node[] children, int index) {
+            if (children.length == 1) {
+                return null;
+            }
+            Node[] result = new Node[children.length - 1];
+            System.arraycopy(children, 0, result, 0, index);
+            System.arraycopy(children, index + 1, result, index, children.length - index - 1);
+            return result;
+        }
+
+        private static long stringBytes(String value) {
+            boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+            return STRING_BYTES + align(ARRAY_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2));
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.repository.DeviceSearchQuery;
+import com.desafio.tecnico.repository.DeviceSearchQuery.SortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica o cursor da busca de dispositivos.
+ *
+ * O cursor guarda a ordenação em que foi gerado, o ID e o valor da chave de ordenação do
+ * último item entregue, no formato "ORDENACAO:direcao:id:chave" codificado em Base64 (URL).
+ * Um cursor só é aceito com a mesma ordenação e direção em que foi gerado, já que a posição
+ * que ele representa não faz sentido em outra ordem.
+ */
+final class DeviceSearchCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private DeviceSearchCursor() {
+    }
+
+    /**
+     * Gera o cursor que continua a busca depois do dispositivo informado.
+     *
+     * @param query Busca que produziu a página
+     * @param last Último dispositivo da página
+     * @return Cursor opaco para a próxima página
+     */
+    static String encode(DeviceSearchQuery query, DeviceResponseDTO last) {
+        String key = switch (query.getSort()) {
+            case ID -> "";
+            case CREATION_TIME -> last.getCreationTime().toString();
+            case NAME -> last.getName();
+        };
+        String raw = query.getSort().name() + ":" + direction(query.isDescending()) + ":" + last.getId() + ":" + key;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aplica a posição do cursor à busca, que já deve ter a ordenação e a direção definidas.
+     *
+     * @param cursor Cursor recebido do cliente
+     * @param query Busca a ser continuada
+     * @throws InvalidOperationException se o cursor for malformado ou de outra ordenação
+     */
+    static void apply(String cursor, DeviceSearchQuery query) {
+        String[] parts;
+        try {
+            parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (parts.length != 4
+                || !parts[0].equals(query.getSort().name())
+                || !parts[1].equals(direction(query.isDescending()))) {
+            throw invalid();
+        }
+        try {
+            query.setAfterId(Long.parseLong(parts[2]));
+            if (query.getSort() == SortField.CREATION_TIME) {
+                query.setAfterKey(LocalDateTime.parse(parts[3]));
+            } else if (query.getSort() == SortField.NAME) {
+                query.setAfterKey(parts[3]);
+            }
+        } catch (RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static String direction(boolean descending) {
+        return descending ? "desc" : "asc";
+    }
+
+    private static InvalidOperationException invalid() {
+        return new InvalidOperationException("Cursor inválido para a ordenação solicitada");
+    }
+}
@@ -1,18 +1,62 @@
 package com.desafio.tecnico.service;
 
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.BatchItemErrorDTO;
+import com.desafio.tecnico.dto.BulkDeleteRequestDTO;
+import com.desafio.tecnico.dto.BulkDeleteResponseDTO;
+import com.desafio.tecnico.dto.BulkDeleteResultDTO;
+import com.desafio.tecnico.dto.BulkStateChangeRequestDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResponseDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResultDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResultDTO.Outcome;
+import com.desafio.tecnico.dto.CacheStatsDTO;
+import com.desafio.tecnico.dto.CursorPage;
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.dto.DeviceExportCriteria;
 import com.desafio.tecnico.dto.DeviceRequestDTO;
 import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSearchCriteria;
+import com.desafio.tecnico.dto.DeviceSearchPage;
+import com.desafio.tecnico.dto.DeviceStatsDTO;
 import com.desafio.tecnico.exception.DeviceNotFoundException;
 import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.exception.VersionConflictException;
 import com.desafio.tecnico.model.Device;
 import com.desafio.tecnico.model.Device.DeviceState;
 import com.desafio.tecnico.repository.DeviceRepository;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.Deletion;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.StateChange;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.UpdatedDevice;
+import com.desafio.tecnico.repository.DeviceSearchQuery;
+import com.desafio.tecnico.repository.DeviceSearchQuery.SortField;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada a dispositivos.
@@ -20,13 +64,39 @@ import java.util.stream.Collectors;
  *
  * Testes existentes:
  * - createDevice_ShouldReturnDeviceResponseDTO: Verifica se um dispositivo é criado corretamente
+ * - createDevices_ShouldPersistValidItemsAndReportInvalidOnes: Verifica a criação em lote com erros por item
+ * - createDevices_ShouldThrowInvalidOperationException_WhenBatchIsEmpty: Valida o tamanho do lote
+ * - createGrouped_ShouldPersistAllInOneFlushAndKeepRequestOrder: Verifica a gravação de um grupo de criações individuais
+ * - insertImported_ShouldPublishOneEventPerChunk: Verifica o evento único do bloco importado, com as contagens por nome e marca
  * - getDeviceById_ShouldReturnDeviceResponseDTO: Testa a busca de um dispositivo por ID
  * - getDeviceById_ShouldThrowDeviceNotFoundException: Verifica se a exceção é lançada quando o dispositivo não existe
- * - getAllDevices_ShouldReturnListOfDevices: Testa a listagem de todos os dispositivos
+ * - getDeviceById_ShouldServeRepeatedLookupsFromCache: Verifica que buscas repetidas não vão ao banco
+ * - updateDevice_ShouldEvictCachedDevice: Verifica que a atualização invalida o cache
+ * - updateDevice_ShouldTouchPreviousAndCurrentCollections: Verifica os carimbos de alteração das coleções afetadas
+ * - updateDevice_ShouldPublishEventWithPreviousStateAndBrand: Verifica o evento publicado para o feed SSE
+ * - updateDevice_ShouldMoveCountFromPreviousToCurrentBrandAndState: Verifica o ajuste dos contadores por marca e estado
+ * - changeStates_ShouldReportOutcomePerIdAndMaintainCollectionsOfUpdatedDevices: Verifica o resultado por ID e a manutenção de carimbos, contadores, cache e eventos na alteração em lote
+ * - changeStates_ShouldValidateSelection: Verifica a validação de IDs e filtros da alteração em lote
+ * - deleteDevices_ShouldDeleteInChunksAndReportOutcomePerId: Verifica a remoção em blocos e o resultado por ID
+ * - deleteDevices_ShouldReportRemainingIdsAsLocked_WhenLockTimeoutIsExceeded: Verifica o tempo limite de espera por travas
+ * - getStats_ShouldAggregateCountersByStateAndBrand: Verifica a montagem das estatísticas a partir dos contadores
+ * - getDeviceVersion_ShouldUseCachedDeviceWhenPresent: Verifica que a versão para o ETag vem do cache
+ * - getDeviceVersion_ShouldReadOnlyVersionColumnOnCacheMiss: Verifica a consulta apenas da versão
+ * - getAllDevices_ShouldReturnListOfDevices: Testa a listagem paginada de todos os dispositivos
+ * - getAllDevices_ShouldReturnNextCursor_WhenMoreDevicesExist: Verifica o cursor da próxima página
+ * - getAllDevices_ShouldThrowInvalidOperationException_WhenSizeIsInvalid: Valida o tamanho da página
  * - getDevicesByBrand_ShouldReturnListOfDevices: Verifica a busca de dispositivos por marca
+ * - getDevicesByBrand_ShouldReturnEmptyPage_WhenBrandIsUnknown: Verifica que marca inexistente não consulta os dispositivos
  * - getDevicesByState_ShouldReturnListOfDevices: Testa a busca de dispositivos por estado
+ * - searchDevices_ShouldBuildQueryAndEncodeNextCursor: Verifica a montagem da busca e o cursor da próxima página
+ * - searchDevices_ShouldRejectCursorFromAnotherSort: Verifica que o cursor só vale para a ordenação em que foi gerado
+ * - searchDevicesByName_ShouldTrimTextAndValidateLimit: Verifica a validação do texto e do limite da busca aproximada
+ * - streamAllDevices_ShouldDeliverEveryDeviceWithoutManagedEntities: Verifica o streaming de projeções, sem entidades gerenciadas
+ * - exportDevices_ShouldResolveBrandAndPassFiltersToRepository: Verifica a montagem dos filtros da exportação
  * - updateDevice_ShouldUpdateAndReturnDevice: Verifica a atualização completa de um dispositivo
  * - updateDevice_ShouldThrowInvalidOperationException_WhenDeviceInUse: Verifica se a exceção é lançada ao tentar atualizar nome/marca de dispositivo em uso
+ * - updateDevice_ShouldThrowDeviceNotFoundException_WhenDeviceDoesNotExist: Verifica o mapeamento da atualização sem linhas afetadas
+ * - updateDevice_ShouldThrowVersionConflictException_WhenVersionIsStale: Verifica a concorrência otimista por versão
  * - partialUpdateDevice_ShouldUpdateOnlySomeFields: Testa a atualização parcial de um dispositivo
  * - deleteDevice_ShouldDeleteDevice: Verifica a exclusão de um dispositivo
  * - deleteDevice_ShouldThrowInvalidOperationException_WhenDeviceInUse: Testa se a exceção é lançada ao tentar excluir dispositivo em uso
@@ -39,20 +109,79 @@ import java.util.stream.Collectors;
  * - Incorporar testes com boundary values para os campos de texto (nome e marca)
  *
  * Possíveis melhorias:
- * - Implementar cache para operações de leitura frequentes
- * - Adicionar eventos para notificar alterações importantes (ex: quando um dispositivo fica indisponível)
  * - Adicionar logging detalhado para auditoria
- * - Adicionar suporte a operações em lote para melhor performance
  * - Implementar soft delete para manter histórico de dispositivos
  */
 @Service
+@Timed(value = "device.service", description = "Latência dos métodos do DeviceService")
 public class DeviceService {
 
+    /**
+     * Tamanho de página padrão das listagens paginadas.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Tamanho máximo de página aceito nas listagens paginadas.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Quantidade padrão de resultados da busca aproximada por nome.
+     */
+    public static final int DEFAULT_NAME_SEARCH_LIMIT = 20;
+
+    /**
+     * Quantidade máxima de resultados aceita na busca aproximada por nome.
+     */
+    public static final int MAX_NAME_SEARCH_LIMIT = 100;
+
+    /**
+     * Tamanho máximo do texto da busca aproximada por nome.
+     */
+    static final int MAX_NAME_SEARCH_LENGTH = 100;
+
+    /**
+     * Quantidade máxima de dispositivos aceita em uma criação em lote.
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Quantidade de dispositivos persistidos entre cada flush na criação em lote.
+     * Deve acompanhar hibernate.jdbc.batch_size.
+     */
+    static final int BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * Quantidade de dispositivos removidos por transação na remoção em lote. Cada bloco é
+     * confirmado antes do próximo, então as travas de linha duram no máximo um bloco.
+     */
+    static final int BULK_DELETE_CHUNK_SIZE = 1000;
+
     private final DeviceRepository deviceRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final DeviceCache deviceCache;
+    private final BrandService brandService;
+    private final DeviceChangeStamps changeStamps;
+    private final DeviceStatsCounters statsCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public DeviceService(DeviceRepository deviceRepository) {
+    public DeviceService(DeviceRepository deviceRepository, EntityManager entityManager, Validator validator,
+                         DeviceCache deviceCache, BrandService brandService, DeviceChangeStamps changeStamps,
+                         DeviceStatsCounters statsCounters, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager) {
         this.deviceRepository = deviceRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.deviceCache = deviceCache;
+        this.brandService = brandService;
+        this.changeStamps = changeStamps;
+        this.statsCounters = statsCounters;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -66,11 +195,112 @@ public class DeviceService {
     public DeviceResponseDTO createDevice(DeviceRequestDTO requestDTO) {
         Device device = new Device();
         device.setName(requestDTO.getName());
-        device.setBrand(requestDTO.getBrand());
+        device.setBrandId(brandService.resolveId(requestDTO.getBrand()));
         device.setState(requestDTO.getState());
 
         Device savedDevice = deviceRepository.save(device);
-        return mapToResponseDTO(savedDevice);
+        touchCollections(savedDevice, 1);
+        DeviceResponseDTO created = mapToResponseDTO(savedDevice);
+        eventPublisher.publishEvent(new DeviceEventDTO(DeviceEventDTO.Type.CREATED, created));
+        return created;
+    }
+
+    /**
+     * Cria vários dispositivos em uma única transação.
+     *
+     * Cada item é validado com as mesmas regras de {@link DeviceRequestDTO}; itens inválidos
+     * são reportados pela sua posição na lista e não impedem a criação dos demais.
+     * Os itens válidos são persistidos em blocos de {@value #BATCH_CHUNK_SIZE}, e o contexto de
+     * persistência é descarregado e limpo a cada bloco para que o Hibernate envie inserções
+     * agrupadas em lote JDBC sem acumular entidades gerenciadas.
+     *
+     * @param requests DTOs com os dados dos novos dispositivos
+     * @return Dispositivos criados e erros de validação por item
+     * @throws InvalidOperationException se a lista estiver vazia ou exceder {@value #MAX_BATCH_SIZE} itens
+     */
+    @Transactional
+    public BatchCreateResponseDTO createDevices(List<DeviceRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidOperationException("O lote deve conter ao menos um dispositivo");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidOperationException("O lote não pode conter mais de " + MAX_BATCH_SIZE + " dispositivos");
+        }
+
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        List<Device> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+        List<DeviceResponseDTO> created = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            DeviceRequestDTO request = requests.get(i);
+            Map<String, String> violations = validate(request);
+            if (!violations.isEmpty()) {
+                errors.add(new BatchItemErrorDTO(i, violations));
+                continue;
+            }
+
+            Device device = new Device();
+            device.setName(request.getName());
+            device.setBrandId(brandService.resolveId(request.getBrand()));
+            device.setState(request.getState());
+            chunk.add(device);
+
+            if (chunk.size() == BATCH_CHUNK_SIZE) {
+                created.addAll(persistChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created.addAll(persistChunk(chunk));
+        }
+
+        return new BatchCreateResponseDTO(created, errors);
+    }
+
+    /**
+     * Cria, em uma única transação, dispositivos de requisições individuais agrupadas pelo
+     * {@link DeviceCreateBatcher}. Os itens já foram validados na entrada da API e são gravados
+     * em um único INSERT multi-linha; uma falha desfaz o grupo inteiro.
+     *
+     * @param requests DTOs com os dados dos novos dispositivos (no máximo {@value #BATCH_CHUNK_SIZE})
+     * @return Dispositivos criados, na mesma ordem das requisições
+     */
+    @Transactional
+    public List<DeviceResponseDTO> createGrouped(List<DeviceRequestDTO> requests) {
+        List<Device> devices = new ArrayList<>(requests.size());
+        for (DeviceRequestDTO request : requests) {
+            Device device = new Device();
+            device.setName(request.getName());
+            device.setBrandId(brandService.resolveId(request.getBrand()));
+            device.setState(request.getState());
+            devices.add(device);
+        }
+        return persistChunk(devices);
+    }
+
+    /**
+     * Insere um bloco de dispositivos já validados com o protocolo COPY (ver
+     * {@link com.desafio.tecnico.repository.DeviceRepositoryCustom#copyInsert}), em uma única
+     * transação. Carimbos e contadores são registrados como na criação individual; em vez de um
+     * evento de criação por dispositivo, o bloco publica um único {@link DevicesImportedEvent}.
+     *
+     * @param devices Dispositivos sem ID, com nome, marca, estado e data de criação preenchidos
+     * @return Quantidade de dispositivos inseridos
+     */
+    @Transactional
+    public int insertImported(List<Device> devices) {
+        List<Device> inserted = deviceRepository.copyInsert(devices);
+        Map<String, Integer> names = new HashMap<>();
+        Map<String, Integer> brands = new HashMap<>();
+        for (Device device : inserted) {
+            touchCollections(device, 1);
+            names.merge(device.getName(), 1, Integer::sum);
+            brands.merge(brandService.nameOf(device.getBrandId()), 1, Integer::sum);
+        }
+        if (!inserted.isEmpty()) {
+            eventPublisher.publishEvent(new DevicesImportedEvent(inserted.size(), names, brands));
+        }
+        return inserted.size();
     }
 
     /**
@@ -82,156 +312,754 @@ public class DeviceService {
      */
     @Transactional(readOnly = true)
     public DeviceResponseDTO getDeviceById(Long id) {
-        Device device = deviceRepository.findById(id)
-            .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
-        return mapToResponseDTO(device);
+        return deviceCache.get(id, this::loadDevice);
     }
 
     /**
-     * Lista todos os dispositivos cadastrados.
+     * Obtém as estatísticas do cache de busca por ID.
      *
-     * @return Lista de DTOs com os dados de todos os dispositivos
+     * @return DTO com tamanho, acertos, falhas, remoções e taxa de acerto do cache
+     */
+    public CacheStatsDTO getCacheStats() {
+        CacheStats stats = deviceCache.stats();
+        return new CacheStatsDTO(deviceCache.size(), stats.hitCount(), stats.missCount(),
+            stats.evictionCount(), stats.hitRate());
+    }
+
+    /**
+     * Lista os dispositivos cadastrados em páginas, usando paginação por cursor (keyset).
+     *
+     * @param after ID do último dispositivo da página anterior, ou null para a primeira página
+     * @param size Quantidade máxima de dispositivos na página
+     * @return Página de DTOs e o cursor da próxima página, se houver
+     * @throws InvalidOperationException se o tamanho da página for inválido
      */
     @Transactional(readOnly = true)
-    public List<DeviceResponseDTO> getAllDevices() {
-        return deviceRepository.findAll().stream()
-            .map(this::mapToResponseDTO)
-            .collect(Collectors.toList());
+    public CursorPage<DeviceResponseDTO> getAllDevices(Long after, int size) {
+        validatePageSize(size);
+        return CursorPage.of(
+            deviceRepository.findResponsesAfter(cursorStart(after), Limit.of(size + 1)), size, DeviceResponseDTO::getId);
     }
 
     /**
-     * Busca dispositivos pela marca.
+     * Busca dispositivos pela marca em páginas, usando paginação por cursor (keyset).
+     * A marca é convertida no ID do dicionário de marcas, ignorando maiúsculas/minúsculas;
+     * uma marca inexistente resulta em uma página vazia, sem consulta aos dispositivos.
      *
      * @param brand Marca dos dispositivos a serem buscados
-     * @return Lista de DTOs com os dispositivos da marca especificada
+     * @param after ID do último dispositivo da página anterior, ou null para a primeira página
+     * @param size Quantidade máxima de dispositivos na página
+     * @return Página de DTOs com os dispositivos da marca especificada
+     * @throws InvalidOperationException se o tamanho da página for inválido
      */
     @Transactional(readOnly = true)
-    public List<DeviceResponseDTO> getDevicesByBrand(String brand) {
-        return deviceRepository.findByBrandIgnoreCase(brand).stream()
-            .map(this::mapToResponseDTO)
-            .collect(Collectors.toList());
+    public CursorPage<DeviceResponseDTO> getDevicesByBrand(String brand, Long after, int size) {
+        validatePageSize(size);
+        Optional<Integer> brandId = brandService.findId(brand);
+        if (brandId.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        return CursorPage.of(deviceRepository.findResponsesByBrandIdAfter(
+            brandId.get(), cursorStart(after), Limit.of(size + 1)), size, DeviceResponseDTO::getId);
     }
 
     /**
-     * Busca dispositivos pelo estado.
+     * Busca dispositivos pelo estado em páginas, usando paginação por cursor (keyset).
      *
      * @param state Estado dos dispositivos a serem buscados
-     * @return Lista de DTOs com os dispositivos no estado especificado
+     * @param after ID do último dispositivo da página anterior, ou null para a primeira página
+     * @param size Quantidade máxima de dispositivos na página
+     * @return Página de DTOs com os dispositivos no estado especificado
+     * @throws InvalidOperationException se o tamanho da página for inválido
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DeviceResponseDTO> getDevicesByState(DeviceState state, Long after, int size) {
+        validatePageSize(size);
+        return CursorPage.of(deviceRepository.findResponsesByStateAfter(
+            state, cursorStart(after), Limit.of(size + 1)), size, DeviceResponseDTO::getId);
+    }
+
+    /**
+     * Busca dispositivos combinando marca, estado, prefixo do nome e intervalo de criação,
+     * ordenados por ID, data de criação ou nome e paginados por cursor (keyset).
+     *
+     * Só os filtros informados entram na consulta, e cada combinação comum é atendida por um
+     * índice composto. Uma marca inexistente resulta em uma página vazia, sem consulta.
+     *
+     * @param criteria Filtros, ordenação, cursor e tamanho da página
+     * @return Página de DTOs e o cursor da próxima página, se houver
+     * @throws InvalidOperationException se o tamanho da página, a ordenação, o intervalo de
+     *         criação ou o cursor forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public DeviceSearchPage searchDevices(DeviceSearchCriteria criteria) {
+        validatePageSize(criteria.getSize());
+        validateCreationRange(criteria.getCreatedFrom(), criteria.getCreatedTo());
+        DeviceSearchQuery query = new DeviceSearchQuery();
+        query.setSort(sortField(criteria.getSort()));
+        query.setDescending(isDescending(criteria.getDirection()));
+        if (criteria.getCursor() != null && !criteria.getCursor().isEmpty()) {
+            DeviceSearchCursor.apply(criteria.getCursor(), query);
+        }
+        if (criteria.getBrand() != null && !criteria.getBrand().isBlank()) {
+            Optional<Integer> brandId = brandService.findId(criteria.getBrand());
+            if (brandId.isEmpty()) {
+                return new DeviceSearchPage(List.of(), null);
+            }
+            query.setBrandId(brandId.get());
+        }
+        query.setState(criteria.getState());
+        query.setNamePrefix(criteria.getName());
+        query.setCreatedFrom(criteria.getCreatedFrom());
+        query.setCreatedTo(criteria.getCreatedTo());
+        query.setLimit(criteria.getSize() + 1);
+
+        List<DeviceResponseDTO> items = deviceRepository.search(query);
+        if (items.size() <= criteria.getSize()) {
+            return new DeviceSearchPage(items, null);
+        }
+        List<DeviceResponseDTO> content = items.subList(0, criteria.getSize());
+        return new DeviceSearchPage(content, DeviceSearchCursor.encode(query, content.get(content.size() - 1)));
+    }
+
+    /**
+     * Busca dispositivos por nome de forma aproximada: aceita trechos do nome e erros de
+     * digitação ("thinkpad x1", "galxy"), sem diferenciar maiúsculas/minúsculas.
+     * A busca é feita no banco, sobre o índice de trigramas do nome, e os resultados vêm do
+     * nome mais parecido com o texto para o menos parecido.
+     *
+     * @param text Texto buscado
+     * @param limit Quantidade máxima de dispositivos retornados
+     * @return Lista de DTOs ordenada pela semelhança do nome
+     * @throws InvalidOperationException se o texto estiver vazio ou for longo demais, ou se o limite for inválido
      */
     @Transactional(readOnly = true)
-    public List<DeviceResponseDTO> getDevicesByState(DeviceState state) {
-        return deviceRepository.findByState(state).stream()
-            .map(this::mapToResponseDTO)
-            .collect(Collectors.toList());
+    public List<DeviceResponseDTO> searchDevicesByName(String text, int limit) {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_NAME_SEARCH_LENGTH) {
+            throw new InvalidOperationException(
+                "O texto da busca deve ter entre 1 e " + MAX_NAME_SEARCH_LENGTH + " caracteres");
+        }
+        if (limit < 1 || limit > MAX_NAME_SEARCH_LIMIT) {
+            throw new InvalidOperationException("O limite deve estar entre 1 e " + MAX_NAME_SEARCH_LIMIT);
+        }
+        return deviceRepository.searchByName(trimmed, limit);
+    }
+
+    /**
+     * Percorre todos os dispositivos, entregando cada um ao consumidor à medida que
+     * o cursor JDBC lê as linhas. O uso de memória é constante, independente do
+     * tamanho da tabela.
+     *
+     * @param consumer Consumidor que recebe cada dispositivo (ex: escrita na resposta HTTP)
+     * @return Quantidade de dispositivos entregues
+     */
+    @Transactional(readOnly = true)
+    public long streamAllDevices(Consumer<DeviceResponseDTO> consumer) {
+        try (Stream<DeviceResponseDTO> devices = deviceRepository.streamResponses()) {
+            return forEach(devices, consumer);
+        }
+    }
+
+    /**
+     * Percorre os dispositivos de uma marca em streaming.
+     *
+     * @param brand Marca dos dispositivos, ignorando maiúsculas/minúsculas
+     * @param consumer Consumidor que recebe cada dispositivo
+     * @return Quantidade de dispositivos entregues
+     * @see #streamAllDevices(Consumer)
+     */
+    @Transactional(readOnly = true)
+    public long streamDevicesByBrand(String brand, Consumer<DeviceResponseDTO> consumer) {
+        Optional<Integer> brandId = brandService.findId(brand);
+        if (brandId.isEmpty()) {
+            return 0;
+        }
+        try (Stream<DeviceResponseDTO> devices = deviceRepository.streamResponsesByBrandId(brandId.get())) {
+            return forEach(devices, consumer);
+        }
+    }
+
+    /**
+     * Percorre os dispositivos em um estado em streaming.
+     *
+     * @param state Estado dos dispositivos
+     * @param consumer Consumidor que recebe cada dispositivo
+     * @return Quantidade de dispositivos entregues
+     * @see #streamAllDevices(Consumer)
+     */
+    @Transactional(readOnly = true)
+    public long streamDevicesByState(DeviceState state, Consumer<DeviceResponseDTO> consumer) {
+        try (Stream<DeviceResponseDTO> devices = deviceRepository.streamResponsesByState(state)) {
+            return forEach(devices, consumer);
+        }
+    }
+
+    /**
+     * Valida os filtros da exportação sem consultar o banco, para que o erro possa ser
+     * devolvido antes de a resposta em streaming começar.
+     *
+     * @param criteria Filtros da exportação
+     * @throws InvalidOperationException se o intervalo de criação for inválido
+     */
+    public void validateExport(DeviceExportCriteria criteria) {
+        validateCreationRange(criteria.getCreatedFrom(), criteria.getCreatedTo());
+    }
+
+    /**
+     * Exporta os dispositivos que atendem aos filtros, entregando cada um ao consumidor à medida
+     * que o cursor JDBC lê as linhas, sem ordem definida. O uso de memória é constante,
+     * independente da quantidade de dispositivos exportados.
+     *
+     * @param criteria Filtros por marca, estado e intervalo de criação (todos opcionais)
+     * @param consumer Consumidor que recebe cada dispositivo (ex: escrita na resposta HTTP)
+     * @return Quantidade de dispositivos entregues
+     * @throws InvalidOperationException se o intervalo de criação for inválido
+     */
+    @Transactional(readOnly = true)
+    public long exportDevices(DeviceExportCriteria criteria, Consumer<DeviceResponseDTO> consumer) {
+        validateExport(criteria);
+        DeviceSearchQuery query = new DeviceSearchQuery();
+        if (criteria.getBrand() != null && !criteria.getBrand().isBlank()) {
+            Optional<Integer> brandId = brandService.findId(criteria.getBrand());
+            if (brandId.isEmpty()) {
+                return 0;
+            }
+            query.setBrandId(brandId.get());
+        }
+        query.setState(criteria.getState());
+        query.setCreatedFrom(criteria.getCreatedFrom());
+        query.setCreatedTo(criteria.getCreatedTo());
+        return deviceRepository.export(query, consumer);
     }
 
     /**
      * Atualiza todos os campos de um dispositivo.
      *
-     * Valida se o dispositivo está em uso antes de permitir a atualização de nome ou marca.
+     * A verificação de dispositivo em uso e a escrita acontecem em um único UPDATE condicional;
+     * o dispositivo só é lido novamente quando nenhuma linha é alterada, para identificar o motivo.
+     * Se a versão for informada no DTO, a atualização só é aplicada se o dispositivo ainda estiver nela.
      *
      * @param id ID do dispositivo a ser atualizado
      * @param requestDTO DTO com os novos dados do dispositivo
      * @return DTO com os dados atualizados do dispositivo
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      * @throws InvalidOperationException se tentar modificar nome ou marca de um dispositivo em uso
+     * @throws VersionConflictException se a versão informada não for a atual
      */
     @Transactional
     public DeviceResponseDTO updateDevice(Long id, DeviceRequestDTO requestDTO) {
-        Device device = deviceRepository.findById(id)
-            .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
-
-        // Verifica se o dispositivo está em uso antes de atualizar nome ou marca
-        if (device.getState() == DeviceState.IN_USE &&
-            (!device.getName().equals(requestDTO.getName()) || !device.getBrand().equals(requestDTO.getBrand()))) {
-            throw new InvalidOperationException("Não é permitido alterar nome ou marca de um dispositivo em uso");
-        }
+        Integer brandId = brandService.resolveId(requestDTO.getBrand());
 
-        device.setName(requestDTO.getName());
-        device.setBrand(requestDTO.getBrand());
-        device.setState(requestDTO.getState());
-
-        Device updatedDevice = deviceRepository.save(device);
-        return mapToResponseDTO(updatedDevice);
+        UpdatedDevice result = deviceRepository.updateIfAllowed(
+                id, requestDTO.getName(), brandId, requestDTO.getState(), requestDTO.getVersion())
+            .orElseThrow(() -> updateRejected(id, requestDTO.getVersion(), requestDTO.getName(), brandId));
+        return afterUpdate(result);
     }
 
     /**
      * Realiza uma atualização parcial de um dispositivo.
      *
      * Os campos nulos no DTO não serão atualizados.
-     * Valida se o dispositivo está em uso antes de permitir a atualização de nome ou marca.
+     * Assim como na atualização completa, a verificação de dispositivo em uso e a escrita
+     * acontecem em um único UPDATE condicional.
      *
      * @param id ID do dispositivo a ser atualizado
      * @param requestDTO DTO com os campos a serem atualizados
      * @return DTO com os dados atualizados do dispositivo
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
      * @throws InvalidOperationException se tentar modificar nome ou marca de um dispositivo em uso
+     * @throws VersionConflictException se a versão informada não for a atual
      */
     @Transactional
     public DeviceResponseDTO partialUpdateDevice(Long id, DeviceRequestDTO requestDTO) {
-        Device device = deviceRepository.findById(id)
-            .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
+        Integer brandId = requestDTO.getBrand() != null ? brandService.resolveId(requestDTO.getBrand()) : null;
+
+        // Atualiza apenas os campos não nulos
+        UpdatedDevice result = deviceRepository.updateIfAllowed(
+                id, requestDTO.getName(), brandId, requestDTO.getState(), requestDTO.getVersion())
+            .orElseThrow(() -> updateRejected(id, requestDTO.getVersion(), requestDTO.getName(), brandId));
+        return afterUpdate(result);
+    }
+
+    /**
+     * Remove um dispositivo do sistema.
+     *
+     * A verificação de dispositivo em uso faz parte do próprio DELETE.
+     *
+     * @param id ID do dispositivo a ser removido
+     * @throws DeviceNotFoundException se o dispositivo não for encontrado
+     * @throws InvalidOperationException se tentar excluir um dispositivo em uso
+     */
+    @Transactional
+    public void deleteDevice(Long id) {
+        deleteDevice(id, null);
+    }
+
+    /**
+     * Remove um dispositivo do sistema, verificando a versão esperada.
+     *
+     * @param id ID do dispositivo a ser removido
+     * @param expectedVersion Versão esperada, ou null para não verificar
+     * @throws DeviceNotFoundException se o dispositivo não for encontrado
+     * @throws InvalidOperationException se tentar excluir um dispositivo em uso
+     * @throws VersionConflictException se a versão informada não for a atual
+     */
+    @Transactional
+    public void deleteDevice(Long id, Long expectedVersion) {
+        Device deleted = deviceRepository.deleteIfAllowed(id, expectedVersion).orElseThrow(() -> {
+            Device device = findOrThrow(id);
+            checkVersion(device, expectedVersion);
+            return new InvalidOperationException("Não é permitido excluir um dispositivo em uso");
+        });
+        touchCollections(deleted, -1);
+        deviceCache.evictAfterCommit(id);
+        eventPublisher.publishEvent(new DeviceEventDTO(DeviceEventDTO.Type.DELETED, mapToResponseDTO(deleted)));
+    }
 
-        // Verifica se o dispositivo está em uso e se está tentando atualizar nome ou marca
-        if (device.getState() == DeviceState.IN_USE) {
-            if (requestDTO.getName() != null && !device.getName().equals(requestDTO.getName())) {
-                throw new InvalidOperationException("Não é permitido alterar o nome de um dispositivo em uso");
+    /**
+     * Remove vários dispositivos, escolhidos por IDs ou pela marca.
+     *
+     * Os dispositivos são removidos em blocos de {@value #BULK_DELETE_CHUNK_SIZE}, cada um com um
+     * único DELETE em uma transação própria, então uma remoção grande não trava as linhas de
+     * todos os dispositivos até o fim. Dispositivos em uso ficam como
+     * {@link BulkDeleteResultDTO.Outcome#REJECTED}, e os que estão travados por outra operação não
+     * são esperados: ficam como {@link BulkDeleteResultDTO.Outcome#LOCKED}. Se um bloco exceder o
+     * tempo de espera por travas, os dispositivos restantes também ficam como LOCKED (pela marca,
+     * o cursor devolvido retoma do último bloco confirmado). Pela marca, são processados no máximo
+     * {@value #MAX_BATCH_SIZE} dispositivos por chamada, e a resposta traz o cursor do próximo bloco.
+     *
+     * @param request IDs ou marca
+     * @return Resultado por dispositivo, em ordem de ID, e o cursor do próximo bloco, se houver
+     * @throws InvalidOperationException se IDs e marca forem informados juntos (ou nenhum deles)
+     *         ou se a lista exceder {@value #MAX_BATCH_SIZE} IDs
+     */
+    public BulkDeleteResponseDTO deleteDevices(BulkDeleteRequestDTO request) {
+        if (request.getIds() != null == (request.getBrand() != null)) {
+            throw new InvalidOperationException("Informe a lista de IDs ou a marca, não ambos");
+        }
+        List<BulkDeleteResultDTO> results = new ArrayList<>();
+        if (request.getIds() != null) {
+            validateIds(request.getIds());
+            List<Long> ids = new ArrayList<>(new TreeSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += BULK_DELETE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + BULK_DELETE_CHUNK_SIZE, ids.size()));
+                try {
+                    results.addAll(deleteChunk(chunk, null, null, chunk.size()));
+                } catch (PessimisticLockingFailureException e) {
+                    ids.subList(from, ids.size()).forEach(id ->
+                        results.add(new BulkDeleteResultDTO(id, BulkDeleteResultDTO.Outcome.LOCKED)));
+                    break;
+                }
             }
-            if (requestDTO.getBrand() != null && !device.getBrand().equals(requestDTO.getBrand())) {
-                throw new InvalidOperationException("Não é permitido alterar a marca de um dispositivo em uso");
+            return new BulkDeleteResponseDTO(results, null);
+        }
+
+        Optional<Integer> brandId = brandService.findId(request.getBrand());
+        if (brandId.isEmpty()) {
+            return new BulkDeleteResponseDTO(List.of(), null);
+        }
+        Long after = request.getCursor();
+        while (results.size() < MAX_BATCH_SIZE) {
+            int limit = Math.min(BULK_DELETE_CHUNK_SIZE, MAX_BATCH_SIZE - results.size());
+            List<BulkDeleteResultDTO> chunk;
+            try {
+                chunk = deleteChunk(null, brandId.get(), after, limit);
+            } catch (PessimisticLockingFailureException e) {
+                return new BulkDeleteResponseDTO(results, after != null ? after : 0L);
+            }
+            results.addAll(chunk);
+            if (chunk.size() < limit) {
+                return new BulkDeleteResponseDTO(results, null);
             }
+            after = chunk.get(chunk.size() - 1).getId();
         }
+        return new BulkDeleteResponseDTO(results, after);
+    }
 
-        // Atualiza apenas os campos não nulos
-        if (requestDTO.getName() != null) {
-            device.setName(requestDTO.getName());
+    /**
+     * Altera o estado de vários dispositivos, escolhidos por IDs ou por marca e estado atual.
+     *
+     * A alteração é um único UPDATE sobre o conjunto, sem carregar entidades. Dispositivos em
+     * uso não são alterados em lote (ficam como {@link Outcome#REJECTED}) e devem ser liberados
+     * individualmente; os que já estão no estado de destino ficam como {@link Outcome#UNCHANGED}
+     * e não têm a versão incrementada. Com filtros, são processados no máximo
+     * {@value #MAX_BATCH_SIZE} dispositivos por chamada, e a resposta traz o cursor do próximo
+     * bloco. Carimbos, contadores, cache e eventos são atualizados como em uma atualização
+     * individual para cada dispositivo alterado.
+     *
+     * @param request IDs ou filtros e o estado de destino
+     * @return Resultado por dispositivo, em ordem de ID, e o cursor do próximo bloco, se houver
+     * @throws InvalidOperationException se IDs e filtros forem informados juntos (ou nenhum deles),
+     *         se a lista exceder {@value #MAX_BATCH_SIZE} IDs ou se o filtro de estado for IN_USE
+     */
+    @Transactional
+    public BulkStateChangeResponseDTO changeStates(BulkStateChangeRequestDTO request) {
+        boolean byFilter = request.getBrand() != null || request.getCurrentState() != null;
+        if (request.getIds() != null == byFilter) {
+            throw new InvalidOperationException("Informe a lista de IDs ou os filtros de marca e estado, não ambos");
         }
-        if (requestDTO.getBrand() != null) {
-            device.setBrand(requestDTO.getBrand());
+        if (request.getIds() != null) {
+            validateIds(request.getIds());
         }
-        if (requestDTO.getState() != null) {
-            device.setState(requestDTO.getState());
+        if (request.getCurrentState() == DeviceState.IN_USE) {
+            throw new InvalidOperationException("Dispositivos em uso não podem ter o estado alterado em lote");
         }
 
-        Device updatedDevice = deviceRepository.save(device);
-        return mapToResponseDTO(updatedDevice);
+        Integer brandId = null;
+        if (request.getBrand() != null) {
+            Optional<Integer> found = brandService.findId(request.getBrand());
+            if (found.isEmpty()) {
+                return new BulkStateChangeResponseDTO(List.of(), null);
+            }
+            brandId = found.get();
+        }
+
+        List<StateChange> changes = deviceRepository.changeStates(request.getIds(), brandId,
+            request.getCurrentState(), request.getCursor(), MAX_BATCH_SIZE, request.getTargetState());
+        List<BulkStateChangeResultDTO> results = new ArrayList<>(changes.size());
+        for (StateChange change : changes) {
+            Device device = change.getDevice();
+            if (device != null) {
+                afterUpdate(new UpdatedDevice(device, device.getName(), change.getPreviousState(),
+                    change.getPreviousBrandId()));
+                results.add(new BulkStateChangeResultDTO(change.getId(), Outcome.UPDATED, device.getVersion()));
+            } else if (change.getPreviousState() == null) {
+                results.add(new BulkStateChangeResultDTO(change.getId(), Outcome.NOT_FOUND, null));
+            } else if (change.getPreviousState() == DeviceState.IN_USE) {
+                results.add(new BulkStateChangeResultDTO(change.getId(), Outcome.REJECTED, null));
+            } else {
+                results.add(new BulkStateChangeResultDTO(change.getId(), Outcome.UNCHANGED, null));
+            }
+        }
+        Long nextCursor = byFilter && changes.size() == MAX_BATCH_SIZE ? changes.get(changes.size() - 1).getId() : null;
+        return new BulkStateChangeResponseDTO(results, nextCursor);
     }
 
     /**
-     * Remove um dispositivo do sistema.
+     * Obtém a quantidade de dispositivos no total, por estado e por marca e estado.
      *
-     * Valida se o dispositivo não está em uso antes de permitir a exclusão.
+     * Os números vêm dos contadores mantidos a cada escrita (ver {@link DeviceStatsCounters}),
+     * sem contar os dispositivos, então o custo não cresce com o tamanho da tabela.
      *
-     * @param id ID do dispositivo a ser removido
+     * @return DTO com as contagens; marcas ordenadas pelo nome
+     */
+    @Transactional(readOnly = true)
+    public DeviceStatsDTO getStats() {
+        Map<DeviceState, Long> byState = emptyStateCounts();
+        Map<String, Map<DeviceState, Long>> byBrand = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Integer, Map<DeviceState, Long>> brandCounts : statsCounters.counts().entrySet()) {
+            Map<DeviceState, Long> counts = emptyStateCounts();
+            for (Map.Entry<DeviceState, Long> stateCount : brandCounts.getValue().entrySet()) {
+                counts.put(stateCount.getKey(), stateCount.getValue());
+                byState.merge(stateCount.getKey(), stateCount.getValue(), Long::sum);
+                total += stateCount.getValue();
+            }
+            byBrand.put(brandService.nameOf(brandCounts.getKey()), counts);
+        }
+        return new DeviceStatsDTO(total, byState, byBrand);
+    }
+
+    /**
+     * Obtém a versão atual de um dispositivo, para comparação com o ETag enviado pelo cliente.
+     * Usa o cache quando possível; caso contrário lê apenas a coluna de versão, sem montar o DTO.
+     *
+     * @param id ID do dispositivo
+     * @return Versão atual do dispositivo
      * @throws DeviceNotFoundException se o dispositivo não for encontrado
-     * @throws InvalidOperationException se tentar excluir um dispositivo em uso
      */
-    @Transactional
-    public void deleteDevice(Long id) {
-        Device device = deviceRepository.findById(id)
+    @Transactional(readOnly = true)
+    public long getDeviceVersion(Long id) {
+        DeviceResponseDTO cached = deviceCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return deviceRepository.findVersionById(id)
+            .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
+    }
+
+    /**
+     * Obtém o carimbo de alteração da listagem de todos os dispositivos.
+     * Deve ser lido antes da página, para que o carimbo nunca seja mais novo que os dados.
+     *
+     * @return Carimbo que muda sempre que algum dispositivo é criado, alterado ou removido
+     */
+    @Transactional(readOnly = true)
+    public long getChangeStamp() {
+        return changeStamps.current(DeviceChangeStamps.ALL);
+    }
+
+    /**
+     * Obtém o carimbo de alteração da listagem de dispositivos em um estado.
+     *
+     * @param state Estado da listagem
+     * @return Carimbo que muda sempre que um dispositivo entra, sai ou é alterado no estado
+     * @see #getChangeStamp()
+     */
+    @Transactional(readOnly = true)
+    public long getChangeStamp(DeviceState state) {
+        return changeStamps.current(DeviceChangeStamps.state(state));
+    }
+
+    /**
+     * Obtém o carimbo de alteração da listagem de dispositivos de uma marca.
+     *
+     * @param brand Marca da listagem, ignorando maiúsculas/minúsculas
+     * @return Carimbo que muda sempre que um dispositivo entra, sai ou é alterado na marca
+     * @see #getChangeStamp()
+     */
+    @Transactional(readOnly = true)
+    public long getChangeStampByBrand(String brand) {
+        return brandService.findId(brand)
+            .map(brandId -> changeStamps.current(DeviceChangeStamps.brand(brandId)))
+            .orElse(0L);
+    }
+
+    /**
+     * Registra as coleções e os contadores afetados por uma atualização, invalida o cache do
+     * dispositivo e publica o evento da alteração (entregue aos assinantes após o commit).
+     */
+    private DeviceResponseDTO afterUpdate(UpdatedDevice result) {
+        Device device = result.getDevice();
+        changeStamps.touch(DeviceChangeStamps.ALL,
+            DeviceChangeStamps.state(result.getPreviousState()), DeviceChangeStamps.state(device.getState()),
+            DeviceChangeStamps.brand(result.getPreviousBrandId()), DeviceChangeStamps.brand(device.getBrandId()));
+        statsCounters.adjust(result.getPreviousBrandId(), result.getPreviousState(), -1);
+        statsCounters.adjust(device.getBrandId(), device.getState(), 1);
+        deviceCache.evictAfterCommit(device.getId());
+        DeviceResponseDTO updated = mapToResponseDTO(device);
+        eventPublisher.publishEvent(new DeviceEventDTO(DeviceEventDTO.Type.UPDATED, updated, result.getPreviousName(),
+            result.getPreviousState(), brandService.nameOf(result.getPreviousBrandId())));
+        return updated;
+    }
+
+    /**
+     * Remove um bloco de dispositivos em uma transação própria, registrando as coleções, os
+     * contadores, o cache e os eventos de cada dispositivo removido.
+     */
+    private List<BulkDeleteResultDTO> deleteChunk(List<Long> ids, Integer brandId, Long after, int limit) {
+        return transactionTemplate.execute(status -> {
+            List<Deletion> deletions = deviceRepository.deleteAllowed(ids, brandId, after, limit);
+            List<BulkDeleteResultDTO> results = new ArrayList<>(deletions.size());
+            for (Deletion deletion : deletions) {
+                Device deleted = deletion.getDevice();
+                BulkDeleteResultDTO.Outcome outcome;
+                if (deleted != null) {
+                    touchCollections(deleted, -1);
+                    deviceCache.evictAfterCommit(deleted.getId());
+                    eventPublisher.publishEvent(new DeviceEventDTO(DeviceEventDTO.Type.DELETED, mapToResponseDTO(deleted)));
+                    outcome = BulkDeleteResultDTO.Outcome.DELETED;
+                } else if (!deletion.isFound()) {
+                    outcome = BulkDeleteResultDTO.Outcome.NOT_FOUND;
+                } else if (deletion.getLockedState() == null) {
+                    outcome = BulkDeleteResultDTO.Outcome.LOCKED;
+                } else {
+                    outcome = BulkDeleteResultDTO.Outcome.REJECTED;
+                }
+                results.add(new BulkDeleteResultDTO(deletion.getId(), outcome));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Valida a lista de IDs de uma operação em lote.
+     *
+     * @throws InvalidOperationException se a lista estiver vazia, tiver valores nulos ou exceder
+     *         {@value #MAX_BATCH_SIZE} IDs
+     */
+    private static void validateIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidOperationException("A lista de IDs deve conter ao menos um ID e nenhum valor nulo");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidOperationException("O lote não pode conter mais de " + MAX_BATCH_SIZE + " dispositivos");
+        }
+    }
+
+    /**
+     * Registra as coleções que contêm o dispositivo criado ou removido e ajusta o contador
+     * da sua marca e estado.
+     *
+     * @param delta 1 para dispositivo criado, -1 para removido
+     */
+    private void touchCollections(Device device, long delta) {
+        changeStamps.touch(DeviceChangeStamps.ALL,
+            DeviceChangeStamps.state(device.getState()), DeviceChangeStamps.brand(device.getBrandId()));
+        statsCounters.adjust(device.getBrandId(), device.getState(), delta);
+    }
+
+    /**
+     * @return Mapa com todos os estados zerados
+     */
+    private static Map<DeviceState, Long> emptyStateCounts() {
+        Map<DeviceState, Long> counts = new EnumMap<>(DeviceState.class);
+        for (DeviceState state : DeviceState.values()) {
+            counts.put(state, 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Identifica por que um UPDATE condicional não alterou nenhuma linha.
+     * Só é executado no caminho de erro, então não custa uma ida ao banco nas atualizações bem-sucedidas.
+     */
+    private RuntimeException updateRejected(Long id, Long expectedVersion, String name, Integer brandId) {
+        Device device = findOrThrow(id);
+        checkVersion(device, expectedVersion);
+        if (name != null && !device.getName().equals(name)) {
+            return new InvalidOperationException("Não é permitido alterar o nome de um dispositivo em uso");
+        }
+        if (brandId != null && !device.getBrandId().equals(brandId)) {
+            return new InvalidOperationException("Não é permitido alterar a marca de um dispositivo em uso");
+        }
+        return new InvalidOperationException("Não é permitido alterar nome ou marca de um dispositivo em uso");
+    }
+
+    /**
+     * Busca a entidade pelo ID ou lança DeviceNotFoundException.
+     */
+    private Device findOrThrow(Long id) {
+        return deviceRepository.findById(id)
+            .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
+    }
+
+    /**
+     * Lança VersionConflictException se a versão esperada foi informada e não é a atual.
+     */
+    private void checkVersion(Device device, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(device.getVersion())) {
+            throw new VersionConflictException("O dispositivo foi alterado por outra requisição (versão atual: "
+                + device.getVersion() + ", versão informada: " + expectedVersion + ")");
+        }
+    }
+
+    /**
+     * Busca o dispositivo no banco; usado na falha do cache de busca por ID.
+     */
+    private DeviceResponseDTO loadDevice(Long id) {
+        return deviceRepository.findResponseById(id)
             .orElseThrow(() -> new DeviceNotFoundException("Dispositivo não encontrado com ID: " + id));
+    }
 
-        // Verifica se o dispositivo está em uso antes de permitir a exclusão
-        if (device.getState() == DeviceState.IN_USE) {
-            throw new InvalidOperationException("Não é permitido excluir um dispositivo em uso");
+    /**
+     * Valida um item de lote, retornando as violações no formato campo -> mensagem.
+     */
+    private Map<String, String> validate(DeviceRequestDTO request) {
+        if (request == null) {
+            return Map.of("item", "Item do lote não pode ser nulo");
         }
+        Map<String, String> violations = new LinkedHashMap<>();
+        for (ConstraintViolation<DeviceRequestDTO> violation : validator.validate(request)) {
+            violations.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return violations;
+    }
 
-        deviceRepository.delete(device);
+    /**
+     * Persiste um bloco de dispositivos, força o envio das inserções em lote e
+     * libera as entidades do contexto de persistência.
+     */
+    private List<DeviceResponseDTO> persistChunk(List<Device> chunk) {
+        List<DeviceResponseDTO> created = new ArrayList<>(chunk.size());
+        for (Device device : deviceRepository.saveAll(chunk)) {
+            touchCollections(device, 1);
+            DeviceResponseDTO dto = mapToResponseDTO(device);
+            eventPublisher.publishEvent(new DeviceEventDTO(DeviceEventDTO.Type.CREATED, dto));
+            created.add(dto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return created;
+    }
+
+    /**
+     * Valida o tamanho de página solicitado.
+     *
+     * @param size Tamanho da página
+     * @throws InvalidOperationException se o tamanho estiver fora do intervalo permitido
+     */
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidOperationException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Converte o campo de ordenação da busca ("id", "creationTime" ou "name").
+     *
+     * @throws InvalidOperationException se o campo não for suportado
+     */
+    private static SortField sortField(String sort) {
+        if (sort == null || sort.equals("id")) {
+            return SortField.ID;
+        }
+        if (sort.equals("creationTime")) {
+            return SortField.CREATION_TIME;
+        }
+        if (sort.equals("name")) {
+            return SortField.NAME;
+        }
+        throw new InvalidOperationException("Ordenação não suportada: " + sort + " (use id, creationTime ou name)");
+    }
+
+    /**
+     * Converte a direção da busca ("asc" ou "desc").
+     *
+     * @throws InvalidOperationException se a direção não for suportada
+     */
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new InvalidOperationException("Direção não suportada: " + direction + " (use asc ou desc)");
+    }
+
+    private void validateCreationRange(LocalDateTime createdFrom, LocalDateTime createdTo) {
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new InvalidOperationException("O início do intervalo de criação deve ser anterior ao fim");
+        }
+    }
+
+    /**
+     * Converte o cursor recebido no limite inferior (exclusivo) da consulta por ID.
+     */
+    private long cursorStart(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Entrega cada DTO do stream ao consumidor. As consultas em streaming projetam direto em DTOs,
+     * então nada fica no contexto de persistência à medida que as linhas são lidas.
+     */
+    private long forEach(Stream<DeviceResponseDTO> devices, Consumer<DeviceResponseDTO> consumer) {
+        long count = 0;
+        for (Iterator<DeviceResponseDTO> it = devices.iterator(); it.hasNext(); ) {
+            consumer.accept(it.next());
+            count++;
+        }
+        return count;
     }
 
     /**
      * Converte uma entidade Device para um DTO DeviceResponseDTO.
+     * Visível no pacote para os benchmarks JMH.
      *
      * @param device Entidade a ser convertida
      * @return DTO com os dados da entidade
      */
-    private DeviceResponseDTO mapToResponseDTO(Device device) {
+    DeviceResponseDTO mapToResponseDTO(Device device) {
         return new DeviceResponseDTO(
             device.getId(),
             device.getName(),
-            device.getBrand(),
+            brandService.nameOf(device.getBrandId()),
             device.getState(),
-            device.getCreationTime()
+            device.getCreationTime(),
+            device.getVersion()
         );
     }
 }
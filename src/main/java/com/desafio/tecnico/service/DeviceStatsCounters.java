@@ -0,0 +1,153 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Contadores de dispositivos por marca e estado, mantidos a cada escrita.
+ *
+ * A tabela device_stats guarda, para cada par (marca, estado), quantos dispositivos existem.
+ * As escritas ajustam os contadores na mesma transação em que alteram a tabela devices, então
+ * as estatísticas são lidas dos contadores em vez de contar os dispositivos: o custo da leitura
+ * depende da quantidade de marcas, não do tamanho da tabela devices.
+ *
+ * Assim como em {@link DeviceChangeStamps}, cada par é dividido em {@value #STRIPES} faixas para
+ * que escritas concorrentes não disputem a mesma linha, e os ajustes de uma transação são somados
+ * em memória e aplicados uma única vez, em um só comando, imediatamente antes do commit.
+ */
+@Component
+public class DeviceStatsCounters {
+
+    static final int STRIPES = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeviceStatsCounters(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra a variação na quantidade de dispositivos de uma marca em um estado.
+     * Sem transação ativa, o contador é ajustado imediatamente.
+     *
+     * @param brandId ID da marca
+     * @param state Estado dos dispositivos
+     * @param delta Quantidade de dispositivos que entraram (positiva) ou saíram (negativa)
+     */
+    @SuppressWarnings("unchecked")
+    public void adjust(Integer brandId, DeviceState state, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Integer, Map<DeviceState, Long>> deltas = new TreeMap<>();
+            add(deltas, brandId, state, delta);
+            apply(deltas);
+            return;
+        }
+        Map<Integer, Map<DeviceState, Long>> pending =
+            (Map<Integer, Map<DeviceState, Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Integer, Map<DeviceState, Long>> deltasOfTransaction = new TreeMap<>();
+            pending = deltasOfTransaction;
+            TransactionSynchronizationManager.bindResource(this, deltasOfTransaction);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(deltasOfTransaction);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DeviceStatsCounters.this);
+                }
+            });
+        }
+        add(pending, brandId, state, delta);
+    }
+
+    /**
+     * Lê os contadores atuais.
+     *
+     * @return Quantidade de dispositivos por ID de marca e estado, sem os pares zerados
+     */
+    public Map<Integer, Map<DeviceState, Long>> counts() {
+        Map<Integer, Map<DeviceState, Long>> counts = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT brand_id, state, SUM(device_count) FROM device_stats " +
+            "GROUP BY brand_id, state HAVING SUM(device_count) <> 0",
+            (RowCallbackHandler) rs -> add(counts, rs.getInt(1), DeviceState.valueOf(rs.getString(2)), rs.getLong(3)));
+        return counts;
+    }
+
+    /**
+     * Lê os totais de dispositivos por marca, somando os estados.
+     *
+     * @return Quantidade de dispositivos por ID de marca; marcas sem contadores ficam de fora
+     */
+    public Map<Integer, Long> countsByBrand() {
+        Map<Integer, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT brand_id, SUM(device_count) FROM device_stats GROUP BY brand_id",
+            (RowCallbackHandler) rs -> counts.put(rs.getInt(1), rs.getLong(2)));
+        return counts;
+    }
+
+    /**
+     * Indica se os contadores precisam ser reconstruídos: há dispositivos, mas nenhum contador.
+     * Acontece na primeira execução sobre uma base criada antes dos contadores.
+     */
+    public boolean isMissing() {
+        Boolean missing = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM devices) AND NOT EXISTS (SELECT 1 FROM device_stats)", Boolean.class);
+        return Boolean.TRUE.equals(missing);
+    }
+
+    /**
+     * Recalcula todos os contadores a partir da tabela devices.
+     *
+     * Deve ser executado em uma transação. A trava SHARE sobre devices espera as escritas em
+     * andamento terminarem e bloqueia novas escritas até o commit, então nenhuma alteração é
+     * contada duas vezes nem perdida.
+     */
+    public void rebuild() {
+        jdbcTemplate.execute("LOCK TABLE devices IN SHARE MODE");
+        jdbcTemplate.update("DELETE FROM device_stats");
+        jdbcTemplate.update(
+            "INSERT INTO device_stats (brand_id, state, stripe, device_count) " +
+            "SELECT brand_id, state, 0, count(*) FROM devices GROUP BY brand_id, state");
+    }
+
+    private static void add(Map<Integer, Map<DeviceState, Long>> counts, Integer brandId, DeviceState state, long delta) {
+        counts.computeIfAbsent(brandId, id -> new EnumMap<>(DeviceState.class)).merge(state, delta, Long::sum);
+    }
+
+    /**
+     * Aplica os ajustes em uma faixa sorteada. Os pares vêm ordenados por marca e estado, então
+     * transações concorrentes travam as linhas sempre na mesma ordem.
+     */
+    private void apply(Map<Integer, Map<DeviceState, Long>> deltas) {
+        int stripe = ThreadLocalRandom.current().nextInt(STRIPES);
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((brandId, byState) -> byState.forEach((state, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[] {brandId, state.name(), stripe, delta});
+            }
+        }));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO device_stats (brand_id, state, stripe, device_count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (brand_id, state, stripe) DO UPDATE " +
+            "SET device_count = device_stats.device_count + EXCLUDED.device_count", rows);
+    }
+}
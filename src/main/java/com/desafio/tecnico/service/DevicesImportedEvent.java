@@ -0,0 +1,45 @@
+package com.desafio.tecnico.service;
+
+import java.util.Map;
+
+/**
+ * Evento publicado pelo {@link DeviceService} a cada bloco de dispositivos inserido em massa
+ * (importação e geração de dados sintéticos), no lugar de um evento de criação por dispositivo.
+ *
+ * Traz a quantidade de dispositivos do bloco e quantos deles têm cada nome e cada marca, o
+ * suficiente para o {@link DeviceNameIndex} atualizar as contagens de uma vez. No feed SSE o
+ * bloco vira um único evento "imported" ({@link DeviceEventBroadcaster}).
+ */
+public class DevicesImportedEvent {
+
+    private final int count;
+    private final Map<String, Integer> names;
+    private final Map<String, Integer> brands;
+
+    public DevicesImportedEvent(int count, Map<String, Integer> names, Map<String, Integer> brands) {
+        this.count = count;
+        this.names = names;
+        this.brands = brands;
+    }
+
+    /**
+     * @return Quantidade de dispositivos inseridos no bloco
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return Quantidade de dispositivos do bloco por nome
+     */
+    public Map<String, Integer> getNames() {
+        return names;
+    }
+
+    /**
+     * @return Quantidade de dispositivos do bloco por marca
+     */
+    public Map<String, Integer> getBrands() {
+        return brands;
+    }
+}
@@ -0,0 +1,92 @@
+-- Esquema de referencia: o mesmo que o Hibernate (ddl-auto=update) e o antigo schema-postgresql.sql
+-- criavam. Bases existentes, sem historico do Flyway, recebem a versao 0 como baseline
+-- (spring.flyway.baseline-on-migrate) e tambem executam este script, entao cada passo e idempotente
+-- e completa o que faltar em esquemas de versoes anteriores da aplicacao.
+
+-- Dicionario de marcas, ver Brand
+CREATE TABLE IF NOT EXISTS brands (
+    id              serial       PRIMARY KEY,
+    name            varchar(255) NOT NULL,
+    normalized_name varchar(255) NOT NULL UNIQUE
+);
+
+-- IDs dos dispositivos, reservados em blocos de Device.ID_ALLOCATION_SIZE
+CREATE SEQUENCE IF NOT EXISTS devices_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS devices (
+    id            bigint       PRIMARY KEY,
+    name          varchar(255) NOT NULL,
+    brand_id      integer      NOT NULL,
+    state         varchar(255) NOT NULL CHECK (state IN ('AVAILABLE', 'IN_USE', 'INACTIVE')),
+    creation_time timestamp(6) NOT NULL,
+    version       bigint       NOT NULL DEFAULT 0
+);
+
+-- Bases anteriores ao controle de concorrencia otimista
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Bases anteriores ao dicionario de marcas guardam o nome da marca na coluna de texto "brand":
+-- cadastra as marcas distintas (agrupando variacoes de caixa e espacos, com a grafia do
+-- dispositivo mais antigo), preenche brand_id e remove a coluna antiga
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'devices' AND column_name = 'brand') THEN
+        INSERT INTO brands (name, normalized_name)
+        SELECT DISTINCT ON (lower(trim(brand))) trim(brand), lower(trim(brand)) FROM devices
+        ORDER BY lower(trim(brand)), id
+        ON CONFLICT (normalized_name) DO NOTHING;
+        ALTER TABLE devices ADD COLUMN IF NOT EXISTS brand_id integer;
+        UPDATE devices d SET brand_id = b.id FROM brands b
+        WHERE d.brand_id IS NULL AND b.normalized_name = lower(trim(d.brand));
+        ALTER TABLE devices ALTER COLUMN brand_id SET NOT NULL;
+        ALTER TABLE devices DROP COLUMN brand;
+    END IF;
+END $$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_devices_brand') THEN
+        ALTER TABLE devices ADD CONSTRAINT fk_devices_brand FOREIGN KEY (brand_id) REFERENCES brands (id);
+    END IF;
+END $$;
+
+-- Bases criadas quando o ID vinha de uma coluna IDENTITY: a sequencia passa a reservar blocos
+-- depois do maior ID existente
+SELECT setval('devices_seq', max(id) + 50) FROM devices
+HAVING max(id) + 50 > (SELECT last_value FROM devices_seq);
+
+-- Paginacao por cursor por marca, estado e data de criacao
+CREATE INDEX IF NOT EXISTS idx_devices_brand_id_id ON devices (brand_id, id);
+CREATE INDEX IF NOT EXISTS idx_devices_state_id ON devices (state, id);
+CREATE INDEX IF NOT EXISTS idx_devices_brand_id_state_id ON devices (brand_id, state, id);
+CREATE INDEX IF NOT EXISTS idx_devices_creation_time_id ON devices (creation_time, id);
+CREATE INDEX IF NOT EXISTS idx_devices_brand_id_creation_time_id ON devices (brand_id, creation_time, id);
+CREATE INDEX IF NOT EXISTS idx_devices_state_creation_time_id ON devices (state, creation_time, id);
+
+-- Prefixo e ordenacao por nome na busca de dispositivos (GET /api/v1/devices/search).
+-- A collation "C" permite atender o filtro por prefixo como uma faixa do indice.
+-- Ver DeviceRepositoryCustomImpl.
+CREATE INDEX IF NOT EXISTS idx_devices_lower_name_id ON devices ((lower(name) COLLATE "C"), id);
+
+-- Busca aproximada por nome (GET /api/v1/devices/search/name): indice de trigramas do pg_trgm,
+-- que atende os operadores de similaridade (<%) e de substring (ILIKE). Ver DeviceRepositoryCustomImpl.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_devices_name_trgm ON devices USING gin (name gin_trgm_ops);
+
+-- Carimbos de alteracao das colecoes de dispositivos (ETag das listagens), ver DeviceChangeStamps
+CREATE TABLE IF NOT EXISTS collection_stamps (
+    scope  varchar(64) NOT NULL,
+    stripe smallint    NOT NULL,
+    stamp  bigint      NOT NULL,
+    PRIMARY KEY (scope, stripe)
+);
+
+-- Quantidade de dispositivos por marca e estado (GET /api/v1/devices/stats), ver DeviceStatsCounters
+CREATE TABLE IF NOT EXISTS device_stats (
+    brand_id     integer     NOT NULL,
+    state        varchar(16) NOT NULL,
+    stripe       smallint    NOT NULL,
+    device_count bigint      NOT NULL,
+    PRIMARY KEY (brand_id, state, stripe)
+);
@@ -0,0 +1,79 @@
+-- Particiona devices por faixa de creation_time, uma particao por mes (devices_pAAAA_MM), mais a
+-- particao padrao devices_default para as datas sem particao. Buscas e exportacoes com intervalo de
+-- criacao leem apenas as particoes do intervalo, e dados antigos saem com DETACH/DROP da particao
+-- do mes, sem DELETE em massa.
+--
+-- A chave primaria de uma tabela particionada precisa conter a coluna de particionamento, entao
+-- passa a ser (id, creation_time), e ela sozinha nao impede o mesmo id em meses diferentes: a
+-- sequencia devices_seq nao cobre IDs informados explicitamente. A unicidade do id, e a busca por ID
+-- lendo uma unica particao, vem da tabela device_keys (V3__device_keys.sql).
+--
+-- A tabela existente e convertida copiando as linhas para a tabela particionada, na mesma
+-- transacao: em bases grandes, a migracao reescreve a tabela uma vez e a mantem bloqueada durante
+-- a copia. Em bases novas a tabela esta vazia e a conversao e imediata.
+
+-- Cria a particao do mes de "day", se ainda nao existir, e move para ela as linhas desse mes que
+-- estejam na particao padrao (por exemplo, importadas com datas antigas). Usada por esta migracao,
+-- por DevicePartitionMaintenance e pela geracao da massa sintetica.
+CREATE FUNCTION create_devices_partition(day date) RETURNS text AS $$
+DECLARE
+    first_day  date := date_trunc('month', day)::date;
+    next_month date := (date_trunc('month', day) + interval '1 month')::date;
+    table_name text := 'devices_p' || to_char(day, 'YYYY_MM');
+BEGIN
+    -- Serializa a criacao entre instancias da aplicacao que fazem a manutencao ao mesmo tempo
+    PERFORM pg_advisory_xact_lock(hashtext('create_devices_partition'));
+    IF to_regclass(table_name) IS NOT NULL THEN
+        RETURN table_name;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE devices INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', table_name);
+    EXECUTE format('WITH moved AS (DELETE FROM devices_default '
+                   'WHERE creation_time >= %L AND creation_time < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', first_day, next_month, table_name);
+    -- O ATTACH cria na particao os indices e a chave estrangeira da tabela particionada
+    EXECUTE format('ALTER TABLE devices ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   table_name, first_day, next_month);
+    RETURN table_name;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE devices RENAME TO devices_unpartitioned;
+
+CREATE TABLE devices (
+    id            bigint       NOT NULL,
+    name          varchar(255) NOT NULL,
+    brand_id      integer      NOT NULL,
+    state         varchar(255) NOT NULL CHECK (state IN ('AVAILABLE', 'IN_USE', 'INACTIVE')),
+    creation_time timestamp(6) NOT NULL,
+    version       bigint       NOT NULL DEFAULT 0
+) PARTITION BY RANGE (creation_time);
+
+CREATE TABLE devices_default PARTITION OF devices DEFAULT;
+
+-- Particoes do mes do dispositivo mais antigo ate tres meses a frente
+SELECT create_devices_partition(m::date)
+FROM generate_series(
+    date_trunc('month', least(coalesce((SELECT min(creation_time) FROM devices_unpartitioned), now()), now())),
+    date_trunc('month', now()) + interval '3 months',
+    interval '1 month') AS m;
+
+-- Copia antes de criar os indices, que sao construidos de uma vez sobre os dados ja inseridos
+INSERT INTO devices (id, name, brand_id, state, creation_time, version)
+SELECT id, name, brand_id, state, creation_time, version FROM devices_unpartitioned;
+
+DROP TABLE devices_unpartitioned;
+
+ALTER TABLE devices ADD CONSTRAINT devices_pkey PRIMARY KEY (id, creation_time);
+ALTER TABLE devices ADD CONSTRAINT fk_devices_brand FOREIGN KEY (brand_id) REFERENCES brands (id);
+
+CREATE INDEX idx_devices_brand_id_id ON devices (brand_id, id);
+CREATE INDEX idx_devices_state_id ON devices (state, id);
+CREATE INDEX idx_devices_brand_id_state_id ON devices (brand_id, state, id);
+CREATE INDEX idx_devices_creation_time_id ON devices (creation_time, id);
+CREATE INDEX idx_devices_brand_id_creation_time_id ON devices (brand_id, creation_time, id);
+CREATE INDEX idx_devices_state_creation_time_id ON devices (state, creation_time, id);
+CREATE INDEX idx_devices_lower_name_id ON devices ((lower(name) COLLATE "C"), id);
+CREATE INDEX idx_devices_name_trgm ON devices USING gin (name gin_trgm_ops);
+
+-- As particoes recem-copiadas ainda nao tem estatisticas
+ANALYZE devices;
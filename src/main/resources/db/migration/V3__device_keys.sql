@@ -0,0 +1,60 @@
+-- Indice global dos IDs de devices. A chave primaria da tabela particionada e (id, creation_time),
+-- entao nenhuma restricao impede dois dispositivos com o mesmo ID em meses diferentes, e uma busca
+-- apenas pelo ID consulta o indice de cada particao. A tabela device_keys, sem particoes, guarda o
+-- creation_time de cada ID:
+--
+-- * a chave primaria garante a unicidade do ID em todas as particoes: uma insercao com ID repetido
+--   falha ao final do comando;
+-- * as consultas por ID buscam antes o creation_time em device_keys e filtram devices por
+--   (id, creation_time), o que permite ao PostgreSQL podar em tempo de execucao todas as particoes
+--   menos a do mes do dispositivo.
+--
+-- A tabela e mantida por gatilhos por comando (FOR EACH STATEMENT) sobre devices, com as linhas
+-- inseridas ou removidas do comando inteiro: uma importacao em massa gera um unico INSERT em
+-- device_keys. Comandos feitos diretamente sobre uma particao (como a movimentacao de linhas da
+-- particao padrao em create_devices_partition) nao disparam os gatilhos, o que e o esperado, ja que
+-- o ID e o creation_time nao mudam. O creation_time nao e alterado pela aplicacao; ao remover uma
+-- particao (DROP/DETACH), as chaves do mes tambem precisam ser removidas de device_keys.
+
+CREATE TABLE device_keys (
+    id            bigint       PRIMARY KEY,
+    creation_time timestamp(6) NOT NULL
+);
+
+INSERT INTO device_keys (id, creation_time)
+SELECT id, creation_time FROM devices;
+
+CREATE FUNCTION device_keys_insert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO device_keys (id, creation_time)
+    SELECT id, creation_time FROM inserted_devices;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION device_keys_delete() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM device_keys k USING deleted_devices d WHERE k.id = d.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION device_keys_truncate() RETURNS trigger AS $$
+BEGIN
+    TRUNCATE device_keys;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER device_keys_insert AFTER INSERT ON devices
+    REFERENCING NEW TABLE AS inserted_devices
+    FOR EACH STATEMENT EXECUTE FUNCTION device_keys_insert();
+
+CREATE TRIGGER device_keys_delete AFTER DELETE ON devices
+    REFERENCING OLD TABLE AS deleted_devices
+    FOR EACH STATEMENT EXECUTE FUNCTION device_keys_delete();
+
+CREATE TRIGGER device_keys_truncate AFTER TRUNCATE ON devices
+    FOR EACH STATEMENT EXECUTE FUNCTION device_keys_truncate();
+
+ANALYZE device_keys;
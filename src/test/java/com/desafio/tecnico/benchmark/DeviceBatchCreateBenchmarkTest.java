@@ -0,0 +1,76 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.DeviceService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a vazão (linhas/s) da criação individual de dispositivos com a criação em lote.
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DeviceBatchCreateBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP_ROWS = 500;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Test
+    void compareSingleCreateWithBatchCreate() {
+        // Aquecimento de ambos os caminhos (JIT, pool de conexões, sequência)
+        createOneByOne(requests(WARMUP_ROWS, "warmup-single"));
+        deviceService.createDevices(requests(WARMUP_ROWS, "warmup-batch"));
+
+        long start = System.nanoTime();
+        createOneByOne(requests(ROWS, "single"));
+        double singleRowsPerSecond = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        BatchCreateResponseDTO response = deviceService.createDevices(requests(ROWS, "batch"));
+        double batchRowsPerSecond = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        assertEquals(ROWS, response.getCreated().size());
+        System.out.printf("createDevice (individual): %.0f linhas/s%n", singleRowsPerSecond);
+        System.out.printf("createDevices (lote):      %.0f linhas/s (%.1fx)%n",
+                batchRowsPerSecond, batchRowsPerSecond / singleRowsPerSecond);
+        assertTrue(batchRowsPerSecond > singleRowsPerSecond,
+                "A criação em lote deveria ter vazão maior que a criação individual");
+    }
+
+    private void createOneByOne(List<DeviceRequestDTO> requests) {
+        for (DeviceRequestDTO request : requests) {
+            deviceService.createDevice(request);
+        }
+    }
+
+    private static List<DeviceRequestDTO> requests(int count, String prefix) {
+        List<DeviceRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new DeviceRequestDTO(prefix + "-" + i, "Brand " + (i % 20), DeviceState.AVAILABLE));
+        }
+        return requests;
+    }
+
+    private static double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
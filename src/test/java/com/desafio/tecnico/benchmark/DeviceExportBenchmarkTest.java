@@ -0,0 +1,187 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceImportDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.repository.DeviceRepository;
+import com.desafio.tecnico.service.DeviceImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede a vazão (linhas/s) da exportação de um milhão de dispositivos por HTTP em CSV, CSV com
+ * gzip e NDJSON, e o heap vivo no meio da exportação, comparado ao de uma leitura que monta a
+ * lista inteira de DTOs em memória (como a listagem fazia antes da paginação).
+ *
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DeviceExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DeviceImportService importService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void measureExportThroughputAndHeap() throws Exception {
+        DeviceImportDTO seeded = importService.importDevices(csv(ROWS), DeviceImportDTO.Format.CSV);
+        assertEquals(ROWS, seeded.getImported());
+        // Aquecimento (JIT, pool de conexões)
+        export("format=CSV&brand=Brand 0", false);
+
+        long baseline = liveHeap();
+        Export csv = export("format=CSV", false);
+        Export gzip = export("format=CSV", true);
+        Export ndjson = export("format=NDJSON", false);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<DeviceResponseDTO> all = readOnly.execute(status -> deviceRepository.findResponsesAfter(0L, Limit.of(ROWS)));
+        long listHeap = liveHeap() - baseline;
+        assertTrue(all.size() >= ROWS);
+
+        System.out.printf("Exportação CSV:      %.0f linhas/s, %d MB transferidos%n", csv.rowsPerSecond, csv.bytes >> 20);
+        System.out.printf("Exportação CSV+gzip: %.0f linhas/s, %d MB transferidos%n", gzip.rowsPerSecond, gzip.bytes >> 20);
+        System.out.printf("Exportação NDJSON:   %.0f linhas/s, %d MB transferidos%n", ndjson.rowsPerSecond, ndjson.bytes >> 20);
+        System.out.printf("Heap vivo no meio da exportação: %+d MB (CSV), %+d MB (gzip), %+d MB (NDJSON)%n",
+                (csv.midwayHeap - baseline) >> 20, (gzip.midwayHeap - baseline) >> 20, (ndjson.midwayHeap - baseline) >> 20);
+        System.out.printf("Heap vivo com a lista inteira em memória: %+d MB%n", listHeap >> 20);
+
+        for (Export export : List.of(csv, gzip, ndjson)) {
+            assertTrue(export.rows >= ROWS);
+            assertTrue(export.midwayHeap - baseline < listHeap / 4,
+                    "A exportação não deveria reter uma fração relevante das linhas no heap");
+        }
+    }
+
+    /**
+     * Lê a exportação linha a linha, como um cliente faria, e mede o heap vivo quando metade
+     * das linhas já foi recebida (com o cursor e a transação ainda abertos no servidor).
+     */
+    private Export export(String query, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/devices/export?" + query.replace(" ", "%20")));
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        CountingInputStream counted = new CountingInputStream(response.body());
+        InputStream body = gzip ? new GZIPInputStream(counted, 64 * 1024) : counted;
+        Export export = new Export();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            while (reader.readLine() != null) {
+                export.rows++;
+                if (export.rows == ROWS / 2) {
+                    export.midwayHeap = liveHeap();
+                }
+            }
+        }
+        export.rowsPerSecond = export.rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+        export.bytes = counted.count;
+        return export;
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * CSV gerado linha a linha enquanto é lido, sem montar o corpo inteiro em memória.
+     */
+    private static InputStream csv(int rows) {
+        return new InputStream() {
+            private byte[] line = "name,brand,state\n".getBytes(StandardCharsets.UTF_8);
+            private int position;
+            private int row;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    line = ("export-" + row + ",Brand " + (row % 20) + ",AVAILABLE\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    row++;
+                }
+                return line[position++];
+            }
+        };
+    }
+
+    private static class Export {
+        long rows;
+        long bytes;
+        long midwayHeap;
+        double rowsPerSecond;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.BrandService;
+import com.desafio.tecnico.service.DeviceCreateBatcher;
+import com.desafio.tecnico.service.DeviceService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a vazão (criações/s) de criações individuais concorrentes, cada uma com o seu commit,
+ * com o agrupamento de commits do {@link DeviceCreateBatcher}.
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "app.group-commit.enabled=true"})
+@ActiveProfiles("test")
+class DeviceGroupCommitBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ROWS = 1_000;
+    private static final int BRANDS = 20;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceCreateBatcher createBatcher;
+
+    @Autowired
+    private BrandService brandService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void compareConcurrentSingleCreatesWithGroupCommit() throws Exception {
+        // Cadastra as marcas antes: o cadastro de uma marca nova usa uma segunda conexão, e
+        // dezenas de transações esperando por ela esgotariam o pool
+        for (int i = 0; i < BRANDS; i++) {
+            brandService.resolveId("Brand " + i);
+        }
+        // Aquecimento de ambos os caminhos (JIT, pool de conexões, sequência)
+        createConcurrently(WARMUP_ROWS, "warmup-single", deviceService::createDevice);
+        createConcurrently(WARMUP_ROWS, "warmup-group", createBatcher::create);
+
+        long start = System.nanoTime();
+        createConcurrently(ROWS, "single", deviceService::createDevice);
+        double singleRowsPerSecond = rowsPerSecond(ROWS, System.nanoTime() - start);
+
+        DistributionSummary batchSizes = meterRegistry.get("device.create.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        start = System.nanoTime();
+        createConcurrently(ROWS, "group", createBatcher::create);
+        double groupRowsPerSecond = rowsPerSecond(ROWS, System.nanoTime() - start);
+        long batches = batchSizes.count() - batchesBefore;
+
+        System.out.printf("createDevice (%d clientes):     %.0f criações/s%n", CLIENTS, singleRowsPerSecond);
+        System.out.printf("group commit (%d clientes):     %.0f criações/s (%.1fx), %.1f criações por commit%n",
+                CLIENTS, groupRowsPerSecond, groupRowsPerSecond / singleRowsPerSecond, (double) ROWS / batches);
+        assertTrue(groupRowsPerSecond > singleRowsPerSecond,
+                "O agrupamento de commits deveria ter vazão maior que as criações individuais");
+    }
+
+    private void createConcurrently(int count, String prefix, Function<DeviceRequestDTO, DeviceResponseDTO> create)
+            throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<DeviceResponseDTO>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                DeviceRequestDTO request = new DeviceRequestDTO(prefix + "-" + i, "Brand " + (i % BRANDS), DeviceState.AVAILABLE);
+                results.add(clients.submit(() -> create.apply(request)));
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals(prefix + "-" + i, results.get(i).get().getName());
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private static double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
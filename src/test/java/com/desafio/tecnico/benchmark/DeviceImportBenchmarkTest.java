@@ -0,0 +1,109 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.DeviceImportDTO;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.service.DeviceImportService;
+import com.desafio.tecnico.service.DeviceService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a vazão (linhas/s) da criação em lote pelo JPA com a importação por COPY, e mede
+ * quanto o heap cresce durante uma importação de um milhão de linhas geradas em streaming.
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DeviceImportBenchmarkTest {
+
+    private static final int BATCH_ROWS = 10_000;
+    private static final int IMPORT_ROWS = 1_000_000;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceImportService importService;
+
+    @Test
+    void compareBatchCreateWithCopyImport() {
+        // Aquecimento de ambos os caminhos (JIT, pool de conexões, sequência, tabela temporária)
+        deviceService.createDevices(requests(1_000, "warmup-batch"));
+        importService.importDevices(csv(20_000, "warmup-import"), DeviceImportDTO.Format.CSV);
+
+        long start = System.nanoTime();
+        BatchCreateResponseDTO response = deviceService.createDevices(requests(BATCH_ROWS, "batch"));
+        double batchRowsPerSecond = rowsPerSecond(BATCH_ROWS, System.nanoTime() - start);
+        assertEquals(BATCH_ROWS, response.getCreated().size());
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        start = System.nanoTime();
+        DeviceImportDTO result = importService.importDevices(csv(IMPORT_ROWS, "import"), DeviceImportDTO.Format.CSV);
+        double importRowsPerSecond = rowsPerSecond(IMPORT_ROWS, System.nanoTime() - start);
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        assertEquals(IMPORT_ROWS, result.getImported());
+        System.out.printf("createDevices (lote JPA): %.0f linhas/s%n", batchRowsPerSecond);
+        System.out.printf("importDevices (COPY):     %.0f linhas/s (%.1fx)%n",
+                importRowsPerSecond, importRowsPerSecond / batchRowsPerSecond);
+        System.out.printf("Heap após a importação: %+d MB%n", (heapAfter - heapBefore) / (1024 * 1024));
+        assertTrue(importRowsPerSecond > batchRowsPerSecond,
+                "A importação por COPY deveria ter vazão maior que a criação em lote");
+    }
+
+    private static List<DeviceRequestDTO> requests(int count, String prefix) {
+        List<DeviceRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new DeviceRequestDTO(prefix + "-" + i, "Brand " + (i % 20), DeviceState.AVAILABLE));
+        }
+        return requests;
+    }
+
+    /**
+     * CSV gerado linha a linha enquanto é lido, sem montar o corpo inteiro em memória.
+     */
+    private static InputStream csv(int rows, String prefix) {
+        return new InputStream() {
+            private byte[] line = "name,brand,state\n".getBytes(StandardCharsets.UTF_8);
+            private int position;
+            private int row;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    line = (prefix + "-" + row + ",Brand " + (row % 20) + ",AVAILABLE\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    row++;
+                }
+                return line[position++];
+            }
+        };
+    }
+
+    private static double rowsPerSecond(int rows, long elapsedNanos) {
+        return rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,144 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.repository.DeviceRepository;
+import com.desafio.tecnico.service.BrandService;
+import com.desafio.tecnico.service.DeviceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a leitura de 100 mil dispositivos carregando entidades gerenciadas e convertendo-as
+ * em DTO (caminho anterior) com a projeção direta no DTO (SELECT new ...), medindo o tempo e
+ * os bytes alocados no heap pela thread da consulta.
+ *
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DeviceReadProjectionBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private DeviceService deviceService;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private BrandService brandService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntityMappingWithProjection() {
+        seed();
+        long after = firstSeededId() - 1;
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<DeviceResponseDTO>> entities = () -> readOnly.execute(status -> entityManager
+                .createQuery("SELECT d FROM Device d WHERE d.id > :after ORDER BY d.id", Device.class)
+                .setParameter("after", after)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(device -> new DeviceResponseDTO(device.getId(), device.getName(),
+                        brandService.nameOf(device.getBrandId()), device.getState(),
+                        device.getCreationTime(), device.getVersion()))
+                .toList());
+        Supplier<List<DeviceResponseDTO>> projection = () -> readOnly.execute(status ->
+                deviceRepository.findResponsesAfter(after, Limit.of(ROWS)));
+
+        Result entityResult = measure("entidades + conversão", entities);
+        Result projectionResult = measure("projeção em DTO", projection);
+
+        System.out.println(entityResult);
+        System.out.println(projectionResult);
+        System.out.printf("Projeção: %.1fx a vazão, %.1f%% dos bytes alocados%n",
+                projectionResult.rowsPerSecond / entityResult.rowsPerSecond,
+                100.0 * projectionResult.bytesPerRow / entityResult.bytesPerRow);
+        assertTrue(projectionResult.bytesPerRow < entityResult.bytesPerRow,
+                "A projeção deveria alocar menos memória por linha que o carregamento de entidades");
+    }
+
+    private void seed() {
+        for (int created = 0; created < ROWS; created += DeviceService.MAX_BATCH_SIZE) {
+            List<DeviceRequestDTO> requests = new ArrayList<>(DeviceService.MAX_BATCH_SIZE);
+            for (int i = 0; i < DeviceService.MAX_BATCH_SIZE; i++) {
+                requests.add(new DeviceRequestDTO("projection-" + (created + i), "Brand " + (i % 20),
+                        DeviceState.values()[i % DeviceState.values().length]));
+            }
+            deviceService.createDevices(requests);
+        }
+    }
+
+    private long firstSeededId() {
+        return entityManager.createQuery(
+                "SELECT min(d.id) FROM Device d WHERE d.name = 'projection-0'", Long.class).getSingleResult();
+    }
+
+    private static Result measure(String name, Supplier<List<DeviceResponseDTO>> read) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(ROWS, read.get().size());
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bestNanos = Long.MAX_VALUE;
+        long totalBytes = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            assertEquals(ROWS, read.get().size());
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            totalBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        return new Result(name, ROWS / (bestNanos / 1_000_000_000.0), (double) totalBytes / MEASURED_ROUNDS / ROWS);
+    }
+
+    private static class Result {
+        private final String name;
+        private final double rowsPerSecond;
+        private final double bytesPerRow;
+
+        Result(String name, double rowsPerSecond, double bytesPerRow) {
+            this.name = name;
+            this.rowsPerSecond = rowsPerSecond;
+            this.bytesPerRow = bytesPerRow;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %,10.0f linhas/s  %,8.0f bytes/linha", name, rowsPerSecond, bytesPerRow);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara o tempo até a primeira requisição atendida do jar executável com o da aplicação
+ * processada com Spring AOT, sem e com o arquivo CDS gerado em uma execução de treino.
+ * Cada variante sobe como um processo separado, apontando para o mesmo banco dos testes.
+ *
+ * Usa os artefatos do perfil Maven "aot", que precisam ser gerados antes:
+ * ./mvnw -Paot package -DskipTests && ./mvnw test -Pbenchmark -Dtest=StartupTimeBenchmarkTest
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class StartupTimeBenchmarkTest {
+
+    private static final int RUNS = 5;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Path TARGET = Paths.get("target");
+    private static final Path JAR = TARGET.resolve("tecnico-0.0.1-SNAPSHOT.jar");
+    private static final Path AOT_JAR = TARGET.resolve("tecnico-0.0.1-SNAPSHOT-aot.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("startup-benchmark.jsa");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Test
+    void compareTimeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(JAR) && Files.exists(AOT_JAR),
+                "Gere os artefatos antes com ./mvnw -Paot package -DskipTests");
+
+        Files.deleteIfExists(CDS_ARCHIVE);
+        Process training = new ProcessBuilder(java(), "-XX:ArchiveClassesAtExit=" + CDS_ARCHIVE, "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh", "-Dspring.profiles.active=training",
+                "-jar", AOT_JAR.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        assertTrue(training.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS), "A execução de treino não terminou");
+        assertEquals(0, training.exitValue(), "A execução de treino falhou");
+
+        List<String> jar = List.of("-jar", JAR.toString());
+        List<String> aot = List.of("-Dspring.aot.enabled=true", "-jar", AOT_JAR.toString());
+        List<String> aotCds = List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-jar", AOT_JAR.toString());
+
+        // Aquecimento do cache de arquivos do sistema operacional e do banco
+        timeToFirstRequest(jar);
+        timeToFirstRequest(aotCds);
+
+        long[][] samples = new long[3][RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            samples[0][run] = timeToFirstRequest(jar);
+            samples[1][run] = timeToFirstRequest(aot);
+            samples[2][run] = timeToFirstRequest(aotCds);
+        }
+
+        long jarMillis = median(samples[0]);
+        long aotMillis = median(samples[1]);
+        long aotCdsMillis = median(samples[2]);
+        System.out.printf("jar executável:  %d ms até a primeira requisição (mediana de %d)%n", jarMillis, RUNS);
+        System.out.printf("AOT:             %d ms (%.1fx)%n", aotMillis, (double) jarMillis / aotMillis);
+        System.out.printf("AOT + CDS:       %d ms (%.1fx)%n", aotCdsMillis, (double) jarMillis / aotCdsMillis);
+        assertTrue(aotCdsMillis < jarMillis, "AOT com CDS deveria iniciar mais rápido que o jar executável");
+    }
+
+    /**
+     * Sobe a aplicação e mede o tempo desde a criação do processo até a primeira resposta 200
+     * da listagem de dispositivos.
+     */
+    private long timeToFirstRequest(List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java(), "-Dserver.port=" + port));
+        command.addAll(launch);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().putAll(Map.of(
+                "SPRING_DATASOURCE_URL", connectionDetails.getJdbcUrl(),
+                "SPRING_DATASOURCE_USERNAME", connectionDetails.getUsername(),
+                "SPRING_DATASOURCE_PASSWORD", connectionDetails.getPassword(),
+                "SPRING_JPA_SHOW_SQL", "false"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/devices?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), "A aplicação encerrou antes de atender: " + command);
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Servidor ainda não está aceitando conexões
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError("A aplicação não atendeu em " + STARTUP_TIMEOUT + ": " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String java() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
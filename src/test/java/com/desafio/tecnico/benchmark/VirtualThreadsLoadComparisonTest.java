@@ -0,0 +1,160 @@
+package com.desafio.tecnico.benchmark;
+
+import com.desafio.tecnico.Main;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara throughput e latência da API com threads de plataforma e com virtual threads.
+ * Cada modo sobe a aplicação em uma porta aleatória sobre o mesmo PostgreSQL e recebe a
+ * mesma carga de muitas requisições concorrentes de busca por ID, com o cache desligado
+ * para que todas passem pelo JDBC.
+ *
+ * Executado apenas com o perfil Maven "benchmark": ./mvnw test -Pbenchmark
+ */
+@Tag("benchmark")
+class VirtualThreadsLoadComparisonTest {
+
+    private static final int SEEDED_DEVICES = 1_000;
+    private static final int CONCURRENT_CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeAll
+    static void startDatabase() {
+        POSTGRES.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        POSTGRES.stop();
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = runLoad("platform", false);
+        Result virtual = runLoad("virtual", true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertTrue(platform.completed > 0 && virtual.completed > 0, "Ambos os modos devem atender requisições");
+    }
+
+    private Result runLoad(String mode, boolean virtualThreads) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--app.device-cache.maximum-size=0",
+                "--springdoc.api-docs.enabled=false"));
+        if (virtualThreads) {
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Main.class)
+                .run(args.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/v1/devices";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            seed(client, baseUrl);
+            return drive(mode, client, baseUrl);
+        }
+    }
+
+    private void seed(HttpClient client, String baseUrl) throws Exception {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < SEEDED_DEVICES; i++) {
+            batch.append(i == 0 ? "" : ",")
+                 .append("{\"name\":\"Load ").append(i).append("\",\"brand\":\"Bench\",\"state\":\"AVAILABLE\"}");
+        }
+        batch.append(']');
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Result drive(String mode, HttpClient client, String baseUrl) throws Exception {
+        String firstPage = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "?size=1")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        long firstId = Long.parseLong(firstPage.replaceAll("(?s).*?\"id\":(\\d+).*", "$1"));
+
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENT_CLIENTS; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long id = firstId + ThreadLocalRandom.current().nextInt(SEEDED_DEVICES);
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[r] = response.statusCode() == 200 ? System.nanoTime() - sent : -1;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<Long> ok = new ArrayList<>();
+        int failed = 0;
+        for (Future<long[]> future : clients) {
+            for (long latency : future.get()) {
+                if (latency < 0) {
+                    failed++;
+                } else {
+                    ok.add(latency);
+                }
+            }
+        }
+        long[] sorted = ok.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(mode, sorted.length, failed, sorted.length / elapsedSeconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private record Result(String mode, int completed, int failed, double requestsPerSecond, double p50, double p99) {
+        @Override
+        public String toString() {
+            return String.format("%-8s ok=%d falhas=%d %.0f req/s p50=%.1fms p99=%.1fms",
+                    mode, completed, failed, requestsPerSecond, p50, p99);
+        }
+    }
+}
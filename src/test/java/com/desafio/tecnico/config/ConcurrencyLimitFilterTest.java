@@ -0,0 +1,93 @@
+package com.desafio.tecnico.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10),
+        new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void doFilter_ShouldReleasePermitWhenSynchronousRequestReturns() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(apiRequest(), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_ShouldHoldPermitUntilAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest streaming = apiRequest();
+        filter.doFilter(streaming, new MockHttpServletResponse(), startAsync());
+
+        // O corpo assíncrono ainda está sendo escrito: a vaga continua ocupada
+        assertEquals(0, filter.availablePermits());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        ((MockAsyncContext) streaming.getAsyncContext()).complete();
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermitOnceWhenAsyncRequestFails() throws Exception {
+        MockHttpServletRequest streaming = apiRequest();
+        filter.doFilter(streaming, new MockHttpServletResponse(), startAsync());
+
+        MockAsyncContext context = (MockAsyncContext) streaming.getAsyncContext();
+        AsyncEvent event = new AsyncEvent(context, new IOException("Conexão encerrada pelo cliente"));
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(event);
+        }
+        context.complete();
+
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_ShouldNotLimitEventSubscriptions() throws Exception {
+        // Com uma única vaga, duas assinaturas SSE abertas não bloqueiam uma consulta comum
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest subscription = request(ConcurrencyLimitFilter.EVENTS_PATH);
+            filter.doFilter(subscription, new MockHttpServletResponse(), startAsync());
+            assertTrue(subscription.isAsyncStarted());
+        }
+        assertEquals(1, filter.availablePermits());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/devices"), response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return request("/api/v1/devices/export");
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static FilterChain startAsync() {
+        return (request, response) -> request.startAsync();
+    }
+}
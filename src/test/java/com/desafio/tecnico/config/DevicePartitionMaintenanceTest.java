@@ -0,0 +1,135 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a tabela devices particionada pelas migrações e a manutenção das partições mensais.
+ * As alterações de cada teste são feitas dentro de uma transação desfeita ao final.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DevicePartitionMaintenanceTest {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'devices_p'yyyy_MM");
+
+    @Autowired
+    private DevicePartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void devicesShouldBePartitionedUpToMonthsAhead() {
+        assertEquals("p", jdbcTemplate.queryForObject(
+            "SELECT relkind::text FROM pg_class WHERE oid = 'devices'::regclass", String.class));
+
+        List<String> partitions = partitionMaintenance.ensurePartitions();
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        assertEquals(List.of(month, month.plusMonths(1), month.plusMonths(2), month.plusMonths(3))
+            .stream().map(PARTITION_NAME::format).toList(), partitions);
+        List<String> attached = jdbcTemplate.queryForList(
+            "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = 'devices'::regclass", String.class);
+        assertTrue(attached.containsAll(partitions), attached.toString());
+        assertTrue(attached.contains("devices_default"), attached.toString());
+    }
+
+    @Test
+    void ensurePartitionsShouldPlanFromTheApplicationDate() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            // Data da aplicação diferente da do banco: as partições seguem a data informada
+            List<String> partitions = partitionMaintenance.ensurePartitions(LocalDate.of(2031, 12, 31));
+
+            assertEquals(List.of("devices_p2031_12", "devices_p2032_01", "devices_p2032_02", "devices_p2032_03"),
+                partitions.stream().filter(name -> name.compareTo("devices_p2031") > 0).toList());
+        });
+    }
+
+    @Test
+    void ensurePartitionsShouldMoveRowsOutOfDefaultPartition() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer brandId = jdbcTemplate.queryForObject("INSERT INTO brands (name, normalized_name) " +
+                "VALUES ('Partition Brand', 'partition brand') RETURNING id", Integer.class);
+            Long id = jdbcTemplate.queryForObject("SELECT nextval('devices_seq')", Long.class);
+            jdbcTemplate.update("INSERT INTO devices (id, name, brand_id, state, creation_time, version) " +
+                "VALUES (?, 'Old Sensor', ?, 'AVAILABLE', ?, 0)", id, brandId, LocalDateTime.of(2019, 5, 10, 8, 0));
+            assertEquals("devices_default", partitionOf(id));
+
+            assertTrue(partitionMaintenance.ensurePartitions().contains("devices_p2019_05"));
+
+            assertEquals("devices_p2019_05", partitionOf(id));
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM devices_default", Integer.class));
+        });
+    }
+
+    @Test
+    void createPartitionsShouldCoverEveryMonthOfTheRange() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            partitionMaintenance.createPartitions(LocalDate.of(2018, 11, 20), LocalDate.of(2019, 2, 3));
+
+            List<String> created = jdbcTemplate.queryForList("SELECT inhrelid::regclass::text FROM pg_inherits " +
+                "WHERE inhparent = 'devices'::regclass AND inhrelid::regclass::text BETWEEN 'devices_p2018' AND 'devices_p2019_99' " +
+                "ORDER BY 1", String.class);
+            assertEquals(List.of("devices_p2018_11", "devices_p2018_12", "devices_p2019_01", "devices_p2019_02"), created);
+        });
+    }
+
+    @Test
+    void deviceKeysShouldKeepIdsUniqueAcrossPartitions() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer brandId = jdbcTemplate.queryForObject("INSERT INTO brands (name, normalized_name) " +
+                "VALUES ('Keys Brand', 'keys brand') RETURNING id", Integer.class);
+            Long id = jdbcTemplate.queryForObject("SELECT nextval('devices_seq')", Long.class);
+            String insert = "INSERT INTO devices (id, name, brand_id, state, creation_time, version) " +
+                "VALUES (?, 'Keyed', ?, 'AVAILABLE', ?, 0)";
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(insert, id, brandId, now);
+            assertEquals(1, countKeys(id));
+            jdbcTemplate.update("DELETE FROM devices WHERE id = ?", id);
+            assertEquals(0, countKeys(id));
+
+            // Mesmo ID em dois meses: a chave primária de devices não impede, a de device_keys sim
+            jdbcTemplate.update(insert, id, brandId, now);
+            assertThrows(DuplicateKeyException.class,
+                () -> jdbcTemplate.update(insert, id, brandId, now.minusMonths(1)));
+        });
+    }
+
+    private int countKeys(Long id) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM device_keys WHERE id = ?", Integer.class, id);
+    }
+
+    private String partitionOf(Long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM devices WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,83 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testPrometheusEndpointExposesApplicationMetrics() throws Exception {
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Sensor\",\"brand\":\"Bosch\",\"state\":\"AVAILABLE\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/devices"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("device_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"getAllDevices\"")))
+                .andExpect(content().string(containsString("http_server_requests_queries_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"tecnico-test\",cache=\"devices\"")));
+    }
+
+    @Test
+    public void testHealthEndpointHidesComponentDetails() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("UP")))
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    @Test
+    public void testQueryCountIncludesStatementsOutsideHibernate() throws Exception {
+        // A listagem de marcas faz uma consulta pelo Hibernate (marcas) e outra pelo JdbcTemplate (contadores)
+        mockMvc.perform(get("/api/v1/brands"))
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.find(QueryCountInterceptor.METRIC_NAME)
+                .tag("uri", "/api/v1/brands")
+                .summary();
+        assertNotNull(queries);
+        assertEquals(1, queries.count());
+        assertEquals(2, queries.totalAmount());
+    }
+}
@@ -0,0 +1,175 @@
+package com.desafio.tecnico.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class, "primary");
+    private final DataSource replica0 = mock(DataSource.class, "replica-0");
+    private final DataSource replica1 = mock(DataSource.class, "replica-1");
+    private final Map<Connection, String> owners = new LinkedHashMap<>();
+
+    private ReplicaDataSource replicas;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (DataSource dataSource : List.of(primary, replica0, replica1)) {
+            when(dataSource.getConnection()).thenAnswer(invocation -> connection(dataSource.toString(), 0));
+        }
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        targets.put("replica-0", replica0);
+        targets.put("replica-1", replica1);
+        replicas = new ReplicaDataSource(primary, targets, Duration.ofSeconds(5), Duration.ZERO);
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.afterPropertiesSet();
+        routing = proxy;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaDataSource.usePrimary(false);
+        ReplicaDataSource.pinReplica(false);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRotateAcrossReplicasAndWritesShouldGoToPrimary() {
+        assertEquals(List.of("replica-0", "replica-1", "replica-0"), List.of(read(), read(), read()));
+        assertEquals("primary", write());
+    }
+
+    @Test
+    void getConnection_ShouldSkipFailingReplicasAndFallBackToPrimary() throws SQLException {
+        doThrow(new SQLException("Connection refused")).when(replica0).getConnection();
+
+        assertEquals("replica-1", read());
+        assertFalse(replicas.isHealthy("replica-0"));
+        assertEquals("replica-1", read());
+
+        doThrow(new SQLException("Connection refused")).when(replica1).getConnection();
+        assertEquals("primary", read());
+        assertFalse(replicas.isHealthy("replica-1"));
+    }
+
+    @Test
+    void checkHealth_ShouldRemoveLaggingReplicasAndRestoreThemWhenCaughtUp() throws SQLException {
+        doAnswer(invocation -> connection("replica-0", 12.5)).when(replica0).getConnection();
+        replicas.checkHealth();
+        assertFalse(replicas.isHealthy("replica-0"));
+        assertTrue(replicas.isHealthy("replica-1"));
+        assertEquals(List.of("replica-1", "replica-1"), List.of(read(), read()));
+
+        doAnswer(invocation -> connection("replica-0", 0.2)).when(replica0).getConnection();
+        replicas.checkHealth();
+        assertTrue(replicas.isHealthy("replica-0"));
+    }
+
+    @Test
+    void readYourWritesFilter_ShouldSendReadsOfRecentWritersToPrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1), "X-Client-Id");
+        List<String> served = new ArrayList<>();
+
+        filter.doFilter(request("GET", "a"), new MockHttpServletResponse(), (req, res) -> served.add(read()));
+        filter.doFilter(request("POST", "a"), new MockHttpServletResponse(), (req, res) -> served.add(read()));
+        filter.doFilter(request("GET", "a"), new MockHttpServletResponse(), (req, res) -> served.add(read()));
+        filter.doFilter(request("GET", "b"), new MockHttpServletResponse(), (req, res) -> served.add(read()));
+
+        assertEquals(List.of("replica-0", "primary", "primary", "replica-1"), served);
+        // Fora de uma requisição a thread volta a ler das réplicas
+        assertEquals("replica-0", read());
+    }
+
+    @Test
+    void readYourWritesFilter_ShouldReadEachRequestFromOneReplica() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ZERO, "X-Client-Id");
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        // Carimbo e página em transações separadas, como no controller
+        filter.doFilter(request("GET", "a"), new MockHttpServletResponse(), (req, res) -> {
+            first.add(read());
+            first.add(read());
+        });
+        doAnswer(invocation -> connection("replica-1", 0))
+            .doThrow(new SQLException("Connection refused"))
+            .when(replica1).getConnection();
+        filter.doFilter(request("GET", "a"), new MockHttpServletResponse(), (req, res) -> {
+            second.add(read());
+            second.add(read());
+            second.add(read());
+        });
+
+        assertEquals(List.of("replica-0", "replica-0"), first);
+        // A réplica da requisição caiu: o restante lê do principal, não de outra réplica
+        assertEquals(List.of("replica-1", "primary", "primary"), second);
+    }
+
+    private String read() {
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> owner());
+    }
+
+    private String write() {
+        return new TransactionTemplate(new DataSourceTransactionManager(routing)).execute(status -> owner());
+    }
+
+    /**
+     * Executa um comando na conexão da transação, o que faz o proxy obter a conexão real.
+     */
+    private String owner() {
+        Connection connection = DataSourceUtils.getConnection(routing);
+        try (Statement statement = connection.createStatement()) {
+            return owners.get(statement.getConnection());
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Connection connection(String owner, double lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet lag = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(statement.getConnection()).thenReturn(connection);
+        when(statement.executeQuery(ReplicaDataSource.REPLICATION_LAG_QUERY)).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+        when(lag.getDouble(1)).thenReturn(lagSeconds);
+        owners.put(connection, owner);
+        return connection;
+    }
+
+    private static MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/devices");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
@@ -0,0 +1,122 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa as migrações do Flyway sobre uma base criada por uma versão anterior da aplicação, sem
+ * histórico do Flyway: IDs por IDENTITY, a marca como texto na tabela devices e nenhuma das
+ * tabelas auxiliares. Verifica que os dados são preservados, que as marcas vão para o dicionário
+ * e que devices termina particionada.
+ *
+ * Cada teste usa um banco próprio, criado e removido no mesmo servidor dos demais testes.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    private static final String DATABASE = "schema_migration_test";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate admin;
+    private SimpleDriverDataSource legacyDataSource;
+    private JdbcTemplate legacy;
+
+    @BeforeEach
+    void createDatabase() throws SQLException {
+        HikariDataSource application = dataSource.unwrap(HikariDataSource.class);
+        admin = new JdbcTemplate(dataSource);
+        admin.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+        admin.execute("CREATE DATABASE " + DATABASE);
+
+        String url = application.getJdbcUrl().replaceFirst("/[^/?]+(\\?|$)", "/" + DATABASE + "$1");
+        Driver driver = DriverManager.getDriver(url);
+        legacyDataSource = new SimpleDriverDataSource(driver, url, application.getUsername(), application.getPassword());
+        legacy = new JdbcTemplate(legacyDataSource);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        admin.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+    }
+
+    @Test
+    void migrationShouldConvertLegacySchemaPreservingDevices() {
+        legacy.execute("CREATE TABLE devices (" +
+            "id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name varchar(255) NOT NULL, " +
+            "brand varchar(255) NOT NULL, state varchar(255) NOT NULL, creation_time timestamp(6) NOT NULL)");
+        legacy.update("INSERT INTO devices (name, brand, state, creation_time) VALUES " +
+            "('Sensor', 'Bosch', 'AVAILABLE', '2023-03-15 10:00'), " +
+            "('Camera', ' bosch ', 'IN_USE', '2023-04-01 00:00'), " +
+            "('Laptop', 'Apple', 'INACTIVE', now())");
+
+        Flyway.configure()
+            .dataSource(legacyDataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        assertEquals("p", legacy.queryForObject(
+            "SELECT relkind::text FROM pg_class WHERE oid = 'devices'::regclass", String.class));
+        assertEquals(List.of("Apple", "Bosch"),
+            legacy.queryForList("SELECT name FROM brands ORDER BY name", String.class));
+
+        List<Map<String, Object>> devices = legacy.queryForList("SELECT d.id, d.name, b.name AS brand, d.version, " +
+            "d.tableoid::regclass::text AS partition FROM devices d JOIN brands b ON b.id = d.brand_id ORDER BY d.id");
+        assertEquals(3, devices.size());
+        assertEquals(List.of("Sensor", "Camera", "Laptop"), devices.stream().map(row -> row.get("name")).toList());
+        assertEquals(List.of("Bosch", "Bosch", "Apple"), devices.stream().map(row -> row.get("brand")).toList());
+        assertEquals(List.of("devices_p2023_03", "devices_p2023_04"),
+            devices.subList(0, 2).stream().map(row -> row.get("partition")).toList());
+        assertTrue(devices.stream().allMatch(row -> ((Number) row.get("version")).longValue() == 0));
+        assertEquals(0, legacy.queryForObject("SELECT count(*) FROM devices_default", Integer.class));
+        assertEquals(3, legacy.queryForObject("SELECT count(*) FROM device_keys k JOIN devices d " +
+            "ON d.id = k.id AND d.creation_time = k.creation_time", Integer.class));
+
+        // Os IDs novos vêm da sequência e não colidem com os da antiga coluna IDENTITY
+        assertTrue(legacy.queryForObject("SELECT nextval('devices_seq')", Long.class) > 3);
+        assertEquals(2, legacy.queryForObject("SELECT count(*) FROM pg_indexes " +
+            "WHERE tablename = 'devices' AND indexname IN ('idx_devices_brand_id_id', 'idx_devices_name_trgm')", Integer.class));
+    }
+
+    @Test
+    void migrationShouldCreateSchemaOnEmptyDatabase() {
+        Flyway.configure()
+            .dataSource(legacyDataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        assertEquals("3", legacy.queryForObject(
+            "SELECT max(version) FROM flyway_schema_history WHERE success", String.class));
+        assertEquals("p", legacy.queryForObject(
+            "SELECT relkind::text FROM pg_class WHERE oid = 'devices'::regclass", String.class));
+        assertEquals(5, legacy.queryForObject(
+            "SELECT count(*) FROM pg_inherits WHERE inhparent = 'devices'::regclass", Integer.class));
+    }
+}
@@ -0,0 +1,144 @@
+package com.desafio.tecnico.config;
+
+import com.desafio.tecnico.model.Device;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDeviceSamplerTest {
+
+    private static final int SAMPLES = 100_000;
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void next_ShouldFollowConfiguredStateWeights() {
+        SyntheticDeviceSampler sampler = sampler(new SyntheticDataProperties());
+
+        Map<DeviceState, Integer> counts = new EnumMap<>(DeviceState.class);
+        for (Device device : sample(sampler, 1)) {
+            counts.merge(device.getState(), 1, Integer::sum);
+        }
+
+        assertEquals(0.6, counts.get(DeviceState.AVAILABLE) / (double) SAMPLES, 0.01);
+        assertEquals(0.3, counts.get(DeviceState.IN_USE) / (double) SAMPLES, 0.01);
+        assertEquals(0.1, counts.get(DeviceState.INACTIVE) / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    void next_ShouldSkipStatesWithZeroWeight() {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setStateWeights(new EnumMap<>(Map.of(DeviceState.AVAILABLE, 1.0, DeviceState.IN_USE, 0.0)));
+
+        assertTrue(sample(sampler(properties), 1).stream().allMatch(device -> device.getState() == DeviceState.AVAILABLE));
+    }
+
+    @Test
+    void next_ShouldSkewBrandsByZipf() {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setBrands(10);
+        int[] skewed = brandCounts(sampler(properties));
+
+        properties.setBrandSkew(0);
+        int[] uniform = brandCounts(sampler(properties));
+
+        // Com skew 1, a primeira marca aparece cerca de duas vezes mais que a segunda e dez vezes mais que a décima
+        assertEquals(2.0, skewed[0] / (double) skewed[1], 0.1);
+        assertEquals(10.0, skewed[0] / (double) skewed[9], 1.0);
+        for (int count : uniform) {
+            assertEquals(0.1, count / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    void next_ShouldNameDevicesAfterTheirBrand() {
+        SyntheticDeviceSampler sampler = sampler(new SyntheticDataProperties());
+        List<String> brands = SyntheticDeviceSampler.brandNames(50);
+
+        for (Device device : sample(sampler, 1).subList(0, 1000)) {
+            assertTrue(device.getName().startsWith(brands.get(device.getBrandId() - 1) + " "), device.getName());
+        }
+    }
+
+    @Test
+    void next_ShouldConcentrateCreationTimesOnRecentDays() {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setPeriod(Duration.ofDays(100));
+        properties.setRecencySkew(1.0);
+        List<Device> uniform = sample(sampler(properties), 1);
+
+        properties.setRecencySkew(2.0);
+        List<Device> recent = sample(sampler(properties), 1);
+
+        LocalDateTime start = END.minusDays(100);
+        for (Device device : uniform) {
+            assertFalse(device.getCreationTime().isBefore(start) || device.getCreationTime().isAfter(END));
+        }
+        // Idade = período * u^skew: mediana de 50 dias com skew 1 e de 25 dias com skew 2
+        assertEquals(50, medianAgeInDays(uniform), 1.0);
+        assertEquals(25, medianAgeInDays(recent), 1.0);
+    }
+
+    @Test
+    void next_ShouldBeReproducibleForTheSameSeed() {
+        SyntheticDeviceSampler sampler = sampler(new SyntheticDataProperties());
+
+        List<Device> first = sample(sampler, 7);
+        List<Device> second = sample(sampler, 7);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            assertEquals(first.get(i).getName(), second.get(i).getName());
+            assertEquals(first.get(i).getBrandId(), second.get(i).getBrandId());
+            assertEquals(first.get(i).getState(), second.get(i).getState());
+            assertEquals(first.get(i).getCreationTime(), second.get(i).getCreationTime());
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectAllZeroStateWeights() {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setStateWeights(new EnumMap<>(Map.of(DeviceState.AVAILABLE, 0.0)));
+
+        assertThrows(IllegalArgumentException.class, () -> sampler(properties));
+    }
+
+    private static SyntheticDeviceSampler sampler(SyntheticDataProperties properties) {
+        List<Integer> brandIds = IntStream.rangeClosed(1, properties.getBrands()).boxed().toList();
+        return new SyntheticDeviceSampler(properties, brandIds, END);
+    }
+
+    private static List<Device> sample(SyntheticDeviceSampler sampler, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Device> devices = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            devices.add(sampler.next(random));
+        }
+        return devices;
+    }
+
+    private static int[] brandCounts(SyntheticDeviceSampler sampler) {
+        int[] counts = new int[10];
+        for (Device device : sample(sampler, 1)) {
+            counts[device.getBrandId() - 1]++;
+        }
+        return counts;
+    }
+
+    private static double medianAgeInDays(List<Device> devices) {
+        double[] ages = devices.stream()
+            .mapToDouble(device -> ChronoUnit.MINUTES.between(device.getCreationTime(), END) / (24.0 * 60))
+            .sorted()
+            .toArray();
+        return ages[ages.length / 2];
+    }
+}
@@ -0,0 +1,86 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BrandControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testGetBrandsWithDeviceCount() throws Exception {
+        // Variações de caixa e espaços devem resolver para a mesma marca
+        List<DeviceRequestDTO> batch = List.of(
+                new DeviceRequestDTO("Watch", "Garmin", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Watch 2", "GARMIN", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Watch 3", " garmin ", DeviceState.INACTIVE));
+
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created[*].brand", everyItem(is("Garmin"))));
+
+        mockMvc.perform(get("/api/v1/brands"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Garmin')].deviceCount", contains(3)));
+
+        mockMvc.perform(get("/api/v1/devices/brand/{brand}", "gArMiN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    public void testRejectedUpdateDoesNotRegisterBrand() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DeviceRequestDTO("Watch", "Casio", DeviceState.IN_USE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long deviceId = objectMapper.readTree(response).get("id").asLong();
+
+        // Dispositivo em uso não pode trocar de marca: a marca nova é desfeita junto com a atualização
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DeviceRequestDTO("Watch", "Rejected-Brand", DeviceState.IN_USE))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/brands"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", not(hasItem("Rejected-Brand"))));
+
+        // Sem ID desfeito no cache: a marca é cadastrada de novo na próxima criação
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DeviceRequestDTO("Watch 2", "Rejected-Brand", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.brand", is("Rejected-Brand")));
+
+        mockMvc.perform(get("/api/v1/brands"))
+                .andExpect(jsonPath("$[?(@.name == 'Rejected-Brand')].deviceCount", contains(1)));
+    }
+}
@@ -1,20 +1,37 @@
 package com.desafio.tecnico.controller;
 
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.BulkDeleteRequestDTO;
+import com.desafio.tecnico.dto.BulkStateChangeRequestDTO;
 import com.desafio.tecnico.dto.DeviceRequestDTO;
 import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@Import(TestcontainersConfiguration.class)
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
@@ -26,6 +43,12 @@ public class DeviceControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void testCreateDevice() throws Exception {
         DeviceRequestDTO requestDTO = new DeviceRequestDTO();
@@ -33,7 +56,7 @@ public class DeviceControllerIntegrationTest {
         requestDTO.setBrand("Dell");
         requestDTO.setState(DeviceState.AVAILABLE);
 
-        mockMvc.perform(post("/api/devices")
+        mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
                 .andExpect(status().isCreated())
@@ -44,6 +67,144 @@ public class DeviceControllerIntegrationTest {
                 .andExpect(jsonPath("$.creationTime", notNullValue()));
     }
 
+    @Test
+    public void testCreateDevicesInBatch() throws Exception {
+        List<DeviceRequestDTO> batch = List.of(
+                new DeviceRequestDTO("Phone 1", "Motorola", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("", "Motorola", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Phone 3", "Motorola", DeviceState.INACTIVE));
+
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created", hasSize(2)))
+                .andExpect(jsonPath("$.created[*].id", everyItem(notNullValue())))
+                .andExpect(jsonPath("$.created[*].name", contains("Phone 1", "Phone 3")))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].errors.name", notNullValue()));
+    }
+
+    @Test
+    public void testChangeStatesInBatchByIds() throws Exception {
+        List<Long> ids = createBatch("Nokia", DeviceState.AVAILABLE, DeviceState.IN_USE, DeviceState.INACTIVE);
+        List<Long> requested = List.of(ids.get(0), ids.get(1), ids.get(2), Long.MAX_VALUE);
+
+        mockMvc.perform(post("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkStateChangeRequestDTO(requested, DeviceState.INACTIVE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].outcome", contains("UPDATED", "REJECTED", "UNCHANGED", "NOT_FOUND")))
+                .andExpect(jsonPath("$.results[0].id", is(ids.get(0).intValue())))
+                .andExpect(jsonPath("$.results[0].version", is(1)))
+                .andExpect(jsonPath("$.results[1].version", nullValue()))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        mockMvc.perform(get("/api/v1/devices/" + ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("INACTIVE")))
+                .andExpect(jsonPath("$.version", is(1)));
+        mockMvc.perform(get("/api/v1/devices/" + ids.get(1)))
+                .andExpect(jsonPath("$.state", is("IN_USE")));
+
+        // IDs e filtros juntos, ou filtro pelo estado em uso, são rejeitados
+        BulkStateChangeRequestDTO mixed = new BulkStateChangeRequestDTO(requested, DeviceState.AVAILABLE);
+        mixed.setBrand("Nokia");
+        mockMvc.perform(post("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(mixed)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BulkStateChangeRequestDTO("Nokia", DeviceState.IN_USE, DeviceState.AVAILABLE))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testChangeStatesInBatchByFilter() throws Exception {
+        List<Long> ids = createBatch("Siemens", DeviceState.INACTIVE, DeviceState.IN_USE, DeviceState.INACTIVE,
+            DeviceState.AVAILABLE);
+
+        mockMvc.perform(post("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BulkStateChangeRequestDTO("siemens", DeviceState.INACTIVE, DeviceState.AVAILABLE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].id", contains(ids.get(0).intValue(), ids.get(2).intValue())))
+                .andExpect(jsonPath("$.results[*].outcome", contains("UPDATED", "UPDATED")));
+
+        // Sem filtro de estado, o dispositivo em uso aparece como rejeitado
+        mockMvc.perform(post("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BulkStateChangeRequestDTO("Siemens", null, DeviceState.INACTIVE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].outcome", contains("UPDATED", "REJECTED", "UPDATED", "UPDATED")));
+
+        mockMvc.perform(get("/api/v1/devices/brand/Siemens"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].state", containsInAnyOrder("INACTIVE", "IN_USE", "INACTIVE", "INACTIVE")));
+    }
+
+    @Test
+    public void testDeleteDevicesInBatchByIds() throws Exception {
+        List<Long> ids = createBatch("Philips", DeviceState.AVAILABLE, DeviceState.IN_USE, DeviceState.INACTIVE,
+            DeviceState.AVAILABLE);
+        List<Long> requested = List.of(ids.get(3), ids.get(2), ids.get(1), ids.get(0), Long.MAX_VALUE);
+
+        // Outra transação mantém o último dispositivo travado durante a remoção
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM devices WHERE id = ? FOR UPDATE", ids.get(3));
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        try {
+            mockMvc.perform(post("/api/v1/devices/batch/delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BulkDeleteRequestDTO(requested))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results[*].outcome",
+                        contains("DELETED", "REJECTED", "DELETED", "LOCKED", "NOT_FOUND")))
+                    .andExpect(jsonPath("$.results[0].id", is(ids.get(0).intValue())));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        mockMvc.perform(get("/api/v1/devices/" + ids.get(0)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/devices/" + ids.get(1)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/devices/" + ids.get(3)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testDeleteDevicesInBatchByBrand() throws Exception {
+        createBatch("Suunto", DeviceState.AVAILABLE, DeviceState.IN_USE, DeviceState.INACTIVE);
+
+        mockMvc.perform(post("/api/v1/devices/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkDeleteRequestDTO("SUUNTO"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].outcome", contains("DELETED", "REJECTED", "DELETED")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        mockMvc.perform(get("/api/v1/devices/brand/Suunto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].state", contains("IN_USE")));
+    }
+
     @Test
     public void testGetAllDevices() throws Exception {
         // Primeiro, crie um dispositivo para garantir que há algo para buscar
@@ -52,18 +213,74 @@ public class DeviceControllerIntegrationTest {
         requestDTO.setBrand("Apple");
         requestDTO.setState(DeviceState.AVAILABLE);
 
-        mockMvc.perform(post("/api/devices")
+        mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
                 .andExpect(status().isCreated());
 
         // Agora busque todos os dispositivos
-        mockMvc.perform(get("/api/devices"))
+        mockMvc.perform(get("/api/v1/devices"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", not(emptyArray())))
                 .andExpect(jsonPath("$[*].name", hasItem("Tablet")));
     }
 
+    @Test
+    public void testGetAllDevicesPaginatedByCursor() throws Exception {
+        for (String name : new String[] {"Router", "Switch", "Access Point"}) {
+            DeviceRequestDTO requestDTO = new DeviceRequestDTO();
+            requestDTO.setName(name);
+            requestDTO.setBrand("Cisco");
+            requestDTO.setState(DeviceState.AVAILABLE);
+
+            mockMvc.perform(post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Primeira página com um único item deve indicar o cursor da próxima
+        String cursor = mockMvc.perform(get("/api/v1/devices").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // A próxima página começa após o cursor
+        mockMvc.perform(get("/api/v1/devices").param("after", cursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", greaterThan(Integer.valueOf(cursor))));
+
+        // Tamanho de página inválido
+        mockMvc.perform(get("/api/v1/devices").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStreamAllDevicesAsNdjson() throws Exception {
+        DeviceRequestDTO requestDTO = new DeviceRequestDTO();
+        requestDTO.setName("Speaker");
+        requestDTO.setBrand("JBL");
+        requestDTO.setState(DeviceState.AVAILABLE);
+
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/devices").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"name\":\"Speaker\"")))
+                .andExpect(content().string(endsWith("}\n")));
+    }
+
     @Test
     public void testGetDeviceById() throws Exception {
         // Primeiro crie um dispositivo
@@ -72,7 +289,7 @@ public class DeviceControllerIntegrationTest {
         requestDTO.setBrand("Samsung");
         requestDTO.setState(DeviceState.AVAILABLE);
 
-        String response = mockMvc.perform(post("/api/devices")
+        String response = mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
                 .andExpect(status().isCreated())
@@ -82,7 +299,7 @@ public class DeviceControllerIntegrationTest {
         Integer deviceId = objectMapper.readTree(response).get("id").asInt();
 
         // Busque o dispositivo pelo ID
-        mockMvc.perform(get("/api/devices/{id}", deviceId))
+        mockMvc.perform(get("/api/v1/devices/{id}", deviceId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(deviceId)))
                 .andExpect(jsonPath("$.name", is("Monitor")));
@@ -96,7 +313,7 @@ public class DeviceControllerIntegrationTest {
         createDTO.setBrand("Logitech");
         createDTO.setState(DeviceState.AVAILABLE);
 
-        String response = mockMvc.perform(post("/api/devices")
+        String response = mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isCreated())
@@ -110,7 +327,7 @@ public class DeviceControllerIntegrationTest {
         updateDTO.setBrand("Microsoft");
         updateDTO.setState(DeviceState.IN_USE);
 
-        mockMvc.perform(put("/api/devices/{id}", deviceId)
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateDTO)))
                 .andExpect(status().isOk())
@@ -119,6 +336,113 @@ public class DeviceControllerIntegrationTest {
                 .andExpect(jsonPath("$.state", is("IN_USE")));
     }
 
+    @Test
+    public void testUpdateDeviceWithStaleVersion() throws Exception {
+        // Crie um dispositivo (versão 0)
+        DeviceRequestDTO createDTO = new DeviceRequestDTO("Headset", "Logitech", DeviceState.AVAILABLE);
+
+        String response = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version", is(0)))
+                .andReturn().getResponse().getContentAsString();
+
+        Integer deviceId = objectMapper.readTree(response).get("id").asInt();
+
+        // Atualize informando a versão atual: a versão é incrementada
+        DeviceRequestDTO updateDTO = new DeviceRequestDTO("Headset Pro", "Logitech", DeviceState.AVAILABLE);
+        updateDTO.setVersion(0L);
+
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+
+        // Repetir a atualização com a versão antiga deve falhar com conflito
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/v1/devices/{id}", deviceId).param("version", "0"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/api/v1/devices/{id}", deviceId).param("version", "1"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void testGetDeviceByIdNotModified() throws Exception {
+        DeviceRequestDTO createDTO = new DeviceRequestDTO("Router", "TP-Link", DeviceState.AVAILABLE);
+
+        String response = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Integer deviceId = objectMapper.readTree(response).get("id").asInt();
+
+        // A primeira leitura devolve o ETag derivado da versão
+        String etag = mockMvc.perform(get("/api/v1/devices/{id}", deviceId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + deviceId + "-0\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Com o mesmo ETag a resposta é 304, sem corpo
+        mockMvc.perform(get("/api/v1/devices/{id}", deviceId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // Depois de uma alteração, o ETag antigo deixa de valer
+        DeviceRequestDTO updateDTO = new DeviceRequestDTO("Router AX", "TP-Link", DeviceState.AVAILABLE);
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/devices/{id}", deviceId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + deviceId + "-1\""))
+                .andExpect(jsonPath("$.name", is("Router AX")));
+    }
+
+    @Test
+    public void testGetDevicesByStateNotModifiedUntilChange() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/devices/state/{state}", DeviceState.INACTIVE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/devices/state/{state}", DeviceState.INACTIVE).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Um dispositivo criado em outro estado não altera o carimbo desta coleção
+        DeviceRequestDTO otherState = new DeviceRequestDTO("Switch", "Cisco", DeviceState.AVAILABLE);
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(otherState)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/devices/state/{state}", DeviceState.INACTIVE).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Um dispositivo criado no estado filtrado altera
+        DeviceRequestDTO sameState = new DeviceRequestDTO("Old Switch", "Cisco", DeviceState.INACTIVE);
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sameState)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/devices/state/{state}", DeviceState.INACTIVE).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
     @Test
     public void testPartialUpdateDevice() throws Exception {
         // Crie um dispositivo
@@ -127,7 +451,7 @@ public class DeviceControllerIntegrationTest {
         createDTO.setBrand("Logitech");
         createDTO.setState(DeviceState.AVAILABLE);
 
-        String response = mockMvc.perform(post("/api/devices")
+        String response = mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isCreated())
@@ -140,7 +464,7 @@ public class DeviceControllerIntegrationTest {
         partialUpdateDTO.setState(DeviceState.INACTIVE);
         // Nome e marca não são alterados
 
-        mockMvc.perform(patch("/api/devices/{id}", deviceId)
+        mockMvc.perform(patch("/api/v1/devices/{id}", deviceId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(partialUpdateDTO)))
                 .andExpect(status().isOk())
@@ -157,7 +481,7 @@ public class DeviceControllerIntegrationTest {
         createDTO.setBrand("Logitech");
         createDTO.setState(DeviceState.AVAILABLE);
 
-        String response = mockMvc.perform(post("/api/devices")
+        String response = mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isCreated())
@@ -166,11 +490,11 @@ public class DeviceControllerIntegrationTest {
         Integer deviceId = objectMapper.readTree(response).get("id").asInt();
 
         // Exclua o dispositivo
-        mockMvc.perform(delete("/api/devices/{id}", deviceId))
+        mockMvc.perform(delete("/api/v1/devices/{id}", deviceId))
                 .andExpect(status().isNoContent());
 
         // Verifique se o dispositivo foi realmente excluído
-        mockMvc.perform(get("/api/devices/{id}", deviceId))
+        mockMvc.perform(get("/api/v1/devices/{id}", deviceId))
                 .andExpect(status().isNotFound());
     }
 
@@ -182,7 +506,7 @@ public class DeviceControllerIntegrationTest {
         createDTO.setBrand("HP");
         createDTO.setState(DeviceState.AVAILABLE);
 
-        String response = mockMvc.perform(post("/api/devices")
+        String response = mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isCreated())
@@ -196,13 +520,13 @@ public class DeviceControllerIntegrationTest {
         updateDTO.setBrand("HP");
         updateDTO.setState(DeviceState.IN_USE);
 
-        mockMvc.perform(put("/api/devices/{id}", deviceId)
+        mockMvc.perform(put("/api/v1/devices/{id}", deviceId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateDTO)))
                 .andExpect(status().isOk());
 
         // Tente excluir o dispositivo em uso (deve falhar)
-        mockMvc.perform(delete("/api/devices/{id}", deviceId))
+        mockMvc.perform(delete("/api/v1/devices/{id}", deviceId))
                 .andExpect(status().isBadRequest());
     }
 
@@ -214,13 +538,13 @@ public class DeviceControllerIntegrationTest {
         requestDTO.setBrand("Samsung");
         requestDTO.setState(DeviceState.AVAILABLE);
 
-        mockMvc.perform(post("/api/devices")
+        mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
                 .andExpect(status().isCreated());
 
         // Busque dispositivos pela marca
-        mockMvc.perform(get("/api/devices/brand/{brand}", "Samsung"))
+        mockMvc.perform(get("/api/v1/devices/brand/{brand}", "Samsung"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", not(emptyArray())))
                 .andExpect(jsonPath("$[*].brand", everyItem(is("Samsung"))));
@@ -234,15 +558,246 @@ public class DeviceControllerIntegrationTest {
         requestDTO.setBrand("Canon");
         requestDTO.setState(DeviceState.INACTIVE);
 
-        mockMvc.perform(post("/api/devices")
+        mockMvc.perform(post("/api/v1/devices")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDTO)))
                 .andExpect(status().isCreated());
 
         // Busque dispositivos pelo estado
-        mockMvc.perform(get("/api/devices/state/{state}", "INACTIVE"))
+        mockMvc.perform(get("/api/v1/devices/state/{state}", "INACTIVE"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", not(emptyArray())))
                 .andExpect(jsonPath("$[*].state", everyItem(is("INACTIVE"))));
     }
+
+    @Test
+    public void testSearchDevicesCombiningFilters() throws Exception {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+        List<DeviceRequestDTO> batch = List.of(
+                new DeviceRequestDTO("Scanner Alpha", "Search-Filters", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("scanner beta", "Search-Filters", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Scanner Gamma", "Search-Filters", DeviceState.INACTIVE),
+                new DeviceRequestDTO("Printer", "Search-Filters", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Scanner Delta", "Other-Search-Brand", DeviceState.AVAILABLE));
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "search-filters")
+                .param("state", "AVAILABLE")
+                .param("name", "SCANNER")
+                .param("createdFrom", before.toString())
+                .param("createdTo", LocalDateTime.now().plusMinutes(1).toString())
+                .param("sort", "name")
+                .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[*].name", contains("scanner beta", "Scanner Alpha")));
+
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Search-Filters")
+                .param("createdTo", before.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Unknown-Search-Brand"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void testSearchDevicesSortedByNamePaginatedByCursor() throws Exception {
+        List<DeviceRequestDTO> batch = List.of(
+                new DeviceRequestDTO("Cursor C", "Search-Cursor", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("cursor a", "Search-Cursor", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Cursor B", "Search-Cursor", DeviceState.AVAILABLE),
+                new DeviceRequestDTO("Cursor B", "Search-Cursor", DeviceState.AVAILABLE));
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated());
+
+        String cursor = mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Search-Cursor")
+                .param("sort", "name")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("cursor a", "Cursor B")))
+                .andExpect(header().string("Link", containsString("cursor=")))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Search-Cursor")
+                .param("sort", "name")
+                .param("size", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Cursor B", "Cursor C")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    public void testSearchDevicesWithInvalidCursor() throws Exception {
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        new DeviceRequestDTO("Invalid 1", "Search-Invalid", DeviceState.AVAILABLE),
+                        new DeviceRequestDTO("Invalid 2", "Search-Invalid", DeviceState.AVAILABLE)))))
+                .andExpect(status().isCreated());
+        String cursor = mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Search-Invalid")
+                .param("sort", "creationTime")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("brand", "Search-Invalid")
+                .param("sort", "name")
+                .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/devices/search")
+                .param("sort", "brand"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchDevicesByFuzzyName() throws Exception {
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        new DeviceRequestDTO("Lenovo ThinkPad X1 Carbon", "Lenovo", DeviceState.AVAILABLE),
+                        new DeviceRequestDTO("Lenovo ThinkCentre M70", "Lenovo", DeviceState.AVAILABLE),
+                        new DeviceRequestDTO("Samsung Galaxy S23", "Samsung", DeviceState.IN_USE),
+                        new DeviceRequestDTO("Galaxy Tab S9", "Samsung", DeviceState.AVAILABLE)))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/devices/search/name").param("q", "thinkpad x1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Lenovo ThinkPad X1 Carbon")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Samsung Galaxy S23"))));
+
+        mockMvc.perform(get("/api/v1/devices/search/name").param("q", "galxy").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItems("Samsung Galaxy S23", "Galaxy Tab S9")))
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(5))));
+
+        mockMvc.perform(get("/api/v1/devices/search/name").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSuggestFollowsWrites() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new DeviceRequestDTO("Zebrafone Mini", "Zebracorp", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/devices/suggest").param("q", "zebra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", containsInAnyOrder("Zebrafone Mini", "Zebracorp")))
+                .andExpect(jsonPath("$[?(@.value == 'Zebracorp')].type", contains("BRAND")));
+
+        mockMvc.perform(patch("/api/v1/devices/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Zebrafone Max\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/devices/suggest").param("q", "mini"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", not(hasItem("Zebrafone Mini"))));
+        mockMvc.perform(get("/api/v1/devices/suggest").param("q", "zebrafone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", contains("Zebrafone Max")));
+
+        mockMvc.perform(delete("/api/v1/devices/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/devices/suggest").param("q", "zebra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void testGetDeviceStats() throws Exception {
+        long totalBefore = objectMapper.readTree(mockMvc.perform(get("/api/v1/devices/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("total").asLong();
+
+        DeviceRequestDTO first = new DeviceRequestDTO("Sensor A", "Stats-Brand", DeviceState.AVAILABLE);
+        DeviceRequestDTO second = new DeviceRequestDTO("Sensor B", "STATS-BRAND", DeviceState.AVAILABLE);
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isCreated());
+        String response = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer secondId = objectMapper.readTree(response).get("id").asInt();
+
+        mockMvc.perform(get("/api/v1/devices/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is((int) totalBefore + 2)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.AVAILABLE", is(2)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.IN_USE", is(0)));
+
+        // Mudança de estado move a contagem; a exclusão a remove
+        DeviceRequestDTO inUse = new DeviceRequestDTO();
+        inUse.setState(DeviceState.IN_USE);
+        mockMvc.perform(patch("/api/v1/devices/{id}", secondId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(inUse)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/devices/stats"))
+                .andExpect(jsonPath("$.total", is((int) totalBefore + 2)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.AVAILABLE", is(1)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.IN_USE", is(1)));
+
+        DeviceRequestDTO available = new DeviceRequestDTO();
+        available.setState(DeviceState.AVAILABLE);
+        mockMvc.perform(patch("/api/v1/devices/{id}", secondId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(available)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/devices/{id}", secondId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/devices/stats"))
+                .andExpect(jsonPath("$.total", is((int) totalBefore + 1)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.AVAILABLE", is(1)))
+                .andExpect(jsonPath("$.byBrand.Stats-Brand.IN_USE", is(0)));
+    }
+
+    /**
+     * Cria um dispositivo por estado informado, todos da mesma marca.
+     *
+     * @return IDs dos dispositivos criados, na ordem dos estados
+     */
+    private List<Long> createBatch(String brand, DeviceState... states) throws Exception {
+        List<DeviceRequestDTO> batch = new ArrayList<>();
+        for (DeviceState state : states) {
+            batch.add(new DeviceRequestDTO(brand + " " + state, brand, state));
+        }
+        String response = mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode created : objectMapper.readTree(response).get("created")) {
+            ids.add(created.get("id").asLong());
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,125 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DeviceEventControllerIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testStreamEventsFilteredByState() throws Exception {
+        MvcResult subscription = mockMvc.perform(get("/api/v1/devices/events")
+                .param("state", DeviceState.INACTIVE.name())
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = subscription.getResponse();
+        awaitContent(response, ":subscribed");
+
+        // Dispositivo em outro estado: não deve chegar ao assinante
+        createDevice(new DeviceRequestDTO("Printer", "HP", DeviceState.AVAILABLE));
+        Integer deviceId = createDevice(new DeviceRequestDTO("Scanner", "HP", DeviceState.INACTIVE));
+
+        awaitContent(response, "\"name\":\"Scanner\"");
+        assertFalse(response.getContentAsString().contains("Printer"));
+        assertTrue(response.getContentAsString().contains("event:created"));
+
+        // Ao sair do estado filtrado, o assinante recebe a atualização com o estado anterior
+        DeviceRequestDTO updateDTO = new DeviceRequestDTO();
+        updateDTO.setState(DeviceState.AVAILABLE);
+        mockMvc.perform(patch("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        // O nome do evento e os dados são gravados na resposta separadamente; aguarda os dados
+        awaitContent(response, "event:updated");
+        awaitContent(response, "\"previousState\":\"INACTIVE\"");
+    }
+
+    @Test
+    public void testReplayEventsAfterLastEventId() throws Exception {
+        MvcResult subscription = mockMvc.perform(get("/api/v1/devices/events").param("brand", "replay-brand"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = subscription.getResponse();
+        awaitContent(response, ":subscribed");
+
+        createDevice(new DeviceRequestDTO("First", "Replay-Brand", DeviceState.AVAILABLE));
+        awaitContent(response, "\"name\":\"First\"");
+        Matcher firstId = Pattern.compile("id:([0-9a-z]+-\\d+)").matcher(response.getContentAsString());
+        assertTrue(firstId.find());
+
+        // Eventos criados enquanto o cliente estava desconectado
+        createDevice(new DeviceRequestDTO("Second", "Replay-Brand", DeviceState.AVAILABLE));
+        awaitContent(response, "\"name\":\"Second\"");
+
+        MvcResult reconnection = mockMvc.perform(get("/api/v1/devices/events")
+                .param("brand", "REPLAY-BRAND")
+                .header("Last-Event-ID", firstId.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitContent(reconnection.getResponse(), "\"name\":\"Second\"");
+        assertFalse(reconnection.getResponse().getContentAsString().contains("\"name\":\"First\""));
+
+        // Um ID desconhecido pede que o cliente recarregue a coleção
+        MvcResult unknown = mockMvc.perform(get("/api/v1/devices/events").header("Last-Event-ID", "999999999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitContent(unknown.getResponse(), "event:reset");
+    }
+
+    private Integer createDevice(DeviceRequestDTO requestDTO) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asInt();
+    }
+
+    /**
+     * Os eventos são enviados por outra thread após o commit; aguarda o trecho esperado.
+     */
+    private void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!response.getContentAsString().contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Evento não recebido: " + expected + "\nConteúdo: " + response.getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
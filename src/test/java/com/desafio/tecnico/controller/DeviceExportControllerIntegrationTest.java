@@ -0,0 +1,131 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DeviceExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testExportCsvWithFilters() throws Exception {
+        createDevices(
+            new DeviceRequestDTO("Phone, \"Pro\"", "Jolla", DeviceState.AVAILABLE),
+            new DeviceRequestDTO("Tablet", "Jolla", DeviceState.AVAILABLE),
+            new DeviceRequestDTO("Watch", "Jolla", DeviceState.INACTIVE));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/devices/export")
+                .param("brand", "jolla")
+                .param("state", "AVAILABLE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("devices.csv")))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = csv.lines().toList();
+        assertEquals(DeviceExportController.CSV_HEADER, lines.get(0));
+        // Sem ID, data de criação e versão, que não têm vírgulas nem aspas
+        List<String> rows = lines.subList(1, lines.size()).stream()
+            .map(line -> line.substring(line.indexOf(',') + 1, line.lastIndexOf(',', line.lastIndexOf(',') - 1)))
+            .sorted()
+            .toList();
+        assertEquals(List.of("\"Phone, \"\"Pro\"\"\",Jolla,AVAILABLE", "Tablet,Jolla,AVAILABLE"), rows);
+
+        result = mockMvc.perform(get("/api/v1/devices/export")
+                .param("brand", "Jolla")
+                .param("createdFrom", LocalDateTime.now().plusDays(1).toString()))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(DeviceExportController.CSV_HEADER + "\n"));
+    }
+
+    @Test
+    public void testExportNdjsonWithGzip() throws Exception {
+        createDevices(
+            new DeviceRequestDTO("Router", "Wiko", DeviceState.AVAILABLE),
+            new DeviceRequestDTO("Modem", "Wiko", DeviceState.IN_USE));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/devices/export")
+                .param("format", "NDJSON")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+                .param("brand", "Wiko"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DeviceController.NDJSON_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> names = ndjson.lines()
+            .map(this::readTree)
+            .map(device -> device.get("name").asText() + ":" + device.get("state").asText())
+            .sorted()
+            .toList();
+        assertEquals(List.of("Modem:IN_USE", "Router:AVAILABLE"), names);
+    }
+
+    @Test
+    public void testExportWithInvalidCreationRange() throws Exception {
+        mockMvc.perform(get("/api/v1/devices/export")
+                .param("createdFrom", "2024-02-01T00:00:00")
+                .param("createdTo", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createDevices(DeviceRequestDTO... requests) throws Exception {
+        mockMvc.perform(post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(requests))))
+                .andExpect(status().isCreated());
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.desafio.tecnico.controller;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "app.import.chunk-size=10")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DeviceImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testImportCsvWithRejects() throws Exception {
+        String csv = "state,name,brand\r\n" +
+                "AVAILABLE,Phone 1,Fairphone\r\n" +
+                "in_use,\"Phone, \"\"Pro\"\"\",Fairphone\r\n" +
+                "\r\n" +
+                "BROKEN,Phone 3,Fairphone\r\n" +
+                "INACTIVE,,Fairphone\r\n" +
+                "AVAILABLE,\"Phone 5,Fairphone\r\n";
+
+        String response = mockMvc.perform(post("/api/v1/devices/imports")
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.rowsRead", is(5)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/devices/imports/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+        mockMvc.perform(get("/api/v1/devices/imports"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+
+        String rejects = mockMvc.perform(get("/api/v1/devices/imports/{id}/rejects", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = rejects.split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(5, first.get("line").asInt());
+        assertEquals("BROKEN,Phone 3,Fairphone", first.get("content").asText());
+        assertTrue(first.get("errors").has("state"));
+        assertTrue(objectMapper.readTree(lines[1]).get("errors").has("name"));
+        assertTrue(objectMapper.readTree(lines[2]).get("errors").has("line"));
+
+        mockMvc.perform(get("/api/v1/devices/brand/Fairphone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Phone 1", "Phone, \"Pro\"")))
+                .andExpect(jsonPath("$[*].state", contains("AVAILABLE", "IN_USE")));
+    }
+
+    @Test
+    public void testImportNdjsonInSeveralChunks() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            DeviceState state = i % 2 == 0 ? DeviceState.AVAILABLE : DeviceState.INACTIVE;
+            ndjson.append(objectMapper.writeValueAsString(new DeviceRequestDTO("Sensor " + i, "Teracube", state)))
+                .append('\n');
+        }
+        ndjson.append("{\"name\": \"Sensor X\", \"brand\": \"Teracube\", \"state\": \"LOST\"}\n");
+        ndjson.append("not json\n");
+
+        mockMvc.perform(post("/api/v1/devices/imports")
+                .contentType(DeviceController.NDJSON_VALUE)
+                .content(ndjson.toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.format", is("NDJSON")))
+                .andExpect(jsonPath("$.imported", is(25)))
+                .andExpect(jsonPath("$.rejected", is(2)));
+
+        String devices = mockMvc.perform(get("/api/v1/devices/brand/Teracube"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(25)))
+                .andReturn().getResponse().getContentAsString();
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode device : objectMapper.readTree(devices)) {
+            assertTrue(device.get("id").asLong() > 0);
+            ids.add(device.get("id").asLong());
+        }
+        assertEquals(25, ids.size());
+
+        // IDs reservados da mesma sequência do JPA: criações seguintes não colidem
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new DeviceRequestDTO("Sensor 25", "Teracube", DeviceState.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", not(in(ids.stream().map(Long::intValue).toList()))));
+
+        mockMvc.perform(get("/api/v1/devices/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byBrand.Teracube.AVAILABLE", is(14)))
+                .andExpect(jsonPath("$.byBrand.Teracube.INACTIVE", is(12)));
+    }
+
+    @Test
+    public void testExportedCsvImportsBack() throws Exception {
+        for (String name : List.of("Router, \"Mesh\"", "Câmera \"4K\"", "  Hub  ")) {
+            mockMvc.perform(post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new DeviceRequestDTO(name, "Roundtrip", DeviceState.AVAILABLE))))
+                    .andExpect(status().isCreated());
+        }
+        // Uma quebra de linha viraria um campo em várias linhas no CSV exportado
+        mockMvc.perform(post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DeviceRequestDTO("Line\nBreak", "Roundtrip", DeviceState.AVAILABLE))))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException().getMessage().contains("quebras de linha")));
+
+        MvcResult export = mockMvc.perform(get("/api/v1/devices/export").param("brand", "Roundtrip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        mockMvc.perform(post("/api/v1/devices/imports")
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rowsRead", is(3)))
+                .andExpect(jsonPath("$.imported", is(3)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+        mockMvc.perform(get("/api/v1/devices/brand/Roundtrip").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("Router, \"Mesh\"", "Câmera \"4K\"", "  Hub  ",
+                    "Router, \"Mesh\"", "Câmera \"4K\"", "  Hub  ")));
+    }
+
+    @Test
+    public void testImportCsvWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/v1/devices/imports")
+                .contentType("text/csv")
+                .content("name,state\nPhone,AVAILABLE\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,276 @@
+package com.desafio.tecnico.repository;
+
+import com.desafio.tecnico.TestcontainersConfiguration;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.desafio.tecnico.repository.DeviceRepositoryCustomImpl.SearchSql;
+import com.desafio.tecnico.repository.DeviceSearchQuery.SortField;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Captura os planos de execução da busca de dispositivos para as combinações de filtros mais
+ * comuns, e da busca aproximada por nome, e verifica que nenhuma delas lê as partições com os
+ * dados do teste por varredura sequencial, e que um intervalo de criação lê apenas as
+ * partições dos meses do intervalo.
+ *
+ * A tabela recebe 100 mil dispositivos, nas partições de janeiro a março de 2024, e as
+ * estatísticas são coletadas (ANALYZE) dentro de uma transação que é desfeita ao final, então os
+ * dados e as partições não afetam os demais testes. Os planos são obtidos com EXPLAIN sobre o
+ * mesmo SQL e os mesmos parâmetros que a busca executa.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class DeviceSearchQueryPlanTest {
+
+    private static final int ROWS = 100_000;
+    private static final int BRANDS = 50;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    /** Intervalo entre as datas de criação: 100 mil minutos vão de janeiro a março de 2024 */
+    private static final int ONE_MINUTE = 60;
+    /** Intervalo entre as datas de criação: 100 mil vezes 20 segundos cabem em janeiro de 2024 */
+    private static final int TWENTY_SECONDS = 20;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void commonFilterCombinationsShouldNotScanDevicesSequentially() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            int brandId = seed(ONE_MINUTE);
+            Set<String> partitions = seededPartitions();
+            List<String> seqScans = new ArrayList<>();
+            combinations(brandId).forEach((name, query) -> {
+                String plan = explain(query);
+                if (scansSequentially(plan, partitions)) {
+                    seqScans.add(name + ": " + plan);
+                }
+            });
+            assertTrue(seqScans.isEmpty(), "Buscas com varredura sequencial em devices:\n" + String.join("\n", seqScans));
+        });
+    }
+
+    @Test
+    void nameSimilaritySearchShouldUseTrigramIndex() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            // A busca aproximada lê o índice de trigramas de cada partição; em partições pequenas o
+            // planejador prefere a varredura, então os dados ficam em um único mês
+            seed(TWENTY_SECONDS);
+            Set<String> partitions = seededPartitions();
+            List<String> trigramIndexes = jdbcTemplate.queryForList("SELECT i.inhrelid::regclass::text FROM pg_inherits i " +
+                "WHERE i.inhparent = 'idx_devices_name_trgm'::regclass", Map.of(), String.class);
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', '0.5', true)",
+                Map.of(), String.class);
+            for (String text : List.of("senzor 4711", "camera", "lptop 9")) {
+                String plan = jdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) " + DeviceRepositoryCustomImpl.NAME_SIMILARITY_SEARCH,
+                    Map.of("text", text, "limit", 20), String.class);
+                assertFalse(scansSequentially(plan, partitions), text + ": " + plan);
+                assertTrue(trigramIndexes.stream().anyMatch(plan::contains), text + ": " + plan);
+            }
+        });
+    }
+
+    @Test
+    void creationRangeShouldReadOnlyPartitionsOfItsMonths() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            int brandId = seed(ONE_MINUTE);
+
+            DeviceSearchQuery february = query(SortField.CREATION_TIME, false);
+            february.setCreatedFrom(START.plusMonths(1).plusDays(4));
+            february.setCreatedTo(START.plusMonths(1).plusDays(20));
+            assertEquals(Set.of("devices_p2024_02"), scannedPartitions(explain(february)));
+
+            DeviceSearchQuery acrossMonths = query(SortField.ID, false);
+            acrossMonths.setBrandId(brandId);
+            acrossMonths.setCreatedFrom(START.plusDays(20));
+            acrossMonths.setCreatedTo(START.plusMonths(1).plusDays(10));
+            assertEquals(Set.of("devices_p2024_01", "devices_p2024_02"), scannedPartitions(explain(acrossMonths)));
+        });
+    }
+
+    private Map<String, DeviceSearchQuery> combinations(int brandId) {
+        Map<String, DeviceSearchQuery> queries = new LinkedHashMap<>();
+        queries.put("sem filtros", query(SortField.ID, false));
+        queries.put("sem filtros, por data desc", query(SortField.CREATION_TIME, true));
+
+        DeviceSearchQuery byBrand = query(SortField.ID, false);
+        byBrand.setBrandId(brandId);
+        queries.put("marca", byBrand);
+
+        DeviceSearchQuery byState = query(SortField.ID, false);
+        byState.setState(DeviceState.IN_USE);
+        byState.setAfterId(50_000L);
+        queries.put("estado, a partir do cursor", byState);
+
+        DeviceSearchQuery byBrandAndState = query(SortField.ID, true);
+        byBrandAndState.setBrandId(brandId);
+        byBrandAndState.setState(DeviceState.AVAILABLE);
+        queries.put("marca e estado, desc", byBrandAndState);
+
+        DeviceSearchQuery byName = query(SortField.NAME, false);
+        byName.setNamePrefix("Sensor 12");
+        queries.put("prefixo do nome, por nome", byName);
+
+        DeviceSearchQuery byNameAfter = query(SortField.NAME, false);
+        byNameAfter.setAfterKey("Camera 5");
+        byNameAfter.setAfterId(5L);
+        queries.put("por nome, a partir do cursor", byNameAfter);
+
+        DeviceSearchQuery byNameAndState = query(SortField.ID, false);
+        byNameAndState.setNamePrefix("laptop 3");
+        byNameAndState.setState(DeviceState.INACTIVE);
+        queries.put("prefixo do nome e estado", byNameAndState);
+
+        DeviceSearchQuery byRange = query(SortField.CREATION_TIME, false);
+        byRange.setCreatedFrom(START.plusDays(10));
+        byRange.setCreatedTo(START.plusDays(11));
+        queries.put("intervalo de criação, por data", byRange);
+
+        DeviceSearchQuery byBrandAndRange = query(SortField.CREATION_TIME, true);
+        byBrandAndRange.setBrandId(brandId);
+        byBrandAndRange.setCreatedFrom(START.plusDays(10));
+        byBrandAndRange.setAfterKey(START.plusDays(20));
+        byBrandAndRange.setAfterId(Long.MAX_VALUE);
+        queries.put("marca e intervalo de criação, por data desc, a partir do cursor", byBrandAndRange);
+
+        DeviceSearchQuery byStateAndRange = query(SortField.CREATION_TIME, false);
+        byStateAndRange.setState(DeviceState.AVAILABLE);
+        byStateAndRange.setCreatedFrom(START.plusDays(30));
+        byStateAndRange.setCreatedTo(START.plusDays(32));
+        queries.put("estado e intervalo de criação, por data", byStateAndRange);
+
+        DeviceSearchQuery all = query(SortField.ID, false);
+        all.setBrandId(brandId);
+        all.setState(DeviceState.AVAILABLE);
+        all.setNamePrefix("phone");
+        all.setCreatedFrom(START.plusDays(5));
+        all.setCreatedTo(START.plusDays(40));
+        queries.put("todos os filtros", all);
+        return queries;
+    }
+
+    private static DeviceSearchQuery query(SortField sort, boolean descending) {
+        DeviceSearchQuery query = new DeviceSearchQuery();
+        query.setSort(sort);
+        query.setDescending(descending);
+        query.setLimit(101);
+        return query;
+    }
+
+    /**
+     * Insere marcas e dispositivos com nomes, estados e datas de criação variados e coleta as
+     * estatísticas, para que o planejador escolha os planos como faria com uma base real. As
+     * partições dos meses dos dados são criadas antes, como faz a geração da massa sintética.
+     *
+     * @param secondsApart Intervalo, em segundos, entre as datas de criação consecutivas
+     * @return ID de uma das marcas inseridas
+     */
+    private int seed(int secondsApart) {
+        Map<String, Object> none = Map.of();
+        jdbcTemplate.queryForList("SELECT create_devices_partition(m::date) " +
+            "FROM generate_series(:start::date, :start::date + interval '2 months', interval '1 month') m",
+            Map.of("start", START), String.class);
+        jdbcTemplate.update("INSERT INTO brands (name, normalized_name) " +
+            "SELECT 'Plan Brand ' || g, 'plan brand ' || g FROM generate_series(1, " + BRANDS + ") g", none);
+        Integer firstBrand = jdbcTemplate.queryForObject(
+            "SELECT min(id) FROM brands WHERE normalized_name LIKE 'plan brand %'", none, Integer.class);
+        jdbcTemplate.update("INSERT INTO devices (id, name, brand_id, state, creation_time, version) " +
+            "SELECT (SELECT coalesce(max(id), 0) FROM devices) + g, " +
+            "(ARRAY['Sensor', 'Camera', 'Laptop', 'Phone'])[1 + g % 4] || ' ' || g, " +
+            ":firstBrand + g % " + BRANDS + ", " +
+            "(ARRAY['AVAILABLE', 'IN_USE', 'INACTIVE'])[1 + g % 3], " +
+            ":start + g * make_interval(secs => :secondsApart), 0 " +
+            "FROM generate_series(1, " + ROWS + ") g",
+            Map.of("firstBrand", firstBrand, "start", START, "secondsApart", secondsApart));
+        jdbcTemplate.update("ANALYZE devices", none);
+        jdbcTemplate.update("ANALYZE brands", none);
+        return firstBrand;
+    }
+
+    private String explain(DeviceSearchQuery query) {
+        SearchSql search = DeviceRepositoryCustomImpl.buildSearch(query);
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + search.getSql(), search.getParams(), String.class);
+    }
+
+    /**
+     * Partições de devices com os dados inseridos pelo teste. As demais (a padrão, os meses futuros
+     * e o mês corrente, com os poucos dispositivos dos outros testes) são pequenas e a varredura
+     * sequencial nelas é o plano esperado, então ficam fora da verificação.
+     */
+    private Set<String> seededPartitions() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM devices " +
+            "GROUP BY tableoid HAVING count(*) >= 1000", Map.of(), String.class));
+    }
+
+    private boolean scansSequentially(String plan, Set<String> partitions) {
+        return scans(plan).stream()
+            .anyMatch(scan -> scan.path("Node Type").asText().contains("Seq Scan")
+                && partitions.contains(scan.path("Relation Name").asText()));
+    }
+
+    private Set<String> scannedPartitions(String plan) {
+        Set<String> partitions = new HashSet<>();
+        for (JsonNode scan : scans(plan)) {
+            String relation = scan.path("Relation Name").asText();
+            if (relation.startsWith("devices_")) {
+                partitions.add(relation);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Nós do plano que leem uma tabela (os que têm "Relation Name"), em qualquer nível.
+     */
+    private List<JsonNode> scans(String plan) {
+        try {
+            List<JsonNode> scans = new ArrayList<>();
+            collectScans(objectMapper.readTree(plan).get(0).get("Plan"), scans);
+            return scans;
+        } catch (Exception e) {
+            throw new IllegalStateException("Plano de execução inválido: " + plan, e);
+        }
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if (node.has("Relation Name")) {
+            scans.add(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, scans);
+        }
+    }
+}
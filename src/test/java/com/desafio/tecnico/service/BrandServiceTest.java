@@ -0,0 +1,159 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.BrandCountDTO;
+import com.desafio.tecnico.model.Brand;
+import com.desafio.tecnico.repository.BrandRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BrandServiceTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private DeviceStatsCounters statsCounters;
+
+    @InjectMocks
+    private BrandService brandService;
+
+    @Test
+    void normalize_ShouldTrimAndLowerCase() {
+        assertEquals("samsung", BrandService.normalize("  SamSung "));
+    }
+
+    @Test
+    void resolveId_ShouldReturnExistingBrandWithoutInserting() {
+        when(brandRepository.findByNormalizedName("samsung"))
+            .thenReturn(Optional.of(new Brand(1, "Samsung", "samsung")));
+
+        assertEquals(1, brandService.resolveId("SAMSUNG"));
+
+        verify(brandRepository, never()).insertIfAbsent(anyString(), anyString());
+    }
+
+    @Test
+    void resolveId_ShouldInsertUnknownBrandAndCacheIt() {
+        when(brandRepository.findByNormalizedName("apple")).thenReturn(Optional.empty());
+        when(brandRepository.insertIfAbsent("Apple", "apple")).thenReturn(Optional.of(2));
+
+        assertEquals(2, brandService.resolveId(" Apple "));
+        assertEquals(2, brandService.resolveId("apple"));
+        assertEquals("Apple", brandService.nameOf(2));
+
+        verify(brandRepository, times(1)).insertIfAbsent("Apple", "apple");
+        verify(brandRepository, times(1)).findByNormalizedName("apple");
+        verify(brandRepository, never()).findById(2);
+    }
+
+    @Test
+    void resolveId_ShouldCacheInsertedBrandOnlyAfterCommit() {
+        when(brandRepository.findByNormalizedName("apple")).thenReturn(Optional.empty());
+        when(brandRepository.insertIfAbsent("Apple", "apple")).thenReturn(Optional.of(2));
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> {
+            assertEquals(2, brandService.resolveId("Apple"));
+            // Dentro da mesma transação, a marca vem das pendentes, sem nova inserção
+            assertEquals(2, brandService.resolveId("APPLE"));
+            assertEquals(Optional.of(2), brandService.findId("apple"));
+            assertEquals("Apple", brandService.nameOf(2));
+        });
+        verify(brandRepository, times(1)).insertIfAbsent("Apple", "apple");
+
+        // Antes do commit, outra transação não encontra a marca nem no cache nem no banco
+        inTransaction(() -> assertTrue(brandService.findId("apple").isEmpty()));
+        verify(brandRepository, times(2)).findByNormalizedName("apple");
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(2, brandService.resolveId("apple"));
+        verify(brandRepository, times(2)).findByNormalizedName("apple");
+    }
+
+    @Test
+    void resolveId_ShouldNotCacheBrandOfRolledBackTransaction() {
+        when(brandRepository.findByNormalizedName("apple")).thenReturn(Optional.empty());
+        when(brandRepository.insertIfAbsent("Apple", "apple"))
+            .thenReturn(Optional.of(2))
+            .thenReturn(Optional.of(3));
+
+        List<TransactionSynchronization> synchronizations = inTransaction(
+            () -> assertEquals(2, brandService.resolveId("Apple")));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // A marca desfeita não ficou no cache: a próxima transação a cadastra novamente
+        assertEquals(3, brandService.resolveId("Apple"));
+        verify(brandRepository, times(2)).insertIfAbsent("Apple", "apple");
+    }
+
+    @Test
+    void resolveId_ShouldReadBrandInsertedConcurrently() {
+        when(brandRepository.findByNormalizedName("apple"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(new Brand(4, "Apple", "apple")));
+        when(brandRepository.insertIfAbsent("apple", "apple")).thenReturn(Optional.empty());
+
+        assertEquals(4, brandService.resolveId("apple"));
+        assertEquals("Apple", brandService.nameOf(4));
+        verify(brandRepository, never()).findById(4);
+    }
+
+    @Test
+    void findId_ShouldNotInsertUnknownBrand() {
+        when(brandRepository.findByNormalizedName("unknown")).thenReturn(Optional.empty());
+
+        assertTrue(brandService.findId("Unknown").isEmpty());
+
+        verify(brandRepository, never()).insertIfAbsent(anyString(), anyString());
+    }
+
+    @Test
+    void nameOf_ShouldLoadOnceAndServeFromCache() {
+        when(brandRepository.findById(3)).thenReturn(Optional.of(new Brand(3, "Dell", "dell")));
+
+        assertEquals("Dell", brandService.nameOf(3));
+        assertEquals("Dell", brandService.nameOf(3));
+        assertEquals(Optional.of(3), brandService.findId("DELL"));
+
+        verify(brandRepository, times(1)).findById(3);
+        verify(brandRepository, never()).findByNormalizedName(anyString());
+    }
+
+    @Test
+    void getBrands_ShouldReadCountsFromStatsCounters() {
+        when(brandRepository.findAll(Sort.by("name")))
+            .thenReturn(List.of(new Brand(2, "Apple", "apple"), new Brand(1, "Samsung", "samsung")));
+        when(statsCounters.countsByBrand()).thenReturn(Map.of(1, 7L));
+
+        assertEquals(List.of(new BrandCountDTO(2, "Apple", 0), new BrandCountDTO(1, "Samsung", 7)),
+            brandService.getBrands());
+    }
+
+    /**
+     * Executa o trecho com as sincronizações de transação ativas, como dentro de um método
+     * {@code @Transactional}, e devolve as sincronizações registradas para simular o desfecho.
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
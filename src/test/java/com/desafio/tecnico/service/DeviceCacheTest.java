@@ -0,0 +1,92 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceCacheTest {
+
+    private final DeviceCache deviceCache = new DeviceCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void get_ShouldLoadOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        deviceCache.get(1L, id -> load(id, "Smartphone", loads));
+        deviceCache.get(1L, id -> load(id, "Smartphone", loads));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, deviceCache.stats().hitCount());
+        assertEquals(1, deviceCache.stats().missCount());
+    }
+
+    @Test
+    void get_ShouldNotCacheValueLoadedConcurrentlyWithEviction() {
+        AtomicInteger loads = new AtomicInteger();
+
+        // Simula uma escrita confirmada enquanto a leitura buscava o valor antigo
+        DeviceResponseDTO stale = deviceCache.get(1L, id -> {
+            DeviceResponseDTO value = load(id, "Old name", loads);
+            deviceCache.evict(id);
+            return value;
+        });
+        DeviceResponseDTO fresh = deviceCache.get(1L, id -> load(id, "New name", loads));
+
+        assertEquals("Old name", stale.getName());
+        assertEquals("New name", fresh.getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotKeepValueWhenEvictionRacesWithStore() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                // A escrita invalida assim que a leitura termina a busca, concorrendo com a gravação no cache
+                CountDownLatch loaded = new CountDownLatch(1);
+                Future<?> eviction = writer.submit(() -> {
+                    loaded.await();
+                    deviceCache.evict(1L);
+                    return null;
+                });
+                deviceCache.get(1L, id -> {
+                    DeviceResponseDTO value = load(id, "Old name", loads);
+                    loaded.countDown();
+                    return value;
+                });
+                eviction.get();
+
+                assertNull(deviceCache.getIfPresent(1L), "Valor antigo mantido após a invalidação na iteração " + i);
+            }
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictAfterCommit_ShouldEvictImmediatelyWithoutTransaction() {
+        AtomicInteger loads = new AtomicInteger();
+        deviceCache.get(1L, id -> load(id, "Smartphone", loads));
+
+        deviceCache.evictAfterCommit(1L);
+        deviceCache.get(1L, id -> load(id, "Smartphone", loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private static DeviceResponseDTO load(Long id, String name, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new DeviceResponseDTO(id, name, "Samsung", DeviceState.AVAILABLE, LocalDateTime.now());
+    }
+}
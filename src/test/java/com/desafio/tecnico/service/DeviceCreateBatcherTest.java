@@ -0,0 +1,151 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceRequestDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DeviceCreateBatcherTest {
+
+    private final DeviceService deviceService = mock(DeviceService.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(20);
+    private final AtomicLong ids = new AtomicLong();
+    private DeviceCreateBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (batcher != null) {
+            batcher.destroy();
+        }
+    }
+
+    @Test
+    void create_ShouldGroupConcurrentRequestsAndReturnEachCallerItsOwnDevice() throws Exception {
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        when(deviceService.createGrouped(anyList())).thenAnswer(invocation -> {
+            List<DeviceRequestDTO> requests = invocation.getArgument(0);
+            groupSizes.add(requests.size());
+            return requests.stream().map(this::created).toList();
+        });
+        batcher = new DeviceCreateBatcher(deviceService, true, Duration.ofMillis(200), 500, 1, 100);
+
+        List<Future<DeviceResponseDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            DeviceRequestDTO request = request("Device " + i);
+            results.add(callers.submit(() -> batcher.create(request)));
+        }
+
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            DeviceResponseDTO device = results.get(i).get();
+            assertEquals("Device " + i, device.getName());
+            createdIds.add(device.getId());
+        }
+        assertEquals(20, createdIds.stream().distinct().count());
+        assertEquals(20, groupSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(groupSizes.size() < 20, "As criações concorrentes deveriam ser gravadas em grupos: " + groupSizes);
+        verify(deviceService, never()).createDevice(any());
+    }
+
+    @Test
+    void create_ShouldRetryItemsIndividually_WhenGroupFails() throws Exception {
+        when(deviceService.createGrouped(anyList())).thenThrow(new InvalidOperationException("Falha no grupo"));
+        when(deviceService.createDevice(any())).thenAnswer(invocation -> {
+            DeviceRequestDTO request = invocation.getArgument(0);
+            if (request.getName().equals("Bad")) {
+                throw new InvalidOperationException("Dispositivo inválido");
+            }
+            return created(request);
+        });
+        batcher = new DeviceCreateBatcher(deviceService, true, Duration.ofMillis(200), 500, 1, 100);
+
+        Future<DeviceResponseDTO> good = callers.submit(() -> batcher.create(request("Good")));
+        Future<DeviceResponseDTO> bad = callers.submit(() -> batcher.create(request("Bad")));
+
+        assertEquals("Good", good.get().getName());
+        ExecutionException failure = assertThrows(ExecutionException.class, bad::get);
+        assertInstanceOf(InvalidOperationException.class, failure.getCause());
+    }
+
+    @Test
+    void create_ShouldCompleteEveryRequest_WhenDestroyedConcurrently() throws Exception {
+        AtomicInteger written = new AtomicInteger();
+        when(deviceService.createGrouped(anyList())).thenAnswer(invocation -> {
+            List<DeviceRequestDTO> requests = invocation.getArgument(0);
+            written.addAndGet(requests.size());
+            return requests.stream().map(this::created).toList();
+        });
+        when(deviceService.createDevice(any())).thenAnswer(invocation -> {
+            written.incrementAndGet();
+            return created(invocation.getArgument(0));
+        });
+
+        for (int round = 0; round < 20; round++) {
+            written.set(0);
+            DeviceCreateBatcher closing = new DeviceCreateBatcher(deviceService, true, Duration.ofMillis(1), 500, 1, 10000);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int caller = 0; caller < 10; caller++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    int created = 0;
+                    for (int i = 0; i < 50; i++) {
+                        closing.create(request("Device " + i));
+                        created++;
+                    }
+                    return created;
+                }));
+            }
+            start.countDown();
+            closing.destroy();
+
+            int created = 0;
+            for (Future<Integer> result : results) {
+                created += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(500, created);
+            assertEquals(500, written.get());
+        }
+    }
+
+    @Test
+    void create_ShouldCallServiceDirectly_WhenDisabled() {
+        DeviceRequestDTO request = request("Direct");
+        when(deviceService.createDevice(request)).thenReturn(created(request));
+        batcher = new DeviceCreateBatcher(deviceService, false, Duration.ofMillis(5), 500, 1, 100);
+
+        assertEquals("Direct", batcher.create(request).getName());
+        verify(deviceService, never()).createGrouped(anyList());
+    }
+
+    private DeviceResponseDTO created(DeviceRequestDTO request) {
+        return new DeviceResponseDTO(ids.incrementAndGet(), request.getName(), request.getBrand(), request.getState(),
+                LocalDateTime.now());
+    }
+
+    private static DeviceRequestDTO request(String name) {
+        return new DeviceRequestDTO(name, "Samsung", DeviceState.AVAILABLE);
+    }
+}
@@ -0,0 +1,238 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.controller.DeviceEventController;
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.model.Device.DeviceState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Verifica os IDs dos eventos entre execuções: cada instância do broadcaster representa uma
+ * inicialização da aplicação. Verifica também que um assinante lento não atrasa os demais.
+ */
+class DeviceEventBroadcasterTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<DeviceEventBroadcaster> broadcasters = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        broadcasters.forEach(DeviceEventBroadcaster::destroy);
+    }
+
+    @Test
+    void lastEventIdFromPreviousRunShouldTriggerReset() throws Exception {
+        DeviceEventBroadcaster firstRun = start();
+        MockMvc firstMvc = mvc(firstRun);
+        MockHttpServletResponse firstSubscription = subscribe(firstMvc, null);
+        firstRun.onDeviceEvent(created(1, "Before Restart"));
+        awaitContent(firstSubscription, "Before Restart");
+        Matcher idMatcher = Pattern.compile("id:(\\S+)").matcher(firstSubscription.getContentAsString());
+        assertTrue(idMatcher.find());
+        String previousRunId = idMatcher.group(1);
+
+        // Após o reinício, a nova sequência já passou do número do ID antigo
+        DeviceEventBroadcaster secondRun = start();
+        MockMvc secondMvc = mvc(secondRun);
+        MockHttpServletResponse live = subscribe(secondMvc, null);
+        for (int i = 2; i <= 4; i++) {
+            secondRun.onDeviceEvent(created(i, "After Restart " + i));
+        }
+        awaitContent(live, "After Restart 4");
+
+        MockHttpServletResponse reconnection = subscribe(secondMvc, previousRunId);
+        awaitContent(reconnection, "event:reset");
+        assertFalse(reconnection.getContentAsString().contains("After Restart"));
+
+        // O ID do reset é desta execução: uma nova reconexão com ele recebe só os eventos seguintes
+        Matcher resetId = Pattern.compile("id:(\\S+)\\nevent:reset").matcher(reconnection.getContentAsString());
+        assertTrue(resetId.find());
+        assertNotEquals(previousRunId, resetId.group(1));
+        MockHttpServletResponse resumed = subscribe(secondMvc, resetId.group(1));
+        secondRun.onDeviceEvent(created(5, "After Reset"));
+        awaitContent(resumed, "After Reset");
+        assertFalse(resumed.getContentAsString().contains("event:reset"));
+        assertFalse(resumed.getContentAsString().contains("After Restart"));
+    }
+
+    @Test
+    void lastEventIdOfCurrentRunShouldReplayMissedEvents() throws Exception {
+        DeviceEventBroadcaster broadcaster = start();
+        MockMvc mvc = mvc(broadcaster);
+        MockHttpServletResponse live = subscribe(mvc, null);
+        broadcaster.onDeviceEvent(created(1, "Seen"));
+        broadcaster.onDeviceEvent(created(2, "Missed"));
+        awaitContent(live, "Missed");
+        Matcher firstId = Pattern.compile("id:(\\S+)").matcher(live.getContentAsString());
+        assertTrue(firstId.find());
+
+        MockHttpServletResponse reconnection = subscribe(mvc, firstId.group(1));
+        awaitContent(reconnection, "Missed");
+        assertFalse(reconnection.getContentAsString().contains("Seen"));
+        assertFalse(reconnection.getContentAsString().contains("event:reset"));
+
+        awaitContent(subscribe(mvc, "not-an-id"), "event:reset");
+    }
+
+    @Test
+    void slowSubscriberShouldNotDelayOthersAndShouldBeDisconnectedWhenItsQueueFills() throws Exception {
+        DeviceEventBroadcaster broadcaster = start(5);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // O assinante marcado tem o socket cheio: depois da inscrição, toda escrita fica parada
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new DeviceEventController(broadcaster))
+            .addFilters((request, response, chain) -> chain.doFilter(request,
+                ((HttpServletRequest) request).getHeader("X-Slow") != null
+                    ? new StalledResponse((HttpServletResponse) response, stalled, release)
+                    : response))
+            .build();
+        try {
+            MockHttpServletResponse slow = mvc.perform(get("/api/v1/devices/events").header("X-Slow", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+            awaitContent(slow, ":subscribed");
+            MockHttpServletResponse fast = subscribe(mvc, null);
+
+            stalled.countDown();
+            // Cada evento chega ao assinante rápido enquanto o lento está parado no primeiro
+            for (int i = 1; i <= 10; i++) {
+                broadcaster.onDeviceEvent(created(i, "Event " + i));
+                awaitContent(fast, "Event " + i + "\"");
+            }
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (broadcaster.subscriberCount() != 1) {
+                assertTrue(System.currentTimeMillis() < deadline, "Assinante lento não foi desconectado");
+                Thread.sleep(20);
+            }
+            assertFalse(slow.getContentAsString().contains("Event 10"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private DeviceEventBroadcaster start() {
+        return start(100);
+    }
+
+    private DeviceEventBroadcaster start(int subscriberQueueSize) {
+        DeviceEventBroadcaster broadcaster = new DeviceEventBroadcaster(objectMapper, 100, subscriberQueueSize,
+            Duration.ofMinutes(1), Duration.ofMinutes(1));
+        broadcasters.add(broadcaster);
+        return broadcaster;
+    }
+
+    private static MockMvc mvc(DeviceEventBroadcaster broadcaster) {
+        return MockMvcBuilders.standaloneSetup(new DeviceEventController(broadcaster)).build();
+    }
+
+    private static MockHttpServletResponse subscribe(MockMvc mvc, String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/v1/devices/events");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        MockHttpServletResponse response = mvc.perform(builder)
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+        awaitContent(response, ":subscribed");
+        return response;
+    }
+
+    private static DeviceEventDTO created(long id, String name) {
+        return new DeviceEventDTO(DeviceEventDTO.Type.CREATED,
+            new DeviceResponseDTO(id, name, "Brand", DeviceState.AVAILABLE, LocalDateTime.now(), 0L));
+    }
+
+    /**
+     * Resposta cujas escritas ficam paradas depois de stalled, como um cliente que não lê o
+     * socket, até release.
+     */
+    private static final class StalledResponse extends HttpServletResponseWrapper {
+
+        private final CountDownLatch stalled;
+        private final CountDownLatch release;
+
+        StalledResponse(HttpServletResponse response, CountDownLatch stalled, CountDownLatch release) {
+            super(response);
+            this.stalled = stalled;
+            this.release = release;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            ServletOutputStream target = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    awaitRelease();
+                    target.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    awaitRelease();
+                    target.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    target.setWriteListener(writeListener);
+                }
+            };
+        }
+
+        private void awaitRelease() throws IOException {
+            if (stalled.getCount() > 0) {
+                return;
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!response.getContentAsString().contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Evento não recebido: " + expected + "\nConteúdo: " + response.getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
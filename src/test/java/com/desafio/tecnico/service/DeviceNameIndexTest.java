@@ -0,0 +1,105 @@
+package com.desafio.tecnico.service;
+
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSuggestionDTO;
+import com.desafio.tecnico.dto.DeviceSuggestionDTO.Type;
+import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.model.Device.DeviceState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceNameIndexTest {
+
+    private final DeviceNameIndex nameIndex = new DeviceNameIndex();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void suggest_ShouldMatchAnyWordPrefixOrderedByCount() {
+        nameIndex.rebuild(consumer -> {
+            consumer.accept(device("Samsung Galaxy S23", "Samsung"));
+            consumer.accept(device("Samsung Galaxy S23", "Samsung"));
+            consumer.accept(device("Galaxy Tab S9", "Samsung"));
+            consumer.accept(device("Lenovo ThinkPad X1", "Lenovo"));
+        });
+
+        assertEquals(List.of(
+                new DeviceSuggestionDTO("Samsung Galaxy S23", Type.NAME, 2),
+                new DeviceSuggestionDTO("Galaxy Tab S9", Type.NAME, 1)),
+            nameIndex.suggest("GAL", 10));
+        assertEquals(List.of(
+                new DeviceSuggestionDTO("Samsung", Type.BRAND, 3),
+                new DeviceSuggestionDTO("Samsung Galaxy S23", Type.NAME, 2)),
+            nameIndex.suggest("sams", 10));
+        assertEquals(List.of(new DeviceSuggestionDTO("Samsung", Type.BRAND, 3)), nameIndex.suggest("s", 1));
+        assertEquals(List.of(new DeviceSuggestionDTO("Lenovo ThinkPad X1", Type.NAME, 1)),
+            nameIndex.suggest("thinkpad x", 10));
+        assertTrue(nameIndex.suggest("galaxy x", 10).isEmpty());
+        assertTrue(nameIndex.suggest("  ", 10).isEmpty());
+        assertEquals(5, nameIndex.termCount());
+    }
+
+    @Test
+    void onDeviceEvent_ShouldFollowCreationRenameAndDeletion() {
+        DeviceResponseDTO phone = device("Pixel 8", "Google");
+        nameIndex.onDeviceEvent(new DeviceEventDTO(DeviceEventDTO.Type.CREATED, phone));
+        assertEquals(List.of(new DeviceSuggestionDTO("Pixel 8", Type.NAME, 1)), nameIndex.suggest("pix", 10));
+
+        DeviceResponseDTO renamed = new DeviceResponseDTO(phone.getId(), "Pixel 8 Pro", "Google",
+            DeviceState.AVAILABLE, phone.getCreationTime(), 1L);
+        nameIndex.onDeviceEvent(new DeviceEventDTO(DeviceEventDTO.Type.UPDATED, renamed, "Pixel 8",
+            DeviceState.AVAILABLE, "Google"));
+        assertEquals(List.of(new DeviceSuggestionDTO("Pixel 8 Pro", Type.NAME, 1)), nameIndex.suggest("pix", 10));
+
+        nameIndex.onDeviceEvent(new DeviceEventDTO(DeviceEventDTO.Type.DELETED, renamed));
+        assertTrue(nameIndex.suggest("pix", 10).isEmpty());
+        assertTrue(nameIndex.suggest("goo", 10).isEmpty());
+        assertEquals(0, nameIndex.termCount());
+        assertEquals(2, nameIndex.nodeCount());
+    }
+
+    @Test
+    void rebuild_ShouldKeepEventsReceivedWhileReading() {
+        nameIndex.rebuild(consumer -> {
+            consumer.accept(device("Kindle", "Amazon"));
+            // Escrita confirmada enquanto os dispositivos eram lidos
+            nameIndex.onDeviceEvent(new DeviceEventDTO(DeviceEventDTO.Type.CREATED, device("Kindle Scribe", "Amazon")));
+            assertEquals(1, nameIndex.suggest("kindle", 10).size());
+        });
+
+        assertEquals(List.of(
+                new DeviceSuggestionDTO("Kindle", Type.NAME, 1),
+                new DeviceSuggestionDTO("Kindle Scribe", Type.NAME, 1)),
+            nameIndex.suggest("kin", 10));
+    }
+
+    @Test
+    void onDevicesImported_ShouldApplyChunkCounts() {
+        nameIndex.onDeviceEvent(new DeviceEventDTO(DeviceEventDTO.Type.CREATED, device("Echo Dot", "Amazon")));
+
+        nameIndex.onDevicesImported(new DevicesImportedEvent(5,
+            Map.of("Echo Dot", 3, "Echo Show", 2), Map.of("Amazon", 5)));
+
+        assertEquals(List.of(new DeviceSuggestionDTO("Amazon", Type.BRAND, 6)), nameIndex.suggest("amaz", 10));
+        assertEquals(List.of(
+                new DeviceSuggestionDTO("Echo Dot", Type.NAME, 4),
+                new DeviceSuggestionDTO("Echo Show", Type.NAME, 2)),
+            nameIndex.suggest("echo", 10));
+    }
+
+    @Test
+    void suggest_ShouldThrowInvalidOperationException_WhenLimitIsInvalid() {
+        assertThrows(InvalidOperationException.class, () -> nameIndex.suggest("a", 0));
+        assertThrows(InvalidOperationException.class, () -> nameIndex.suggest("a", DeviceNameIndex.MAX_LIMIT + 1));
+    }
+
+    private DeviceResponseDTO device(String name, String brand) {
+        return new DeviceResponseDTO(ids.incrementAndGet(), name, brand, DeviceState.AVAILABLE, LocalDateTime.now(), 0L);
+    }
+}
@@ -1,26 +1,67 @@
 package com.desafio.tecnico.service;
 
+import com.desafio.tecnico.dto.BatchCreateResponseDTO;
+import com.desafio.tecnico.dto.BulkDeleteRequestDTO;
+import com.desafio.tecnico.dto.BulkDeleteResponseDTO;
+import com.desafio.tecnico.dto.BulkDeleteResultDTO;
+import com.desafio.tecnico.dto.BulkStateChangeRequestDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResponseDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResultDTO;
+import com.desafio.tecnico.dto.BulkStateChangeResultDTO.Outcome;
+import com.desafio.tecnico.dto.CursorPage;
+import com.desafio.tecnico.dto.DeviceEventDTO;
+import com.desafio.tecnico.dto.DeviceExportCriteria;
 import com.desafio.tecnico.dto.DeviceRequestDTO;
 import com.desafio.tecnico.dto.DeviceResponseDTO;
+import com.desafio.tecnico.dto.DeviceSearchCriteria;
+import com.desafio.tecnico.dto.DeviceSearchPage;
+import com.desafio.tecnico.dto.DeviceStatsDTO;
 import com.desafio.tecnico.exception.DeviceNotFoundException;
 import com.desafio.tecnico.exception.InvalidOperationException;
+import com.desafio.tecnico.exception.VersionConflictException;
 import com.desafio.tecnico.model.Device;
 import com.desafio.tecnico.model.Device.DeviceState;
 import com.desafio.tecnico.repository.DeviceRepository;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.Deletion;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.StateChange;
+import com.desafio.tecnico.repository.DeviceRepositoryCustom.UpdatedDevice;
+import com.desafio.tecnico.repository.DeviceSearchQuery;
+import com.desafio.tecnico.repository.DeviceSearchQuery.SortField;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,21 +70,58 @@ class DeviceServiceTest {
     @Mock
     private DeviceRepository deviceRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private DeviceCache deviceCache = new DeviceCache(100, Duration.ofMinutes(1));
+
+    @Mock
+    private BrandService brandService;
+
+    @Mock
+    private DeviceChangeStamps changeStamps;
+
+    @Mock
+    private DeviceStatsCounters statsCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private DeviceService deviceService;
 
+    @Captor
+    private ArgumentCaptor<List<Long>> chunks;
+
     private Device device;
     private DeviceRequestDTO requestDTO;
     private LocalDateTime creationTime;
 
+    // Dicionário de marcas simulado: ID -> nome
+    private static final Map<Integer, String> BRANDS = Map.of(
+        1, "Samsung", 2, "Apple", 3, "Dell", 4, "Logitech", 5, "Updated Brand");
+
     @BeforeEach
     void setUp() {
         creationTime = LocalDateTime.now();
 
+        lenient().when(brandService.resolveId(anyString()))
+            .thenAnswer(invocation -> brandId(invocation.getArgument(0)).orElseThrow());
+        lenient().when(brandService.findId(anyString()))
+            .thenAnswer(invocation -> brandId(invocation.getArgument(0)));
+        lenient().when(brandService.nameOf(anyInt())).thenAnswer(invocation -> BRANDS.get(invocation.getArgument(0)));
+
         device = new Device();
         device.setId(1L);
         device.setName("Smartphone");
-        device.setBrand("Samsung");
+        device.setBrandId(1);
         device.setState(DeviceState.AVAILABLE);
         device.setCreationTime(creationTime);
 
@@ -62,16 +140,99 @@ class DeviceServiceTest {
         assertNotNull(responseDTO);
         assertEquals(device.getId(), responseDTO.getId());
         assertEquals(device.getName(), responseDTO.getName());
-        assertEquals(device.getBrand(), responseDTO.getBrand());
+        assertEquals("Samsung", responseDTO.getBrand());
         assertEquals(device.getState(), responseDTO.getState());
         assertEquals(device.getCreationTime(), responseDTO.getCreationTime());
 
         verify(deviceRepository, times(1)).save(any(Device.class));
     }
 
+    @Test
+    void createDevices_ShouldPersistValidItemsAndReportInvalidOnes() {
+        DeviceRequestDTO invalid = new DeviceRequestDTO("", "Samsung", null);
+        DeviceRequestDTO other = new DeviceRequestDTO("Tablet", "Apple", DeviceState.INACTIVE);
+        when(deviceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Device> devices = invocation.getArgument(0);
+            long id = 10;
+            for (Device saved : devices) {
+                saved.setId(id++);
+                saved.setCreationTime(creationTime);
+            }
+            return devices;
+        });
+
+        BatchCreateResponseDTO response = deviceService.createDevices(Arrays.asList(requestDTO, invalid, other));
+
+        assertEquals(2, response.getCreated().size());
+        assertEquals(10L, response.getCreated().get(0).getId());
+        assertEquals("Tablet", response.getCreated().get(1).getName());
+        assertEquals(1, response.getErrors().size());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertTrue(response.getErrors().get(0).getErrors().containsKey("name"));
+        assertTrue(response.getErrors().get(0).getErrors().containsKey("state"));
+
+        verify(deviceRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void createGrouped_ShouldPersistAllInOneFlushAndKeepRequestOrder() {
+        DeviceRequestDTO other = new DeviceRequestDTO("Tablet", "Apple", DeviceState.INACTIVE);
+        when(deviceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Device> devices = invocation.getArgument(0);
+            long id = 20;
+            for (Device saved : devices) {
+                saved.setId(id++);
+                saved.setCreationTime(creationTime);
+            }
+            return devices;
+        });
+
+        List<DeviceResponseDTO> created = deviceService.createGrouped(List.of(requestDTO, other));
+
+        assertEquals(List.of(20L, 21L), created.stream().map(DeviceResponseDTO::getId).toList());
+        assertEquals("Tablet", created.get(1).getName());
+        assertEquals(creationTime, created.get(0).getCreationTime());
+        verify(deviceRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void createDevices_ShouldThrowInvalidOperationException_WhenBatchIsEmpty() {
+        assertThrows(InvalidOperationException.class, () -> deviceService.createDevices(List.of()));
+
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void insertImported_ShouldPublishOneEventPerChunk() {
+        List<Device> chunk = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Device imported = new Device();
+            imported.setId(10L + i);
+            imported.setName(i < 2 ? "Sensor" : "Camera");
+            imported.setBrandId(i < 2 ? 1 : 2);
+            imported.setState(DeviceState.AVAILABLE);
+            imported.setCreationTime(creationTime);
+            chunk.add(imported);
+        }
+        when(deviceRepository.copyInsert(chunk)).thenReturn(chunk);
+
+        assertEquals(3, deviceService.insertImported(chunk));
+
+        ArgumentCaptor<DevicesImportedEvent> event = ArgumentCaptor.forClass(DevicesImportedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(3, event.getValue().getCount());
+        assertEquals(Map.of("Sensor", 2, "Camera", 1), event.getValue().getNames());
+        assertEquals(Map.of("Samsung", 2, "Apple", 1), event.getValue().getBrands());
+        verify(statsCounters, times(2)).adjust(1, DeviceState.AVAILABLE, 1);
+        verify(statsCounters).adjust(2, DeviceState.AVAILABLE, 1);
+    }
+
     @Test
     void getDeviceById_ShouldReturnDeviceResponseDTO() {
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.findResponseById(1L)).thenReturn(Optional.of(response(device)));
 
         DeviceResponseDTO responseDTO = deviceService.getDeviceById(1L);
 
@@ -79,60 +240,227 @@ class DeviceServiceTest {
         assertEquals(device.getId(), responseDTO.getId());
         assertEquals(device.getName(), responseDTO.getName());
 
-        verify(deviceRepository, times(1)).findById(1L);
+        verify(deviceRepository, times(1)).findResponseById(1L);
+        verify(deviceRepository, never()).findById(any());
     }
 
     @Test
     void getDeviceById_ShouldThrowDeviceNotFoundException() {
-        when(deviceRepository.findById(999L)).thenReturn(Optional.empty());
+        when(deviceRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class, () -> {
             deviceService.getDeviceById(999L);
         });
 
-        verify(deviceRepository, times(1)).findById(999L);
+        verify(deviceRepository, times(1)).findResponseById(999L);
+    }
+
+    @Test
+    void getDeviceById_ShouldServeRepeatedLookupsFromCache() {
+        when(deviceRepository.findResponseById(1L)).thenReturn(Optional.of(response(device)));
+
+        DeviceResponseDTO first = deviceService.getDeviceById(1L);
+        DeviceResponseDTO second = deviceService.getDeviceById(1L);
+
+        assertEquals(first, second);
+        assertEquals(1, deviceService.getCacheStats().getHitCount());
+        assertEquals(1, deviceService.getCacheStats().getMissCount());
+        verify(deviceRepository, times(1)).findResponseById(1L);
     }
 
     @Test
     void getAllDevices_ShouldReturnListOfDevices() {
-        List<Device> devices = Arrays.asList(device);
-        when(deviceRepository.findAll()).thenReturn(devices);
+        List<DeviceResponseDTO> devices = Arrays.asList(response(device));
+        when(deviceRepository.findResponsesAfter(0L, Limit.of(11))).thenReturn(devices);
 
-        List<DeviceResponseDTO> responseDTOs = deviceService.getAllDevices();
+        CursorPage<DeviceResponseDTO> page = deviceService.getAllDevices(null, 10);
 
-        assertNotNull(responseDTOs);
-        assertEquals(1, responseDTOs.size());
-        assertEquals(device.getId(), responseDTOs.get(0).getId());
+        assertNotNull(page);
+        assertEquals(1, page.getContent().size());
+        assertEquals(device.getId(), page.getContent().get(0).getId());
+        assertFalse(page.hasNext());
 
-        verify(deviceRepository, times(1)).findAll();
+        verify(deviceRepository, times(1)).findResponsesAfter(0L, Limit.of(11));
+    }
+
+    @Test
+    void getAllDevices_ShouldReturnNextCursor_WhenMoreDevicesExist() {
+        Device second = new Device(2L, "Tablet", 2, DeviceState.AVAILABLE, creationTime);
+        Device third = new Device(3L, "Laptop", 3, DeviceState.INACTIVE, creationTime);
+        Device fourth = new Device(4L, "Mouse", 4, DeviceState.AVAILABLE, creationTime);
+        when(deviceRepository.findResponsesAfter(1L, Limit.of(3)))
+            .thenReturn(Arrays.asList(response(second), response(third), response(fourth)));
+
+        CursorPage<DeviceResponseDTO> page = deviceService.getAllDevices(1L, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(3L, page.getContent().get(1).getId());
+        assertTrue(page.hasNext());
+        assertEquals(3L, page.getNextCursor());
+    }
+
+    @Test
+    void getAllDevices_ShouldThrowInvalidOperationException_WhenSizeIsInvalid() {
+        assertThrows(InvalidOperationException.class, () -> deviceService.getAllDevices(null, 0));
+        assertThrows(InvalidOperationException.class,
+            () -> deviceService.getAllDevices(null, DeviceService.MAX_PAGE_SIZE + 1));
+
+        verifyNoInteractions(deviceRepository);
     }
 
     @Test
     void getDevicesByBrand_ShouldReturnListOfDevices() {
-        List<Device> devices = Arrays.asList(device);
-        when(deviceRepository.findByBrand("Samsung")).thenReturn(devices);
+        List<DeviceResponseDTO> devices = Arrays.asList(response(device));
+        when(deviceRepository.findResponsesByBrandIdAfter(1, 0L, Limit.of(11)))
+            .thenReturn(devices);
 
-        List<DeviceResponseDTO> responseDTOs = deviceService.getDevicesByBrand("Samsung");
+        CursorPage<DeviceResponseDTO> page = deviceService.getDevicesByBrand("SAMSUNG", null, 10);
 
-        assertNotNull(responseDTOs);
-        assertEquals(1, responseDTOs.size());
-        assertEquals("Samsung", responseDTOs.get(0).getBrand());
+        assertNotNull(page);
+        assertEquals(1, page.getContent().size());
+        assertEquals("Samsung", page.getContent().get(0).getBrand());
 
-        verify(deviceRepository, times(1)).findByBrand("Samsung");
+        verify(deviceRepository, times(1))
+            .findResponsesByBrandIdAfter(1, 0L, Limit.of(11));
+    }
+
+    @Test
+    void getDevicesByBrand_ShouldReturnEmptyPage_WhenBrandIsUnknown() {
+        CursorPage<DeviceResponseDTO> page = deviceService.getDevicesByBrand("Unknown", null, 10);
+
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.hasNext());
+        verifyNoInteractions(deviceRepository);
     }
 
     @Test
     void getDevicesByState_ShouldReturnListOfDevices() {
-        List<Device> devices = Arrays.asList(device);
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(devices);
+        List<DeviceResponseDTO> devices = Arrays.asList(response(device));
+        when(deviceRepository.findResponsesByStateAfter(DeviceState.AVAILABLE, 0L, Limit.of(11)))
+            .thenReturn(devices);
 
-        List<DeviceResponseDTO> responseDTOs = deviceService.getDevicesByState(DeviceState.AVAILABLE);
+        CursorPage<DeviceResponseDTO> page = deviceService.getDevicesByState(DeviceState.AVAILABLE, null, 10);
 
-        assertNotNull(responseDTOs);
-        assertEquals(1, responseDTOs.size());
-        assertEquals(DeviceState.AVAILABLE, responseDTOs.get(0).getState());
+        assertNotNull(page);
+        assertEquals(1, page.getContent().size());
+        assertEquals(DeviceState.AVAILABLE, page.getContent().get(0).getState());
 
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
+        verify(deviceRepository, times(1))
+            .findResponsesByStateAfter(DeviceState.AVAILABLE, 0L, Limit.of(11));
+    }
+
+    @Test
+    void searchDevices_ShouldBuildQueryAndEncodeNextCursor() {
+        Device second = new Device(2L, "Smartwatch", 1, DeviceState.AVAILABLE, creationTime);
+        Device third = new Device(3L, "Smart TV", 1, DeviceState.AVAILABLE, creationTime);
+        when(deviceRepository.search(any(DeviceSearchQuery.class)))
+            .thenReturn(List.of(response(device), response(second)))
+            .thenReturn(List.of(response(third)));
+        DeviceSearchCriteria criteria = new DeviceSearchCriteria();
+        criteria.setBrand("samsung");
+        criteria.setState(DeviceState.AVAILABLE);
+        criteria.setName("smart");
+        criteria.setSort("name");
+        criteria.setSize(1);
+
+        DeviceSearchPage first = deviceService.searchDevices(criteria);
+        criteria.setCursor(first.getNextCursor());
+        DeviceSearchPage last = deviceService.searchDevices(criteria);
+
+        assertEquals(List.of(response(device)), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(response(third)), last.getContent());
+        assertFalse(last.hasNext());
+
+        ArgumentCaptor<DeviceSearchQuery> captor = ArgumentCaptor.forClass(DeviceSearchQuery.class);
+        verify(deviceRepository, times(2)).search(captor.capture());
+        DeviceSearchQuery firstQuery = captor.getAllValues().get(0);
+        assertEquals(1, firstQuery.getBrandId());
+        assertEquals(DeviceState.AVAILABLE, firstQuery.getState());
+        assertEquals("smart", firstQuery.getNamePrefix());
+        assertEquals(SortField.NAME, firstQuery.getSort());
+        assertEquals(2, firstQuery.getLimit());
+        assertNull(firstQuery.getAfterId());
+        DeviceSearchQuery nextQuery = captor.getAllValues().get(1);
+        assertEquals(1L, nextQuery.getAfterId());
+        assertEquals("Smartphone", nextQuery.getAfterKey());
+    }
+
+    @Test
+    void searchDevices_ShouldRejectCursorFromAnotherSort() {
+        when(deviceRepository.search(any(DeviceSearchQuery.class)))
+            .thenReturn(List.of(response(device), response(device)));
+        DeviceSearchCriteria criteria = new DeviceSearchCriteria();
+        criteria.setSort("creationTime");
+        criteria.setSize(1);
+        String cursor = deviceService.searchDevices(criteria).getNextCursor();
+
+        criteria.setSort("name");
+        criteria.setCursor(cursor);
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevices(criteria));
+
+        criteria.setSort("creationTime");
+        criteria.setDirection("desc");
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevices(criteria));
+
+        criteria.setCursor("not-a-cursor");
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevices(criteria));
+        verify(deviceRepository, times(1)).search(any(DeviceSearchQuery.class));
+    }
+
+    @Test
+    void searchDevicesByName_ShouldTrimTextAndValidateLimit() {
+        when(deviceRepository.searchByName("galxy", 20)).thenReturn(List.of(response(device)));
+
+        assertEquals(List.of(response(device)), deviceService.searchDevicesByName("  galxy ", 20));
+
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevicesByName("   ", 20));
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevicesByName("x".repeat(101), 20));
+        assertThrows(InvalidOperationException.class, () -> deviceService.searchDevicesByName("galxy", 0));
+        assertThrows(InvalidOperationException.class,
+            () -> deviceService.searchDevicesByName("galxy", DeviceService.MAX_NAME_SEARCH_LIMIT + 1));
+        verify(deviceRepository, times(1)).searchByName(anyString(), anyInt());
+    }
+
+    @Test
+    void streamAllDevices_ShouldDeliverEveryDeviceWithoutManagedEntities() {
+        Device second = new Device(2L, "Tablet", 2, DeviceState.AVAILABLE, creationTime);
+        when(deviceRepository.streamResponses()).thenReturn(Stream.of(response(device), response(second)));
+        List<DeviceResponseDTO> received = new ArrayList<>();
+
+        long count = deviceService.streamAllDevices(received::add);
+
+        assertEquals(2, count);
+        assertEquals(Arrays.asList(1L, 2L), received.stream().map(DeviceResponseDTO::getId).toList());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void exportDevices_ShouldResolveBrandAndPassFiltersToRepository() {
+        when(deviceRepository.export(any(DeviceSearchQuery.class), any())).thenAnswer(invocation -> {
+            Consumer<DeviceResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(response(device));
+            return 1L;
+        });
+        List<DeviceResponseDTO> received = new ArrayList<>();
+        LocalDateTime from = creationTime.minusDays(1);
+
+        long count = deviceService.exportDevices(
+            new DeviceExportCriteria("SAMSUNG", DeviceState.AVAILABLE, from, creationTime), received::add);
+        long unknownBrand = deviceService.exportDevices(
+            new DeviceExportCriteria("Nokia", null, null, null), received::add);
+
+        assertEquals(1, count);
+        assertEquals(0, unknownBrand);
+        assertEquals(List.of(response(device)), received);
+        ArgumentCaptor<DeviceSearchQuery> captor = ArgumentCaptor.forClass(DeviceSearchQuery.class);
+        verify(deviceRepository, times(1)).export(captor.capture(), any());
+        assertEquals(1, captor.getValue().getBrandId());
+        assertEquals(DeviceState.AVAILABLE, captor.getValue().getState());
+        assertEquals(from, captor.getValue().getCreatedFrom());
+        assertEquals(creationTime, captor.getValue().getCreatedTo());
+        assertThrows(InvalidOperationException.class, () -> deviceService.exportDevices(
+            new DeviceExportCriteria(null, null, creationTime, from), received::add));
     }
 
     @Test
@@ -142,14 +470,215 @@ class DeviceServiceTest {
         updateDTO.setBrand("Apple");
         updateDTO.setState(DeviceState.AVAILABLE);
 
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
-        when(deviceRepository.save(any(Device.class))).thenReturn(device);
+        Device updated = new Device(1L, "Updated Smartphone", 2, DeviceState.AVAILABLE, creationTime);
+        updated.setVersion(1L);
+        when(deviceRepository.updateIfAllowed(1L, "Updated Smartphone", 2, DeviceState.AVAILABLE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
 
         DeviceResponseDTO responseDTO = deviceService.updateDevice(1L, updateDTO);
 
-        assertNotNull(responseDTO);
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(1)).save(any(Device.class));
+        assertEquals("Updated Smartphone", responseDTO.getName());
+        assertEquals("Apple", responseDTO.getBrand());
+        assertEquals(1L, responseDTO.getVersion());
+        // Atualização bem-sucedida em uma única ida ao banco, sem leitura prévia
+        verify(deviceRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateDevice_ShouldTouchPreviousAndCurrentCollections() {
+        Device updated = new Device(1L, "Smartphone", 2, DeviceState.IN_USE, creationTime);
+        when(deviceRepository.updateIfAllowed(1L, "Smartphone", 2, DeviceState.IN_USE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
+
+        deviceService.updateDevice(1L, new DeviceRequestDTO("Smartphone", "Apple", DeviceState.IN_USE));
+
+        verify(changeStamps).touch(DeviceChangeStamps.ALL,
+            DeviceChangeStamps.state(DeviceState.AVAILABLE), DeviceChangeStamps.state(DeviceState.IN_USE),
+            DeviceChangeStamps.brand(1), DeviceChangeStamps.brand(2));
+    }
+
+    @Test
+    void updateDevice_ShouldMoveCountFromPreviousToCurrentBrandAndState() {
+        Device updated = new Device(1L, "Smartphone", 2, DeviceState.IN_USE, creationTime);
+        when(deviceRepository.updateIfAllowed(1L, "Smartphone", 2, DeviceState.IN_USE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
+
+        deviceService.updateDevice(1L, new DeviceRequestDTO("Smartphone", "Apple", DeviceState.IN_USE));
+
+        verify(statsCounters).adjust(1, DeviceState.AVAILABLE, -1);
+        verify(statsCounters).adjust(2, DeviceState.IN_USE, 1);
+    }
+
+    @Test
+    void changeStates_ShouldReportOutcomePerIdAndMaintainCollectionsOfUpdatedDevices() {
+        Device updated = new Device(1L, "Smartphone", 1, DeviceState.INACTIVE, creationTime);
+        updated.setVersion(3L);
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(deviceRepository.changeStates(ids, null, null, null, DeviceService.MAX_BATCH_SIZE, DeviceState.INACTIVE))
+            .thenReturn(List.of(
+                new StateChange(1L, DeviceState.AVAILABLE, 1, updated),
+                new StateChange(2L, DeviceState.IN_USE, 1, null),
+                new StateChange(3L, DeviceState.INACTIVE, 2, null),
+                new StateChange(4L, null, null, null)));
+
+        BulkStateChangeResponseDTO response = deviceService.changeStates(
+            new BulkStateChangeRequestDTO(ids, DeviceState.INACTIVE));
+
+        assertEquals(List.of(
+                new BulkStateChangeResultDTO(1L, Outcome.UPDATED, 3L),
+                new BulkStateChangeResultDTO(2L, Outcome.REJECTED, null),
+                new BulkStateChangeResultDTO(3L, Outcome.UNCHANGED, null),
+                new BulkStateChangeResultDTO(4L, Outcome.NOT_FOUND, null)),
+            response.getResults());
+        assertNull(response.getNextCursor());
+        verify(statsCounters).adjust(1, DeviceState.AVAILABLE, -1);
+        verify(statsCounters).adjust(1, DeviceState.INACTIVE, 1);
+        verify(changeStamps, times(1)).touch(any(String[].class));
+        verify(deviceCache).evictAfterCommit(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(DeviceEventDTO.class));
+    }
+
+    @Test
+    void changeStates_ShouldValidateSelection() {
+        BulkStateChangeRequestDTO both = new BulkStateChangeRequestDTO(List.of(1L), DeviceState.INACTIVE);
+        both.setBrand("Samsung");
+        assertThrows(InvalidOperationException.class, () -> deviceService.changeStates(both));
+        assertThrows(InvalidOperationException.class, () -> deviceService.changeStates(
+            new BulkStateChangeRequestDTO(List.of(), DeviceState.INACTIVE)));
+        assertThrows(InvalidOperationException.class, () -> deviceService.changeStates(
+            new BulkStateChangeRequestDTO(null, DeviceState.IN_USE, DeviceState.AVAILABLE)));
+
+        BulkStateChangeResponseDTO unknownBrand = deviceService.changeStates(
+            new BulkStateChangeRequestDTO("Nokia", null, DeviceState.AVAILABLE));
+        assertTrue(unknownBrand.getResults().isEmpty());
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void deleteDevices_ShouldDeleteInChunksAndReportOutcomePerId() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = DeviceService.BULK_DELETE_CHUNK_SIZE + 1; id >= 1; id--) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(deviceRepository.deleteAllowed(anyList(), isNull(), isNull(), anyInt())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            List<Deletion> deletions = new ArrayList<>();
+            for (Long id : chunk) {
+                deletions.add(id == 1L ? new Deletion(id, true, DeviceState.AVAILABLE, device)
+                    : id == 2L ? new Deletion(id, true, DeviceState.IN_USE, null)
+                    : id == 3L ? new Deletion(id, true, null, null)
+                    : new Deletion(id, false, null, null));
+            }
+            return deletions;
+        });
+
+        BulkDeleteResponseDTO response = deviceService.deleteDevices(new BulkDeleteRequestDTO(ids));
+
+        assertEquals(DeviceService.BULK_DELETE_CHUNK_SIZE + 1, response.getResults().size());
+        assertEquals(List.of(
+                new BulkDeleteResultDTO(1L, BulkDeleteResultDTO.Outcome.DELETED),
+                new BulkDeleteResultDTO(2L, BulkDeleteResultDTO.Outcome.REJECTED),
+                new BulkDeleteResultDTO(3L, BulkDeleteResultDTO.Outcome.LOCKED),
+                new BulkDeleteResultDTO(4L, BulkDeleteResultDTO.Outcome.NOT_FOUND)),
+            response.getResults().subList(0, 4));
+        verify(deviceRepository, times(2)).deleteAllowed(chunks.capture(), isNull(), isNull(), anyInt());
+        assertEquals(DeviceService.BULK_DELETE_CHUNK_SIZE, chunks.getAllValues().get(0).size());
+        assertEquals(List.of((long) DeviceService.BULK_DELETE_CHUNK_SIZE + 1), chunks.getAllValues().get(1));
+        verify(transactionManager, times(2)).commit(any());
+        verify(statsCounters).adjust(1, DeviceState.AVAILABLE, -1);
+        verify(deviceCache).evictAfterCommit(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(DeviceEventDTO.class));
+    }
+
+    @Test
+    void deleteDevices_ShouldReportRemainingIdsAsLocked_WhenLockTimeoutIsExceeded() {
+        when(deviceRepository.deleteAllowed(anyList(), isNull(), isNull(), anyInt()))
+            .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        BulkDeleteResponseDTO response = deviceService.deleteDevices(new BulkDeleteRequestDTO(List.of(2L, 1L)));
+
+        assertEquals(List.of(
+                new BulkDeleteResultDTO(1L, BulkDeleteResultDTO.Outcome.LOCKED),
+                new BulkDeleteResultDTO(2L, BulkDeleteResultDTO.Outcome.LOCKED)),
+            response.getResults());
+        verify(transactionManager).rollback(any());
+        verify(statsCounters, never()).adjust(any(), any(), anyLong());
+    }
+
+    @Test
+    void getStats_ShouldAggregateCountersByStateAndBrand() {
+        Map<Integer, Map<DeviceState, Long>> counts = new TreeMap<>();
+        counts.put(1, new EnumMap<>(Map.of(DeviceState.AVAILABLE, 3L, DeviceState.IN_USE, 2L)));
+        counts.put(2, new EnumMap<>(Map.of(DeviceState.IN_USE, 1L)));
+        when(statsCounters.counts()).thenReturn(counts);
+
+        DeviceStatsDTO stats = deviceService.getStats();
+
+        assertEquals(6, stats.getTotal());
+        assertEquals(3L, stats.getByState().get(DeviceState.AVAILABLE));
+        assertEquals(3L, stats.getByState().get(DeviceState.IN_USE));
+        assertEquals(0L, stats.getByState().get(DeviceState.INACTIVE));
+        assertEquals(List.of("Apple", "Samsung"), new ArrayList<>(stats.getByBrand().keySet()));
+        assertEquals(2L, stats.getByBrand().get("Samsung").get(DeviceState.IN_USE));
+        assertEquals(0L, stats.getByBrand().get("Apple").get(DeviceState.AVAILABLE));
+        verify(deviceRepository, never()).count();
+    }
+
+    @Test
+    void updateDevice_ShouldPublishEventWithPreviousStateAndBrand() {
+        Device updated = new Device(1L, "Smartphone", 2, DeviceState.IN_USE, creationTime);
+        when(deviceRepository.updateIfAllowed(1L, "Smartphone", 2, DeviceState.IN_USE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
+
+        deviceService.updateDevice(1L, new DeviceRequestDTO("Smartphone", "Apple", DeviceState.IN_USE));
+
+        ArgumentCaptor<DeviceEventDTO> event = ArgumentCaptor.forClass(DeviceEventDTO.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(DeviceEventDTO.Type.UPDATED, event.getValue().getType());
+        assertEquals(DeviceState.IN_USE, event.getValue().getDevice().getState());
+        assertEquals("Apple", event.getValue().getDevice().getBrand());
+        assertEquals(DeviceState.AVAILABLE, event.getValue().getPreviousState());
+        assertEquals("Samsung", event.getValue().getPreviousBrand());
+    }
+
+    @Test
+    void getDeviceVersion_ShouldUseCachedDeviceWhenPresent() {
+        device.setVersion(4L);
+        when(deviceRepository.findResponseById(1L)).thenReturn(Optional.of(response(device)));
+        deviceService.getDeviceById(1L);
+
+        assertEquals(4L, deviceService.getDeviceVersion(1L));
+
+        verify(deviceRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void getDeviceVersion_ShouldReadOnlyVersionColumnOnCacheMiss() {
+        when(deviceRepository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertEquals(2L, deviceService.getDeviceVersion(1L));
+
+        verify(deviceRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void updateDevice_ShouldEvictCachedDevice() {
+        Device updated = new Device(1L, "Updated Smartphone", 1, DeviceState.AVAILABLE, creationTime);
+        when(deviceRepository.findResponseById(1L))
+            .thenReturn(Optional.of(response(device)))
+            .thenReturn(Optional.of(response(updated)));
+        when(deviceRepository.updateIfAllowed(1L, "Updated Smartphone", 1, DeviceState.AVAILABLE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
+        deviceService.getDeviceById(1L);
+
+        deviceService.updateDevice(1L, new DeviceRequestDTO("Updated Smartphone", "Samsung", DeviceState.AVAILABLE));
+        DeviceResponseDTO reloaded = deviceService.getDeviceById(1L);
+
+        assertEquals("Updated Smartphone", reloaded.getName());
+        verify(deviceCache, times(1)).evictAfterCommit(1L);
+        // Busca inicial e nova busca após a invalidação
+        verify(deviceRepository, times(2)).findResponseById(1L);
     }
 
     @Test
@@ -161,14 +690,35 @@ class DeviceServiceTest {
         updateDTO.setBrand("Updated Brand");
         updateDTO.setState(DeviceState.IN_USE);
 
+        when(deviceRepository.updateIfAllowed(1L, "Updated Name", 5, DeviceState.IN_USE, null))
+            .thenReturn(Optional.empty());
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
 
         assertThrows(InvalidOperationException.class, () -> {
             deviceService.updateDevice(1L, updateDTO);
         });
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(0)).save(any(Device.class));
+        verify(deviceCache, never()).evictAfterCommit(any());
+    }
+
+    @Test
+    void updateDevice_ShouldThrowDeviceNotFoundException_WhenDeviceDoesNotExist() {
+        when(deviceRepository.updateIfAllowed(999L, "Smartphone", 1, DeviceState.AVAILABLE, null))
+            .thenReturn(Optional.empty());
+        when(deviceRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.updateDevice(999L, requestDTO));
+    }
+
+    @Test
+    void updateDevice_ShouldThrowVersionConflictException_WhenVersionIsStale() {
+        device.setVersion(3L);
+        requestDTO.setVersion(2L);
+        when(deviceRepository.updateIfAllowed(1L, "Smartphone", 1, DeviceState.AVAILABLE, 2L))
+            .thenReturn(Optional.empty());
+        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+
+        assertThrows(VersionConflictException.class, () -> deviceService.updateDevice(1L, requestDTO));
     }
 
     @Test
@@ -177,8 +727,9 @@ class DeviceServiceTest {
         partialUpdateDTO.setState(DeviceState.INACTIVE);
         // Nome e marca permanecem null
 
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
-        when(deviceRepository.save(any(Device.class))).thenReturn(device);
+        Device updated = new Device(1L, "Smartphone", 1, DeviceState.INACTIVE, creationTime);
+        when(deviceRepository.updateIfAllowed(1L, null, null, DeviceState.INACTIVE, null))
+            .thenReturn(Optional.of(new UpdatedDevice(updated, "Smartphone", DeviceState.AVAILABLE, 1)));
 
         DeviceResponseDTO responseDTO = deviceService.partialUpdateDevice(1L, partialUpdateDTO);
 
@@ -188,31 +739,44 @@ class DeviceServiceTest {
         assertEquals("Smartphone", responseDTO.getName());
         assertEquals("Samsung", responseDTO.getBrand());
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(1)).save(any(Device.class));
+        verify(brandService, never()).resolveId(any());
+        verify(deviceRepository, never()).findById(any());
     }
 
     @Test
     void deleteDevice_ShouldDeleteDevice() {
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
-        doNothing().when(deviceRepository).delete(device);
+        when(deviceRepository.deleteIfAllowed(1L, null)).thenReturn(Optional.of(device));
 
         deviceService.deleteDevice(1L);
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(1)).delete(device);
+        verify(deviceRepository, times(1)).deleteIfAllowed(1L, null);
+        verify(deviceRepository, never()).findById(any());
+        verify(deviceCache, times(1)).evictAfterCommit(1L);
     }
 
     @Test
     void deleteDevice_ShouldThrowInvalidOperationException_WhenDeviceInUse() {
         device.setState(DeviceState.IN_USE);
+        when(deviceRepository.deleteIfAllowed(1L, null)).thenReturn(Optional.empty());
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
 
         assertThrows(InvalidOperationException.class, () -> {
             deviceService.deleteDevice(1L);
         });
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(0)).delete(any());
+        verify(deviceCache, never()).evictAfterCommit(any());
+    }
+
+    private static Optional<Integer> brandId(String name) {
+        return BRANDS.entrySet().stream()
+            .filter(entry -> BrandService.normalize(entry.getValue()).equals(BrandService.normalize(name)))
+            .map(Map.Entry::getKey)
+            .findFirst();
+    }
+
+    // DTO que as consultas de projeção do repositório devolveriam para a entidade
+    private static DeviceResponseDTO response(Device device) {
+        return new DeviceResponseDTO(device.getId(), device.getName(), BRANDS.get(device.getBrandId()),
+            device.getState(), device.getCreationTime(), device.getVersion());
     }
 }